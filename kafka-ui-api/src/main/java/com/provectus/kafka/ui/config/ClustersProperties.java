@@ -1,6 +1,7 @@
 package com.provectus.kafka.ui.config;
 
 import com.provectus.kafka.ui.model.MetricsConfig;
+import com.provectus.kafka.ui.model.StatisticsSection;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -31,6 +32,8 @@ public class ClustersProperties {
 
   PollingProperties polling = new PollingProperties();
 
+  StatisticsProperties statistics = new StatisticsProperties();
+
   @Data
   public static class Cluster {
     String name;
@@ -58,6 +61,21 @@ public class ClustersProperties {
     Integer pollTimeoutMs;
     Integer partitionPollTimeout;
     Integer noDataEmptyPolls;
+    Integer backwardPollConcurrency;
+  }
+
+  @Data
+  public static class StatisticsProperties {
+    // per-section refresh schedules, not set values are derived from kafka.update-metrics-rate-millis
+    Map<StatisticsSection, SectionSchedule> sections = new HashMap<>();
+  }
+
+  @Data
+  public static class SectionSchedule {
+    Long intervalMillis;
+    Double jitter; // fraction of interval, random delay in [0, interval * jitter] is added to each run
+    Long timeoutMillis;
+    Long maxBackoffMillis; // interval is doubled on each consecutive failure, up to this value
   }
 
   @Data
@@ -70,6 +88,8 @@ public class ClustersProperties {
     String password;
     String keystoreLocation;
     String keystorePassword;
+    List<String> jmxObjectNames;
+    List<String> prometheusMetricNamePrefixes;
   }
 
   @Data
@@ -8,9 +8,12 @@ import com.provectus.kafka.ui.model.BrokerDTO;
 import com.provectus.kafka.ui.model.BrokerLogdirUpdateDTO;
 import com.provectus.kafka.ui.model.BrokerMetricsDTO;
 import com.provectus.kafka.ui.model.BrokersLogdirsDTO;
+import com.provectus.kafka.ui.model.MetricsHistoryDTO;
+import com.provectus.kafka.ui.model.MetricsHistoryMetricDTO;
 import com.provectus.kafka.ui.model.rbac.AccessContext;
 import com.provectus.kafka.ui.model.rbac.permission.ClusterConfigAction;
 import com.provectus.kafka.ui.service.BrokerService;
+import com.provectus.kafka.ui.service.metrics.history.MetricsHistoryService;
 import com.provectus.kafka.ui.service.rbac.AccessControlService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +31,7 @@ public class BrokersController extends AbstractController implements BrokersApi
   private final BrokerService brokerService;
   private final ClusterMapper clusterMapper;
   private final AccessControlService accessControlService;
+  private final MetricsHistoryService metricsHistoryService;
 
   @Override
   public Mono<ResponseEntity<Flux<BrokerDTO>>> getBrokers(String clusterName,
@@ -56,6 +60,21 @@ public class BrokersController extends AbstractController implements BrokersApi
     );
   }
 
+  @Override
+  public Mono<ResponseEntity<MetricsHistoryDTO>> getBrokerMetricsHistory(String clusterName,
+                                                                         Integer id,
+                                                                         MetricsHistoryMetricDTO metric,
+                                                                         Long from,
+                                                                         Long to,
+                                                                         ServerWebExchange exchange) {
+    Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .build());
+
+    return validateAccess.then(Mono.fromCallable(() -> ResponseEntity.ok(
+        metricsHistoryService.getBrokerHistory(getCluster(clusterName), id, metric, from, to))));
+  }
+
   @Override
   public Mono<ResponseEntity<Flux<BrokersLogdirsDTO>>> getAllBrokersLogdirs(String clusterName,
                                                                             List<Integer> brokers,
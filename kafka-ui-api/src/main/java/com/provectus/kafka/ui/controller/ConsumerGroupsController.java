@@ -82,6 +82,7 @@ public class ConsumerGroupsController extends AbstractController implements Cons
   @Override
   public Mono<ResponseEntity<Flux<ConsumerGroupDTO>>> getTopicConsumerGroups(String clusterName,
                                                                              String topicName,
+                                                                             Boolean fresh,
                                                                              ServerWebExchange exchange) {
     Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
         .cluster(clusterName)
@@ -90,7 +91,7 @@ public class ConsumerGroupsController extends AbstractController implements Cons
         .build());
 
     Mono<ResponseEntity<Flux<ConsumerGroupDTO>>> job =
-        consumerGroupService.getConsumerGroupsForTopic(getCluster(clusterName), topicName)
+        consumerGroupService.getConsumerGroupsForTopic(getCluster(clusterName), topicName, Boolean.TRUE.equals(fresh))
             .flatMapMany(Flux::fromIterable)
             .filterWhen(cg -> accessControlService.isConsumerGroupAccessible(cg.getGroupId(), clusterName))
             .map(ConsumerGroupMapper::toDto)
@@ -110,6 +111,7 @@ public class ConsumerGroupsController extends AbstractController implements Cons
       String search,
       ConsumerGroupOrderingDTO orderBy,
       SortOrderDTO sortOrderDto,
+      Boolean fresh,
       ServerWebExchange exchange) {
 
     Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
@@ -124,7 +126,8 @@ public class ConsumerGroupsController extends AbstractController implements Cons
                 Optional.ofNullable(perPage).filter(i -> i > 0).orElse(defaultConsumerGroupsPageSize),
                 search,
                 Optional.ofNullable(orderBy).orElse(ConsumerGroupOrderingDTO.NAME),
-                Optional.ofNullable(sortOrderDto).orElse(SortOrderDTO.ASC)
+                Optional.ofNullable(sortOrderDto).orElse(SortOrderDTO.ASC),
+                Boolean.TRUE.equals(fresh)
             )
             .map(this::convertPage)
             .map(ResponseEntity::ok)
@@ -13,16 +13,24 @@ import com.provectus.kafka.ui.exception.ValidationException;
 import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.CreateTopicMessageDTO;
 import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.MessagesExportCompressionDTO;
+import com.provectus.kafka.ui.model.MessagesExportFormatDTO;
 import com.provectus.kafka.ui.model.SeekDirectionDTO;
 import com.provectus.kafka.ui.model.SeekTypeDTO;
 import com.provectus.kafka.ui.model.SerdeUsageDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.model.TopicMessageSendResultDTO;
 import com.provectus.kafka.ui.model.TopicSerdeSuggestionDTO;
 import com.provectus.kafka.ui.model.rbac.AccessContext;
 import com.provectus.kafka.ui.model.rbac.permission.TopicAction;
 import com.provectus.kafka.ui.service.DeserializationService;
 import com.provectus.kafka.ui.service.MessagesService;
+import com.provectus.kafka.ui.service.export.MessagesExportService;
 import com.provectus.kafka.ui.service.rbac.AccessControlService;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,6 +41,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
@@ -49,6 +59,7 @@ public class MessagesController extends AbstractController implements MessagesAp
   private static final int DEFAULT_LOAD_RECORD_LIMIT = 20;
 
   private final MessagesService messagesService;
+  private final MessagesExportService messagesExportService;
   private final DeserializationService deserializationService;
   private final AccessControlService accessControlService;
 
@@ -82,9 +93,13 @@ public class MessagesController extends AbstractController implements MessagesAp
                                                                            Integer limit,
                                                                            String q,
                                                                            MessageFilterTypeDTO filterQueryType,
+                                                                           String recordFilter,
                                                                            SeekDirectionDTO seekDirection,
                                                                            String keySerde,
                                                                            String valueSerde,
+                                                                           Boolean orderByTimestamp,
+                                                                           Integer previewLength,
+                                                                           String cursor,
                                                                            ServerWebExchange exchange) {
     final Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
         .cluster(clusterName)
@@ -92,6 +107,14 @@ public class MessagesController extends AbstractController implements MessagesAp
         .topicActions(MESSAGES_READ)
         .build());
 
+    if (previewLength != null && previewLength < 1) {
+      return Mono.error(new ValidationException("previewLength should be positive"));
+    }
+    if (cursor != null) {
+      return validateAccess.then(
+          Mono.just(ResponseEntity.ok(messagesService.loadMessages(getCluster(clusterName), topicName, cursor))));
+    }
+
     seekType = seekType != null ? seekType : SeekTypeDTO.BEGINNING;
     seekDirection = seekDirection != null ? seekDirection : SeekDirectionDTO.FORWARD;
     filterQueryType = filterQueryType != null ? filterQueryType : MessageFilterTypeDTO.STRING_CONTAINS;
@@ -107,14 +130,99 @@ public class MessagesController extends AbstractController implements MessagesAp
     Mono<ResponseEntity<Flux<TopicMessageEventDTO>>> job = Mono.just(
         ResponseEntity.ok(
             messagesService.loadMessages(
-                getCluster(clusterName), topicName, positions, q, filterQueryType,
-                recordsLimit, seekDirection, keySerde, valueSerde)
+                getCluster(clusterName), topicName, positions, q, filterQueryType, recordFilter,
+                recordsLimit, seekDirection, keySerde, valueSerde, Boolean.TRUE.equals(orderByTimestamp),
+                previewLength)
         )
     );
 
     return validateAccess.then(job);
   }
 
+  @Override
+  public Mono<ResponseEntity<TopicMessageDTO>> getTopicMessage(String clusterName,
+                                                               String topicName,
+                                                               Integer partition,
+                                                               Long offset,
+                                                               String keySerde,
+                                                               String valueSerde,
+                                                               ServerWebExchange exchange) {
+    final Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .build());
+
+    return validateAccess.then(
+        messagesService.loadMessage(getCluster(clusterName), topicName, partition, offset, keySerde, valueSerde)
+            .map(ResponseEntity::ok)
+    );
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> exportTopicMessages(String clusterName,
+                                                                    String topicName,
+                                                                    SeekTypeDTO seekType,
+                                                                    List<String> seekTo,
+                                                                    Long untilTimestamp,
+                                                                    Long limit,
+                                                                    MessagesExportFormatDTO format,
+                                                                    MessagesExportCompressionDTO compression,
+                                                                    String keySerde,
+                                                                    String valueSerde,
+                                                                    ServerWebExchange exchange) {
+    final Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .build());
+
+    seekType = seekType != null ? seekType : SeekTypeDTO.BEGINNING;
+    format = format != null ? format : MessagesExportFormatDTO.NDJSON;
+    compression = compression != null ? compression : MessagesExportCompressionDTO.NONE;
+    var position = new ConsumerPosition(seekType, topicName, parseSeekTo(topicName, seekType, seekTo));
+
+    String fileName = topicName
+        + (format == MessagesExportFormatDTO.NDJSON ? ".ndjson" : ".bin")
+        + (compression == MessagesExportCompressionDTO.GZIP ? ".gz" : "")
+        + (compression == MessagesExportCompressionDTO.ZSTD ? ".zst" : "");
+
+    Flux<DataBuffer> data = messagesExportService.export(
+        getCluster(clusterName), topicName, position, untilTimestamp,
+        limit != null ? limit : Long.MAX_VALUE, format, compression, keySerde, valueSerde);
+
+    return validateAccess.then(
+        Mono.just(
+            ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(data)));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<TopicMessageEventDTO>>> getTopicMessagesByKey(String clusterName,
+                                                                                String topicName,
+                                                                                String key,
+                                                                                String keySerde,
+                                                                                Integer limit,
+                                                                                String valueSerde,
+                                                                                ServerWebExchange exchange) {
+    final Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .build());
+
+    int recordsLimit =
+        Optional.ofNullable(limit).map(s -> Math.min(s, Optional.ofNullable(properties.getPageSizeLimit())
+            .orElse(DEFAULT_MAX_PAGE_SIZE_LIMIT))).orElse(DEFAULT_LOAD_RECORD_LIMIT);
+
+    return validateAccess.then(
+        Mono.just(
+            ResponseEntity.ok(
+                messagesService.loadMessagesByKey(
+                    getCluster(clusterName), topicName, key, recordsLimit, keySerde, valueSerde))));
+  }
+
   @Override
   public Mono<ResponseEntity<Void>> sendTopicMessages(
       String clusterName, String topicName, @Valid Mono<CreateTopicMessageDTO> createTopicMessage,
@@ -133,6 +241,30 @@ public class MessagesController extends AbstractController implements MessagesAp
     );
   }
 
+  @Override
+  public Mono<ResponseEntity<Flux<TopicMessageSendResultDTO>>> sendTopicMessagesBatch(
+      String clusterName, String topicName, @Valid Flux<CreateTopicMessageDTO> createTopicMessage,
+      ServerWebExchange exchange) {
+
+    Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_PRODUCE)
+        .build());
+
+    return validateAccess.then(
+        Mono.just(
+            ResponseEntity.ok(
+                messagesService.sendMessages(getCluster(clusterName), topicName, createTopicMessage)
+                    .map(metadata -> new TopicMessageSendResultDTO()
+                        .partition(metadata.partition())
+                        .offset(metadata.offset())
+                        .timestamp(OffsetDateTime.ofInstant(
+                            Instant.ofEpochMilli(metadata.timestamp()), ZoneOffset.UTC))))
+        )
+    );
+  }
+
   /**
    * The format is [partition]::[offset] for specifying offsets
    * or [partition]::[timestamp in millis] for specifying timestamps.
@@ -9,8 +9,9 @@ import static java.util.stream.Collectors.toList;
 
 import com.provectus.kafka.ui.api.TopicsApi;
 import com.provectus.kafka.ui.mapper.ClusterMapper;
-import com.provectus.kafka.ui.model.InternalTopic;
 import com.provectus.kafka.ui.model.InternalTopicConfig;
+import com.provectus.kafka.ui.model.MetricsHistoryDTO;
+import com.provectus.kafka.ui.model.MetricsHistoryMetricDTO;
 import com.provectus.kafka.ui.model.PartitionsIncreaseDTO;
 import com.provectus.kafka.ui.model.PartitionsIncreaseResponseDTO;
 import com.provectus.kafka.ui.model.ReplicationFactorChangeDTO;
@@ -22,19 +23,19 @@ import com.provectus.kafka.ui.model.TopicConfigDTO;
 import com.provectus.kafka.ui.model.TopicCreationDTO;
 import com.provectus.kafka.ui.model.TopicDTO;
 import com.provectus.kafka.ui.model.TopicDetailsDTO;
+import com.provectus.kafka.ui.model.TopicKeyIndexDTO;
 import com.provectus.kafka.ui.model.TopicNamesResponseDTO;
 import com.provectus.kafka.ui.model.TopicUpdateDTO;
 import com.provectus.kafka.ui.model.TopicsResponseDTO;
 import com.provectus.kafka.ui.model.rbac.AccessContext;
 import com.provectus.kafka.ui.service.TopicsService;
 import com.provectus.kafka.ui.service.analyze.TopicAnalysisService;
+import com.provectus.kafka.ui.service.index.TopicKeyIndexService;
+import com.provectus.kafka.ui.service.metrics.history.MetricsHistoryService;
 import com.provectus.kafka.ui.service.rbac.AccessControlService;
-import java.util.Comparator;
-import java.util.List;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -51,8 +52,10 @@ public class TopicsController extends AbstractController implements TopicsApi {
 
   private final TopicsService topicsService;
   private final TopicAnalysisService topicAnalysisService;
+  private final TopicKeyIndexService topicKeyIndexService;
   private final ClusterMapper clusterMapper;
   private final AccessControlService accessControlService;
+  private final MetricsHistoryService metricsHistoryService;
 
   @Override
   public Mono<ResponseEntity<TopicDTO>> createTopic(
@@ -171,24 +174,17 @@ public class TopicsController extends AbstractController implements TopicsApi {
         .flatMap(existingTopics -> {
           int pageSize = perPage != null && perPage > 0 ? perPage : DEFAULT_PAGE_SIZE;
           var topicsToSkip = ((page != null && page > 0 ? page : 1) - 1) * pageSize;
-          var comparator = sortOrder == null || !sortOrder.equals(SortOrderDTO.DESC)
-              ? getComparatorForTopic(orderBy) : getComparatorForTopic(orderBy).reversed();
-          List<InternalTopic> filtered = existingTopics.stream()
-              .filter(topic -> !topic.isInternal()
-                  || showInternal != null && showInternal)
-              .filter(topic -> search == null || StringUtils.containsIgnoreCase(topic.getName(), search))
-              .sorted(comparator)
-              .toList();
-          var totalPages = (filtered.size() / pageSize)
-              + (filtered.size() % pageSize == 0 ? 0 : 1);
-
-          List<String> topicsPage = filtered.stream()
-              .skip(topicsToSkip)
-              .limit(pageSize)
-              .map(InternalTopic::getName)
-              .collect(toList());
-
-          return topicsService.loadTopics(getCluster(clusterName), topicsPage)
+          var topicsPage = existingTopics.page(
+              showInternal != null && showInternal,
+              search,
+              orderBy,
+              SortOrderDTO.DESC.equals(sortOrder),
+              topicsToSkip,
+              pageSize);
+          var totalPages = (topicsPage.getTotalTopics() / pageSize)
+              + (topicsPage.getTotalTopics() % pageSize == 0 ? 0 : 1);
+
+          return topicsService.loadTopics(getCluster(clusterName), topicsPage.getTopics())
               .flatMapMany(Flux::fromIterable)
               .filterWhen(dto -> accessControlService.isTopicAccessible(dto, clusterName))
               .collectList()
@@ -214,24 +210,17 @@ public class TopicsController extends AbstractController implements TopicsApi {
         .flatMap(existingTopics -> {
           int pageSize = perPage != null && perPage > 0 ? perPage : DEFAULT_PAGE_SIZE;
           var topicsToSkip = ((page != null && page > 0 ? page : 1) - 1) * pageSize;
-          var comparator = sortOrder == null || !sortOrder.equals(SortOrderDTO.DESC)
-              ? getComparatorForTopic(orderBy) : getComparatorForTopic(orderBy).reversed();
-          List<InternalTopic> filtered = existingTopics.stream()
-              .filter(topic -> !topic.isInternal()
-                  || showInternal != null && showInternal)
-              .filter(topic -> search == null || StringUtils.containsIgnoreCase(topic.getName(), search))
-              .sorted(comparator)
-              .toList();
-          var totalPages = (filtered.size() / pageSize)
-              + (filtered.size() % pageSize == 0 ? 0 : 1);
-
-          List<String> topicsPage = filtered.stream()
-              .skip(topicsToSkip)
-              .limit(pageSize)
-              .map(InternalTopic::getName)
-              .collect(toList());
-
-          return topicsService.loadTopics(getCluster(clusterName), topicsPage)
+          var topicsPage = existingTopics.page(
+              showInternal != null && showInternal,
+              search,
+              orderBy,
+              SortOrderDTO.DESC.equals(sortOrder),
+              topicsToSkip,
+              pageSize);
+          var totalPages = (topicsPage.getTotalTopics() / pageSize)
+              + (topicsPage.getTotalTopics() % pageSize == 0 ? 0 : 1);
+
+          return topicsService.loadTopics(getCluster(clusterName), topicsPage.getTopics())
               .flatMapMany(Flux::fromIterable)
               .filterWhen(dto -> accessControlService.isTopicAccessible(dto, clusterName))
               .collectList()
@@ -347,24 +336,65 @@ public class TopicsController extends AbstractController implements TopicsApi {
         .orElseGet(() -> ResponseEntity.notFound().build()));
   }
 
-  private Comparator<InternalTopic> getComparatorForTopic(
-      TopicColumnsToSortDTO orderBy) {
-    var defaultComparator = Comparator.comparing(InternalTopic::getName);
-    if (orderBy == null) {
-      return defaultComparator;
-    }
-    switch (orderBy) {
-      case TOTAL_PARTITIONS:
-        return Comparator.comparing(InternalTopic::getPartitionCount);
-      case OUT_OF_SYNC_REPLICAS:
-        return Comparator.comparing(t -> t.getReplicas() - t.getInSyncReplicas());
-      case REPLICATION_FACTOR:
-        return Comparator.comparing(InternalTopic::getReplicationFactor);
-      case SIZE:
-        return Comparator.comparing(InternalTopic::getSegmentSize);
-      case NAME:
-      default:
-        return defaultComparator;
-    }
+  @Override
+  public Mono<ResponseEntity<Void>> startTopicKeyIndexing(String clusterName, String topicName,
+                                                          ServerWebExchange exchange) {
+    Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .build());
+
+    return validateAccess.then(
+        topicKeyIndexService.startIndexing(getCluster(clusterName), topicName)
+            .thenReturn(ResponseEntity.ok().build())
+    );
+  }
+
+  @Override
+  public Mono<ResponseEntity<Void>> stopTopicKeyIndexing(String clusterName, String topicName, Boolean purge,
+                                                         ServerWebExchange exchange) {
+    Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .build());
+
+    return validateAccess.then(Mono.fromRunnable(() ->
+            topicKeyIndexService.stopIndexing(getCluster(clusterName), topicName, Boolean.TRUE.equals(purge))))
+        .thenReturn(ResponseEntity.ok().build());
+  }
+
+  @Override
+  public Mono<ResponseEntity<TopicKeyIndexDTO>> getTopicKeyIndex(String clusterName, String topicName,
+                                                                 ServerWebExchange exchange) {
+    Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .build());
+
+    return validateAccess.then(Mono.fromCallable(() ->
+        topicKeyIndexService.getIndexState(getCluster(clusterName), topicName)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build())));
   }
+
+  @Override
+  public Mono<ResponseEntity<MetricsHistoryDTO>> getTopicMetricsHistory(String clusterName,
+                                                                        String topicName,
+                                                                        MetricsHistoryMetricDTO metric,
+                                                                        Long from,
+                                                                        Long to,
+                                                                        ServerWebExchange exchange) {
+    Mono<Void> validateAccess = accessControlService.validateAccess(AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(VIEW)
+        .build());
+
+    return validateAccess.then(Mono.fromCallable(() -> ResponseEntity.ok(
+        metricsHistoryService.getTopicHistory(getCluster(clusterName), topicName, metric, from, to))));
+  }
+
 }
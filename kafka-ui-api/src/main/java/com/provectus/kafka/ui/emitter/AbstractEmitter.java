@@ -6,9 +6,12 @@ import com.provectus.kafka.ui.model.TopicMessagePhaseDTO;
 import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetOutOfRangeException;
 import org.apache.kafka.common.utils.Bytes;
 import reactor.core.publisher.FluxSink;
 
@@ -18,6 +21,9 @@ public abstract class AbstractEmitter {
   private final ConsumingStats consumingStats = new ConsumingStats();
   private final PollingThrottler throttler;
   protected final PollingSettings pollingSettings;
+  private Predicate<ConsumerRecord<Bytes, Bytes>> recordFilter; // resolved from context on first use
+  private Function<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> deserializer; // resolved from context on first use
+  private SeekOperations seekOperations;
 
   protected AbstractEmitter(ConsumerRecordDeserializer recordDeserializer, PollingSettings pollingSettings) {
     this.recordDeserializer = recordDeserializer;
@@ -33,7 +39,17 @@ public abstract class AbstractEmitter {
   protected ConsumerRecords<Bytes, Bytes> poll(
       FluxSink<TopicMessageEventDTO> sink, Consumer<Bytes, Bytes> consumer, Duration timeout) {
     Instant start = Instant.now();
-    ConsumerRecords<Bytes, Bytes> records = consumer.poll(timeout);
+    ConsumerRecords<Bytes, Bytes> records;
+    try {
+      records = consumer.poll(timeout);
+    } catch (OffsetOutOfRangeException e) {
+      if (seekOperations == null) {
+        throw e;
+      }
+      // known (cursor) offsets are outdated, fixing positions lazily instead of querying offsets for each page
+      seekOperations.onOffsetsOutOfRange(e.offsetOutOfRangePartitions());
+      records = ConsumerRecords.empty();
+    }
     Instant finish = Instant.now();
     int polledBytes = sendConsuming(sink, records, Duration.between(start, finish).toMillis());
     throttler.throttleAfterPoll(polledBytes);
@@ -42,7 +58,11 @@ public abstract class AbstractEmitter {
 
   protected void sendMessage(FluxSink<TopicMessageEventDTO> sink,
                                                        ConsumerRecord<Bytes, Bytes> msg) {
-    final TopicMessageDTO topicMessage = recordDeserializer.deserialize(msg);
+    if (!applyRecordFilter(sink, msg)) {
+      consumingStats.incrementSkipped();
+      return;
+    }
+    final TopicMessageDTO topicMessage = getDeserializer(sink).apply(msg);
     sink.next(
         new TopicMessageEventDTO()
             .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
@@ -50,6 +70,33 @@ public abstract class AbstractEmitter {
     );
   }
 
+  private Function<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> getDeserializer(FluxSink<?> sink) {
+    if (deserializer == null) {
+      deserializer = sink.contextView()
+          .<MessagePreview>getOrEmpty(MessagePreview.class)
+          .<Function<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO>>map(preview ->
+              rec -> recordDeserializer.deserializePreview(rec, preview.getMaxDeserializeBytes()))
+          .orElse(recordDeserializer::deserialize);
+    }
+    return deserializer;
+  }
+
+  private boolean applyRecordFilter(FluxSink<?> sink, ConsumerRecord<Bytes, Bytes> msg) {
+    if (recordFilter == null) {
+      recordFilter = sink.contextView()
+          .<Predicate<ConsumerRecord<Bytes, Bytes>>>getOrEmpty(RecordFilter.class)
+          .orElse(r -> true);
+    }
+    try {
+      return recordFilter.test(msg);
+    } catch (Exception e) {
+      sink.contextView()
+          .<MessageFilterStats>getOrEmpty(MessageFilterStats.class)
+          .ifPresent(MessageFilterStats::incrementApplyErrors);
+      return false;
+    }
+  }
+
   protected void sendPhase(FluxSink<TopicMessageEventDTO> sink, String name) {
     sink.next(
         new TopicMessageEventDTO()
@@ -64,6 +111,14 @@ public abstract class AbstractEmitter {
     return consumingStats.sendConsumingEvt(sink, records, elapsed, getFilterApplyErrors(sink));
   }
 
+  protected void onSeekOperationsCreated(FluxSink<?> sink, SeekOperations seekOperations) {
+    this.seekOperations = seekOperations;
+    consumingStats.addTimestampSeekProbes(seekOperations.getTimestampSeekProbes());
+    sink.contextView()
+        .<Cursor.Tracking>getOrEmpty(Cursor.Tracking.class)
+        .ifPresent(cursor -> cursor.initOffsets(seekOperations));
+  }
+
   protected void sendFinishStatsAndCompleteSink(FluxSink<TopicMessageEventDTO> sink) {
     consumingStats.sendFinishEvent(sink, getFilterApplyErrors(sink));
     sink.complete();
@@ -1,12 +1,17 @@
 package com.provectus.kafka.ui.emitter;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
 import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +28,13 @@ public class BackwardRecordEmitter
     extends AbstractEmitter
     implements java.util.function.Consumer<FluxSink<TopicMessageEventDTO>> {
 
+  // newest records first, records from different partitions are merged by timestamp
+  private static final Comparator<ConsumerRecord<?, ?>> RECORDS_ORDER =
+      Comparator.<ConsumerRecord<?, ?>>comparingLong(ConsumerRecord::timestamp)
+          .thenComparingLong(ConsumerRecord::offset)
+          .reversed()
+          .thenComparingInt(ConsumerRecord::partition);
+
   private final Supplier<KafkaConsumer<Bytes, Bytes>> consumerSupplier;
   private final ConsumerPosition consumerPosition;
   private final int messagesPerPage;
@@ -46,6 +58,7 @@ public class BackwardRecordEmitter
       sendPhase(sink, "Created consumer");
 
       var seekOperations = SeekOperations.create(consumer, consumerPosition);
+      onSeekOperationsCreated(sink, seekOperations);
       var readUntilOffsets = new TreeMap<TopicPartition, Long>(Comparator.comparingInt(TopicPartition::partition));
       readUntilOffsets.putAll(seekOperations.getOffsetsForSeek());
 
@@ -53,26 +66,38 @@ public class BackwardRecordEmitter
       log.debug("'Until' offsets for polling: {}", readUntilOffsets);
 
       while (!sink.isCancelled() && !readUntilOffsets.isEmpty()) {
-        new TreeMap<>(readUntilOffsets).forEach((tp, readToOffset) -> {
+        var iterationRecords = new ArrayList<List<ConsumerRecord<Bytes, Bytes>>>();
+        var partitionsChunks = Iterables.partition(
+            new ArrayList<>(readUntilOffsets.keySet()), pollingSettings.getBackwardPollConcurrency());
+        for (List<TopicPartition> partitions : partitionsChunks) {
           if (sink.isCancelled()) {
-            return; //fast return in case of sink cancellation
-          }
-          long beginOffset = seekOperations.getBeginOffsets().get(tp);
-          long readFromOffset = Math.max(beginOffset, readToOffset - msgsToPollPerPartition);
-
-          partitionPollIteration(tp, readFromOffset, readToOffset, consumer, sink)
-              .stream()
-              .filter(r -> !sink.isCancelled())
-              .forEach(r -> sendMessage(sink, r));
-
-          if (beginOffset == readFromOffset) {
-            // we fully read this partition -> removing it from polling iterations
-            readUntilOffsets.remove(tp);
-          } else {
-            // updating 'to' offset for next polling iteration
-            readUntilOffsets.put(tp, readFromOffset);
+            break; //fast return in case of sink cancellation
           }
-        });
+          var readFromOffsets = new HashMap<TopicPartition, Long>();
+          partitions.forEach(tp -> {
+            long beginOffset = seekOperations.getBeginOffsets().get(tp);
+            readFromOffsets.put(tp, Math.max(beginOffset, readUntilOffsets.get(tp) - msgsToPollPerPartition));
+          });
+
+          iterationRecords.addAll(partitionsPollIteration(readFromOffsets, readUntilOffsets, consumer, sink).values());
+
+          readFromOffsets.forEach((tp, readFromOffset) -> {
+            long beginOffset = seekOperations.getBeginOffsets().get(tp);
+            if (beginOffset == readFromOffset) {
+              // we fully read this partition -> removing it from polling iterations
+              readUntilOffsets.remove(tp);
+            } else {
+              // updating 'to' offset for next polling iteration
+              readUntilOffsets.put(tp, readFromOffset);
+            }
+          });
+        }
+        // each partition's records are in offset-descending order, merging keeps this order within partition
+        var merged = Iterators.mergeSorted(Lists.transform(iterationRecords, List::iterator), RECORDS_ORDER);
+        while (merged.hasNext() && !sink.isCancelled()) {
+          sendMessage(sink, merged.next());
+        }
+
         if (readUntilOffsets.isEmpty()) {
           log.debug("begin reached after partitions poll iteration");
         } else if (sink.isCancelled()) {
@@ -90,41 +115,56 @@ public class BackwardRecordEmitter
     }
   }
 
-  private List<ConsumerRecord<Bytes, Bytes>> partitionPollIteration(
-      TopicPartition tp,
-      long fromOffset,
-      long toOffset,
+  /**
+   * Polls [fromOffset, toOffset) ranges of all passed partitions at once, using single multi-partition
+   * assignment. Partitions that reached their 'to' offset are paused, so that polling time is
+   * bounded by the slowest partition, not by the sum of all partitions.
+   */
+  private Map<TopicPartition, List<ConsumerRecord<Bytes, Bytes>>> partitionsPollIteration(
+      Map<TopicPartition, Long> fromOffsets,
+      Map<TopicPartition, Long> toOffsets,
       Consumer<Bytes, Bytes> consumer,
       FluxSink<TopicMessageEventDTO> sink
   ) {
-    consumer.assign(Collections.singleton(tp));
-    consumer.seek(tp, fromOffset);
-    sendPhase(sink, String.format("Polling partition: %s from offset %s", tp, fromOffset));
-    int desiredMsgsToPoll = (int) (toOffset - fromOffset);
+    consumer.assign(fromOffsets.keySet());
+    fromOffsets.forEach(consumer::seek);
+    sendPhase(sink, String.format("Polling partitions: %s", fromOffsets.keySet().stream()
+        .map(TopicPartition::partition).sorted().toList()));
 
-    var recordsToSend = new ArrayList<ConsumerRecord<Bytes, Bytes>>();
+    var notFullyPolled = new HashMap<TopicPartition, Long>();
+    fromOffsets.keySet().forEach(tp -> notFullyPolled.put(tp, toOffsets.get(tp)));
+
+    var recordsToSend = new HashMap<TopicPartition, List<ConsumerRecord<Bytes, Bytes>>>();
 
     EmptyPollsCounter emptyPolls  = pollingSettings.createEmptyPollsCounter();
     while (!sink.isCancelled()
-        && recordsToSend.size() < desiredMsgsToPoll
+        && !notFullyPolled.isEmpty()
         && !emptyPolls.noDataEmptyPollsReached()) {
       var polledRecords = poll(sink, consumer, pollingSettings.getPartitionPollTimeout());
       emptyPolls.count(polledRecords);
 
-      log.debug("{} records polled from {}", polledRecords.count(), tp);
-
-      var filteredRecords = polledRecords.records(tp).stream()
-          .filter(r -> r.offset() < toOffset)
-          .toList();
+      log.debug("{} records polled from {} partitions", polledRecords.count(), polledRecords.partitions().size());
 
-      if (!polledRecords.isEmpty() && filteredRecords.isEmpty()) {
-        // we already read all messages in target offsets interval
-        break;
+      for (TopicPartition tp : polledRecords.partitions()) {
+        Long toOffset = notFullyPolled.get(tp);
+        if (toOffset == null) {
+          continue;
+        }
+        var partitionRecords = polledRecords.records(tp);
+        partitionRecords.stream()
+            .filter(r -> r.offset() < toOffset)
+            .forEach(r -> recordsToSend.computeIfAbsent(tp, t -> new ArrayList<>()).add(r));
+
+        if (partitionRecords.get(partitionRecords.size() - 1).offset() >= toOffset - 1) {
+          // we already read all messages in target offsets interval
+          notFullyPolled.remove(tp);
+          consumer.pause(List.of(tp));
+        }
       }
-      recordsToSend.addAll(filteredRecords);
     }
-    log.debug("{} records to send", recordsToSend.size());
-    Collections.reverse(recordsToSend);
+    consumer.resume(consumer.paused());
+    recordsToSend.values().forEach(Collections::reverse);
+    log.debug("{} records to send", recordsToSend.values().stream().mapToInt(List::size).sum());
     return recordsToSend;
   }
 }
@@ -12,6 +12,8 @@ class ConsumingStats {
   private long bytes = 0;
   private int records = 0;
   private long elapsed = 0;
+  private int skipped = 0;
+  private int timestampSeekProbes = 0;
 
   /**
    * returns bytes polled.
@@ -32,6 +34,15 @@ class ConsumingStats {
     return polledBytes;
   }
 
+  // record was filtered out before deserialization
+  void incrementSkipped() {
+    skipped++;
+  }
+
+  void addTimestampSeekProbes(int probes) {
+    timestampSeekProbes += probes;
+  }
+
   void sendFinishEvent(FluxSink<TopicMessageEventDTO> sink, Number filterApplyErrors) {
     sink.next(
         new TopicMessageEventDTO()
@@ -47,6 +58,8 @@ class ConsumingStats {
         .elapsedMs(this.elapsed)
         .isCancelled(sink.isCancelled())
         .filterApplyErrors(filterApplyErrors.intValue())
+        .messagesSkipped(this.skipped)
+        .timestampSeekProbes(this.timestampSeekProbes)
         .messagesConsumed(this.records);
   }
 }
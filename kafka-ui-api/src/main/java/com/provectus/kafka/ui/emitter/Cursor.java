@@ -0,0 +1,127 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.SeekDirectionDTO;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import lombok.Value;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * State that is needed to load the next messages page: offsets to continue polling from and all other polling
+ * parameters. Begin/end offsets are queried once (by the first page) and carried by cursor's position, so next pages
+ * are positioned without offsets lookup: messages produced after the first page was loaded are not returned, and
+ * offsets removed by retention are only detected (and re-queried) when consumer fails to poll from them.
+ */
+@Value
+public class Cursor {
+
+  ConsumerPosition consumerPosition;
+  SeekDirectionDTO seekDirection;
+  @Nullable
+  String query;
+  MessageFilterTypeDTO filterQueryType;
+  @Nullable
+  String recordFilter;
+  int limit;
+  @Nullable
+  String keySerde;
+  @Nullable
+  String valueSerde;
+  boolean orderByTimestamp;
+  @Nullable
+  Integer previewLength;
+
+  /**
+   * Tracks offsets of messages that were examined (emitted by emitter, before filtering) during polling.
+   * Put into reactor context, so emitters can initialize it with offsets they have retrieved.
+   */
+  public static class Tracking {
+
+    private final String topic;
+    private final SeekDirectionDTO seekDirection;
+
+    private SeekOperations seekOperations;
+    // next offset to poll from (forward) or to poll until (backward, exclusive)
+    private Map<TopicPartition, Long> nextOffsets;
+
+    // last tracked message's partition & its previous offset - used to untrack message that was not sent
+    private TopicPartition lastTrackedPartition;
+    private Long lastTrackedPrevOffset;
+
+    public Tracking(String topic, SeekDirectionDTO seekDirection) {
+      this.topic = topic;
+      this.seekDirection = seekDirection;
+    }
+
+    synchronized void initOffsets(SeekOperations seekOperations) {
+      this.seekOperations = seekOperations;
+      this.nextOffsets = new HashMap<>(seekOperations.getOffsetsForSeek());
+    }
+
+    public synchronized void trackExamined(TopicMessageEventDTO event) {
+      if (nextOffsets == null || event.getType() != TopicMessageEventDTO.TypeEnum.MESSAGE) {
+        return;
+      }
+      TopicMessageDTO msg = event.getMessage();
+      var tp = new TopicPartition(topic, msg.getPartition());
+      lastTrackedPartition = tp;
+      lastTrackedPrevOffset = nextOffsets.put(
+          tp, seekDirection == SeekDirectionDTO.BACKWARD ? msg.getOffset() : msg.getOffset() + 1);
+    }
+
+    // should be called when last tracked message was not sent to client (page limit reached)
+    public synchronized void untrackLast() {
+      if (lastTrackedPartition == null) {
+        return;
+      }
+      if (lastTrackedPrevOffset == null) {
+        nextOffsets.remove(lastTrackedPartition);
+      } else {
+        nextOffsets.put(lastTrackedPartition, lastTrackedPrevOffset);
+      }
+      lastTrackedPartition = null;
+      lastTrackedPrevOffset = null;
+    }
+
+    /**
+     * Returns position to continue polling from, or null if there is nothing to poll anymore.
+     * In forward mode, partitions that were polled till end offsets are kept, so position covers all partitions
+     * that were polled.
+     */
+    @Nullable
+    public synchronized ConsumerPosition nextPosition() {
+      if (nextOffsets == null) {
+        return null;
+      }
+      // begin/end offsets can be refreshed during polling, see SeekOperations.onOffsetsOutOfRange(..)
+      var beginOffsets = seekOperations.getBeginOffsets();
+      var endOffsets = seekOperations.getEndOffsets();
+      var remaining = new HashMap<TopicPartition, Long>();
+      boolean allExhausted = true;
+      for (var e : nextOffsets.entrySet()) {
+        TopicPartition tp = e.getKey();
+        long offset = e.getValue();
+        if (seekDirection == SeekDirectionDTO.BACKWARD) {
+          if (offset > beginOffsets.get(tp)) {
+            remaining.put(tp, offset);
+            allExhausted = false;
+          }
+        } else {
+          remaining.put(tp, offset);
+          allExhausted &= offset >= endOffsets.get(tp);
+        }
+      }
+      if (allExhausted) {
+        return null;
+      }
+      return new ConsumerPosition(SeekTypeDTO.OFFSET, topic, remaining, beginOffsets, endOffsets);
+    }
+  }
+
+}
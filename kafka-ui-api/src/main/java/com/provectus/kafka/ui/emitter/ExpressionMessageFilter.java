@@ -0,0 +1,797 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.provectus.kafka.ui.exception.ValidationException;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Simple CEL-like expressions language for messages filtering. Expression is parsed once
+ * into a tree of nodes, that is evaluated for each message. Key and value are parsed as json
+ * only if they are referenced in expression, and only once per message.
+ * <br/>
+ * Supported syntax:
+ * <ul>
+ *   <li>fields: partition, offset, timestampMs, keyAsText, valueAsText, key, value, headers</li>
+ *   <li>json / headers access: value.name.first, value['some field'], value.items[0]</li>
+ *   <li>literals: 'string', "string", 123, 1.5, true, false, null, lists [1, 2]</li>
+ *   <li>operators: ==, !=, &lt;, &lt;=, &gt;, &gt;=, in, &amp;&amp;, ||, !, parentheses</li>
+ *   <li>string functions: contains(), startsWith(), endsWith(), matches(regex)</li>
+ * </ul>
+ * Example: {@code partition == 1 && value.name.first.startsWith('jo') && headers.type in ['a', 'b']}
+ */
+class ExpressionMessageFilter implements Predicate<TopicMessageDTO> {
+
+  private static final JsonMapper JSON_MAPPER = new JsonMapper();
+
+  private final Node root;
+
+  private ExpressionMessageFilter(Node root) {
+    this.root = root;
+  }
+
+  static ExpressionMessageFilter compile(String expression) {
+    return new ExpressionMessageFilter(new Parser(expression).parse());
+  }
+
+  /**
+   * Creates predicate for raw (not deserialized) records. Same syntax is supported, but key & value
+   * text is raw bytes decoded as UTF-8 and headers are raw header values decoded as UTF-8.
+   */
+  static Predicate<ConsumerRecord<Bytes, Bytes>> compileForRecords(String expression) {
+    Node root = new Parser(expression).parse();
+    return rec -> checkResult(root.eval(new RecordEvalContext(rec)));
+  }
+
+  @Override
+  public boolean test(TopicMessageDTO msg) {
+    return checkResult(root.eval(new MessageEvalContext(msg)));
+  }
+
+  private static boolean checkResult(@Nullable Object result) {
+    if (result instanceof Boolean) {
+      return (Boolean) result;
+    }
+    throw new ValidationException(
+        String.format("Unexpected expression result: %s, Boolean should be returned instead", result));
+  }
+
+  // holds lazily parsed key & value of evaluated message
+  private abstract static class EvalContext {
+    private JsonNode key;
+    private JsonNode value;
+
+    abstract Integer partition();
+
+    abstract Long offset();
+
+    abstract Long timestampMs();
+
+    @Nullable
+    abstract String keyAsText();
+
+    @Nullable
+    abstract String valueAsText();
+
+    abstract Map<String, String> headers();
+
+    JsonNode key() {
+      if (key == null) {
+        key = parseJson(keyAsText());
+      }
+      return key;
+    }
+
+    JsonNode value() {
+      if (value == null) {
+        value = parseJson(valueAsText());
+      }
+      return value;
+    }
+
+    private static JsonNode parseJson(@Nullable String str) {
+      if (str == null) {
+        return JSON_MAPPER.nullNode();
+      }
+      try {
+        return JSON_MAPPER.readTree(str);
+      } catch (Exception e) {
+        return JSON_MAPPER.nullNode();
+      }
+    }
+  }
+
+  private static class MessageEvalContext extends EvalContext {
+    private final TopicMessageDTO msg;
+
+    MessageEvalContext(TopicMessageDTO msg) {
+      this.msg = msg;
+    }
+
+    @Override
+    Integer partition() {
+      return msg.getPartition();
+    }
+
+    @Override
+    Long offset() {
+      return msg.getOffset();
+    }
+
+    @Override
+    Long timestampMs() {
+      return msg.getTimestamp().toInstant().toEpochMilli();
+    }
+
+    @Override
+    String keyAsText() {
+      return msg.getKey();
+    }
+
+    @Override
+    String valueAsText() {
+      return msg.getContent();
+    }
+
+    @Override
+    Map<String, String> headers() {
+      return msg.getHeaders();
+    }
+  }
+
+  private static class RecordEvalContext extends EvalContext {
+    private final ConsumerRecord<Bytes, Bytes> rec;
+    private String keyAsText;
+    private String valueAsText;
+    private Map<String, String> headers;
+
+    RecordEvalContext(ConsumerRecord<Bytes, Bytes> rec) {
+      this.rec = rec;
+    }
+
+    @Override
+    Integer partition() {
+      return rec.partition();
+    }
+
+    @Override
+    Long offset() {
+      return rec.offset();
+    }
+
+    @Override
+    Long timestampMs() {
+      return rec.timestamp();
+    }
+
+    @Override
+    String keyAsText() {
+      if (keyAsText == null && rec.key() != null) {
+        keyAsText = new String(rec.key().get(), StandardCharsets.UTF_8);
+      }
+      return keyAsText;
+    }
+
+    @Override
+    String valueAsText() {
+      if (valueAsText == null && rec.value() != null) {
+        valueAsText = new String(rec.value().get(), StandardCharsets.UTF_8);
+      }
+      return valueAsText;
+    }
+
+    @Override
+    Map<String, String> headers() {
+      if (headers == null) {
+        headers = new HashMap<>();
+        for (Header header : rec.headers()) {
+          headers.put(
+              header.key(),
+              header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null);
+        }
+      }
+      return headers;
+    }
+  }
+
+  private interface Node {
+    @Nullable
+    Object eval(EvalContext ctx);
+  }
+
+  private static boolean isTrue(@Nullable Object obj) {
+    return Boolean.TRUE.equals(obj);
+  }
+
+  // unwraps json scalars to java objects, so they can be compared with literals
+  @Nullable
+  private static Object unwrap(@Nullable Object obj) {
+    if (obj instanceof JsonNode) {
+      var node = (JsonNode) obj;
+      if (node.isNull() || node.isMissingNode()) {
+        return null;
+      } else if (node.isTextual()) {
+        return node.textValue();
+      } else if (node.isBoolean()) {
+        return node.booleanValue();
+      } else if (node.isIntegralNumber() && node.canConvertToLong()) {
+        return node.longValue();
+      } else if (node.isNumber()) {
+        return node.doubleValue();
+      }
+    }
+    return obj;
+  }
+
+  private static boolean isIntegral(Object num) {
+    return num instanceof Long || num instanceof Integer || num instanceof Short || num instanceof Byte;
+  }
+
+  private static boolean valuesEqual(@Nullable Object left, @Nullable Object right) {
+    if (left instanceof Number && right instanceof Number) {
+      return compareNumbers((Number) left, (Number) right) == 0;
+    }
+    return Objects.equals(left, right);
+  }
+
+  private static int compareNumbers(Number left, Number right) {
+    if (isIntegral(left) && isIntegral(right)) {
+      return Long.compare(left.longValue(), right.longValue());
+    }
+    return Double.compare(left.doubleValue(), right.doubleValue());
+  }
+
+  // ------------------------------ nodes ------------------------------
+
+  private static final class Literal implements Node {
+    private final Object value;
+
+    Literal(@Nullable Object value) {
+      this.value = value;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      return value;
+    }
+  }
+
+  private enum Field implements Node {
+    PARTITION("partition") {
+      @Override
+      public Object eval(EvalContext ctx) {
+        return ctx.partition();
+      }
+    },
+    OFFSET("offset") {
+      @Override
+      public Object eval(EvalContext ctx) {
+        return ctx.offset();
+      }
+    },
+    TIMESTAMP_MS("timestampMs") {
+      @Override
+      public Object eval(EvalContext ctx) {
+        return ctx.timestampMs();
+      }
+    },
+    KEY_AS_TEXT("keyAsText") {
+      @Override
+      public Object eval(EvalContext ctx) {
+        return ctx.keyAsText();
+      }
+    },
+    VALUE_AS_TEXT("valueAsText") {
+      @Override
+      public Object eval(EvalContext ctx) {
+        return ctx.valueAsText();
+      }
+    },
+    KEY("key") {
+      @Override
+      public Object eval(EvalContext ctx) {
+        return ctx.key();
+      }
+    },
+    VALUE("value") {
+      @Override
+      public Object eval(EvalContext ctx) {
+        return ctx.value();
+      }
+    },
+    HEADERS("headers") {
+      @Override
+      public Object eval(EvalContext ctx) {
+        return ctx.headers();
+      }
+    };
+
+    private final String name;
+
+    Field(String name) {
+      this.name = name;
+    }
+
+    @Nullable
+    static Field byName(String name) {
+      for (Field f : values()) {
+        if (f.name.equals(name)) {
+          return f;
+        }
+      }
+      return null;
+    }
+  }
+
+  private static final class PropertyAccess implements Node {
+    private final Node target;
+    private final String property;
+
+    PropertyAccess(Node target, String property) {
+      this.target = target;
+      this.property = property;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      Object obj = target.eval(ctx);
+      if (obj instanceof JsonNode) {
+        return ((JsonNode) obj).get(property);
+      } else if (obj instanceof Map) {
+        return ((Map<?, ?>) obj).get(property);
+      }
+      return null;
+    }
+  }
+
+  private static final class IndexAccess implements Node {
+    private final Node target;
+    private final int index;
+
+    IndexAccess(Node target, int index) {
+      this.target = target;
+      this.index = index;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      Object obj = target.eval(ctx);
+      return obj instanceof JsonNode ? ((JsonNode) obj).get(index) : null;
+    }
+  }
+
+  private static final class Not implements Node {
+    private final Node operand;
+
+    Not(Node operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      return !isTrue(operand.eval(ctx));
+    }
+  }
+
+  private static final class And implements Node {
+    private final Node left;
+    private final Node right;
+
+    And(Node left, Node right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      return isTrue(left.eval(ctx)) && isTrue(right.eval(ctx));
+    }
+  }
+
+  private static final class Or implements Node {
+    private final Node left;
+    private final Node right;
+
+    Or(Node left, Node right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      return isTrue(left.eval(ctx)) || isTrue(right.eval(ctx));
+    }
+  }
+
+  private static final class Equals implements Node {
+    private final Node left;
+    private final Node right;
+    private final boolean negate;
+
+    Equals(Node left, Node right, boolean negate) {
+      this.left = left;
+      this.right = right;
+      this.negate = negate;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      return negate != valuesEqual(unwrap(left.eval(ctx)), unwrap(right.eval(ctx)));
+    }
+  }
+
+  private static final class Compare implements Node {
+    private final Node left;
+    private final Node right;
+    private final String op;
+
+    Compare(Node left, Node right, String op) {
+      this.left = left;
+      this.right = right;
+      this.op = op;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      Object l = unwrap(left.eval(ctx));
+      Object r = unwrap(right.eval(ctx));
+      int cmp;
+      if (l instanceof Number && r instanceof Number) {
+        cmp = compareNumbers((Number) l, (Number) r);
+      } else if (l instanceof String && r instanceof String) {
+        cmp = ((String) l).compareTo((String) r);
+      } else {
+        return false;
+      }
+      switch (op) {
+        case "<":
+          return cmp < 0;
+        case "<=":
+          return cmp <= 0;
+        case ">":
+          return cmp > 0;
+        default:
+          return cmp >= 0;
+      }
+    }
+  }
+
+  private static final class In implements Node {
+    private final Node value;
+    private final List<Node> candidates;
+
+    In(Node value, List<Node> candidates) {
+      this.value = value;
+      this.candidates = candidates;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      Object v = unwrap(value.eval(ctx));
+      for (Node candidate : candidates) {
+        if (valuesEqual(v, unwrap(candidate.eval(ctx)))) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static final class StringFunction implements Node {
+    private final Node target;
+    private final String function;
+    private final Node argument;
+    @Nullable
+    private final Pattern precompiledPattern; // for matches() with literal argument
+
+    StringFunction(Node target, String function, Node argument) {
+      this.target = target;
+      this.function = function;
+      this.argument = argument;
+      this.precompiledPattern = function.equals("matches") && argument instanceof Literal
+          ? compilePattern(String.valueOf(((Literal) argument).value))
+          : null;
+    }
+
+    @Override
+    public Object eval(EvalContext ctx) {
+      Object t = unwrap(target.eval(ctx));
+      Object arg = unwrap(argument.eval(ctx));
+      if (!(t instanceof String) || !(arg instanceof String)) {
+        return false;
+      }
+      String str = (String) t;
+      switch (function) {
+        case "contains":
+          return str.contains((String) arg);
+        case "startsWith":
+          return str.startsWith((String) arg);
+        case "endsWith":
+          return str.endsWith((String) arg);
+        default:
+          var pattern = precompiledPattern != null ? precompiledPattern : compilePattern((String) arg);
+          return pattern.matcher(str).find();
+      }
+    }
+
+    private static Pattern compilePattern(String regex) {
+      try {
+        return Pattern.compile(regex);
+      } catch (PatternSyntaxException e) {
+        throw new ValidationException("Invalid regex: " + e.getMessage());
+      }
+    }
+  }
+
+  // ------------------------------ parsing ------------------------------
+
+  private static final class Parser {
+    private static final List<String> FUNCTIONS = List.of("contains", "startsWith", "endsWith", "matches");
+
+    private final String expr;
+    private int pos = 0;
+
+    Parser(String expr) {
+      this.expr = expr;
+    }
+
+    Node parse() {
+      Node node = parseOr();
+      skipWhitespaces();
+      if (pos < expr.length()) {
+        throw error("Unexpected character '" + expr.charAt(pos) + "'");
+      }
+      return node;
+    }
+
+    private Node parseOr() {
+      Node node = parseAnd();
+      while (tryConsume("||")) {
+        node = new Or(node, parseAnd());
+      }
+      return node;
+    }
+
+    private Node parseAnd() {
+      Node node = parseUnary();
+      while (tryConsume("&&")) {
+        node = new And(node, parseUnary());
+      }
+      return node;
+    }
+
+    private Node parseUnary() {
+      skipWhitespaces();
+      if (peek() == '!' && peekNext() != '=') {
+        pos++;
+        return new Not(parseUnary());
+      }
+      return parseComparison();
+    }
+
+    private Node parseComparison() {
+      Node left = parseOperand();
+      for (String op : List.of("==", "!=", "<=", ">=", "<", ">")) {
+        if (tryConsume(op)) {
+          Node right = parseOperand();
+          switch (op) {
+            case "==":
+              return new Equals(left, right, false);
+            case "!=":
+              return new Equals(left, right, true);
+            default:
+              return new Compare(left, right, op);
+          }
+        }
+      }
+      if (tryConsumeKeyword("in")) {
+        skipWhitespaces();
+        expect('[');
+        return new In(left, parseListItems());
+      }
+      return left;
+    }
+
+    private Node parseOperand() {
+      Node node = parsePrimary();
+      while (true) {
+        skipWhitespaces();
+        if (peek() == '.') {
+          pos++;
+          String name = parseIdentifier();
+          skipWhitespaces();
+          if (peek() == '(') {
+            node = parseFunctionCall(node, name);
+          } else {
+            node = new PropertyAccess(node, name);
+          }
+        } else if (peek() == '[') {
+          pos++;
+          skipWhitespaces();
+          Object index = parseLiteralValue();
+          skipWhitespaces();
+          expect(']');
+          if (index instanceof Long) {
+            node = new IndexAccess(node, ((Long) index).intValue());
+          } else if (index instanceof String) {
+            node = new PropertyAccess(node, (String) index);
+          } else {
+            throw error("Index should be string or integer");
+          }
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private Node parseFunctionCall(Node target, String name) {
+      if (!FUNCTIONS.contains(name)) {
+        throw error("Unknown function '" + name + "'");
+      }
+      expect('(');
+      Node arg = parseOr();
+      skipWhitespaces();
+      expect(')');
+      return new StringFunction(target, name, arg);
+    }
+
+    private Node parsePrimary() {
+      skipWhitespaces();
+      char c = peek();
+      if (c == '(') {
+        pos++;
+        Node node = parseOr();
+        skipWhitespaces();
+        expect(')');
+        return node;
+      }
+      if (c == '[') {
+        throw error("Lists are only allowed as 'in' operator argument");
+      }
+      if (Character.isJavaIdentifierStart(c)) {
+        int start = pos;
+        String ident = parseIdentifier();
+        switch (ident) {
+          case "true":
+            return new Literal(true);
+          case "false":
+            return new Literal(false);
+          case "null":
+            return new Literal(null);
+          default:
+            Field field = Field.byName(ident);
+            if (field == null) {
+              pos = start;
+              throw error("Unknown field '" + ident + "'");
+            }
+            return field;
+        }
+      }
+      return new Literal(parseLiteralValue());
+    }
+
+    private List<Node> parseListItems() {
+      List<Node> items = new ArrayList<>();
+      skipWhitespaces();
+      if (tryConsume("]")) {
+        return items;
+      }
+      do {
+        items.add(parseOperand());
+        skipWhitespaces();
+      } while (tryConsume(","));
+      expect(']');
+      return items;
+    }
+
+    private Object parseLiteralValue() {
+      char c = peek();
+      if (c == '\'' || c == '"') {
+        return parseString(c);
+      }
+      if (Character.isDigit(c) || c == '-') {
+        int start = pos++;
+        while (pos < expr.length()
+            && (Character.isDigit(peek()) || peek() == '.' || peek() == 'e' || peek() == 'E')) {
+          pos++;
+        }
+        String num = expr.substring(start, pos);
+        try {
+          return num.contains(".") || num.contains("e") || num.contains("E")
+              ? (Object) Double.parseDouble(num)
+              : (Object) Long.parseLong(num);
+        } catch (NumberFormatException e) {
+          throw error("Invalid number '" + num + "'");
+        }
+      }
+      throw error(pos < expr.length() ? "Unexpected character '" + c + "'" : "Unexpected end of expression");
+    }
+
+    private String parseString(char quote) {
+      pos++;
+      var sb = new StringBuilder();
+      while (pos < expr.length() && peek() != quote) {
+        char c = expr.charAt(pos++);
+        if (c == '\\' && pos < expr.length()) {
+          c = expr.charAt(pos++);
+        }
+        sb.append(c);
+      }
+      expect(quote);
+      return sb.toString();
+    }
+
+    private String parseIdentifier() {
+      skipWhitespaces();
+      int start = pos;
+      if (pos < expr.length() && Character.isJavaIdentifierStart(peek())) {
+        pos++;
+        while (pos < expr.length() && Character.isJavaIdentifierPart(peek())) {
+          pos++;
+        }
+      }
+      if (start == pos) {
+        throw error("Identifier expected");
+      }
+      return expr.substring(start, pos);
+    }
+
+    private boolean tryConsume(String token) {
+      skipWhitespaces();
+      if (expr.startsWith(token, pos)) {
+        pos += token.length();
+        return true;
+      }
+      return false;
+    }
+
+    private boolean tryConsumeKeyword(String keyword) {
+      skipWhitespaces();
+      int end = pos + keyword.length();
+      if (expr.startsWith(keyword, pos)
+          && (end == expr.length() || !Character.isJavaIdentifierPart(expr.charAt(end)))) {
+        pos = end;
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(char c) {
+      if (peek() != c) {
+        throw error("'" + c + "' expected");
+      }
+      pos++;
+    }
+
+    private char peek() {
+      return pos < expr.length() ? expr.charAt(pos) : 0;
+    }
+
+    private char peekNext() {
+      return pos + 1 < expr.length() ? expr.charAt(pos + 1) : 0;
+    }
+
+    private void skipWhitespaces() {
+      while (pos < expr.length() && Character.isWhitespace(expr.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    private ValidationException error(String msg) {
+      return new ValidationException(String.format("Expression syntax error at position %d: %s", pos, msg));
+    }
+  }
+}
@@ -36,6 +36,7 @@ public class ForwardRecordEmitter
     try (KafkaConsumer<Bytes, Bytes> consumer = consumerSupplier.get()) {
       sendPhase(sink, "Assigning partitions");
       var seekOperations = SeekOperations.create(consumer, position);
+      onSeekOperationsCreated(sink, seekOperations);
       seekOperations.assignAndSeekNonEmptyPartitions();
 
       EmptyPollsCounter emptyPolls = pollingSettings.createEmptyPollsCounter();
@@ -0,0 +1,168 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.utils.Bytes;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Emits records with specified key using offsets resolved from key index: only records at these offsets are
+ * fetched (seeking over gaps between them). Part of partition that was not indexed yet is scanned sequentially.
+ * Since index can contain hash collisions and outdated entries, key of every fetched record is verified.
+ */
+@Slf4j
+public class KeyLookupEmitter
+    extends AbstractEmitter
+    implements java.util.function.Consumer<FluxSink<TopicMessageEventDTO>> {
+
+  private final Supplier<? extends Consumer<Bytes, Bytes>> consumerSupplier;
+  private final String topic;
+  private final Bytes key;
+  private final Map<Integer, NavigableSet<Long>> indexedOffsets;
+  private final Map<Integer, Long> indexedUntilOffsets;
+
+  public KeyLookupEmitter(Supplier<? extends Consumer<Bytes, Bytes>> consumerSupplier,
+                          String topic,
+                          Bytes key,
+                          Map<Integer, NavigableSet<Long>> indexedOffsets,
+                          Map<Integer, Long> indexedUntilOffsets,
+                          ConsumerRecordDeserializer recordDeserializer,
+                          PollingSettings pollingSettings) {
+    super(recordDeserializer, pollingSettings);
+    this.consumerSupplier = consumerSupplier;
+    this.topic = topic;
+    this.key = key;
+    this.indexedOffsets = indexedOffsets;
+    this.indexedUntilOffsets = indexedUntilOffsets;
+  }
+
+  @Override
+  public void accept(FluxSink<TopicMessageEventDTO> sink) {
+    log.debug("Starting key lookup for topic {}", topic);
+    try (Consumer<Bytes, Bytes> consumer = consumerSupplier.get()) {
+      sendPhase(sink, "Assigning partitions");
+      // starting from first indexed offset (or from not-indexed part start), offsets are fixed to
+      // partitions' begin-end bounds by seek operations
+      var seekOperations = SeekOperations.create(consumer,
+          new ConsumerPosition(SeekTypeDTO.OFFSET, topic, startOffsets()));
+      onSeekOperationsCreated(sink, seekOperations);
+      for (var e : seekOperations.getOffsetsForSeek().entrySet()) {
+        if (sink.isCancelled()) {
+          break;
+        }
+        TopicPartition tp = e.getKey();
+        emitPartition(
+            sink,
+            consumer,
+            tp,
+            indexedOffsets.getOrDefault(tp.partition(), Collections.emptyNavigableSet()),
+            indexedUntilOffsets.getOrDefault(tp.partition(), 0L),
+            e.getValue(),
+            seekOperations.getEndOffsets().get(tp)
+        );
+      }
+      sendFinishStatsAndCompleteSink(sink);
+      log.debug("Key lookup finished");
+    } catch (InterruptException kafkaInterruptException) {
+      log.debug("Key lookup finished due to thread interruption");
+      sink.complete();
+    } catch (Exception e) {
+      log.error("Error occurred while looking up records by key", e);
+      sink.error(e);
+    }
+  }
+
+  private Map<TopicPartition, Long> startOffsets() {
+    var result = new HashMap<TopicPartition, Long>();
+    indexedUntilOffsets.forEach((p, indexedUntil) -> {
+      var offsets = indexedOffsets.get(p);
+      long start = offsets == null || offsets.isEmpty() ? indexedUntil : Math.min(offsets.first(), indexedUntil);
+      result.put(new TopicPartition(topic, p), start);
+    });
+    return result;
+  }
+
+  private void emitPartition(FluxSink<TopicMessageEventDTO> sink,
+                             Consumer<Bytes, Bytes> consumer,
+                             TopicPartition tp,
+                             NavigableSet<Long> offsets,
+                             long scanFrom,
+                             long startOffset,
+                             long endOffset) {
+    Iterator<Long> offsetsIterator = offsets.tailSet(startOffset, true).iterator();
+    long nextIndexed = nextIndexed(offsetsIterator, scanFrom);
+    long position = nextIndexed >= 0 ? nextIndexed : Math.max(scanFrom, startOffset);
+    if (position >= endOffset) {
+      return;
+    }
+    consumer.assign(List.of(tp));
+    consumer.seek(tp, position);
+    sendPhase(sink, "Polling partition " + tp.partition());
+    EmptyPollsCounter emptyPolls = pollingSettings.createEmptyPollsCounter();
+    while (!sink.isCancelled() && !emptyPolls.noDataEmptyPollsReached()) {
+      var records = poll(sink, consumer);
+      emptyPolls.count(records);
+      long lastPolled = -1;
+      for (ConsumerRecord<Bytes, Bytes> r : records.records(tp)) {
+        if (sink.isCancelled() || r.offset() >= endOffset) {
+          return;
+        }
+        lastPolled = r.offset();
+        if (r.offset() >= scanFrom) {
+          // not indexed part - scanning
+          sendIfKeyMatches(sink, r);
+          continue;
+        }
+        // skipping offsets that are not present anymore (compacted or removed by retention)
+        while (nextIndexed >= 0 && nextIndexed < r.offset()) {
+          nextIndexed = nextIndexed(offsetsIterator, scanFrom);
+        }
+        if (nextIndexed == r.offset()) {
+          sendIfKeyMatches(sink, r);
+          nextIndexed = nextIndexed(offsetsIterator, scanFrom);
+        }
+      }
+      if (lastPolled < 0) {
+        continue;
+      }
+      if (lastPolled + 1 >= endOffset || (nextIndexed < 0 && scanFrom >= endOffset)) {
+        return;
+      }
+      long target = nextIndexed >= 0 ? nextIndexed : scanFrom;
+      if (target > lastPolled + 1) {
+        // jumping over records that do not contain requested key
+        consumer.seek(tp, target);
+      }
+    }
+  }
+
+  // returns -1 when there is no more indexed offsets to fetch
+  private static long nextIndexed(Iterator<Long> offsetsIterator, long scanFrom) {
+    if (offsetsIterator.hasNext()) {
+      long next = offsetsIterator.next();
+      // offsets from not-indexed part will be fetched by scan
+      return next < scanFrom ? next : -1;
+    }
+    return -1;
+  }
+
+  private void sendIfKeyMatches(FluxSink<TopicMessageEventDTO> sink, ConsumerRecord<Bytes, Bytes> r) {
+    if (key.equals(r.key())) {
+      sendMessage(sink, r);
+    }
+  }
+}
@@ -28,6 +28,8 @@ public class MessageFilters {
         return containsStringFilter(query);
       case GROOVY_SCRIPT:
         return groovyScriptFilter(query);
+      case EXPRESSION:
+        return expressionFilter(query);
       default:
         throw new IllegalStateException("Unknown query type: " + type);
     }
@@ -65,6 +67,10 @@ public class MessageFilters {
     };
   }
 
+  static Predicate<TopicMessageDTO> expressionFilter(String expression) {
+    return ExpressionMessageFilter.compile(expression);
+  }
+
   @Nullable
   private static Object parseToJsonOrReturnNull(JsonSlurper parser, @Nullable String str) {
     if (str == null) {
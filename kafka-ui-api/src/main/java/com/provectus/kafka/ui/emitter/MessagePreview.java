@@ -0,0 +1,18 @@
+package com.provectus.kafka.ui.emitter;
+
+import lombok.Value;
+
+/**
+ * Put into reactor context when messages are loaded in preview mode. Emitters do not decode headers in this mode,
+ * keys/values that are larger than maxDeserializeBytes are not deserialized (only marked as truncated).
+ * Deserialized keys/values are truncated to preview length after data masking.
+ */
+@Value
+public class MessagePreview {
+
+  // upper bound for pathologically large payloads, deserializing them would be too expensive for preview
+  public static final long DEFAULT_MAX_DESERIALIZE_BYTES = 1024 * 1024;
+
+  long maxDeserializeBytes;
+
+}
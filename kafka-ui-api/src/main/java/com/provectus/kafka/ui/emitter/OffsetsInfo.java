@@ -2,6 +2,7 @@ package com.provectus.kafka.ui.emitter;
 
 import com.google.common.base.Preconditions;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -17,8 +18,9 @@ public class OffsetsInfo {
 
   private final Consumer<?, ?> consumer;
 
-  private final Map<TopicPartition, Long> beginOffsets;
-  private final Map<TopicPartition, Long> endOffsets;
+  // replaced (not modified) when offsets are refreshed, see refresh(..)
+  private volatile Map<TopicPartition, Long> beginOffsets;
+  private volatile Map<TopicPartition, Long> endOffsets;
 
   private final Set<TopicPartition> nonEmptyPartitions = new HashSet<>();
   private final Set<TopicPartition> emptyPartitions = new HashSet<>();
@@ -33,17 +35,42 @@ public class OffsetsInfo {
 
   public OffsetsInfo(Consumer<?, ?> consumer,
                      Collection<TopicPartition> targetPartitions) {
+    this(consumer, consumer.beginningOffsets(targetPartitions), consumer.endOffsets(targetPartitions));
+  }
+
+  /**
+   * Creates info from already known offsets (next page cursors), without offsets lookup.
+   */
+  public OffsetsInfo(Consumer<?, ?> consumer,
+                     Map<TopicPartition, Long> beginOffsets,
+                     Map<TopicPartition, Long> endOffsets) {
     this.consumer = consumer;
-    this.beginOffsets = consumer.beginningOffsets(targetPartitions);
-    this.endOffsets = consumer.endOffsets(targetPartitions);
-    endOffsets.forEach((tp, endOffset) -> {
-      var beginningOffset = beginOffsets.get(tp);
-      if (endOffset > beginningOffset) {
-        nonEmptyPartitions.add(tp);
-      } else {
-        emptyPartitions.add(tp);
-      }
-    });
+    this.beginOffsets = Map.copyOf(beginOffsets);
+    this.endOffsets = Map.copyOf(endOffsets);
+    endOffsets.keySet().forEach(this::classify);
+  }
+
+  private void classify(TopicPartition tp) {
+    if (endOffsets.get(tp) > beginOffsets.get(tp)) {
+      emptyPartitions.remove(tp);
+      nonEmptyPartitions.add(tp);
+    } else {
+      nonEmptyPartitions.remove(tp);
+      emptyPartitions.add(tp);
+    }
+  }
+
+  /**
+   * Re-queries begin & end offsets of given partitions (when known offsets turned out to be outdated).
+   */
+  void refresh(Collection<TopicPartition> partitions) {
+    var newBegin = new HashMap<>(beginOffsets);
+    newBegin.putAll(consumer.beginningOffsets(partitions));
+    var newEnd = new HashMap<>(endOffsets);
+    newEnd.putAll(consumer.endOffsets(partitions));
+    beginOffsets = Map.copyOf(newBegin);
+    endOffsets = Map.copyOf(newEnd);
+    partitions.forEach(this::classify);
   }
 
   public boolean assignedPartitionsFullyPolled() {
@@ -10,10 +10,12 @@ public class PollingSettings {
   private static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofMillis(1_000);
   private static final Duration DEFAULT_PARTITION_POLL_TIMEOUT = Duration.ofMillis(200);
   private static final int DEFAULT_NO_DATA_EMPTY_POLLS = 3;
+  private static final int DEFAULT_BACKWARD_POLL_CONCURRENCY = 32;
 
   private final Duration pollTimeout;
   private final Duration partitionPollTimeout;
   private final int notDataEmptyPolls; //see EmptyPollsCounter docs
+  private final int backwardPollConcurrency; //max partitions polled at once in backward mode
 
   private final Supplier<PollingThrottler> throttlerSupplier;
 
@@ -34,10 +36,15 @@ public class PollingSettings {
         ? pollingProps.getNoDataEmptyPolls()
         : DEFAULT_NO_DATA_EMPTY_POLLS;
 
+    int backwardPollConcurrency = pollingProps.getBackwardPollConcurrency() != null
+        ? Math.max(1, pollingProps.getBackwardPollConcurrency())
+        : DEFAULT_BACKWARD_POLL_CONCURRENCY;
+
     return new PollingSettings(
         pollTimeout,
         partitionPollTimeout,
         noDataEmptyPolls,
+        backwardPollConcurrency,
         PollingThrottler.throttlerSupplier(cluster)
     );
   }
@@ -47,6 +54,7 @@ public class PollingSettings {
         DEFAULT_POLL_TIMEOUT,
         DEFAULT_PARTITION_POLL_TIMEOUT,
         DEFAULT_NO_DATA_EMPTY_POLLS,
+        DEFAULT_BACKWARD_POLL_CONCURRENCY,
         PollingThrottler::noop
     );
   }
@@ -54,10 +62,12 @@ public class PollingSettings {
   private PollingSettings(Duration pollTimeout,
                           Duration partitionPollTimeout,
                           int notDataEmptyPolls,
+                          int backwardPollConcurrency,
                           Supplier<PollingThrottler> throttlerSupplier) {
     this.pollTimeout = pollTimeout;
     this.partitionPollTimeout = partitionPollTimeout;
     this.notDataEmptyPolls = notDataEmptyPolls;
+    this.backwardPollConcurrency = backwardPollConcurrency;
     this.throttlerSupplier = throttlerSupplier;
   }
 
@@ -73,6 +83,10 @@ public class PollingSettings {
     return partitionPollTimeout;
   }
 
+  public int getBackwardPollConcurrency() {
+    return backwardPollConcurrency;
+  }
+
   public PollingThrottler getPollingThrottler() {
     return throttlerSupplier.get();
   }
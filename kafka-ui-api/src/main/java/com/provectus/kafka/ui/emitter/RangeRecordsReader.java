@@ -0,0 +1,102 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Pull-based reader of topic's range: from consumer position till partitions' end offsets (captured at
+ * creation time) or till first records with timestamp >= untilTimestamp. Polls only when next batch is requested,
+ * so it can be used by consumers with backpressure (unlike emitters that push records into sink).
+ */
+@Slf4j
+public class RangeRecordsReader implements Closeable {
+
+  private final Consumer<Bytes, Bytes> consumer;
+  private final PollingThrottler throttler;
+  private final PollingSettings pollingSettings;
+  private final EmptyPollsCounter emptyPolls;
+  // exclusive
+  private final Map<TopicPartition, Long> stopOffsets = new HashMap<>();
+  private long remaining;
+
+  public RangeRecordsReader(Consumer<Bytes, Bytes> consumer,
+                            ConsumerPosition position,
+                            @Nullable Long untilTimestamp,
+                            long limit,
+                            PollingSettings pollingSettings) {
+    this.consumer = consumer;
+    this.pollingSettings = pollingSettings;
+    this.throttler = pollingSettings.getPollingThrottler();
+    this.emptyPolls = pollingSettings.createEmptyPollsCounter();
+    this.remaining = limit;
+    try {
+      var seekOperations = SeekOperations.create(consumer, position);
+      Map<TopicPartition, Long> untilOffsets = untilTimestamp != null
+          ? seekOperations.firstOffsetsForTimestamp(untilTimestamp)
+          : Map.of();
+      var startOffsets = new HashMap<TopicPartition, Long>();
+      seekOperations.getOffsetsForSeek().forEach((tp, start) -> {
+        long stop = untilOffsets.getOrDefault(tp, seekOperations.getEndOffsets().get(tp));
+        if (start < stop) {
+          startOffsets.put(tp, start);
+          stopOffsets.put(tp, stop);
+        }
+      });
+      consumer.assign(startOffsets.keySet());
+      startOffsets.forEach(consumer::seek);
+      log.debug("Reading range {} - {}", startOffsets, stopOffsets);
+    } catch (RuntimeException e) {
+      consumer.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns next polled records (can be empty), or null if range was fully read.
+   */
+  @Nullable
+  public List<ConsumerRecord<Bytes, Bytes>> nextBatch() {
+    if (remaining <= 0 || stopOffsets.isEmpty() || emptyPolls.noDataEmptyPollsReached()) {
+      return null;
+    }
+    var polled = consumer.poll(pollingSettings.getPollTimeout());
+    emptyPolls.count(polled);
+    throttler.throttleAfterPoll(polled);
+    var batch = new ArrayList<ConsumerRecord<Bytes, Bytes>>(polled.count());
+    for (TopicPartition tp : polled.partitions()) {
+      long stop = stopOffsets.getOrDefault(tp, -1L);
+      for (var r : polled.records(tp)) {
+        if (r.offset() < stop && batch.size() < remaining) {
+          batch.add(r);
+        }
+      }
+    }
+    remaining -= batch.size();
+    // not fetching fully read partitions anymore
+    var fullyRead = stopOffsets.entrySet().stream()
+        .filter(e -> consumer.position(e.getKey()) >= e.getValue())
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+    if (!fullyRead.isEmpty()) {
+      consumer.pause(fullyRead);
+      fullyRead.forEach(stopOffsets::remove);
+    }
+    return batch;
+  }
+
+  @Override
+  public void close() {
+    consumer.close();
+  }
+}
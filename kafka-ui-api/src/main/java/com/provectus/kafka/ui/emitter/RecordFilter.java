@@ -0,0 +1,29 @@
+package com.provectus.kafka.ui.emitter;
+
+import java.util.function.Predicate;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Filter that is applied to raw polled records inside emitter, before deserialization. Records
+ * that do not pass it are not deserialized and not sent, only counted in consuming stats.
+ * Uses expression syntax (see {@link ExpressionMessageFilter}) with key, value and headers
+ * being raw bytes decoded as UTF-8.
+ */
+public class RecordFilter implements Predicate<ConsumerRecord<Bytes, Bytes>> {
+
+  private final Predicate<ConsumerRecord<Bytes, Bytes>> compiled;
+
+  private RecordFilter(Predicate<ConsumerRecord<Bytes, Bytes>> compiled) {
+    this.compiled = compiled;
+  }
+
+  public static RecordFilter create(String expression) {
+    return new RecordFilter(ExpressionMessageFilter.compileForRecords(expression));
+  }
+
+  @Override
+  public boolean test(ConsumerRecord<Bytes, Bytes> rec) {
+    return compiled.test(rec);
+  }
+}
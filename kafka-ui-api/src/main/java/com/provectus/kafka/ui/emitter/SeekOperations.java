@@ -6,11 +6,11 @@ import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.SeekTypeDTO;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
 import org.apache.kafka.common.TopicPartition;
 
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
@@ -19,19 +19,25 @@ class SeekOperations {
   private final Consumer<?, ?> consumer;
   private final OffsetsInfo offsetsInfo;
   private final Map<TopicPartition, Long> offsetsForSeek; //only contains non-empty partitions!
+  // same instance is used for all timestamp seeks, so all its probes are reported
+  private final TimestampSeek timestampSeek;
 
   static SeekOperations create(Consumer<?, ?> consumer, ConsumerPosition consumerPosition) {
     OffsetsInfo offsetsInfo;
-    if (consumerPosition.getSeekTo() == null) {
+    if (consumerPosition.hasKnownOffsets()) {
+      // offsets are known from previous page (next page cursor), offsets lookup is skipped. If some of them were
+      // removed by retention since then, it will be detected on poll (see onOffsetsOutOfRange(..))
+      offsetsInfo = new OffsetsInfo(
+          consumer, consumerPosition.getKnownBeginOffsets(), consumerPosition.getKnownEndOffsets());
+    } else if (consumerPosition.getSeekTo() == null) {
       offsetsInfo = new OffsetsInfo(consumer, consumerPosition.getTopic());
     } else {
       offsetsInfo = new OffsetsInfo(consumer, consumerPosition.getSeekTo().keySet());
     }
-    return new SeekOperations(
-        consumer,
-        offsetsInfo,
-        getOffsetsForSeek(consumer, offsetsInfo, consumerPosition.getSeekType(), consumerPosition.getSeekTo())
-    );
+    var timestampSeek = TimestampSeek.forConsumer(consumer);
+    var offsetsForSeek = getOffsetsForSeek(
+        consumer, offsetsInfo, consumerPosition.getSeekType(), consumerPosition.getSeekTo(), timestampSeek);
+    return new SeekOperations(consumer, offsetsInfo, offsetsForSeek, timestampSeek);
   }
 
   void assignAndSeekNonEmptyPartitions() {
@@ -39,6 +45,19 @@ class SeekOperations {
     offsetsForSeek.forEach(consumer::seek);
   }
 
+  /**
+   * Called when poll failed because consumer positions are out of partitions' offsets range (known offsets
+   * are outdated): offsets of these partitions are re-queried and they are seeked to the nearest valid offset.
+   */
+  void onOffsetsOutOfRange(Map<TopicPartition, Long> outOfRangeOffsets) {
+    offsetsInfo.refresh(outOfRangeOffsets.keySet());
+    outOfRangeOffsets.forEach((tp, offset) -> {
+      long begin = getBeginOffsets().get(tp);
+      long end = getEndOffsets().get(tp);
+      consumer.seek(tp, Math.max(begin, Math.min(offset, end)));
+    });
+  }
+
   Map<TopicPartition, Long> getBeginOffsets() {
     return offsetsInfo.getBeginOffsets();
   }
@@ -51,6 +70,21 @@ class SeekOperations {
     return offsetsInfo.assignedPartitionsFullyPolled();
   }
 
+  // Number of records sampled to check broker's offsets for timestamp seek
+  int getTimestampSeekProbes() {
+    return timestampSeek.getProbes();
+  }
+
+  /**
+   * Offsets of first records with timestamp >= given one for partitions to seek (partitions without such
+   * records are not included). Should be called before partitions assignment, since it re-assigns consumer.
+   */
+  Map<TopicPartition, Long> firstOffsetsForTimestamp(long timestamp) {
+    Map<TopicPartition, Long> timestamps = new HashMap<>();
+    offsetsForSeek.keySet().forEach(tp -> timestamps.put(tp, timestamp));
+    return offsetsForTimestamp(consumer, offsetsInfo, timestamps, timestampSeek);
+  }
+
   // Get offsets to seek to. NOTE: offsets do not contain empty partitions offsets
   Map<TopicPartition, Long> getOffsetsForSeek() {
     return offsetsForSeek;
@@ -61,9 +95,10 @@ class SeekOperations {
    */
   @VisibleForTesting
   static Map<TopicPartition, Long> getOffsetsForSeek(Consumer<?, ?> consumer,
-                                                             OffsetsInfo offsetsInfo,
-                                                             SeekTypeDTO seekType,
-                                                             @Nullable Map<TopicPartition, Long> seekTo) {
+                                                     OffsetsInfo offsetsInfo,
+                                                     SeekTypeDTO seekType,
+                                                     @Nullable Map<TopicPartition, Long> seekTo,
+                                                     TimestampSeek timestampSeek) {
     switch (seekType) {
       case LATEST:
         return consumer.endOffsets(offsetsInfo.getNonEmptyPartitions());
@@ -74,7 +109,7 @@ class SeekOperations {
         return fixOffsets(offsetsInfo, seekTo);
       case TIMESTAMP:
         Preconditions.checkNotNull(offsetsInfo);
-        return offsetsForTimestamp(consumer, offsetsInfo, seekTo);
+        return offsetsForTimestamp(consumer, offsetsInfo, seekTo, timestampSeek);
       default:
         throw new IllegalStateException();
     }
@@ -100,12 +135,14 @@ class SeekOperations {
   }
 
   private static Map<TopicPartition, Long> offsetsForTimestamp(Consumer<?, ?> consumer, OffsetsInfo offsetsInfo,
-                                                        Map<TopicPartition, Long> timestamps) {
+                                                               Map<TopicPartition, Long> timestamps,
+                                                               TimestampSeek timestampSeek) {
     timestamps = new HashMap<>(timestamps);
     timestamps.keySet().retainAll(offsetsInfo.getNonEmptyPartitions());
 
-    return consumer.offsetsForTimes(timestamps).entrySet().stream()
-        .filter(e -> e.getValue() != null)
-        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().offset()));
+    Map<TopicPartition, OffsetAndTimestamp> brokerOffsets = consumer.offsetsForTimes(timestamps);
+    // partitions without records newer than timestamp are not included
+    return timestampSeek.offsetsForTimestamps(
+        timestamps, offsetsInfo.getBeginOffsets(), offsetsInfo.getEndOffsets(), brokerOffsets);
   }
 }
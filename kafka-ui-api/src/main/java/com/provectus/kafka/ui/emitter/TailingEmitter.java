@@ -31,7 +31,7 @@ public class TailingEmitter extends AbstractEmitter
   public void accept(FluxSink<TopicMessageEventDTO> sink) {
     log.debug("Starting tailing polling for {}", consumerPosition);
     try (KafkaConsumer<Bytes, Bytes> consumer = consumerSupplier.get()) {
-      assignAndSeek(consumer);
+      assignAndSeek(sink, consumer);
       while (!sink.isCancelled()) {
         sendPhase(sink, "Polling");
         var polled = poll(sink, consumer);
@@ -48,8 +48,9 @@ public class TailingEmitter extends AbstractEmitter
     }
   }
 
-  private void assignAndSeek(KafkaConsumer<Bytes, Bytes> consumer) {
+  private void assignAndSeek(FluxSink<TopicMessageEventDTO> sink, KafkaConsumer<Bytes, Bytes> consumer) {
     var seekOperations = SeekOperations.create(consumer, consumerPosition);
+    onSeekOperationsCreated(sink, seekOperations);
     var seekOffsets = new HashMap<>(seekOperations.getEndOffsets()); // defaulting offsets to topic end
     seekOffsets.putAll(seekOperations.getOffsetsForSeek()); // this will only set non-empty partitions
     consumer.assign(seekOffsets.keySet());
@@ -0,0 +1,95 @@
+package com.provectus.kafka.ui.emitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Bytes;
+
+// Keeps per-partition buffers of polled records and performs k-way merge of them by record timestamp.
+// Record can only be released when all partitions that still can produce records have non-empty buffers,
+// otherwise we can't be sure that there is no record with lower timestamp in not-yet-polled data.
+class TimestampMergeBuffer {
+
+  private static final Comparator<ConsumerRecord<?, ?>> RECORDS_ORDER =
+      Comparator.<ConsumerRecord<?, ?>>comparingLong(ConsumerRecord::timestamp)
+          .thenComparingInt(ConsumerRecord::partition)
+          .thenComparingLong(ConsumerRecord::offset);
+
+  private final int partitionBufferCapacity;
+  private final Map<TopicPartition, ArrayDeque<ConsumerRecord<Bytes, Bytes>>> buffers = new HashMap<>();
+  // partition buffers' heads
+  private final PriorityQueue<ConsumerRecord<Bytes, Bytes>> heads = new PriorityQueue<>(RECORDS_ORDER);
+
+  TimestampMergeBuffer(int partitionBufferCapacity) {
+    this.partitionBufferCapacity = partitionBufferCapacity;
+  }
+
+  void add(ConsumerRecords<Bytes, Bytes> polled) {
+    for (TopicPartition tp : polled.partitions()) {
+      var buffer = buffers.computeIfAbsent(tp, t -> new ArrayDeque<>());
+      boolean wasEmpty = buffer.isEmpty();
+      buffer.addAll(polled.records(tp));
+      if (wasEmpty && !buffer.isEmpty()) {
+        heads.add(buffer.peekFirst());
+      }
+    }
+  }
+
+  /**
+   * Releases records in timestamp order while each of the awaited partitions has buffered records.
+   *
+   * @param awaitedPartitions partitions that were not fully polled yet
+   */
+  List<ConsumerRecord<Bytes, Bytes>> drain(Set<TopicPartition> awaitedPartitions) {
+    var result = new ArrayList<ConsumerRecord<Bytes, Bytes>>();
+    while (!heads.isEmpty() && allHaveBufferedRecords(awaitedPartitions)) {
+      result.add(releaseHead());
+    }
+    return result;
+  }
+
+  List<ConsumerRecord<Bytes, Bytes>> drainAll() {
+    return drain(Set.of());
+  }
+
+  boolean isEmpty() {
+    return heads.isEmpty();
+  }
+
+  // partitions, which buffers reached capacity - polling of them should be paused
+  Set<TopicPartition> fullPartitions() {
+    return buffers.entrySet().stream()
+        .filter(e -> e.getValue().size() >= partitionBufferCapacity)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+
+  private boolean allHaveBufferedRecords(Set<TopicPartition> partitions) {
+    for (TopicPartition tp : partitions) {
+      var buffer = buffers.get(tp);
+      if (buffer == null || buffer.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private ConsumerRecord<Bytes, Bytes> releaseHead() {
+    var head = heads.poll();
+    var buffer = buffers.get(new TopicPartition(head.topic(), head.partition()));
+    buffer.pollFirst();
+    if (!buffer.isEmpty()) {
+      heads.add(buffer.peekFirst());
+    }
+    return head;
+  }
+}
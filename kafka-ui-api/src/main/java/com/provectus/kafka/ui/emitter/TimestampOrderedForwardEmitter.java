@@ -0,0 +1,109 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.utils.Bytes;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Forward emitter that emits records of all partitions merged by timestamp (oldest first).
+ * Each partition's buffer is limited by page size: it is not possible that more than page size
+ * records from single partition will be needed to fill the page, so polling of such partition
+ * is paused until its buffer is drained.
+ */
+@Slf4j
+public class TimestampOrderedForwardEmitter
+    extends AbstractEmitter
+    implements java.util.function.Consumer<FluxSink<TopicMessageEventDTO>> {
+
+  private final Supplier<KafkaConsumer<Bytes, Bytes>> consumerSupplier;
+  private final ConsumerPosition position;
+  private final int messagesPerPage;
+
+  public TimestampOrderedForwardEmitter(
+      Supplier<KafkaConsumer<Bytes, Bytes>> consumerSupplier,
+      ConsumerPosition position,
+      int messagesPerPage,
+      ConsumerRecordDeserializer recordDeserializer,
+      PollingSettings pollingSettings) {
+    super(recordDeserializer, pollingSettings);
+    this.position = position;
+    this.messagesPerPage = messagesPerPage;
+    this.consumerSupplier = consumerSupplier;
+  }
+
+  @Override
+  public void accept(FluxSink<TopicMessageEventDTO> sink) {
+    log.debug("Starting timestamp-ordered forward polling for {}", position);
+    try (KafkaConsumer<Bytes, Bytes> consumer = consumerSupplier.get()) {
+      sendPhase(sink, "Assigning partitions");
+      var seekOperations = SeekOperations.create(consumer, position);
+      onSeekOperationsCreated(sink, seekOperations);
+      seekOperations.assignAndSeekNonEmptyPartitions();
+
+      var buffer = new TimestampMergeBuffer(Math.max(1, messagesPerPage));
+      EmptyPollsCounter emptyPolls = pollingSettings.createEmptyPollsCounter();
+      while (!sink.isCancelled()
+          && !seekOperations.assignedPartitionsFullyPolled()
+          && !emptyPolls.noDataEmptyPollsReached()) {
+
+        sendPhase(sink, "Polling");
+        ConsumerRecords<Bytes, Bytes> records = poll(sink, consumer);
+        emptyPolls.count(records);
+        log.debug("{} records polled", records.count());
+
+        buffer.add(records);
+        send(sink, buffer.drain(notFullyPolledPartitions(consumer, seekOperations)));
+        pauseFullPartitions(consumer, buffer);
+      }
+      // all partitions polled, releasing rest of buffered records
+      send(sink, buffer.drainAll());
+      sendFinishStatsAndCompleteSink(sink);
+      log.debug("Polling finished");
+    } catch (InterruptException kafkaInterruptException) {
+      log.debug("Polling finished due to thread interruption");
+      sink.complete();
+    } catch (Exception e) {
+      log.error("Error occurred while consuming records", e);
+      sink.error(e);
+    }
+  }
+
+  private void send(FluxSink<TopicMessageEventDTO> sink, Iterable<ConsumerRecord<Bytes, Bytes>> records) {
+    for (ConsumerRecord<Bytes, Bytes> msg : records) {
+      if (sink.isCancelled()) {
+        break;
+      }
+      sendMessage(sink, msg);
+    }
+  }
+
+  private Set<TopicPartition> notFullyPolledPartitions(Consumer<?, ?> consumer, SeekOperations seekOperations) {
+    Set<TopicPartition> result = new HashSet<>();
+    for (TopicPartition tp : consumer.assignment()) {
+      if (seekOperations.getEndOffsets().get(tp) > consumer.position(tp)) {
+        result.add(tp);
+      }
+    }
+    return result;
+  }
+
+  private void pauseFullPartitions(Consumer<?, ?> consumer, TimestampMergeBuffer buffer) {
+    Set<TopicPartition> full = buffer.fullPartitions();
+    Set<TopicPartition> toResume = new HashSet<>(consumer.paused());
+    toResume.removeAll(full);
+    consumer.resume(toResume);
+    consumer.pause(full);
+  }
+}
@@ -0,0 +1,206 @@
+package com.provectus.kafka.ui.emitter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Resolves offsets for timestamp seek. Broker's time index (consumer.offsetsForTimes()) is not always accurate
+ * (LOG_APPEND_TIME skew, compacted segments), so its answer is verified by sampling (probing) the record before
+ * returned offset: if that record is already newer than target, or broker returned nothing (or offset beyond end
+ * offset) while partition's last record is newer than target, bounded binary search over partition offsets is done.
+ * Probes for all partitions are sampled with single multi-partition poll per round, and total search time is
+ * limited - partitions that were not resolved in time are seeked to their search upper bound (earliest offset known
+ * to have matching record), so seek never falls back to scanning partition from its start.
+ * Binary search assumes that timestamps are (mostly) non-decreasing within partition.
+ */
+class TimestampSeek {
+
+  // enough to cover whole long offsets range
+  static final int MAX_SEARCH_ROUNDS = 64;
+
+  private static final Duration MAX_SEARCH_TIME = Duration.ofSeconds(5);
+  private static final Duration PROBE_POLL_TIMEOUT = Duration.ofMillis(500);
+  private static final int PROBE_MAX_EMPTY_POLLS = 3;
+
+  interface Prober {
+    /**
+     * Returns offset and timestamp of first record with offset >= given one for each partition.
+     * Partitions without records in [offset, end offset) range are not included in result.
+     */
+    Map<TopicPartition, OffsetAndTimestamp> firstRecordsFrom(Map<TopicPartition, Long> offsets,
+                                                             Map<TopicPartition, Long> endOffsets);
+  }
+
+  private final Prober prober;
+  private final Duration maxSearchTime;
+  private final LongSupplier nanoClock;
+  private int probes = 0;
+
+  TimestampSeek(Prober prober) {
+    this(prober, MAX_SEARCH_TIME, System::nanoTime);
+  }
+
+  TimestampSeek(Prober prober, Duration maxSearchTime, LongSupplier nanoClock) {
+    this.prober = prober;
+    this.maxSearchTime = maxSearchTime;
+    this.nanoClock = nanoClock;
+  }
+
+  static TimestampSeek forConsumer(Consumer<?, ?> consumer) {
+    return new TimestampSeek((offsets, endOffsets) -> {
+      consumer.assign(offsets.keySet());
+      offsets.forEach(consumer::seek);
+      Map<TopicPartition, OffsetAndTimestamp> found = new HashMap<>();
+      Set<TopicPartition> waiting = new HashSet<>(offsets.keySet());
+      int emptyPolls = 0;
+      while (!waiting.isEmpty() && emptyPolls < PROBE_MAX_EMPTY_POLLS) {
+        var records = consumer.poll(PROBE_POLL_TIMEOUT);
+        emptyPolls = records.isEmpty() ? emptyPolls + 1 : 0;
+        for (TopicPartition tp : records.partitions()) {
+          if (waiting.remove(tp)) {
+            var first = records.records(tp).get(0);
+            found.put(tp, new OffsetAndTimestamp(first.offset(), first.timestamp()));
+            consumer.pause(List.of(tp));
+          }
+        }
+        // position moves over control records, so we don't wait for data that will never be returned
+        waiting.removeIf(tp -> consumer.position(tp) >= endOffsets.get(tp));
+      }
+      // paused state is kept for partitions that stay assigned
+      consumer.resume(offsets.keySet());
+      return found;
+    });
+  }
+
+  int getProbes() {
+    return probes;
+  }
+
+  /**
+   * Returns offsets to seek to, so first polled record will be first record with timestamp >= target.
+   * Partitions without such records are not included in result.
+   *
+   * @param brokerOffsets result of consumer.offsetsForTimes() for given timestamps
+   */
+  Map<TopicPartition, Long> offsetsForTimestamps(Map<TopicPartition, Long> timestamps,
+                                                 Map<TopicPartition, Long> beginOffsets,
+                                                 Map<TopicPartition, Long> endOffsets,
+                                                 Map<TopicPartition, OffsetAndTimestamp> brokerOffsets) {
+    final long deadline = nanoClock.getAsLong() + maxSearchTime.toNanos();
+    Map<TopicPartition, Long> result = new HashMap<>();
+    // record before broker's answer (to verify it) or last record (if broker claims that all records are older
+    // than target) is checked for each partition
+    Map<TopicPartition, Long> checkOffsets = new HashMap<>();
+    Set<TopicPartition> brokerAnswered = new HashSet<>();
+    timestamps.keySet().forEach(tp -> {
+      long begin = beginOffsets.get(tp);
+      long end = endOffsets.get(tp);
+      if (begin >= end) {
+        return;
+      }
+      OffsetAndTimestamp brokerOffset = brokerOffsets.get(tp);
+      if (brokerOffset != null && brokerOffset.offset() < end) {
+        // records before begin offset were removed by retention
+        long offset = Math.max(begin, brokerOffset.offset());
+        result.put(tp, offset);
+        if (offset > begin) {
+          brokerAnswered.add(tp);
+          checkOffsets.put(tp, offset - 1);
+        }
+      } else {
+        checkOffsets.put(tp, end - 1);
+      }
+    });
+    if (checkOffsets.isEmpty()) {
+      return result;
+    }
+    Map<TopicPartition, Search> searches = new HashMap<>();
+    var checked = probe(checkOffsets, endOffsets);
+    checkOffsets.keySet().forEach(tp -> {
+      var record = checked.get(tp);
+      long timestamp = timestamps.get(tp);
+      long begin = beginOffsets.get(tp);
+      long end = endOffsets.get(tp);
+      if (brokerAnswered.contains(tp)) {
+        // record before broker's answer already matches target - broker's answer is not accurate
+        if (record != null && record.offset() < result.get(tp) && record.timestamp() >= timestamp) {
+          result.remove(tp);
+          searches.put(tp, new Search(timestamp, begin, record.offset(), end));
+        }
+      } else if (record == null || record.timestamp() >= timestamp) {
+        searches.put(tp, new Search(timestamp, begin, record != null ? record.offset() : end, end));
+      }
+    });
+    binarySearch(searches, endOffsets, deadline, result);
+    return result;
+  }
+
+  private void binarySearch(Map<TopicPartition, Search> searches,
+                            Map<TopicPartition, Long> endOffsets,
+                            long deadline,
+                            Map<TopicPartition, Long> result) {
+    for (int round = 0; !searches.isEmpty(); round++) {
+      if (round >= MAX_SEARCH_ROUNDS || nanoClock.getAsLong() - deadline >= 0) {
+        // returning upper bounds (records in not searched [lo, hi) ranges can be missed), lower bounds can be
+        // partitions' begin offsets, which would make polling a full scan
+        searches.forEach((tp, search) -> {
+          if (search.hi < search.end) {
+            result.put(tp, search.hi);
+          }
+        });
+        return;
+      }
+      Map<TopicPartition, Long> mids = new HashMap<>();
+      searches.forEach((tp, search) -> mids.put(tp, search.lo + (search.hi - search.lo) / 2));
+      var sampled = probe(mids, endOffsets);
+      mids.forEach((tp, mid) -> {
+        var search = searches.get(tp);
+        search.update(mid, sampled.get(tp));
+        if (search.lo >= search.hi) {
+          searches.remove(tp);
+          if (search.hi < search.end) {
+            result.put(tp, search.hi);
+          }
+        }
+      });
+    }
+  }
+
+  private Map<TopicPartition, OffsetAndTimestamp> probe(Map<TopicPartition, Long> offsets,
+                                                        Map<TopicPartition, Long> endOffsets) {
+    probes += offsets.size();
+    return prober.firstRecordsFrom(offsets, endOffsets);
+  }
+
+  // invariant: all records before lo are older than target, first record from hi (if any) is not
+  private static class Search {
+    final long timestamp;
+    final long end;
+    long lo;
+    long hi;
+
+    Search(long timestamp, long lo, long hi, long end) {
+      this.timestamp = timestamp;
+      this.end = end;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    void update(long mid, @Nullable OffsetAndTimestamp sampled) {
+      if (sampled == null || sampled.timestamp() >= timestamp) {
+        hi = mid;
+      } else {
+        lo = sampled.offset() + 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.provectus.kafka.ui.exception;
+
+import java.time.Duration;
+
+public class ConsumerPoolExhaustedException extends CustomBaseException {
+
+  public ConsumerPoolExhaustedException(String clusterName, int maxPerCluster, Duration maxWait) {
+    super(String.format("All %d consumers of cluster '%s' are in use, no consumer was released in %d ms. "
+        + "Try again later or increase kafka.consumer-pool.max-per-cluster", maxPerCluster, clusterName,
+        maxWait.toMillis()));
+  }
+
+  @Override
+  public ErrorCode getErrorCode() {
+    return ErrorCode.CONSUMER_POOL_EXHAUSTED;
+  }
+}
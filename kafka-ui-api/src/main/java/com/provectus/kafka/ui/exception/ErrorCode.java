@@ -31,6 +31,7 @@ public enum ErrorCode {
   SCHEMA_NOT_DELETED(4017, HttpStatus.INTERNAL_SERVER_ERROR),
   TOPIC_ANALYSIS_ERROR(4018, HttpStatus.BAD_REQUEST),
   FILE_UPLOAD_EXCEPTION(4019, HttpStatus.INTERNAL_SERVER_ERROR),
+  CONSUMER_POOL_EXHAUSTED(4020, HttpStatus.SERVICE_UNAVAILABLE),
   ;
 
   static {
@@ -7,6 +7,7 @@ import com.provectus.kafka.ui.model.ConsumerGroupStateDTO;
 import com.provectus.kafka.ui.model.ConsumerGroupTopicPartitionDTO;
 import com.provectus.kafka.ui.model.InternalConsumerGroup;
 import com.provectus.kafka.ui.model.InternalTopicConsumerGroup;
+import com.provectus.kafka.ui.model.OffsetRates;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -36,6 +37,8 @@ public class ConsumerGroupMapper {
     consumerGroup.setState(mapConsumerGroupState(c.getState()));
     Optional.ofNullable(c.getCoordinator())
         .ifPresent(cd -> consumerGroup.setCoordinator(mapCoordinator(cd)));
+    Optional.ofNullable(c.getConsumptionRate())
+        .ifPresent(r -> setConsumptionRate(consumerGroup, r));
     return consumerGroup;
   }
 
@@ -111,9 +114,19 @@ public class ConsumerGroupMapper {
         .ifPresent(cd -> consumerGroup.setCoordinator(mapCoordinator(cd)));
 
     consumerGroup.setPartitionAssignor(c.getPartitionAssignor());
+    Optional.ofNullable(c.getConsumptionRate())
+        .ifPresent(r -> setConsumptionRate(consumerGroup, r));
     return consumerGroup;
   }
 
+  private static void setConsumptionRate(ConsumerGroupDTO consumerGroup, OffsetRates.ConsumptionRate rate) {
+    consumerGroup.setConsumptionRate(rate.getMessagesPerSec());
+    consumerGroup.setLagChangeRate(rate.getLagChangePerSec());
+    Optional.ofNullable(consumerGroup.getMessagesBehind())
+        .flatMap(rate::timeToCatchUp)
+        .ifPresent(t -> consumerGroup.setTimeToCatchUpMs(t.toMillis()));
+  }
+
   private static BrokerDTO mapCoordinator(Node node) {
     return new BrokerDTO().host(node.host()).id(node.id()).port(node.port());
   }
@@ -0,0 +1,138 @@
+package com.provectus.kafka.ui.model;
+
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Cluster's consumer groups state: descriptions, committed offsets and end offsets of known partitions (at least
+ * of partitions with committed offsets, so lag of every group partition can be calculated), plus reverse
+ * topic -> groups index (groups with committed offsets or active members for topic). Immutable, refreshed in
+ * background as a {@link StatisticsSection#CONSUMER_GROUPS} section of {@link Statistics}.
+ */
+public class ConsumerGroupsSnapshot {
+
+  private final Map<String, ConsumerGroupDescription> descriptions;
+  private final Table<String, TopicPartition, Long> committedOffsets;
+  private final Map<TopicPartition, Long> endOffsets;
+  private final Map<String, Set<String>> topicGroups;
+
+  public ConsumerGroupsSnapshot(Map<String, ConsumerGroupDescription> descriptions,
+                                Table<String, TopicPartition, Long> committedOffsets,
+                                Map<TopicPartition, Long> endOffsets) {
+    this.descriptions = Map.copyOf(descriptions);
+    this.committedOffsets = ImmutableTable.copyOf(committedOffsets);
+    this.endOffsets = Map.copyOf(endOffsets);
+    this.topicGroups = buildTopicGroups(this.descriptions, this.committedOffsets);
+  }
+
+  private static Map<String, Set<String>> buildTopicGroups(Map<String, ConsumerGroupDescription> descriptions,
+                                                           Table<String, TopicPartition, Long> committedOffsets) {
+    Map<String, Set<String>> index = new HashMap<>();
+    committedOffsets.cellSet().forEach(cell ->
+        index.computeIfAbsent(cell.getColumnKey().topic(), t -> new TreeSet<>()).add(cell.getRowKey()));
+    descriptions.values().forEach(g ->
+        g.members().forEach(m ->
+            m.assignment().topicPartitions().forEach(tp ->
+                index.computeIfAbsent(tp.topic(), t -> new TreeSet<>()).add(g.groupId()))));
+    return index;
+  }
+
+  public Collection<ConsumerGroupDescription> getDescriptions() {
+    return descriptions.values();
+  }
+
+  public Table<String, TopicPartition, Long> getCommittedOffsets() {
+    return committedOffsets;
+  }
+
+  public Map<TopicPartition, Long> getEndOffsets() {
+    return endOffsets;
+  }
+
+  public Optional<InternalConsumerGroup> getGroup(String groupId) {
+    return Optional.ofNullable(descriptions.get(groupId)).map(this::toInternalGroup);
+  }
+
+  public InternalConsumerGroup toInternalGroup(ConsumerGroupDescription description) {
+    var groupOffsets = committedOffsets.row(description.groupId());
+    var groupEndOffsets = new HashMap<TopicPartition, Long>();
+    groupOffsets.keySet().forEach(tp -> {
+      Long endOffset = endOffsets.get(tp);
+      if (endOffset != null) {
+        groupEndOffsets.put(tp, endOffset);
+      }
+    });
+    return InternalConsumerGroup.create(description, groupOffsets, groupEndOffsets);
+  }
+
+  public List<InternalTopicConsumerGroup> getTopicGroups(String topic) {
+    return topicGroups.getOrDefault(topic, Set.of()).stream()
+        .filter(descriptions::containsKey)
+        .map(groupId -> {
+          var topicOffsets = new HashMap<TopicPartition, Long>();
+          committedOffsets.row(groupId).forEach((tp, offset) -> {
+            if (tp.topic().equals(topic)) {
+              topicOffsets.put(tp, offset);
+            }
+          });
+          return InternalTopicConsumerGroup.create(topic, descriptions.get(groupId), topicOffsets, endOffsets);
+        })
+        .toList();
+  }
+
+  /**
+   * Returns listed groups which descriptions can't be reused: new groups, groups which state changed and groups
+   * that can have members (membership can change without state change). Descriptions of groups that stayed
+   * empty (or dead) are reused.
+   */
+  public Set<String> outdatedDescriptions(Collection<ConsumerGroupListing> listings) {
+    Set<String> outdated = new HashSet<>();
+    for (ConsumerGroupListing listing : listings) {
+      var cached = descriptions.get(listing.groupId());
+      var state = listing.state().orElse(ConsumerGroupState.UNKNOWN);
+      if (cached == null
+          || cached.state() != state
+          || (state != ConsumerGroupState.EMPTY && state != ConsumerGroupState.DEAD)) {
+        outdated.add(listing.groupId());
+      }
+    }
+    return outdated;
+  }
+
+  /**
+   * Returns descriptions of specified groups: updated if present, otherwise reused from this snapshot.
+   */
+  public Map<String, ConsumerGroupDescription> mergeDescriptions(Collection<String> groups,
+                                                                 Map<String, ConsumerGroupDescription> updated) {
+    Map<String, ConsumerGroupDescription> merged = new HashMap<>();
+    groups.forEach(g -> Optional.ofNullable(updated.getOrDefault(g, descriptions.get(g)))
+        .ifPresent(d -> merged.put(g, d)));
+    return merged;
+  }
+
+  public ConsumerGroupsSnapshot withoutGroup(String groupId) {
+    var remainingDescriptions = new HashMap<>(descriptions);
+    remainingDescriptions.remove(groupId);
+    var remainingOffsets = ImmutableTable.<String, TopicPartition, Long>builder();
+    committedOffsets.cellSet().stream()
+        .filter(cell -> !cell.getRowKey().equals(groupId))
+        .forEach(remainingOffsets::put);
+    return new ConsumerGroupsSnapshot(remainingDescriptions, remainingOffsets.build(), endOffsets);
+  }
+
+  public static ConsumerGroupsSnapshot empty() {
+    return new ConsumerGroupsSnapshot(Map.of(), ImmutableTable.of(), Map.of());
+  }
+}
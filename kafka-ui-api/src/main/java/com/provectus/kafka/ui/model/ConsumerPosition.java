@@ -2,13 +2,28 @@ package com.provectus.kafka.ui.model;
 
 import java.util.Map;
 import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
 import lombok.Value;
 import org.apache.kafka.common.TopicPartition;
 
 @Value
+@AllArgsConstructor
 public class ConsumerPosition {
   SeekTypeDTO seekType;
   String topic;
   @Nullable
   Map<TopicPartition, Long> seekTo; // null if positioning should apply to all tps
+  // begin & end offsets known from previous page (set for next page cursors), offsets lookup is skipped if set
+  @Nullable
+  Map<TopicPartition, Long> knownBeginOffsets;
+  @Nullable
+  Map<TopicPartition, Long> knownEndOffsets;
+
+  public ConsumerPosition(SeekTypeDTO seekType, String topic, @Nullable Map<TopicPartition, Long> seekTo) {
+    this(seekType, topic, seekTo, null, null);
+  }
+
+  public boolean hasKnownOffsets() {
+    return knownBeginOffsets != null && knownEndOffsets != null;
+  }
 }
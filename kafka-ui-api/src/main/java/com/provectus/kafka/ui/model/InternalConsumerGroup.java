@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import lombok.Builder;
 import lombok.Data;
 import org.apache.kafka.clients.admin.ConsumerGroupDescription;
@@ -23,6 +24,8 @@ public class InternalConsumerGroup {
   private final String partitionAssignor;
   private final ConsumerGroupState state;
   private final Node coordinator;
+  @Nullable // not calculated yet
+  private final OffsetRates.ConsumptionRate consumptionRate;
 
   @Data
   @Builder(toBuilder = true)
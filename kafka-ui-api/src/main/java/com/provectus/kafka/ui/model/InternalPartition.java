@@ -20,5 +20,7 @@ public class InternalPartition {
   private final Long segmentSize;
   private final Integer segmentCount;
 
+  // rate derived from offsets (see OffsetRates)
+  private final Double messagesInPerSec;
 
 }
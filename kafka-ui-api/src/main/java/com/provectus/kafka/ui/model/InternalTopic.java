@@ -36,6 +36,9 @@ public class InternalTopic {
   private final BigDecimal bytesInPerSec;
   private final BigDecimal bytesOutPerSec;
 
+  // rate derived from offsets (see OffsetRates)
+  private final Double messagesInPerSec;
+
   // from log dir data
   private final long segmentSize;
   private final long segmentCount;
@@ -11,7 +11,7 @@ import org.apache.kafka.common.Node;
 import org.apache.kafka.common.TopicPartition;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class InternalTopicConsumerGroup {
 
   String groupId;
@@ -23,6 +23,8 @@ public class InternalTopicConsumerGroup {
   ConsumerGroupState state;
   @Nullable
   Node coordinator;
+  @Nullable // not calculated yet
+  OffsetRates.ConsumptionRate consumptionRate;
 
   public static InternalTopicConsumerGroup create(
       String topic,
@@ -1,5 +1,6 @@
 package com.provectus.kafka.ui.model;
 
+import java.util.List;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,4 +20,6 @@ public class MetricsConfig {
   private final String password;
   private final String keystoreLocation;
   private final String keystorePassword;
+  private final List<String> jmxObjectNames;
+  private final List<String> prometheusMetricNamePrefixes;
 }
@@ -0,0 +1,236 @@
+package com.provectus.kafka.ui.model;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import lombok.Value;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Messages rates derived from offsets of two successive {@link ConsumerGroupsSnapshot}s, so they are available
+ * without JMX/Prometheus metrics configured:
+ * partitions produce rate - from end offsets growth,
+ * consumer groups consumption rate and lag change rate (per topic) - from committed offsets and lag changes.
+ * All rates are messages/sec, smoothed with time-weighted EWMA. Partitions and groups whose offsets went back
+ * (topic recreated, offsets reset) are skipped for a cycle. Produce rates can be refreshed less often than
+ * consumption rates: end offsets they were last calculated from are kept as a baseline. Immutable, stored in
+ * {@link Statistics}.
+ */
+public class OffsetRates {
+
+  @Value
+  public static class ConsumptionRate {
+    double messagesPerSec;
+    // negative - group is catching up
+    double lagChangePerSec;
+
+    /**
+     * Estimated time until lag is consumed: zero if there is no lag, empty if lag is not decreasing.
+     */
+    public Optional<Duration> timeToCatchUp(long lag) {
+      if (lag <= 0) {
+        return Optional.of(Duration.ZERO);
+      }
+      return lagChangePerSec < 0
+          ? Optional.of(Duration.ofMillis((long) (lag / -lagChangePerSec * 1000)))
+          : Optional.empty();
+    }
+  }
+
+  private final long timestamp;
+  // topic -> produce rate by partition index, NaN if unknown
+  private final Map<String, double[]> partitionRates;
+  // group, topic -> rates
+  private final Table<String, String, ConsumptionRate> consumptionRates;
+  // end offsets produce rates were calculated from and their load time
+  private final Map<TopicPartition, Long> produceEndOffsets;
+  private final long produceTimestamp;
+
+  private OffsetRates(long timestamp,
+                      Map<String, double[]> partitionRates,
+                      Table<String, String, ConsumptionRate> consumptionRates,
+                      Map<TopicPartition, Long> produceEndOffsets,
+                      long produceTimestamp) {
+    this.timestamp = timestamp;
+    this.partitionRates = Map.copyOf(partitionRates);
+    this.consumptionRates = ImmutableTable.copyOf(consumptionRates);
+    this.produceEndOffsets = Map.copyOf(produceEndOffsets);
+    this.produceTimestamp = produceTimestamp;
+  }
+
+  /**
+   * Calculates rates, produce rates are calculated from current snapshot's end offsets.
+   */
+  public static OffsetRates calculate(@Nullable OffsetRates prevRates,
+                                      @Nullable ConsumerGroupsSnapshot prev,
+                                      ConsumerGroupsSnapshot current,
+                                      long now,
+                                      Duration ewmaWindow) {
+    return calculate(prevRates, prev, current, current.getEndOffsets(), now, ewmaWindow);
+  }
+
+  /**
+   * Calculates rates, produce rates are calculated from given end offsets. If they are null (were not loaded
+   * on this cycle) produce rates are taken from prevRates.
+   */
+  public static OffsetRates calculate(@Nullable OffsetRates prevRates,
+                                      @Nullable ConsumerGroupsSnapshot prev,
+                                      ConsumerGroupsSnapshot current,
+                                      @Nullable Map<TopicPartition, Long> produceEndOffsets,
+                                      long now,
+                                      Duration ewmaWindow) {
+    if (prevRates == null || prev == null) {
+      return new OffsetRates(now, Map.of(), ImmutableTable.of(),
+          produceEndOffsets == null ? current.getEndOffsets() : produceEndOffsets, now);
+    }
+    if (now <= prevRates.timestamp) {
+      return prevRates;
+    }
+    double seconds = (now - prevRates.timestamp) / 1000.0;
+    var consumptionRates = calculateConsumptionRates(
+        prevRates, prev, current, seconds, alpha(now - prevRates.timestamp, ewmaWindow));
+    if (produceEndOffsets == null || now <= prevRates.produceTimestamp) {
+      return new OffsetRates(now, prevRates.partitionRates, consumptionRates,
+          prevRates.produceEndOffsets, prevRates.produceTimestamp);
+    }
+    long produceMillis = now - prevRates.produceTimestamp;
+    return new OffsetRates(
+        now,
+        calculatePartitionRates(
+            prevRates, produceEndOffsets, produceMillis / 1000.0, alpha(produceMillis, ewmaWindow)),
+        consumptionRates,
+        produceEndOffsets,
+        now
+    );
+  }
+
+  private static double alpha(long millis, Duration ewmaWindow) {
+    return 1 - Math.exp(-(double) millis / Math.max(1, ewmaWindow.toMillis()));
+  }
+
+  private static Map<String, double[]> calculatePartitionRates(OffsetRates prevRates,
+                                                               Map<TopicPartition, Long> endOffsets,
+                                                               double seconds,
+                                                               double alpha) {
+    Map<String, Map<Integer, Double>> rates = new HashMap<>();
+    endOffsets.forEach((tp, endOffset) -> {
+      Long prevEndOffset = prevRates.produceEndOffsets.get(tp);
+      if (prevEndOffset != null && endOffset >= prevEndOffset) {
+        double rate = ewma(
+            prevRates.getPartitionRate(tp.topic(), tp.partition()),
+            (endOffset - prevEndOffset) / seconds,
+            alpha);
+        rates.computeIfAbsent(tp.topic(), t -> new HashMap<>()).put(tp.partition(), rate);
+      }
+    });
+    Map<String, double[]> result = new HashMap<>();
+    rates.forEach((topic, partitionsRates) -> {
+      double[] arr = new double[partitionsRates.keySet().stream().max(Integer::compare).orElse(-1) + 1];
+      Arrays.fill(arr, Double.NaN);
+      partitionsRates.forEach((partition, rate) -> arr[partition] = rate);
+      result.put(topic, arr);
+    });
+    return result;
+  }
+
+  private static Table<String, String, ConsumptionRate> calculateConsumptionRates(OffsetRates prevRates,
+                                                                                 ConsumerGroupsSnapshot prev,
+                                                                                 ConsumerGroupsSnapshot current,
+                                                                                 double seconds,
+                                                                                 double alpha) {
+    // group, topic -> {consumed messages, lag change}
+    Table<String, String, long[]> deltas = HashBasedTable.create();
+    current.getCommittedOffsets().cellSet().forEach(cell -> {
+      String group = cell.getRowKey();
+      TopicPartition tp = cell.getColumnKey();
+      long committed = cell.getValue();
+      Long prevCommitted = prev.getCommittedOffsets().get(group, tp);
+      Long endOffset = current.getEndOffsets().get(tp);
+      Long prevEndOffset = prev.getEndOffsets().get(tp);
+      if (prevCommitted == null || endOffset == null || prevEndOffset == null
+          || committed < prevCommitted || endOffset < prevEndOffset) {
+        return;
+      }
+      long[] delta = deltas.get(group, tp.topic());
+      if (delta == null) {
+        delta = new long[2];
+        deltas.put(group, tp.topic(), delta);
+      }
+      delta[0] += committed - prevCommitted;
+      delta[1] += (endOffset - committed) - (prevEndOffset - prevCommitted);
+    });
+    Table<String, String, ConsumptionRate> rates = HashBasedTable.create();
+    deltas.cellSet().forEach(cell -> {
+      var prevRate = prevRates.consumptionRates.get(cell.getRowKey(), cell.getColumnKey());
+      rates.put(cell.getRowKey(), cell.getColumnKey(), new ConsumptionRate(
+          ewma(prevRate == null ? Double.NaN : prevRate.messagesPerSec, cell.getValue()[0] / seconds, alpha),
+          ewma(prevRate == null ? Double.NaN : prevRate.lagChangePerSec, cell.getValue()[1] / seconds, alpha)
+      ));
+    });
+    return rates;
+  }
+
+  private static double ewma(double prev, double current, double alpha) {
+    return Double.isNaN(prev) ? current : prev + alpha * (current - prev);
+  }
+
+  private double getPartitionRate(String topic, int partition) {
+    double[] rates = partitionRates.get(topic);
+    return rates == null || rates.length <= partition ? Double.NaN : rates[partition];
+  }
+
+  /**
+   * Time when end offsets produce rates were calculated from were loaded.
+   */
+  public long getProduceTimestamp() {
+    return produceTimestamp;
+  }
+
+  public Optional<Double> getPartitionProduceRate(String topic, int partition) {
+    double rate = getPartitionRate(topic, partition);
+    return Double.isNaN(rate) ? Optional.empty() : Optional.of(rate);
+  }
+
+  /**
+   * Sum of topic's partitions produce rates, empty if there is no partitions with known rate.
+   */
+  public Optional<Double> getTopicProduceRate(String topic) {
+    double[] rates = partitionRates.get(topic);
+    if (rates == null) {
+      return Optional.empty();
+    }
+    double sum = 0;
+    boolean known = false;
+    for (double rate : rates) {
+      if (!Double.isNaN(rate)) {
+        sum += rate;
+        known = true;
+      }
+    }
+    return known ? Optional.of(sum) : Optional.empty();
+  }
+
+  public Optional<ConsumptionRate> getConsumptionRate(String group, String topic) {
+    return Optional.ofNullable(consumptionRates.get(group, topic));
+  }
+
+  /**
+   * Group's rates summed over all its topics.
+   */
+  public Optional<ConsumptionRate> getConsumptionRate(String group) {
+    var groupRates = consumptionRates.row(group);
+    if (groupRates.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(new ConsumptionRate(
+        groupRates.values().stream().mapToDouble(ConsumptionRate::getMessagesPerSec).sum(),
+        groupRates.values().stream().mapToDouble(ConsumptionRate::getLagChangePerSec).sum()
+    ));
+  }
+}
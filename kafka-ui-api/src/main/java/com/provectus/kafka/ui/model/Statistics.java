@@ -4,6 +4,7 @@ import com.provectus.kafka.ui.service.ReactiveAdminClient;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 import lombok.Builder;
 import lombok.Value;
 import org.apache.kafka.clients.admin.ConfigEntry;
@@ -21,6 +22,10 @@ public class Statistics {
   InternalLogDirStats logDirInfo;
   Map<String, TopicDescription> topicDescriptions;
   Map<String, List<ConfigEntry>> topicConfigs;
+  @Nullable // not loaded yet
+  ConsumerGroupsSnapshot consumerGroups;
+  @Nullable // calculated from two consumer groups snapshots
+  OffsetRates offsetRates;
 
   public static Statistics empty() {
     return builder()
@@ -0,0 +1,22 @@
+package com.provectus.kafka.ui.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Independently refreshed parts of cluster {@link Statistics}. Default refresh interval of each section is
+ * a multiple of kafka.update-metrics-rate-millis.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StatisticsSection {
+  CLUSTER(1),
+  TOPIC_DESCRIPTIONS(1),
+  METRICS(1),
+  LOG_DIRS(2),
+  TOPIC_CONFIGS(10),
+  CONSUMER_GROUPS(1),
+  FEATURES(10);
+
+  private final int defaultIntervalMultiplier;
+}
@@ -0,0 +1,309 @@
+package com.provectus.kafka.ui.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.TopicPartitionInfo;
+
+/**
+ * Compact columnar representation of cluster's topics, used for topics list sorting, filtering and paging.
+ * Holds only values needed for that (per-topic counters computed from partitions, log dirs & metrics), so topics
+ * list requests don't need to create {@link InternalTopic} (with per-partition objects) for every topic.
+ * Topic is addressed by its index in snapshot. Immutable, built once per {@link Statistics} change.
+ *
+ * <p>Indexes are built lazily on first use and reused by all following requests: for each sort column - topic
+ * indexes sorted by it (so page without search is just a slice of it), for names - trigram index (so substring
+ * search only checks candidate topics).
+ */
+public class TopicsSnapshot {
+
+  @Value
+  public static class Page {
+    List<String> topics;
+    int totalTopics;
+  }
+
+  // topic indexes sorted by column (ascending, ties broken by name), for all and for non-internal topics
+  private static class ColumnIndex {
+    final int[] order;
+    final int[] nonInternalOrder;
+    final int[] rank; // position of topic in order
+
+    ColumnIndex(int[] order, BitSet internal) {
+      this.order = order;
+      this.nonInternalOrder = Arrays.stream(order).filter(i -> !internal.get(i)).toArray();
+      this.rank = new int[order.length];
+      for (int pos = 0; pos < order.length; pos++) {
+        rank[order[pos]] = pos;
+      }
+    }
+  }
+
+  private final String[] names;
+  private final BitSet internal;
+  private final int[] partitionCount;
+  private final int[] replicationFactor;
+  private final int[] replicas;
+  private final int[] inSyncReplicas;
+  private final int[] underReplicatedPartitions;
+  private final long[] segmentSize;
+  private final double[] bytesInPerSec;
+  private final double[] bytesOutPerSec;
+
+  private final Map<TopicColumnsToSortDTO, ColumnIndex> columnIndexes = new ConcurrentHashMap<>();
+  private volatile TrigramIndex namesIndex;
+
+  private TopicsSnapshot(Builder builder) {
+    int size = builder.size;
+    this.names = Arrays.copyOf(builder.names, size);
+    this.internal = builder.internal;
+    this.partitionCount = Arrays.copyOf(builder.partitionCount, size);
+    this.replicationFactor = Arrays.copyOf(builder.replicationFactor, size);
+    this.replicas = Arrays.copyOf(builder.replicas, size);
+    this.inSyncReplicas = Arrays.copyOf(builder.inSyncReplicas, size);
+    this.underReplicatedPartitions = Arrays.copyOf(builder.underReplicatedPartitions, size);
+    this.segmentSize = Arrays.copyOf(builder.segmentSize, size);
+    this.bytesInPerSec = Arrays.copyOf(builder.bytesInPerSec, size);
+    this.bytesOutPerSec = Arrays.copyOf(builder.bytesOutPerSec, size);
+  }
+
+  public static TopicsSnapshot create(Statistics stats, @Nullable String internalTopicPrefix) {
+    String prefix = internalTopicPrefix == null || internalTopicPrefix.isEmpty() ? "_" : internalTopicPrefix;
+    var topicStats = stats.getLogDirInfo().getTopicStats();
+    var bytesIn = stats.getMetrics().getTopicBytesInPerSec();
+    var bytesOut = stats.getMetrics().getTopicBytesOutPerSec();
+    var builder = new Builder(stats.getTopicDescriptions().size());
+    for (TopicDescription description : stats.getTopicDescriptions().values()) {
+      int replicasCnt = 0;
+      int inSyncCnt = 0;
+      int underReplicatedCnt = 0;
+      for (TopicPartitionInfo p : description.partitions()) {
+        replicasCnt += p.replicas().size();
+        inSyncCnt += p.isr().size();
+        underReplicatedCnt += p.replicas().size() > p.isr().size() ? 1 : 0;
+      }
+      var segmentStats = topicStats.get(description.name());
+      builder.add(
+          description.name(),
+          description.isInternal() || description.name().startsWith(prefix),
+          description.partitions().size(),
+          description.partitions().isEmpty() ? 0 : description.partitions().get(0).replicas().size(),
+          replicasCnt,
+          inSyncCnt,
+          underReplicatedCnt,
+          segmentStats != null ? segmentStats.getSegmentSize() : 0,
+          toDouble(bytesIn.get(description.name())),
+          toDouble(bytesOut.get(description.name()))
+      );
+    }
+    return builder.build();
+  }
+
+  private static double toDouble(@Nullable BigDecimal value) {
+    return value == null ? 0 : value.doubleValue();
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  public String getName(int idx) {
+    return names[idx];
+  }
+
+  public boolean isInternal(int idx) {
+    return internal.get(idx);
+  }
+
+  public int getPartitionCount(int idx) {
+    return partitionCount[idx];
+  }
+
+  public int getReplicationFactor(int idx) {
+    return replicationFactor[idx];
+  }
+
+  public int getOutOfSyncReplicas(int idx) {
+    return replicas[idx] - inSyncReplicas[idx];
+  }
+
+  public int getUnderReplicatedPartitions(int idx) {
+    return underReplicatedPartitions[idx];
+  }
+
+  public long getSegmentSize(int idx) {
+    return segmentSize[idx];
+  }
+
+  public double getBytesInPerSec(int idx) {
+    return bytesInPerSec[idx];
+  }
+
+  public double getBytesOutPerSec(int idx) {
+    return bytesOutPerSec[idx];
+  }
+
+  /**
+   * Returns page of topic names matching filters, sorted by specified column (by name if column not set),
+   * and total number of matching topics.
+   */
+  public Page page(boolean showInternal,
+                   @Nullable String search,
+                   @Nullable TopicColumnsToSortDTO orderBy,
+                   boolean descending,
+                   int offset,
+                   int limit) {
+    var index = columnIndex(orderBy == null ? TopicColumnsToSortDTO.NAME : orderBy);
+    int[] sorted;
+    if (search == null) {
+      sorted = showInternal ? index.order : index.nonInternalOrder;
+    } else {
+      IntPredicate matches = i -> (showInternal || !internal.get(i))
+          && StringUtils.containsIgnoreCase(names[i], search);
+      int[] candidates = namesIndex().candidates(search);
+      sorted = (candidates != null ? Arrays.stream(candidates) : IntStream.range(0, names.length))
+          .filter(matches)
+          .map(i -> index.rank[i])
+          .sorted()
+          .map(pos -> index.order[pos])
+          .toArray();
+    }
+    List<String> page = new ArrayList<>(Math.max(0, Math.min(limit, sorted.length - offset)));
+    for (int pos = offset; pos < sorted.length && page.size() < limit; pos++) {
+      page.add(names[sorted[descending ? sorted.length - 1 - pos : pos]]);
+    }
+    return new Page(page, sorted.length);
+  }
+
+  private ColumnIndex columnIndex(TopicColumnsToSortDTO column) {
+    return columnIndexes.computeIfAbsent(column, c -> {
+      Comparator<Integer> byName = Comparator.comparing(i -> names[i]);
+      Comparator<Integer> comparator = columnComparator(c);
+      int[] order = IntStream.range(0, names.length)
+          .boxed()
+          .sorted(comparator == null ? byName : comparator.thenComparing(byName))
+          .mapToInt(Integer::intValue)
+          .toArray();
+      return new ColumnIndex(order, internal);
+    });
+  }
+
+  // null for NAME column
+  @Nullable
+  private Comparator<Integer> columnComparator(TopicColumnsToSortDTO column) {
+    switch (column) {
+      case TOTAL_PARTITIONS:
+        return Comparator.comparingInt(i -> partitionCount[i]);
+      case OUT_OF_SYNC_REPLICAS:
+        return Comparator.comparingInt(this::getOutOfSyncReplicas);
+      case REPLICATION_FACTOR:
+        return Comparator.comparingInt(i -> replicationFactor[i]);
+      case SIZE:
+        return Comparator.comparingLong(i -> segmentSize[i]);
+      case BYTES_IN_PER_SEC:
+        return Comparator.comparingDouble(i -> bytesInPerSec[i]);
+      case BYTES_OUT_PER_SEC:
+        return Comparator.comparingDouble(i -> bytesOutPerSec[i]);
+      case NAME:
+      default:
+        return null;
+    }
+  }
+
+  private TrigramIndex namesIndex() {
+    var index = namesIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = namesIndex;
+        if (index == null) {
+          index = new TrigramIndex(names);
+          namesIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  public static class Builder {
+
+    private String[] names;
+    private final BitSet internal = new BitSet();
+    private int[] partitionCount;
+    private int[] replicationFactor;
+    private int[] replicas;
+    private int[] inSyncReplicas;
+    private int[] underReplicatedPartitions;
+    private long[] segmentSize;
+    private double[] bytesInPerSec;
+    private double[] bytesOutPerSec;
+    private int size;
+
+    public Builder(int expectedSize) {
+      int capacity = Math.max(expectedSize, 16);
+      names = new String[capacity];
+      partitionCount = new int[capacity];
+      replicationFactor = new int[capacity];
+      replicas = new int[capacity];
+      inSyncReplicas = new int[capacity];
+      underReplicatedPartitions = new int[capacity];
+      segmentSize = new long[capacity];
+      bytesInPerSec = new double[capacity];
+      bytesOutPerSec = new double[capacity];
+    }
+
+    public Builder add(String name,
+                       boolean isInternal,
+                       int partitions,
+                       int replicationFactor,
+                       int replicas,
+                       int inSyncReplicas,
+                       int underReplicatedPartitions,
+                       long segmentSize,
+                       double bytesInPerSec,
+                       double bytesOutPerSec) {
+      if (size == names.length) {
+        grow();
+      }
+      this.names[size] = name;
+      this.internal.set(size, isInternal);
+      this.partitionCount[size] = partitions;
+      this.replicationFactor[size] = replicationFactor;
+      this.replicas[size] = replicas;
+      this.inSyncReplicas[size] = inSyncReplicas;
+      this.underReplicatedPartitions[size] = underReplicatedPartitions;
+      this.segmentSize[size] = segmentSize;
+      this.bytesInPerSec[size] = bytesInPerSec;
+      this.bytesOutPerSec[size] = bytesOutPerSec;
+      size++;
+      return this;
+    }
+
+    private void grow() {
+      int capacity = names.length * 2;
+      names = Arrays.copyOf(names, capacity);
+      partitionCount = Arrays.copyOf(partitionCount, capacity);
+      replicationFactor = Arrays.copyOf(replicationFactor, capacity);
+      replicas = Arrays.copyOf(replicas, capacity);
+      inSyncReplicas = Arrays.copyOf(inSyncReplicas, capacity);
+      underReplicatedPartitions = Arrays.copyOf(underReplicatedPartitions, capacity);
+      segmentSize = Arrays.copyOf(segmentSize, capacity);
+      bytesInPerSec = Arrays.copyOf(bytesInPerSec, capacity);
+      bytesOutPerSec = Arrays.copyOf(bytesOutPerSec, capacity);
+    }
+
+    public TopicsSnapshot build() {
+      return new TopicsSnapshot(this);
+    }
+  }
+}
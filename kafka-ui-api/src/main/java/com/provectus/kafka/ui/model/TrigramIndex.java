@@ -0,0 +1,89 @@
+package com.provectus.kafka.ui.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Case-insensitive trigram index over strings, used for substring search. For each trigram it keeps
+ * ascending list of indexes of strings containing it. Search returns candidates (strings containing all
+ * query's trigrams), that should be verified by caller. Queries shorter than 3 chars are not supported.
+ */
+class TrigramIndex {
+
+  static final int MIN_QUERY_LENGTH = 3;
+
+  private final Map<Long, int[]> postings;
+
+  TrigramIndex(String[] strings) {
+    Map<Long, int[]> lists = new HashMap<>();
+    Map<Long, Integer> sizes = new HashMap<>();
+    for (int idx = 0; idx < strings.length; idx++) {
+      for (long trigram : trigrams(strings[idx])) {
+        int size = sizes.getOrDefault(trigram, 0);
+        int[] list = lists.get(trigram);
+        if (list == null) {
+          list = new int[4];
+          lists.put(trigram, list);
+        } else if (size == list.length) {
+          list = Arrays.copyOf(list, size * 2);
+          lists.put(trigram, list);
+        }
+        list[size] = idx;
+        sizes.put(trigram, size + 1);
+      }
+    }
+    lists.replaceAll((trigram, list) -> Arrays.copyOf(list, sizes.get(trigram)));
+    this.postings = lists;
+  }
+
+  /**
+   * Returns ascending indexes of strings containing all trigrams of query, or null if query is too short.
+   */
+  @Nullable
+  int[] candidates(String query) {
+    if (query.length() < MIN_QUERY_LENGTH) {
+      return null;
+    }
+    int[][] lists = trigrams(query).stream()
+        .map(t -> postings.getOrDefault(t, new int[0]))
+        .sorted((l1, l2) -> Integer.compare(l1.length, l2.length))
+        .toArray(int[][]::new);
+    int[] result = lists[0];
+    for (int i = 1; i < lists.length && result.length > 0; i++) {
+      result = intersect(result, lists[i]);
+    }
+    return result;
+  }
+
+  private static int[] intersect(int[] a, int[] b) {
+    int[] result = new int[Math.min(a.length, b.length)];
+    int size = 0;
+    for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+      if (a[i] < b[j]) {
+        i++;
+      } else if (a[i] > b[j]) {
+        j++;
+      } else {
+        result[size++] = a[i];
+        i++;
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  private static Set<Long> trigrams(String str) {
+    Set<Long> result = new HashSet<>();
+    for (int i = 0; i + MIN_QUERY_LENGTH <= str.length(); i++) {
+      result.add(
+          ((long) Character.toLowerCase(str.charAt(i)) << 32)
+              | ((long) Character.toLowerCase(str.charAt(i + 1)) << 16)
+              | Character.toLowerCase(str.charAt(i + 2)));
+    }
+    return result;
+  }
+}
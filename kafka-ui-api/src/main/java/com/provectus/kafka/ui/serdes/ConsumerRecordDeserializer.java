@@ -8,6 +8,7 @@ import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -37,7 +38,35 @@ public class ConsumerRecordDeserializer {
     fillKey(message, rec);
     fillValue(message, rec);
     fillHeaders(message, rec);
+    fillMetadata(message, rec);
+    return message;
+  }
+
+  /**
+   * Deserializes record for preview: headers are not decoded. Keys and values larger than maxDeserializeBytes are
+   * not deserialized and only marked as truncated, they can be seen by loading single message.
+   */
+  public TopicMessageDTO deserializePreview(ConsumerRecord<Bytes, Bytes> rec, long maxDeserializeBytes) {
+    var message = new TopicMessageDTO();
+    if (isLargerThan(rec.key(), maxDeserializeBytes)) {
+      message.setKeyTruncated(true);
+    } else {
+      fillKey(message, rec);
+    }
+    if (isLargerThan(rec.value(), maxDeserializeBytes)) {
+      message.setContentTruncated(true);
+    } else {
+      fillValue(message, rec);
+    }
+    fillMetadata(message, rec);
+    return message;
+  }
+
+  private static boolean isLargerThan(@Nullable Bytes data, long maxBytes) {
+    return data != null && data.get().length > maxBytes;
+  }
 
+  private void fillMetadata(TopicMessageDTO message, ConsumerRecord<Bytes, Bytes> rec) {
     message.setPartition(rec.partition());
     message.setOffset(rec.offset());
     message.setTimestampType(mapToTimestampType(rec.timestampType()));
@@ -46,8 +75,6 @@ public class ConsumerRecordDeserializer {
     message.setKeySize(getKeySize(rec));
     message.setValueSize(getValueSize(rec));
     message.setHeadersSize(getHeadersSize(rec));
-
-    return message;
   }
 
   private static TopicMessageDTO.TimestampTypeEnum mapToTimestampType(TimestampType timestampType) {
@@ -0,0 +1,169 @@
+package com.provectus.kafka.ui.serdes.builtin.sr;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.util.Utf8;
+
+/**
+ * Decodes avro binary data directly into json, without materializing GenericRecord and re-encoding it
+ * with avro's JsonEncoder. Output is the same as AvroSchemaUtils.toJson(..) produces (avro json encoding:
+ * unions are wrapped into {"branch type name": value} objects, bytes & fixed are written as ISO-8859-1 strings).
+ * Writers tree is built once per (writer) schema, so instances should be cached and reused. Thread-safe.
+ */
+class AvroJsonWriter {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private interface ValueWriter {
+    void write(Decoder in, JsonGenerator out) throws IOException;
+  }
+
+  private final ValueWriter rootWriter;
+
+  AvroJsonWriter(Schema schema) {
+    this.rootWriter = compile(schema, new IdentityHashMap<>());
+  }
+
+  String write(byte[] data, int offset, int length) throws IOException {
+    var decoder = DecoderFactory.get().binaryDecoder(data, offset, length, null);
+    var bytesOut = new ByteArrayOutputStream(length * 2);
+    try (JsonGenerator gen = JSON_FACTORY.createGenerator(bytesOut, JsonEncoding.UTF8)) {
+      rootWriter.write(decoder, gen);
+    }
+    return bytesOut.toString(StandardCharsets.UTF_8);
+  }
+
+  private static ValueWriter compile(Schema schema, Map<Schema, ValueWriter> compiledRecords) {
+    switch (schema.getType()) {
+      case NULL:
+        return (in, out) -> {
+          in.readNull();
+          out.writeNull();
+        };
+      case BOOLEAN:
+        return (in, out) -> out.writeBoolean(in.readBoolean());
+      case INT:
+        return (in, out) -> out.writeNumber(in.readInt());
+      case LONG:
+        return (in, out) -> out.writeNumber(in.readLong());
+      case FLOAT:
+        return (in, out) -> out.writeNumber(in.readFloat());
+      case DOUBLE:
+        return (in, out) -> out.writeNumber(in.readDouble());
+      case STRING:
+        return (in, out) -> {
+          Utf8 str = in.readString(null);
+          // writing utf8 bytes as is, without decoding them to String
+          out.writeUTF8String(str.getBytes(), 0, str.getByteLength());
+        };
+      case BYTES:
+        return (in, out) -> {
+          ByteBuffer bytes = in.readBytes(null);
+          out.writeString(
+              new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(),
+                  StandardCharsets.ISO_8859_1));
+        };
+      case FIXED:
+        return (in, out) -> {
+          byte[] fixed = new byte[schema.getFixedSize()];
+          in.readFixed(fixed);
+          out.writeString(new String(fixed, StandardCharsets.ISO_8859_1));
+        };
+      case ENUM:
+        List<String> symbols = schema.getEnumSymbols();
+        return (in, out) -> out.writeString(symbols.get(in.readEnum()));
+      case ARRAY:
+        return arrayWriter(compile(schema.getElementType(), compiledRecords));
+      case MAP:
+        return mapWriter(compile(schema.getValueType(), compiledRecords));
+      case UNION:
+        return unionWriter(schema.getTypes(), compiledRecords);
+      case RECORD:
+        return recordWriter(schema, compiledRecords);
+      default:
+        throw new IllegalStateException("Unsupported avro type " + schema.getType());
+    }
+  }
+
+  private static ValueWriter arrayWriter(ValueWriter elementWriter) {
+    return (in, out) -> {
+      out.writeStartArray();
+      for (long items = in.readArrayStart(); items != 0; items = in.arrayNext()) {
+        for (long i = 0; i < items; i++) {
+          elementWriter.write(in, out);
+        }
+      }
+      out.writeEndArray();
+    };
+  }
+
+  private static ValueWriter mapWriter(ValueWriter valueWriter) {
+    return (in, out) -> {
+      out.writeStartObject();
+      for (long entries = in.readMapStart(); entries != 0; entries = in.mapNext()) {
+        for (long i = 0; i < entries; i++) {
+          out.writeFieldName(in.readString());
+          valueWriter.write(in, out);
+        }
+      }
+      out.writeEndObject();
+    };
+  }
+
+  private static ValueWriter unionWriter(List<Schema> branches, Map<Schema, ValueWriter> compiledRecords) {
+    ValueWriter[] writers = new ValueWriter[branches.size()];
+    String[] names = new String[branches.size()];
+    for (int i = 0; i < branches.size(); i++) {
+      writers[i] = compile(branches.get(i), compiledRecords);
+      // null branch is written as plain null, others - as {"branch name": value}
+      names[i] = branches.get(i).getType() == Schema.Type.NULL ? null : branches.get(i).getFullName();
+    }
+    return (in, out) -> {
+      int idx = in.readIndex();
+      if (names[idx] == null) {
+        writers[idx].write(in, out);
+        return;
+      }
+      out.writeStartObject();
+      out.writeFieldName(names[idx]);
+      writers[idx].write(in, out);
+      out.writeEndObject();
+    };
+  }
+
+  private static ValueWriter recordWriter(Schema schema, Map<Schema, ValueWriter> compiledRecords) {
+    ValueWriter compiled = compiledRecords.get(schema);
+    if (compiled != null) {
+      return compiled;
+    }
+    List<Schema.Field> fields = schema.getFields();
+    String[] names = new String[fields.size()];
+    ValueWriter[] writers = new ValueWriter[fields.size()];
+    ValueWriter writer = (in, out) -> {
+      out.writeStartObject();
+      for (int i = 0; i < writers.length; i++) {
+        out.writeFieldName(names[i]);
+        writers[i].write(in, out);
+      }
+      out.writeEndObject();
+    };
+    // registering before fields compilation to support recursive schemas
+    compiledRecords.put(schema, writer);
+    for (int i = 0; i < fields.size(); i++) {
+      names[i] = fields.get(i).name();
+      writers[i] = compile(fields.get(i).schema(), compiledRecords);
+    }
+    return writer;
+  }
+}
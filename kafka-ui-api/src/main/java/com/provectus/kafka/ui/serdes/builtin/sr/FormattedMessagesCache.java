@@ -0,0 +1,71 @@
+package com.provectus.kafka.ui.serdes.builtin.sr;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.function.Supplier;
+import lombok.Value;
+
+/**
+ * Bounded cache of formatted (json-rendered) messages, keyed by schema id and payload digest.
+ * Helps with topics containing lots of identical messages (heartbeats, statuses), where schema lookup and
+ * deserialization are the most expensive part of messages polling. Cache is bounded by total size of cached strings.
+ * Instance is created per serde (so - per cluster) and shared by all topics' deserializers.
+ */
+class FormattedMessagesCache {
+
+  static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+
+  // approximate size of key (digest, object headers) and cache entry
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+  @Value
+  static class FormattedMessage {
+    SchemaType schemaType;
+    String json;
+  }
+
+  @Value
+  private static class Key {
+    int schemaId;
+    // sha256 is used to make collisions (and showing wrong message) practically impossible
+    HashCode payloadDigest;
+  }
+
+  private final Cache<Key, FormattedMessage> cache;
+
+  FormattedMessagesCache(long maxBytes) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maxBytes)
+        .<Key, FormattedMessage>weigher((k, v) -> ENTRY_OVERHEAD_BYTES + v.getJson().length() * 2)
+        .recordStats()
+        .build();
+  }
+
+  FormattedMessage getOrFormat(int schemaId, byte[] payload, Supplier<FormattedMessage> formatter) {
+    var key = new Key(schemaId, Hashing.sha256().hashBytes(payload));
+    FormattedMessage cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    // not using Cache.get(key, loader) to avoid formatter's exceptions wrapping
+    FormattedMessage formatted = formatter.get();
+    cache.put(key, formatted);
+    return formatted;
+  }
+
+  void bindMetrics(MeterRegistry registry, String clusterName) {
+    GuavaCacheMetrics.monitor(registry, cache, "schemaRegistryFormattedMessages", Tags.of("cluster", clusterName));
+  }
+
+  @VisibleForTesting
+  CacheStats stats() {
+    return cache.stats();
+  }
+}
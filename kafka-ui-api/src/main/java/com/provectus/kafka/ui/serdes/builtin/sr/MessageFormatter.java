@@ -3,12 +3,13 @@ package com.provectus.kafka.ui.serdes.builtin.sr;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.protobuf.Message;
 import com.google.protobuf.util.JsonFormat;
-import io.confluent.kafka.schemaregistry.avro.AvroSchemaUtils;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
-import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import io.confluent.kafka.serializers.json.KafkaJsonSchemaDeserializer;
 import io.confluent.kafka.serializers.protobuf.KafkaProtobufDeserializer;
+import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.SneakyThrows;
 
 interface MessageFormatter {
@@ -24,20 +25,30 @@ interface MessageFormatter {
   }
 
   class AvroMessageFormatter implements MessageFormatter {
-    private final KafkaAvroDeserializer avroDeserializer;
+    private final SchemaRegistryClient client;
+    // schema by id never changes, so writers can be cached without expiration
+    private final Map<Integer, AvroJsonWriter> jsonWriters = new ConcurrentHashMap<>();
 
     AvroMessageFormatter(SchemaRegistryClient client) {
-      this.avroDeserializer = new KafkaAvroDeserializer(client);
+      this.client = client;
     }
 
     @Override
     @SneakyThrows
     public String format(String topic, byte[] value) {
-      // deserialized will have type, that depends on schema type (record or primitive),
-      // AvroSchemaUtils.toJson(...) method will take it into account
-      Object deserialized = avroDeserializer.deserialize(topic, value);
-      byte[] jsonBytes = AvroSchemaUtils.toJson(deserialized);
-      return new String(jsonBytes);
+      // value is prefixed with magic byte and schema id (prefix is validated by serde)
+      int schemaId = ByteBuffer.wrap(value, 1, Integer.BYTES).getInt();
+      AvroJsonWriter writer = jsonWriters.computeIfAbsent(schemaId, this::createJsonWriter);
+      return writer.write(
+          value,
+          SchemaRegistrySerde.SR_RECORD_PREFIX_LENGTH,
+          value.length - SchemaRegistrySerde.SR_RECORD_PREFIX_LENGTH
+      );
+    }
+
+    @SneakyThrows
+    private AvroJsonWriter createJsonWriter(int schemaId) {
+      return new AvroJsonWriter(((AvroSchema) client.getSchemaById(schemaId)).rawSchema());
     }
   }
 
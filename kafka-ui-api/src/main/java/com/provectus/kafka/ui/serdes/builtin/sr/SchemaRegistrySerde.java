@@ -10,6 +10,7 @@ import com.provectus.kafka.ui.serde.api.PropertyResolver;
 import com.provectus.kafka.ui.serde.api.RecordHeaders;
 import com.provectus.kafka.ui.serde.api.SchemaDescription;
 import com.provectus.kafka.ui.serdes.BuiltInSerde;
+import com.provectus.kafka.ui.serdes.builtin.sr.FormattedMessagesCache.FormattedMessage;
 import com.provectus.kafka.ui.util.jsonschema.AvroJsonSchemaConverter;
 import com.provectus.kafka.ui.util.jsonschema.ProtobufSchemaConverter;
 import io.confluent.kafka.schemaregistry.ParsedSchema;
@@ -23,6 +24,7 @@ import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientExcept
 import io.confluent.kafka.schemaregistry.json.JsonSchemaProvider;
 import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchema;
 import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchemaProvider;
+import io.micrometer.core.instrument.Metrics;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
@@ -50,6 +52,10 @@ public class SchemaRegistrySerde implements BuiltInSerde {
 
   private Map<SchemaType, MessageFormatter> schemaRegistryFormatters;
 
+  // null if caching disabled
+  @Nullable
+  private FormattedMessagesCache formattedMessagesCache;
+
   @Override
   public boolean canBeAutoConfigured(PropertyResolver kafkaClusterProperties,
                                      PropertyResolver globalProperties) {
@@ -78,7 +84,11 @@ public class SchemaRegistrySerde implements BuiltInSerde {
         kafkaClusterProperties.getProperty("schemaRegistryKeySchemaNameTemplate", String.class).orElse("%s-key"),
         kafkaClusterProperties.getProperty("schemaRegistrySchemaNameTemplate", String.class).orElse("%s-value"),
         kafkaClusterProperties.getProperty("schemaRegistryCheckSchemaExistenceForDeserialize", Boolean.class)
-            .orElse(false)
+            .orElse(false),
+        createFormattedMessagesCache(
+            kafkaClusterProperties,
+            kafkaClusterProperties.getProperty("schemaRegistryFormattedMessagesCacheMaxBytes", Long.class)
+                .orElse(FormattedMessagesCache.DEFAULT_MAX_BYTES))
     );
   }
 
@@ -104,7 +114,11 @@ public class SchemaRegistrySerde implements BuiltInSerde {
         serdeProperties.getProperty("keySchemaNameTemplate", String.class).orElse("%s-key"),
         serdeProperties.getProperty("schemaNameTemplate", String.class).orElse("%s-value"),
         serdeProperties.getProperty("checkSchemaExistenceForDeserialize", Boolean.class)
-            .orElse(false)
+            .orElse(false),
+        createFormattedMessagesCache(
+            kafkaClusterProperties,
+            serdeProperties.getProperty("formattedMessagesCacheMaxBytes", Long.class)
+                .orElse(FormattedMessagesCache.DEFAULT_MAX_BYTES))
     );
   }
 
@@ -115,6 +129,19 @@ public class SchemaRegistrySerde implements BuiltInSerde {
       String keySchemaNameTemplate,
       String valueSchemaNameTemplate,
       boolean checkTopicSchemaExistenceForDeserialize) {
+    configure(schemaRegistryUrls, schemaRegistryClient, keySchemaNameTemplate, valueSchemaNameTemplate,
+        checkTopicSchemaExistenceForDeserialize, new FormattedMessagesCache(FormattedMessagesCache.DEFAULT_MAX_BYTES));
+  }
+
+  @VisibleForTesting
+  void configure(
+      List<String> schemaRegistryUrls,
+      SchemaRegistryClient schemaRegistryClient,
+      String keySchemaNameTemplate,
+      String valueSchemaNameTemplate,
+      boolean checkTopicSchemaExistenceForDeserialize,
+      @Nullable FormattedMessagesCache formattedMessagesCache) {
+    this.formattedMessagesCache = formattedMessagesCache;
     this.schemaRegistryUrls = schemaRegistryUrls;
     this.schemaRegistryClient = schemaRegistryClient;
     this.keySchemaNameTemplate = keySchemaNameTemplate;
@@ -123,6 +150,18 @@ public class SchemaRegistrySerde implements BuiltInSerde {
     this.checkSchemaExistenceForDeserialize = checkTopicSchemaExistenceForDeserialize;
   }
 
+  @Nullable
+  private static FormattedMessagesCache createFormattedMessagesCache(PropertyResolver kafkaClusterProperties,
+                                                                     long maxBytes) {
+    if (maxBytes <= 0) {
+      return null;
+    }
+    var cache = new FormattedMessagesCache(maxBytes);
+    kafkaClusterProperties.getProperty("name", String.class)
+        .ifPresent(clusterName -> cache.bindMetrics(Metrics.globalRegistry, clusterName));
+    return cache;
+  }
+
   private static SchemaRegistryClient createSchemaRegistryClient(List<String> urls,
                                                                  @Nullable String username,
                                                                  @Nullable String password,
@@ -273,7 +312,7 @@ public class SchemaRegistrySerde implements BuiltInSerde {
   ///--------------------------------------------------------------
 
   private static final byte SR_RECORD_MAGIC_BYTE = (byte) 0;
-  private static final int SR_RECORD_PREFIX_LENGTH = 5;
+  static final int SR_RECORD_PREFIX_LENGTH = 5;
 
   @RequiredArgsConstructor
   private class SrDeserializer implements Deserializer {
@@ -283,19 +322,26 @@ public class SchemaRegistrySerde implements BuiltInSerde {
     @Override
     public DeserializeResult deserialize(RecordHeaders headers, byte[] data) {
       var schemaId = extractSchemaIdFromMsg(data);
-      SchemaType format = getMessageFormatBySchemaId(schemaId);
-      MessageFormatter formatter = schemaRegistryFormatters.get(format);
+      var formatted = formattedMessagesCache != null
+          ? formattedMessagesCache.getOrFormat(schemaId, data, () -> format(topic, schemaId, data))
+          : format(topic, schemaId, data);
       return new DeserializeResult(
-          formatter.format(topic, data),
+          formatted.getJson(),
           DeserializeResult.Type.JSON,
           Map.of(
               "schemaId", schemaId,
-              "type", format.name()
+              "type", formatted.getSchemaType().name()
           )
       );
     }
   }
 
+  private FormattedMessage format(String topic, int schemaId, byte[] data) {
+    SchemaType format = getMessageFormatBySchemaId(schemaId);
+    MessageFormatter formatter = schemaRegistryFormatters.get(format);
+    return new FormattedMessage(format, formatter.format(topic, data));
+  }
+
   private SchemaType getMessageFormatBySchemaId(int schemaId) {
     return wrapWith404Handler(() -> schemaRegistryClient.getSchemaById(schemaId))
         .map(ParsedSchema::schemaType)
@@ -2,7 +2,9 @@ package com.provectus.kafka.ui.service;
 
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.util.SslPropertiesUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.Closeable;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Properties;
@@ -25,9 +27,13 @@ public class AdminClientServiceImpl implements AdminClientService, Closeable {
   private static final AtomicLong CLIENT_ID_SEQ = new AtomicLong();
 
   private final Map<String, ReactiveAdminClient> adminClientCache = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
   @Setter // used in tests
   @Value("${kafka.admin-client-timeout:30000}")
   private int clientTimeout;
+  // how long results of coalesced read-only admin calls can be reused after completion (0 - not reused)
+  @Value("${kafka.admin-client-single-flight-ttl-millis:0}")
+  private long singleFlightTtlMillis;
 
   @Override
   public Mono<ReactiveAdminClient> get(KafkaCluster cluster) {
@@ -48,7 +54,10 @@ public class AdminClientServiceImpl implements AdminClientService, Closeable {
           "kafka-ui-admin-" + Instant.now().getEpochSecond() + "-" + CLIENT_ID_SEQ.incrementAndGet()
       );
       return AdminClient.create(properties);
-    }).flatMap(ac -> ReactiveAdminClient.create(ac).doOnError(th -> ac.close()))
+    }).flatMap(ac -> {
+      var singleFlight = new SingleFlight(Duration.ofMillis(singleFlightTtlMillis), meterRegistry, cluster.getName());
+      return ReactiveAdminClient.create(ac, singleFlight).doOnError(th -> ac.close());
+    })
         .onErrorMap(th -> new IllegalStateException(
             "Error while creating AdminClient for Cluster " + cluster.getName(), th));
   }
@@ -46,6 +46,8 @@ public class ClusterService {
 
   public Mono<ClusterDTO> updateCluster(KafkaCluster cluster) {
     return statisticsService.updateCache(cluster)
+        // failure is already reflected in cached statistics (cluster is offline)
+        .onErrorResume(e -> Mono.fromSupplier(() -> statisticsCache.get(cluster)))
         .map(metrics -> clusterMapper.toCluster(new InternalClusterState(cluster, metrics)));
   }
 }
\ No newline at end of file
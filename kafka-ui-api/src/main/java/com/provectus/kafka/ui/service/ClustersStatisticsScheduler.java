@@ -1,32 +1,181 @@
 package com.provectus.kafka.ui.service;
 
-import lombok.RequiredArgsConstructor;
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.StatisticsSection;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Flux;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
+/**
+ * Refreshes statistics of each cluster section by section, every section of every cluster is scheduled
+ * independently, so slow cluster (or slow section) doesn't delay others. Each section has its own interval,
+ * jitter, timeout and backoff on failure (see {@link ClustersProperties.SectionSchedule}). If previous refresh
+ * of section is still in progress when next one is due, next refresh is skipped.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ClustersStatisticsScheduler {
 
-  private final ClustersStorage clustersStorage;
+  private static final double DEFAULT_JITTER = 0.1;
+  private static final Duration MIN_DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+  private static final int DEFAULT_MAX_BACKOFF_MULTIPLIER = 10;
 
+  private final ClustersStorage clustersStorage;
   private final StatisticsService statisticsService;
+  private final ClustersProperties clustersProperties;
+  private final MeterRegistry meterRegistry;
+  private final long updateRateMillis;
+  private final Scheduler scheduler = Schedulers.newSingle("statistics-scheduler", true);
+
+  private final List<SectionRefresher> refreshers = new ArrayList<>();
+
+  public ClustersStatisticsScheduler(ClustersStorage clustersStorage,
+                                     StatisticsService statisticsService,
+                                     ClustersProperties clustersProperties,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${kafka.update-metrics-rate-millis:30000}") long updateRateMillis) {
+    this.clustersStorage = clustersStorage;
+    this.statisticsService = statisticsService;
+    this.clustersProperties = clustersProperties;
+    this.meterRegistry = meterRegistry;
+    this.updateRateMillis = updateRateMillis;
+  }
+
+  @PostConstruct
+  public synchronized void start() {
+    for (KafkaCluster cluster : clustersStorage.getKafkaClusters()) {
+      for (StatisticsSection section : StatisticsSection.values()) {
+        var refresher = new SectionRefresher(cluster, section, schedule(section));
+        refreshers.add(refresher);
+        // cluster section does full refresh on first run, other sections are started after it
+        refresher.scheduleNext(section == StatisticsSection.CLUSTER ? 0 : refresher.delay(0));
+      }
+    }
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    refreshers.forEach(SectionRefresher::stop);
+    refreshers.clear();
+    scheduler.dispose();
+  }
+
+  private ClustersProperties.SectionSchedule schedule(StatisticsSection section) {
+    var configured = Optional.ofNullable(clustersProperties.getStatistics())
+        .map(s -> s.getSections().get(section))
+        .orElseGet(ClustersProperties.SectionSchedule::new);
+    var schedule = new ClustersProperties.SectionSchedule();
+    schedule.setIntervalMillis(
+        Optional.ofNullable(configured.getIntervalMillis())
+            .orElse(updateRateMillis * section.getDefaultIntervalMultiplier()));
+    schedule.setJitter(Optional.ofNullable(configured.getJitter()).orElse(DEFAULT_JITTER));
+    schedule.setTimeoutMillis(
+        Optional.ofNullable(configured.getTimeoutMillis())
+            .orElse(Math.max(schedule.getIntervalMillis(), MIN_DEFAULT_TIMEOUT.toMillis())));
+    schedule.setMaxBackoffMillis(
+        Optional.ofNullable(configured.getMaxBackoffMillis())
+            .orElse(schedule.getIntervalMillis() * DEFAULT_MAX_BACKOFF_MULTIPLIER));
+    return schedule;
+  }
+
+  private class SectionRefresher {
+
+    private final KafkaCluster cluster;
+    private final StatisticsSection section;
+    private final ClustersProperties.SectionSchedule schedule;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private int consecutiveFailures;
+    private Disposable next;
+    private boolean stopped;
+
+    SectionRefresher(KafkaCluster cluster, StatisticsSection section, ClustersProperties.SectionSchedule schedule) {
+      this.cluster = cluster;
+      this.section = section;
+      this.schedule = schedule;
+    }
+
+    synchronized void scheduleNext(long delayMs) {
+      if (stopped) {
+        return;
+      }
+      if (next != null) {
+        next.dispose();
+      }
+      next = scheduler.schedule(this::run, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+      stopped = true;
+      if (next != null) {
+        next.dispose();
+      }
+    }
+
+    // interval (doubled on each consecutive failure, up to max backoff) plus random jitter
+    long delay(int failures) {
+      long interval = schedule.getIntervalMillis();
+      if (failures > 0) {
+        interval = Math.min(
+            schedule.getMaxBackoffMillis(),
+            interval * (1L << Math.min(failures, 30)));
+      }
+      long jitter = (long) (schedule.getIntervalMillis() * schedule.getJitter());
+      return interval + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+    }
+
+    private void run() {
+      if (!running.compareAndSet(false, true)) {
+        log.debug("Previous {} statistics refresh for cluster {} is still running, skipping",
+            section, cluster.getName());
+        meterRegistry.counter("statistics.refresh.skipped",
+            "cluster", cluster.getName(), "section", section.name()).increment();
+        scheduleNext(delay(currentFailures()));
+        return;
+      }
+      scheduleNext(delay(currentFailures()));
+      log.debug("Start {} statistics refresh for cluster {}", section, cluster.getName());
+      Mono.defer(() -> statisticsService.refresh(cluster, section))
+          .timeout(Duration.ofMillis(schedule.getTimeoutMillis()))
+          .doOnSuccess(v -> onSuccess())
+          .doOnError(this::onFailure)
+          .onErrorResume(e -> Mono.empty())
+          .doFinally(s -> running.set(false))
+          .subscribe();
+    }
+
+    private synchronized int currentFailures() {
+      return consecutiveFailures;
+    }
+
+    private synchronized void onSuccess() {
+      consecutiveFailures = 0;
+      log.debug("{} statistics refreshed for cluster {}", section, cluster.getName());
+    }
 
-  @Scheduled(fixedRateString = "${kafka.update-metrics-rate-millis:30000}")
-  public void updateStatistics() {
-    Flux.fromIterable(clustersStorage.getKafkaClusters())
-        .parallel()
-        .runOn(Schedulers.parallel())
-        .flatMap(cluster -> {
-          log.debug("Start getting metrics for kafkaCluster: {}", cluster.getName());
-          return statisticsService.updateCache(cluster)
-              .doOnSuccess(m -> log.debug("Metrics updated for cluster: {}", cluster.getName()));
-        })
-        .then()
-        .block();
+    private synchronized void onFailure(Throwable th) {
+      consecutiveFailures++;
+      meterRegistry.counter("statistics.refresh.failed",
+          "cluster", cluster.getName(), "section", section.name()).increment();
+      log.warn("Error refreshing {} statistics for cluster {} ({} consecutive failures)",
+          section, cluster.getName(), consecutiveFailures, th);
+      // backing off: postponing already scheduled run
+      scheduleNext(delay(consecutiveFailures));
+    }
   }
 }
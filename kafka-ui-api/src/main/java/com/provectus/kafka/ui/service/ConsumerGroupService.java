@@ -2,6 +2,7 @@ package com.provectus.kafka.ui.service;
 
 import com.google.common.collect.Table;
 import com.provectus.kafka.ui.model.ConsumerGroupOrderingDTO;
+import com.provectus.kafka.ui.model.ConsumerGroupsSnapshot;
 import com.provectus.kafka.ui.model.InternalConsumerGroup;
 import com.provectus.kafka.ui.model.InternalTopicConsumerGroup;
 import com.provectus.kafka.ui.model.KafkaCluster;
@@ -15,6 +16,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,6 +33,7 @@ import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.BytesDeserializer;
 import org.apache.kafka.common.utils.Bytes;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -38,8 +41,11 @@ import reactor.core.publisher.Mono;
 public class ConsumerGroupService {
 
   public static final int CONSUMER_MAX_POLL_RECORDS = 100;
+  private static final AtomicLong CLIENT_ID_SEQ = new AtomicLong();
+
   private final AdminClientService adminClientService;
   private final AccessControlService accessControlService;
+  private final StatisticsCache statisticsCache;
 
   private Mono<List<InternalConsumerGroup>> getConsumerGroups(
       ReactiveAdminClient ac,
@@ -63,8 +69,48 @@ public class ConsumerGroupService {
         });
   }
 
+  /**
+   * Returns topic's groups from background-refreshed consumer groups snapshot (if it is loaded and topic is known),
+   * or loads them from cluster if fresh data requested.
+   */
   public Mono<List<InternalTopicConsumerGroup>> getConsumerGroupsForTopic(KafkaCluster cluster,
-                                                                          String topic) {
+                                                                          String topic,
+                                                                          boolean fresh) {
+    var stats = statisticsCache.get(cluster);
+    if (!fresh && stats.getConsumerGroups() != null && stats.getTopicDescriptions().containsKey(topic)) {
+      return Mono.just(withTopicConsumptionRates(cluster, topic, stats.getConsumerGroups().getTopicGroups(topic)));
+    }
+    return loadConsumerGroupsForTopic(cluster, topic)
+        .map(groups -> withTopicConsumptionRates(cluster, topic, groups));
+  }
+
+  private List<InternalTopicConsumerGroup> withTopicConsumptionRates(KafkaCluster cluster,
+                                                                     String topic,
+                                                                     List<InternalTopicConsumerGroup> groups) {
+    var rates = statisticsCache.get(cluster).getOffsetRates();
+    if (rates == null) {
+      return groups;
+    }
+    return groups.stream()
+        .map(g -> g.toBuilder()
+            .consumptionRate(rates.getConsumptionRate(g.getGroupId(), topic).orElse(null))
+            .build())
+        .toList();
+  }
+
+  private List<InternalConsumerGroup> withConsumptionRates(KafkaCluster cluster, List<InternalConsumerGroup> groups) {
+    var rates = statisticsCache.get(cluster).getOffsetRates();
+    if (rates == null) {
+      return groups;
+    }
+    return groups.stream()
+        .map(g -> g.toBuilder()
+            .consumptionRate(rates.getConsumptionRate(g.getGroupId()).orElse(null))
+            .build())
+        .toList();
+  }
+
+  private Mono<List<InternalTopicConsumerGroup>> loadConsumerGroupsForTopic(KafkaCluster cluster, String topic) {
     return adminClientService.get(cluster)
         // 1. getting topic's end offsets
         .flatMap(ac -> ac.listTopicOffsets(topic, OffsetSpec.latest(), false)
@@ -98,6 +144,10 @@ public class ConsumerGroupService {
     return hasActiveMembersForTopic || hasCommittedOffsets;
   }
 
+  private ConsumerGroupsPage withPageConsumptionRates(KafkaCluster cluster, ConsumerGroupsPage page) {
+    return new ConsumerGroupsPage(withConsumptionRates(cluster, page.consumerGroups()), page.totalPages());
+  }
+
   public record ConsumerGroupsPage(List<InternalConsumerGroup> consumerGroups, int totalPages) {
   }
 
@@ -107,7 +157,13 @@ public class ConsumerGroupService {
       int perPage,
       @Nullable String search,
       ConsumerGroupOrderingDTO orderBy,
-      SortOrderDTO sortOrderDto) {
+      SortOrderDTO sortOrderDto,
+      boolean fresh) {
+    var snapshot = statisticsCache.get(cluster).getConsumerGroups();
+    if (!fresh && snapshot != null) {
+      return getConsumerGroupsPage(cluster, snapshot, pageNum, perPage, search, orderBy, sortOrderDto)
+          .map(page -> withPageConsumptionRates(cluster, page));
+    }
     return adminClientService.get(cluster).flatMap(ac ->
         ac.listConsumerGroups()
             .map(listing -> search == null
@@ -124,7 +180,43 @@ public class ConsumerGroupService {
                     .flatMap(descriptions -> getConsumerGroups(ac, descriptions)
                         .map(page -> new ConsumerGroupsPage(
                             page,
-                            (allGroups.size() / perPage) + (allGroups.size() % perPage == 0 ? 0 : 1))))));
+                            (allGroups.size() / perPage) + (allGroups.size() % perPage == 0 ? 0 : 1))))))
+        .map(page -> withPageConsumptionRates(cluster, page));
+  }
+
+  private Mono<ConsumerGroupsPage> getConsumerGroupsPage(KafkaCluster cluster,
+                                                         ConsumerGroupsSnapshot snapshot,
+                                                         int pageNum,
+                                                         int perPage,
+                                                         @Nullable String search,
+                                                         ConsumerGroupOrderingDTO orderBy,
+                                                         SortOrderDTO sortOrderDto) {
+    return Flux.fromIterable(snapshot.getDescriptions())
+        .filter(g -> search == null || StringUtils.containsIgnoreCase(g.groupId(), search))
+        .filterWhen(g -> accessControlService.isConsumerGroupAccessible(g.groupId(), cluster.getName()))
+        .collectList()
+        .map(allGroups -> {
+          Comparator<ConsumerGroupDescription> comparator = switch (orderBy) {
+            case NAME -> Comparator.comparing(ConsumerGroupDescription::groupId);
+            case STATE -> Comparator.comparingInt(g -> statePriority(g.state()));
+            case MEMBERS -> Comparator.comparingInt(g -> g.members().size());
+          };
+          var page = sortAndPaginate(allGroups, comparator, pageNum, perPage, sortOrderDto)
+              .map(snapshot::toInternalGroup)
+              .toList();
+          return new ConsumerGroupsPage(page, (allGroups.size() / perPage) + (allGroups.size() % perPage == 0 ? 0 : 1));
+        });
+  }
+
+  private static int statePriority(ConsumerGroupState state) {
+    return switch (state) {
+      case STABLE -> 0;
+      case COMPLETING_REBALANCE -> 1;
+      case PREPARING_REBALANCE -> 2;
+      case EMPTY -> 3;
+      case DEAD -> 4;
+      case UNKNOWN -> 5;
+    };
   }
 
   private Mono<List<ConsumerGroupDescription>> loadSortedDescriptions(ReactiveAdminClient ac,
@@ -140,14 +232,7 @@ public class ConsumerGroupService {
       }
       case STATE -> {
         ToIntFunction<ConsumerGroupListing> statesPriorities =
-            cg -> switch (cg.state().orElse(ConsumerGroupState.UNKNOWN)) {
-              case STABLE -> 0;
-              case COMPLETING_REBALANCE -> 1;
-              case PREPARING_REBALANCE -> 2;
-              case EMPTY -> 3;
-              case DEAD -> 4;
-              case UNKNOWN -> 5;
-            };
+            cg -> statePriority(cg.state().orElse(ConsumerGroupState.UNKNOWN));
         var comparator = Comparator.comparingInt(statesPriorities);
         yield loadDescriptionsByListings(ac, groups, comparator, pageNum, perPage, sortOrderDto);
       }
@@ -200,13 +285,14 @@ public class ConsumerGroupService {
             .flatMap(descr ->
                 getConsumerGroups(ac, List.of(descr))
                     .filter(groups -> !groups.isEmpty())
-                    .map(groups -> groups.get(0))));
+                    .map(groups -> withConsumptionRates(cluster, groups).get(0))));
   }
 
   public Mono<Void> deleteConsumerGroupById(KafkaCluster cluster,
                                             String groupId) {
     return adminClientService.get(cluster)
-        .flatMap(adminClient -> adminClient.deleteConsumerGroups(List.of(groupId)));
+        .flatMap(adminClient -> adminClient.deleteConsumerGroups(List.of(groupId)))
+        .doOnSuccess(v -> statisticsCache.onConsumerGroupDelete(cluster, groupId));
   }
 
   public KafkaConsumer<Bytes, Bytes> createConsumer(KafkaCluster cluster) {
@@ -215,10 +301,15 @@ public class ConsumerGroupService {
 
   public KafkaConsumer<Bytes, Bytes> createConsumer(KafkaCluster cluster,
                                                     Map<String, Object> properties) {
+    return new KafkaConsumer<>(consumerProperties(cluster, properties));
+  }
+
+  Properties consumerProperties(KafkaCluster cluster, Map<String, Object> properties) {
     Properties props = new Properties();
     SslPropertiesUtil.addKafkaSslProperties(cluster.getOriginalProperties().getSsl(), props);
     props.putAll(cluster.getProperties());
-    props.put(ConsumerConfig.CLIENT_ID_CONFIG, "kafka-ui-consumer-" + System.currentTimeMillis());
+    props.put(ConsumerConfig.CLIENT_ID_CONFIG,
+        "kafka-ui-consumer-" + System.currentTimeMillis() + "-" + CLIENT_ID_SEQ.incrementAndGet());
     props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, cluster.getBootstrapServers());
     props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, BytesDeserializer.class);
     props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, BytesDeserializer.class);
@@ -227,8 +318,7 @@ public class ConsumerGroupService {
     props.put(ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG, "false");
     props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, CONSUMER_MAX_POLL_RECORDS);
     props.putAll(properties);
-
-    return new KafkaConsumer<>(props);
+    return props;
   }
 
 }
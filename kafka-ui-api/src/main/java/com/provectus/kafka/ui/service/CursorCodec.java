@@ -0,0 +1,160 @@
+package com.provectus.kafka.ui.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.provectus.kafka.ui.emitter.Cursor;
+import com.provectus.kafka.ui.exception.ValidationException;
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.SeekDirectionDTO;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes next page {@link Cursor}s into self-contained tokens: base64-encoded json of cursor's state signed with
+ * HMAC-SHA256, so no server-side state is needed and cursors can be used with any application instance (that has the
+ * same secret configured) and after restarts. If secret is not configured, random one is generated on startup.
+ */
+@Slf4j
+@Component
+public class CursorCodec {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+      .serializationInclusion(JsonInclude.Include.NON_NULL)
+      .build();
+
+  private final SecretKeySpec key;
+
+  public CursorCodec(@Value("${kafka.messages-cursor.secret:#{null}}") @Nullable String secret) {
+    byte[] keyBytes;
+    if (secret != null) {
+      keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+    } else {
+      log.info("kafka.messages-cursor.secret is not set, messages next page cursors will only be valid "
+          + "for this application instance until restart");
+      keyBytes = new byte[32];
+      new SecureRandom().nextBytes(keyBytes);
+    }
+    this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+  }
+
+  // field names are shortened to keep tokens compact
+  record CursorState(String c,
+                     String t,
+                     Map<Integer, Long> o,
+                     @Nullable Map<Integer, Long> b,
+                     @Nullable Map<Integer, Long> e,
+                     SeekDirectionDTO d,
+                     @Nullable String q,
+                     MessageFilterTypeDTO qt,
+                     @Nullable String f,
+                     int l,
+                     @Nullable String ks,
+                     @Nullable String vs,
+                     boolean ts,
+                     @Nullable Integer pl) {
+  }
+
+  public String encode(KafkaCluster cluster, Cursor cursor) {
+    var position = cursor.getConsumerPosition();
+    var seekTo = position.getSeekTo();
+    var state = new CursorState(
+        cluster.getName(), position.getTopic(),
+        byPartition(seekTo, seekTo),
+        byPartition(position.getKnownBeginOffsets(), seekTo),
+        byPartition(position.getKnownEndOffsets(), seekTo),
+        cursor.getSeekDirection(),
+        cursor.getQuery(), cursor.getFilterQueryType(), cursor.getRecordFilter(), cursor.getLimit(),
+        cursor.getKeySerde(), cursor.getValueSerde(), cursor.isOrderByTimestamp(), cursor.getPreviewLength());
+    try {
+      byte[] payload = JSON_MAPPER.writeValueAsBytes(state);
+      var encoder = Base64.getUrlEncoder().withoutPadding();
+      return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+    } catch (IOException e) {
+      throw new IllegalStateException("Error encoding cursor", e);
+    }
+  }
+
+  /**
+   * Decodes and verifies cursor issued for given cluster's topic.
+   */
+  public Cursor decode(KafkaCluster cluster, String topic, String token) {
+    CursorState state = verifyAndRead(token);
+    if (!state.c().equals(cluster.getName()) || !state.t().equals(topic)) {
+      throw new ValidationException("Next page cursor was issued for another topic");
+    }
+    return new Cursor(
+        new ConsumerPosition(SeekTypeDTO.OFFSET, topic,
+            byTopicPartition(topic, state.o()), byTopicPartition(topic, state.b()), byTopicPartition(topic, state.e())),
+        state.d(), state.q(), state.qt(), state.f(), state.l(), state.ks(), state.vs(), state.ts(), state.pl());
+  }
+
+  // keeps only offsets of partitions that cursor is positioned at
+  @Nullable
+  private static Map<Integer, Long> byPartition(@Nullable Map<TopicPartition, Long> offsets,
+                                                Map<TopicPartition, Long> seekTo) {
+    if (offsets == null) {
+      return null;
+    }
+    var result = new HashMap<Integer, Long>();
+    offsets.forEach((tp, offset) -> {
+      if (seekTo.containsKey(tp)) {
+        result.put(tp.partition(), offset);
+      }
+    });
+    return result;
+  }
+
+  @Nullable
+  private static Map<TopicPartition, Long> byTopicPartition(String topic, @Nullable Map<Integer, Long> offsets) {
+    if (offsets == null) {
+      return null;
+    }
+    var result = new HashMap<TopicPartition, Long>();
+    offsets.forEach((partition, offset) -> result.put(new TopicPartition(topic, partition), offset));
+    return result;
+  }
+
+  private CursorState verifyAndRead(String token) {
+    int separator = token.indexOf('.');
+    try {
+      if (separator > 0) {
+        var decoder = Base64.getUrlDecoder();
+        byte[] payload = decoder.decode(token.substring(0, separator));
+        byte[] signature = decoder.decode(token.substring(separator + 1));
+        if (MessageDigest.isEqual(sign(payload), signature)) {
+          return JSON_MAPPER.readValue(payload, CursorState.class);
+        }
+      }
+    } catch (IllegalArgumentException | IOException e) {
+      throw new ValidationException("Invalid next page cursor", e);
+    }
+    throw new ValidationException("Invalid next page cursor");
+  }
+
+  private byte[] sign(byte[] payload) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(payload);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
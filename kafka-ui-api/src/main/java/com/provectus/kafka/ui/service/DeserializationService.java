@@ -88,6 +88,10 @@ public class DeserializationService implements Closeable {
     );
   }
 
+  public byte[] serializeKey(KafkaCluster cluster, String topic, String keySerdeName, String key) {
+    return getSerializer(cluster, topic, Serde.Target.KEY, keySerdeName).serialize(key);
+  }
+
   public ConsumerRecordDeserializer deserializerFor(KafkaCluster cluster,
                                                     String topic,
                                                     @Nullable String keySerdeName,
@@ -210,6 +210,8 @@ public class KafkaClusterFactory {
     builder.password(metricsConfigData.getPassword());
     builder.keystoreLocation(metricsConfigData.getKeystoreLocation());
     builder.keystorePassword(metricsConfigData.getKeystorePassword());
+    builder.jmxObjectNames(metricsConfigData.getJmxObjectNames());
+    builder.prometheusMetricNamePrefixes(metricsConfigData.getPrometheusMetricNamePrefixes());
     return builder.build();
   }
 
@@ -0,0 +1,197 @@
+package com.provectus.kafka.ui.service;
+
+import com.provectus.kafka.ui.exception.ConsumerPoolExhaustedException;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.InvalidOffsetException;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.utils.Bytes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps created consumers per cluster (and effective consumer properties) to avoid connection
+ * establishment (metadata bootstrap, SSL handshake, SASL auth) on every messages polling.
+ * Consumers are returned to the pool on close() with their assignment reset. If pool is exhausted,
+ * borrowing waits for returned consumer up to max-wait and fails with {@link ConsumerPoolExhaustedException}.
+ */
+@Slf4j
+@Service
+public class KafkaConsumerPool implements Closeable {
+
+  private final ConsumerGroupService consumerGroupService;
+  private final GenericKeyedObjectPool<PoolKey, PooledConsumer> pool;
+  private final int maxPerCluster;
+  private final Duration maxWait;
+  // last used key for each cluster (with given overrides), used to drop consumers created with outdated properties
+  private final Map<PoolKey, PoolKey> currentKeys = new ConcurrentHashMap<>();
+
+  public KafkaConsumerPool(ConsumerGroupService consumerGroupService,
+                           @Value("${kafka.consumer-pool.max-per-cluster:8}") int maxPerCluster,
+                           @Value("${kafka.consumer-pool.idle-timeout-ms:300000}") long idleTimeoutMs,
+                           @Value("${kafka.consumer-pool.max-wait-ms:5000}") long maxWaitMs) {
+    this.consumerGroupService = consumerGroupService;
+    this.maxPerCluster = maxPerCluster;
+    this.maxWait = Duration.ofMillis(maxWaitMs);
+    var config = new GenericKeyedObjectPoolConfig<PooledConsumer>();
+    config.setMaxTotalPerKey(maxPerCluster);
+    config.setMaxIdlePerKey(maxPerCluster);
+    config.setMaxTotal(-1);
+    config.setBlockWhenExhausted(true);
+    config.setMaxWait(maxWait);
+    config.setMinEvictableIdleTime(Duration.ofMillis(idleTimeoutMs));
+    config.setTimeBetweenEvictionRuns(Duration.ofMillis(Math.max(1_000, idleTimeoutMs / 2)));
+    config.setJmxEnabled(false);
+    this.pool = new GenericKeyedObjectPool<>(new ConsumerFactory(), config);
+  }
+
+  public KafkaConsumer<Bytes, Bytes> borrowConsumer(KafkaCluster cluster) {
+    return borrowConsumer(cluster, Map.of());
+  }
+
+  /**
+   * Borrows consumer, waits up to max-wait if all pooled consumers of the cluster are in use.
+   */
+  public KafkaConsumer<Bytes, Bytes> borrowConsumer(KafkaCluster cluster, Map<String, Object> properties) {
+    var key = createKey(cluster, properties);
+    var prevKey = currentKeys.put(key.withoutEffectiveProperties(), key);
+    if (prevKey != null && !prevKey.equals(key)) {
+      log.debug("Consumer properties changed for {}, dropping idle consumers", cluster.getName());
+      pool.clear(prevKey);
+    }
+    try {
+      return pool.borrowObject(key);
+    } catch (NoSuchElementException exhausted) {
+      throw new ConsumerPoolExhaustedException(cluster.getName(), maxPerCluster, maxWait);
+    } catch (Exception e) {
+      throw new IllegalStateException("Error creating consumer for cluster " + cluster.getName(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    pool.close();
+  }
+
+  private PoolKey createKey(KafkaCluster cluster, Map<String, Object> properties) {
+    var effective = new HashMap<>(consumerGroupService.consumerProperties(cluster, properties));
+    // client id is unique for each created consumer
+    effective.remove(ConsumerConfig.CLIENT_ID_CONFIG);
+    return new PoolKey(cluster.getName(), Map.copyOf(properties), Map.copyOf(effective), cluster);
+  }
+
+  // consumers are keyed by properties they are created with, so consumers created before cluster config
+  // change are not reused
+  @lombok.Value
+  private static class PoolKey {
+    String clusterName;
+    Map<String, Object> properties;
+    @Nullable
+    Map<Object, Object> effectiveProperties;
+    @EqualsAndHashCode.Exclude
+    KafkaCluster cluster;
+
+    PoolKey withoutEffectiveProperties() {
+      return new PoolKey(clusterName, properties, null, cluster);
+    }
+
+    @Override
+    public String toString() {
+      return clusterName + properties;
+    }
+  }
+
+  private class ConsumerFactory extends BaseKeyedPooledObjectFactory<PoolKey, PooledConsumer> {
+
+    @Override
+    public PooledConsumer create(PoolKey key) {
+      return new PooledConsumer(consumerGroupService.consumerProperties(key.getCluster(), key.getProperties()), key);
+    }
+
+    @Override
+    public PooledObject<PooledConsumer> wrap(PooledConsumer consumer) {
+      return new DefaultPooledObject<>(consumer);
+    }
+
+    @Override
+    public void passivateObject(PoolKey key, PooledObject<PooledConsumer> p) {
+      // clears assignment, positions and paused partitions
+      p.getObject().unsubscribe();
+    }
+
+    @Override
+    public void destroyObject(PoolKey key, PooledObject<PooledConsumer> p) {
+      p.getObject().closeUnderlying();
+    }
+  }
+
+  private class PooledConsumer extends KafkaConsumer<Bytes, Bytes> {
+
+    private final PoolKey poolKey;
+    // set when consumer can't be safely reused (failed poll, pending wakeup, interrupted thread)
+    private volatile boolean broken = false;
+
+    PooledConsumer(Properties props, PoolKey poolKey) {
+      super(props);
+      this.poolKey = poolKey;
+    }
+
+    @Override
+    public ConsumerRecords<Bytes, Bytes> poll(Duration timeout) {
+      try {
+        return super.poll(timeout);
+      } catch (InvalidOffsetException e) {
+        // positions are out of range (with auto.offset.reset=none), consumer's state is still consistent
+        throw e;
+      } catch (RuntimeException e) {
+        broken = true;
+        throw e;
+      }
+    }
+
+    @Override
+    public void wakeup() {
+      // there is no way to reset wakeup flag, so consumer should not be reused
+      broken = true;
+      super.wakeup();
+    }
+
+    @Override
+    public void close() {
+      if (broken || Thread.currentThread().isInterrupted()) {
+        invalidate();
+      } else {
+        pool.returnObject(poolKey, this);
+      }
+    }
+
+    private void invalidate() {
+      try {
+        pool.invalidateObject(poolKey, this);
+      } catch (Exception e) {
+        log.warn("Error invalidating pooled consumer", e);
+      }
+    }
+
+    void closeUnderlying() {
+      super.close();
+    }
+  }
+
+}
@@ -1,12 +1,20 @@
 package com.provectus.kafka.ui.service;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.RateLimiter;
 import com.provectus.kafka.ui.emitter.BackwardRecordEmitter;
+import com.provectus.kafka.ui.emitter.Cursor;
 import com.provectus.kafka.ui.emitter.ForwardRecordEmitter;
+import com.provectus.kafka.ui.emitter.KeyLookupEmitter;
 import com.provectus.kafka.ui.emitter.MessageFilterStats;
 import com.provectus.kafka.ui.emitter.MessageFilters;
+import com.provectus.kafka.ui.emitter.MessagePreview;
+import com.provectus.kafka.ui.emitter.RangeRecordsReader;
+import com.provectus.kafka.ui.emitter.RecordFilter;
 import com.provectus.kafka.ui.emitter.ResultSizeLimiter;
 import com.provectus.kafka.ui.emitter.TailingEmitter;
+import com.provectus.kafka.ui.emitter.TimestampOrderedForwardEmitter;
+import com.provectus.kafka.ui.exception.NotFoundException;
 import com.provectus.kafka.ui.exception.TopicNotFoundException;
 import com.provectus.kafka.ui.exception.ValidationException;
 import com.provectus.kafka.ui.model.ConsumerPosition;
@@ -14,16 +22,29 @@ import com.provectus.kafka.ui.model.CreateTopicMessageDTO;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
 import com.provectus.kafka.ui.model.SeekDirectionDTO;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import com.provectus.kafka.ui.model.TopicMessageConsumingDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.model.TopicMessageNextPageCursorDTO;
 import com.provectus.kafka.ui.serde.api.Serde;
 import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
 import com.provectus.kafka.ui.serdes.ProducerRecordCreator;
+import com.provectus.kafka.ui.service.index.KeyIndexLookup;
+import com.provectus.kafka.ui.service.index.TopicKeyIndexService;
 import com.provectus.kafka.ui.util.SslPropertiesUtil;
+import java.io.Closeable;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -32,29 +53,41 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.clients.admin.OffsetSpec;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.utils.Bytes;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class MessagesService {
+public class MessagesService implements Closeable {
 
   // limiting UI messages rate to 20/sec in tailing mode
   public static final int TAILING_UI_MESSAGE_THROTTLE_RATE = 20;
 
+  private static final int MAX_IN_FLIGHT_BATCH_SENDS = 1024;
+
   private final AdminClientService adminClientService;
   private final DeserializationService deserializationService;
-  private final ConsumerGroupService consumerGroupService;
+  private final KafkaConsumerPool consumerPool;
+  private final TopicKeyIndexService keyIndexService;
+  private final CursorCodec cursorCodec;
+
+  // producers are thread-safe, so single producer per cluster is shared between all sends
+  private final Map<String, KafkaProducer<byte[], byte[]>> producers = new ConcurrentHashMap<>();
 
   private Mono<TopicDescription> withExistingTopic(KafkaCluster cluster, String topicName) {
     return adminClientService.get(cluster)
@@ -93,6 +126,19 @@ public class MessagesService {
         .flatMap(desc -> sendMessageImpl(cluster, desc, msg));
   }
 
+  /**
+   * Sends messages through shared producer without waiting for previous sends acknowledgement.
+   * Results are returned in the same order as messages were passed.
+   */
+  public Flux<RecordMetadata> sendMessages(KafkaCluster cluster, String topic,
+                                           Flux<CreateTopicMessageDTO> msgs) {
+    return withExistingTopic(cluster, topic)
+        .publishOn(Schedulers.boundedElastic())
+        .flatMapMany(desc ->
+            msgs.publishOn(Schedulers.boundedElastic())
+                .flatMapSequential(msg -> sendMessageImpl(cluster, desc, msg), MAX_IN_FLIGHT_BATCH_SENDS));
+  }
+
   private Mono<RecordMetadata> sendMessageImpl(KafkaCluster cluster,
                                                TopicDescription topicDescription,
                                                CreateTopicMessageDTO msg) {
@@ -100,21 +146,14 @@ public class MessagesService {
         && msg.getPartition() > topicDescription.partitions().size() - 1) {
       return Mono.error(new ValidationException("Invalid partition"));
     }
-    ProducerRecordCreator producerRecordCreator =
-        deserializationService.producerRecordCreator(
-            cluster,
-            topicDescription.name(),
-            msg.getKeySerde().get(),
-            msg.getValueSerde().get()
-        );
-
-    Properties properties = new Properties();
-    SslPropertiesUtil.addKafkaSslProperties(cluster.getOriginalProperties().getSsl(), properties);
-    properties.putAll(cluster.getProperties());
-    properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, cluster.getBootstrapServers());
-    properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
-    properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
-    try (KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(properties)) {
+    try {
+      ProducerRecordCreator producerRecordCreator =
+          deserializationService.producerRecordCreator(
+              cluster,
+              topicDescription.name(),
+              msg.getKeySerde().get(),
+              msg.getValueSerde().get()
+          );
       ProducerRecord<byte[], byte[]> producerRecord = producerRecordCreator.create(
           topicDescription.name(),
           msg.getPartition(),
@@ -123,7 +162,7 @@ public class MessagesService {
           msg.getHeaders()
       );
       CompletableFuture<RecordMetadata> cf = new CompletableFuture<>();
-      producer.send(producerRecord, (metadata, exception) -> {
+      getProducer(cluster).send(producerRecord, (metadata, exception) -> {
         if (exception != null) {
           cf.completeExceptionally(exception);
         } else {
@@ -136,19 +175,53 @@ public class MessagesService {
     }
   }
 
+  private KafkaProducer<byte[], byte[]> getProducer(KafkaCluster cluster) {
+    return producers.computeIfAbsent(cluster.getName(), name -> createProducer(cluster));
+  }
+
+  private KafkaProducer<byte[], byte[]> createProducer(KafkaCluster cluster) {
+    Properties properties = new Properties();
+    SslPropertiesUtil.addKafkaSslProperties(cluster.getOriginalProperties().getSsl(), properties);
+    properties.putAll(cluster.getProperties());
+    properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, cluster.getBootstrapServers());
+    properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    return new KafkaProducer<>(properties);
+  }
+
+  @Override
+  public void close() {
+    producers.values().forEach(KafkaProducer::close);
+  }
+
   public Flux<TopicMessageEventDTO> loadMessages(KafkaCluster cluster, String topic,
                                                  ConsumerPosition consumerPosition,
                                                  @Nullable String query,
                                                  MessageFilterTypeDTO filterQueryType,
+                                                 @Nullable String recordFilter,
                                                  int limit,
                                                  SeekDirectionDTO seekDirection,
                                                  @Nullable String keySerde,
-                                                 @Nullable String valueSerde) {
+                                                 @Nullable String valueSerde,
+                                                 boolean orderByTimestamp,
+                                                 @Nullable Integer previewLength) {
     return withExistingTopic(cluster, topic)
         .flux()
         .publishOn(Schedulers.boundedElastic())
-        .flatMap(td -> loadMessagesImpl(cluster, topic, consumerPosition, query,
-            filterQueryType, limit, seekDirection, keySerde, valueSerde));
+        .flatMap(td -> loadMessagesImpl(cluster, topic, consumerPosition, query, filterQueryType, recordFilter,
+            limit, seekDirection, keySerde, valueSerde, orderByTimestamp, previewLength));
+  }
+
+  public Flux<TopicMessageEventDTO> loadMessages(KafkaCluster cluster, String topic, String cursorToken) {
+    Cursor cursor;
+    try {
+      cursor = cursorCodec.decode(cluster, topic, cursorToken);
+    } catch (ValidationException e) {
+      return Flux.error(e);
+    }
+    return loadMessages(cluster, topic, cursor.getConsumerPosition(), cursor.getQuery(),
+        cursor.getFilterQueryType(), cursor.getRecordFilter(), cursor.getLimit(), cursor.getSeekDirection(),
+        cursor.getKeySerde(), cursor.getValueSerde(), cursor.isOrderByTimestamp(), cursor.getPreviewLength());
   }
 
   private Flux<TopicMessageEventDTO> loadMessagesImpl(KafkaCluster cluster,
@@ -156,24 +229,40 @@ public class MessagesService {
                                                       ConsumerPosition consumerPosition,
                                                       @Nullable String query,
                                                       MessageFilterTypeDTO filterQueryType,
+                                                      @Nullable String recordFilter,
                                                       int limit,
                                                       SeekDirectionDTO seekDirection,
                                                       @Nullable String keySerde,
-                                                      @Nullable String valueSerde) {
+                                                      @Nullable String valueSerde,
+                                                      boolean orderByTimestamp,
+                                                      @Nullable Integer previewLength) {
 
+    // next page cursors' positions are not validated against partitions' offsets before seek, so polling of
+    // offsets removed by retention should fail to be fixed lazily (see SeekOperations.onOffsetsOutOfRange(..))
+    Supplier<KafkaConsumer<Bytes, Bytes>> consumerSupplier = consumerPosition.hasKnownOffsets()
+        ? () -> consumerPool.borrowConsumer(cluster, Map.of(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "none"))
+        : () -> consumerPool.borrowConsumer(cluster);
     java.util.function.Consumer<? super FluxSink<TopicMessageEventDTO>> emitter;
     ConsumerRecordDeserializer recordDeserializer =
         deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde);
-    if (seekDirection.equals(SeekDirectionDTO.FORWARD)) {
+    if (seekDirection.equals(SeekDirectionDTO.FORWARD) && orderByTimestamp) {
+      emitter = new TimestampOrderedForwardEmitter(
+          consumerSupplier,
+          consumerPosition,
+          limit,
+          recordDeserializer,
+          cluster.getPollingSettings()
+      );
+    } else if (seekDirection.equals(SeekDirectionDTO.FORWARD)) {
       emitter = new ForwardRecordEmitter(
-          () -> consumerGroupService.createConsumer(cluster),
+          consumerSupplier,
           consumerPosition,
           recordDeserializer,
           cluster.getPollingSettings()
       );
     } else if (seekDirection.equals(SeekDirectionDTO.BACKWARD)) {
       emitter = new BackwardRecordEmitter(
-          () -> consumerGroupService.createConsumer(cluster),
+          consumerSupplier,
           consumerPosition,
           limit,
           recordDeserializer,
@@ -181,26 +270,141 @@ public class MessagesService {
       );
     } else {
       emitter = new TailingEmitter(
-          () -> consumerGroupService.createConsumer(cluster),
+          consumerSupplier,
           consumerPosition,
           recordDeserializer,
           cluster.getPollingSettings()
       );
     }
     MessageFilterStats filterStats = new MessageFilterStats();
+    Context emitterContext = Context.of(MessageFilterStats.class, filterStats);
+    if (StringUtils.isNotEmpty(recordFilter)) {
+      emitterContext = emitterContext.put(RecordFilter.class, RecordFilter.create(recordFilter));
+    }
+    // message filter needs fully deserialized messages, so only result is truncated in that case
+    if (previewLength != null && StringUtils.isEmpty(query)) {
+      emitterContext = emitterContext.put(
+          MessagePreview.class, new MessagePreview(MessagePreview.DEFAULT_MAX_DESERIALIZE_BYTES));
+    }
+    if (seekDirection == SeekDirectionDTO.TAILING) {
+      return Flux.create(emitter)
+          .contextWrite(emitterContext)
+          .filter(getMsgFilter(query, filterQueryType, filterStats))
+          .map(getDataMasker(cluster, topic))
+          .map(getPreviewTruncator(previewLength))
+          .map(throttleUiPublish(seekDirection));
+    }
+    var cursorTracking = new Cursor.Tracking(topic, seekDirection);
+    Function<ConsumerPosition, Cursor> nextCursor = position -> new Cursor(
+        position, seekDirection, query, filterQueryType, recordFilter, limit, keySerde, valueSerde,
+        orderByTimestamp, previewLength);
+    var limiter = new ResultSizeLimiter(limit);
+    var limitReached = new AtomicBoolean();
+    var lastConsumingStats = new AtomicReference<TopicMessageConsumingDTO>();
     return Flux.create(emitter)
-        .contextWrite(ctx -> ctx.put(MessageFilterStats.class, filterStats))
+        .contextWrite(emitterContext.put(Cursor.Tracking.class, cursorTracking))
+        .doOnNext(cursorTracking::trackExamined)
         .filter(getMsgFilter(query, filterQueryType, filterStats))
         .map(getDataMasker(cluster, topic))
-        .takeWhile(createTakeWhilePredicate(seekDirection, limit))
-        .map(throttleUiPublish(seekDirection));
+        .map(getPreviewTruncator(previewLength))
+        .doOnNext(evt -> {
+          if (evt.getType() == TopicMessageEventDTO.TypeEnum.CONSUMING) {
+            lastConsumingStats.set(evt.getConsuming());
+          }
+        })
+        .takeWhile(evt -> {
+          if (limiter.test(evt)) {
+            return true;
+          }
+          // this message was examined, but won't be sent - next page should start from it
+          cursorTracking.untrackLast();
+          limitReached.set(true);
+          return false;
+        })
+        // emitter is cancelled when page limit reached, so it will not send DONE event itself.
+        // Next page cursor is only needed in this case: otherwise emitter polled all data till end offsets.
+        .concatWith(Mono.fromSupplier(() -> {
+          var done = new TopicMessageEventDTO()
+              .type(TopicMessageEventDTO.TypeEnum.DONE)
+              .consuming(lastConsumingStats.get());
+          ConsumerPosition nextPosition = cursorTracking.nextPosition();
+          if (nextPosition != null) {
+            done.cursor(new TopicMessageNextPageCursorDTO()
+                .id(cursorCodec.encode(cluster, nextCursor.apply(nextPosition))));
+          }
+          return done;
+        }).filter(evt -> limitReached.get()));
   }
 
-  private Predicate<TopicMessageEventDTO> createTakeWhilePredicate(
-      SeekDirectionDTO seekDirection, int limit) {
-    return seekDirection == SeekDirectionDTO.TAILING
-        ? evt -> true // no limit for tailing
-        : new ResultSizeLimiter(limit);
+  /**
+   * Loads (and fully deserializes) single message. Used to get full message after it was loaded in preview mode.
+   */
+  public Mono<TopicMessageDTO> loadMessage(KafkaCluster cluster, String topic, int partition, long offset,
+                                           @Nullable String keySerde, @Nullable String valueSerde) {
+    return withExistingTopic(cluster, topic)
+        .publishOn(Schedulers.boundedElastic())
+        .flatMap(td -> {
+          if (td.partitions().stream().noneMatch(p -> p.partition() == partition)) {
+            return Mono.error(
+                new ValidationException(String.format("Partition %d doesn't exist in topic %s", partition, topic)));
+          }
+          var position = new ConsumerPosition(
+              SeekTypeDTO.OFFSET, topic, Map.of(new TopicPartition(topic, partition), offset));
+          try (var reader = new RangeRecordsReader(
+              consumerPool.borrowConsumer(cluster), position, null, 1, cluster.getPollingSettings())) {
+            List<ConsumerRecord<Bytes, Bytes>> batch;
+            while ((batch = reader.nextBatch()) != null) {
+              if (!batch.isEmpty()) {
+                // first record with offset >= requested is returned, offset can be absent (compacted)
+                var rec = batch.get(0);
+                return rec.offset() == offset ? Mono.just(rec) : Mono.empty();
+              }
+            }
+            return Mono.<ConsumerRecord<Bytes, Bytes>>empty();
+          }
+        })
+        .switchIfEmpty(Mono.error(new NotFoundException("Message not found")))
+        .map(rec -> {
+          var evt = new TopicMessageEventDTO()
+              .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+              .message(deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde).deserialize(rec));
+          return getDataMasker(cluster, topic).apply(evt).getMessage();
+        });
+  }
+
+  /**
+   * Loads messages with specified key, using topic's key index to fetch only records at indexed offsets.
+   */
+  public Flux<TopicMessageEventDTO> loadMessagesByKey(KafkaCluster cluster, String topic,
+                                                      String key,
+                                                      int limit,
+                                                      String keySerde,
+                                                      @Nullable String valueSerde) {
+    return withExistingTopic(cluster, topic)
+        .flux()
+        .publishOn(Schedulers.boundedElastic())
+        .flatMap(td -> {
+          byte[] rawKey = deserializationService.serializeKey(cluster, topic, keySerde, key);
+          KeyIndexLookup lookup = keyIndexService.lookup(cluster, topic, rawKey)
+              .orElseThrow(() -> new ValidationException("Key index was not built for topic " + topic));
+          // partitions that were not indexed yet (e.g. added after indexing start) are scanned from the beginning
+          var indexedUntil = new HashMap<Integer, Long>();
+          td.partitions().forEach(p ->
+              indexedUntil.put(p.partition(), lookup.getIndexedUntilOffsets().getOrDefault(p.partition(), 0L)));
+          var emitter = new KeyLookupEmitter(
+              () -> consumerPool.borrowConsumer(cluster),
+              topic,
+              Bytes.wrap(rawKey),
+              lookup.getOffsets(),
+              indexedUntil,
+              deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde),
+              cluster.getPollingSettings()
+          );
+          return Flux.create(emitter)
+              .contextWrite(Context.of(MessageFilterStats.class, new MessageFilterStats()))
+              .map(getDataMasker(cluster, topic))
+              .takeWhile(new ResultSizeLimiter(limit));
+        });
   }
 
   private UnaryOperator<TopicMessageEventDTO> getDataMasker(KafkaCluster cluster, String topicName) {
@@ -217,6 +421,27 @@ public class MessagesService {
     };
   }
 
+  // applied after data masking, so masking policies get whole (json) keys/values
+  @VisibleForTesting
+  static UnaryOperator<TopicMessageEventDTO> getPreviewTruncator(@Nullable Integer previewLength) {
+    if (previewLength == null) {
+      return UnaryOperator.identity();
+    }
+    return evt -> {
+      if (evt.getType() != TopicMessageEventDTO.TypeEnum.MESSAGE) {
+        return evt;
+      }
+      var msg = evt.getMessage().headers(null);
+      if (msg.getKey() != null && msg.getKey().length() > previewLength) {
+        msg.key(msg.getKey().substring(0, previewLength)).keyTruncated(true);
+      }
+      if (msg.getContent() != null && msg.getContent().length() > previewLength) {
+        msg.content(msg.getContent().substring(0, previewLength)).contentTruncated(true);
+      }
+      return evt;
+    };
+  }
+
   private Predicate<TopicMessageEventDTO> getMsgFilter(String query,
                                                        MessageFilterTypeDTO filterQueryType,
                                                        MessageFilterStats filterStats) {
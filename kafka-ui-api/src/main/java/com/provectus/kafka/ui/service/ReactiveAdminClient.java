@@ -27,6 +27,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -112,13 +113,14 @@ public class ReactiveAdminClient implements Closeable {
     Set<AclOperation> authorizedOperations;
   }
 
-  public static Mono<ReactiveAdminClient> create(AdminClient adminClient) {
+  public static Mono<ReactiveAdminClient> create(AdminClient adminClient, SingleFlight singleFlight) {
     return getClusterVersion(adminClient)
         .map(ver ->
             new ReactiveAdminClient(
                 adminClient,
                 ver,
-                getSupportedUpdateFeaturesForVersion(ver)));
+                getSupportedUpdateFeaturesForVersion(ver),
+                singleFlight));
   }
 
   private static Set<SupportedFeature> getSupportedUpdateFeaturesForVersion(String versionStr) {
@@ -160,9 +162,12 @@ public class ReactiveAdminClient implements Closeable {
   private final AdminClient client;
   private final String version;
   private final Set<SupportedFeature> features;
+  // coalesces concurrent identical read-only calls, that can be triggered by many UI users at once
+  private final SingleFlight singleFlight;
 
   public Mono<Set<String>> listTopics(boolean listInternal) {
-    return toMono(client.listTopics(new ListTopicsOptions().listInternal(listInternal)).names());
+    return singleFlight.execute("listTopics", List.of(listInternal),
+        () -> toMono(client.listTopics(new ListTopicsOptions().listInternal(listInternal)).names()));
   }
 
   public Mono<Void> deleteTopic(String topicName) {
@@ -249,12 +254,13 @@ public class ReactiveAdminClient implements Closeable {
 
   public Mono<Map<String, TopicDescription>> describeTopics(Collection<String> topics) {
     // we need to partition calls, because it can lead to AdminClient timeouts in case of large topics count
-    return partitionCalls(
-        topics,
-        200,
-        this::describeTopicsImpl,
-        mapMerger()
-    );
+    return singleFlight.execute("describeTopics", List.of(Set.copyOf(topics)),
+        () -> partitionCalls(
+            topics,
+            200,
+            this::describeTopicsImpl,
+            mapMerger()
+        ));
   }
 
   private Mono<Map<String, TopicDescription>> describeTopicsImpl(Collection<String> topics) {
@@ -329,7 +335,7 @@ public class ReactiveAdminClient implements Closeable {
   }
 
   public Mono<ClusterDescription> describeCluster() {
-    return describeClusterImpl(client, features);
+    return singleFlight.execute("describeCluster", List.of(), () -> describeClusterImpl(client, features));
   }
 
   private static Mono<ClusterDescription> describeClusterImpl(AdminClient client, Set<SupportedFeature> features) {
@@ -415,17 +421,19 @@ public class ReactiveAdminClient implements Closeable {
   }
 
   public Mono<Collection<ConsumerGroupListing>> listConsumerGroups() {
-    return toMono(client.listConsumerGroups().all());
+    return singleFlight.execute("listConsumerGroups", List.of(),
+        () -> toMono(client.listConsumerGroups().all()));
   }
 
   public Mono<Map<String, ConsumerGroupDescription>> describeConsumerGroups(Collection<String> groupIds) {
-    return partitionCalls(
-        groupIds,
-        25,
-        4,
-        ids -> toMono(client.describeConsumerGroups(ids).all()),
-        mapMerger()
-    );
+    return singleFlight.execute("describeConsumerGroups", List.of(Set.copyOf(groupIds)),
+        () -> partitionCalls(
+            groupIds,
+            25,
+            4,
+            ids -> toMono(client.describeConsumerGroups(ids).all()),
+            mapMerger()
+        ));
   }
 
   // group -> partition -> offset
@@ -451,16 +459,19 @@ public class ReactiveAdminClient implements Closeable {
         mapMerger()
     );
 
-    return merged.map(map -> {
-      var table = ImmutableTable.<String, TopicPartition, Long>builder();
-      map.forEach((g, tpOffsets) -> tpOffsets.forEach((tp, offset) -> {
-        if (offset != null) {
-          // offset will be null for partitions that don't have committed offset for this group
-          table.put(g, tp, offset.offset());
-        }
-      }));
-      return table.build();
-    });
+    return singleFlight.execute(
+        "listConsumerGroupOffsets",
+        Arrays.asList(Set.copyOf(consumerGroups), partitions == null ? null : Set.copyOf(partitions)),
+        () -> merged.map(map -> {
+          var table = ImmutableTable.<String, TopicPartition, Long>builder();
+          map.forEach((g, tpOffsets) -> tpOffsets.forEach((tp, offset) -> {
+            if (offset != null) {
+              // offset will be null for partitions that don't have committed offset for this group
+              table.put(g, tp, offset.offset());
+            }
+          }));
+          return table.build();
+        }));
   }
 
   public Mono<Void> alterConsumerGroupOffsets(String groupId, Map<TopicPartition, Long> offsets) {
@@ -549,12 +560,18 @@ public class ReactiveAdminClient implements Closeable {
                   .collect(toMap(Map.Entry::getKey, e -> e.getValue().offset())));
         };
 
-    return partitionCalls(
+    Supplier<Mono<Map<TopicPartition, Long>>> listOffsets = () -> partitionCalls(
         partitions,
         200,
         call,
         mapMerger()
     );
+    // OffsetSpec doesn't implement equals, so only latest & earliest offsets listings can be coalesced
+    if (offsetSpec instanceof OffsetSpec.LatestSpec || offsetSpec instanceof OffsetSpec.EarliestSpec) {
+      return singleFlight.execute(
+          "listOffsets", List.of(Set.copyOf(partitions), offsetSpec.getClass()), listOffsets);
+    }
+    return listOffsets.get();
   }
 
   public Mono<Void> updateBrokerConfigByName(Integer brokerId, String name, String value) {
@@ -0,0 +1,80 @@
+package com.provectus.kafka.ui.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.Value;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Coalesces concurrent identical calls (same operation & arguments) onto one in-flight Mono: first caller
+ * ("leader") executes the call, callers that come while it is in progress subscribe to the same result.
+ * Optionally, successful result can be reused for resultTtl after completion. Errors are never reused.
+ * Number of executed and coalesced calls is published as "kafka.admin.single.flight" counter.
+ */
+class SingleFlight {
+
+  @Value
+  private static class Key {
+    String operation;
+    List<Object> args;
+  }
+
+  private final Map<Key, Mono<?>> inFlight = new ConcurrentHashMap<>();
+  private final Duration resultTtl;
+  private final MeterRegistry meterRegistry;
+  private final String clusterName;
+
+  SingleFlight(Duration resultTtl, MeterRegistry meterRegistry, String clusterName) {
+    this.resultTtl = resultTtl;
+    this.meterRegistry = meterRegistry;
+    this.clusterName = clusterName;
+  }
+
+  /**
+   * Arguments should have proper equals/hashCode and should not be mutated after call.
+   */
+  @SuppressWarnings("unchecked")
+  <T> Mono<T> execute(String operation, List<Object> args, Supplier<Mono<T>> call) {
+    return Mono.defer(() -> {
+      var key = new Key(operation, args);
+      var existing = (Mono<T>) inFlight.get(key);
+      if (existing != null) {
+        counter(operation, "coalesced").increment();
+        return existing;
+      }
+      var shared = new Mono<?>[1];
+      shared[0] = call.get()
+          .doOnSuccess(r -> release(key, shared[0], resultTtl))
+          .doOnError(e -> release(key, shared[0], Duration.ZERO))
+          .doOnCancel(() -> release(key, shared[0], Duration.ZERO))
+          .cache();
+      var winner = (Mono<T>) inFlight.putIfAbsent(key, shared[0]);
+      if (winner != null) {
+        counter(operation, "coalesced").increment();
+        return winner;
+      }
+      counter(operation, "executed").increment();
+      return (Mono<T>) shared[0];
+    });
+  }
+
+  private void release(Key key, Mono<?> mono, Duration after) {
+    if (after.isZero() || after.isNegative()) {
+      inFlight.remove(key, mono);
+    } else {
+      Schedulers.parallel().schedule(() -> inFlight.remove(key, mono), after.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private Counter counter(String operation, String result) {
+    return meterRegistry.counter("kafka.admin.single.flight",
+        "cluster", clusterName, "operation", operation, "result", result);
+  }
+}
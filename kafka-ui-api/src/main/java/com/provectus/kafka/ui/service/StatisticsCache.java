@@ -1,13 +1,20 @@
 package com.provectus.kafka.ui.service;
 
+import com.provectus.kafka.ui.config.ClustersProperties;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.ServerStatusDTO;
 import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.TopicsSnapshot;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+import lombok.Value;
 import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.springframework.stereotype.Component;
@@ -15,9 +22,20 @@ import org.springframework.stereotype.Component;
 @Component
 public class StatisticsCache {
 
+  // topics snapshot is built lazily, on first request after statistics change
+  @Value
+  private static class SnapshotHolder {
+    Statistics source;
+    TopicsSnapshot snapshot;
+  }
+
   private final Map<String, Statistics> cache = new ConcurrentHashMap<>();
+  private final Map<String, SnapshotHolder> topicsSnapshots = new ConcurrentHashMap<>();
+  @Nullable
+  private final String internalTopicPrefix;
 
-  public StatisticsCache(ClustersStorage clustersStorage) {
+  public StatisticsCache(ClustersStorage clustersStorage, ClustersProperties clustersProperties) {
+    this.internalTopicPrefix = clustersProperties.getInternalTopicPrefix();
     var initializing = Statistics.empty().toBuilder().status(ServerStatusDTO.INITIALIZING).build();
     clustersStorage.getKafkaClusters().forEach(c -> cache.put(c.getName(), initializing));
   }
@@ -26,14 +44,36 @@ public class StatisticsCache {
     cache.put(c.getName(), stats);
   }
 
+  /**
+   * Applies changes of single statistics section (metrics, log dirs, cluster description, etc.) to cached value.
+   */
+  public synchronized void update(KafkaCluster c, UnaryOperator<Statistics> sectionUpdate) {
+    replace(c, sectionUpdate.apply(get(c)));
+  }
+
   public synchronized void update(KafkaCluster c,
                                   Map<String, TopicDescription> descriptions,
                                   Map<String, List<ConfigEntry>> configs) {
+    applyTopicsDelta(c, descriptions, configs, Set.of());
+  }
+
+  public synchronized void onTopicDelete(KafkaCluster c, String topic) {
+    applyTopicsDelta(c, Map.of(), Map.of(), Set.of(topic));
+  }
+
+  public synchronized void applyTopicsDelta(KafkaCluster c,
+                                            Map<String, TopicDescription> descriptions,
+                                            Map<String, List<ConfigEntry>> configs,
+                                            Collection<String> deletedTopics) {
     var metrics = get(c);
     var updatedDescriptions = new HashMap<>(metrics.getTopicDescriptions());
     updatedDescriptions.putAll(descriptions);
     var updatedConfigs = new HashMap<>(metrics.getTopicConfigs());
     updatedConfigs.putAll(configs);
+    deletedTopics.forEach(topic -> {
+      updatedDescriptions.remove(topic);
+      updatedConfigs.remove(topic);
+    });
     replace(
         c,
         metrics.toBuilder()
@@ -43,23 +83,40 @@ public class StatisticsCache {
     );
   }
 
-  public synchronized void onTopicDelete(KafkaCluster c, String topic) {
+  /**
+   * Updates configs of topics that are still present in cache (skipping topics deleted during configs loading).
+   */
+  public synchronized void updateTopicConfigs(KafkaCluster c, Map<String, List<ConfigEntry>> configs) {
     var metrics = get(c);
-    var updatedDescriptions = new HashMap<>(metrics.getTopicDescriptions());
-    updatedDescriptions.remove(topic);
     var updatedConfigs = new HashMap<>(metrics.getTopicConfigs());
-    updatedConfigs.remove(topic);
-    replace(
-        c,
-        metrics.toBuilder()
-            .topicDescriptions(updatedDescriptions)
-            .topicConfigs(updatedConfigs)
-            .build()
-    );
+    configs.forEach((topic, config) -> {
+      if (metrics.getTopicDescriptions().containsKey(topic)) {
+        updatedConfigs.put(topic, config);
+      }
+    });
+    replace(c, metrics.toBuilder().topicConfigs(updatedConfigs).build());
+  }
+
+  public synchronized void onConsumerGroupDelete(KafkaCluster c, String groupId) {
+    var groups = get(c).getConsumerGroups();
+    if (groups != null) {
+      update(c, s -> s.toBuilder().consumerGroups(groups.withoutGroup(groupId)).build());
+    }
   }
 
   public Statistics get(KafkaCluster c) {
     return Objects.requireNonNull(cache.get(c.getName()), "Unknown cluster metrics requested");
   }
 
+  public TopicsSnapshot getTopicsSnapshot(KafkaCluster c) {
+    var stats = get(c);
+    var holder = topicsSnapshots.get(c.getName());
+    if (holder != null && holder.getSource() == stats) {
+      return holder.getSnapshot();
+    }
+    var snapshot = TopicsSnapshot.create(stats, internalTopicPrefix);
+    topicsSnapshots.put(c.getName(), new SnapshotHolder(stats, snapshot));
+    return snapshot;
+  }
+
 }
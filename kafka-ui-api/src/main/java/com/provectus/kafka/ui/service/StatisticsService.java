@@ -2,26 +2,50 @@ package com.provectus.kafka.ui.service;
 
 import static com.provectus.kafka.ui.service.ReactiveAdminClient.ClusterDescription;
 
-import com.provectus.kafka.ui.model.ClusterFeature;
+import com.provectus.kafka.ui.model.ConsumerGroupsSnapshot;
 import com.provectus.kafka.ui.model.InternalLogDirStats;
 import com.provectus.kafka.ui.model.KafkaCluster;
-import com.provectus.kafka.ui.model.Metrics;
+import com.provectus.kafka.ui.model.OffsetRates;
 import com.provectus.kafka.ui.model.ServerStatusDTO;
 import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.StatisticsSection;
 import com.provectus.kafka.ui.service.metrics.MetricsCollector;
+import com.provectus.kafka.ui.service.metrics.history.MetricsHistoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.OffsetSpec;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+/**
+ * Refreshes cluster statistics incrementally: each {@link StatisticsSection} is loaded independently and applied
+ * to {@link StatisticsCache} as a delta. For topics only new topics and a rolling slice of existing ones are
+ * described on each cycle (see {@link TopicsRefreshState}), for consumer groups only groups that can have changed
+ * are re-described (offsets are reloaded on each cycle). Messages rates are derived from successive consumer groups
+ * snapshots (see {@link OffsetRates}), end offsets of all cached partitions (needed for produce rates only) are
+ * loaded less often than end offsets of partitions with committed offsets.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class StatisticsService {
 
@@ -29,50 +53,262 @@ public class StatisticsService {
   private final AdminClientService adminClientService;
   private final FeatureService featureService;
   private final StatisticsCache cache;
+  private final MeterRegistry meterRegistry;
+  private final MetricsHistoryService metricsHistoryService;
+  private final Duration topicDescriptionsFullRefreshPeriod;
+  private final Duration offsetRatesEwmaWindow;
+  private final Duration produceRatesRefreshPeriod;
 
+  private final Map<String, TopicsRefreshState> topicsRefreshStates = new ConcurrentHashMap<>();
+
+  public StatisticsService(MetricsCollector metricsCollector,
+                           AdminClientService adminClientService,
+                           FeatureService featureService,
+                           StatisticsCache cache,
+                           MeterRegistry meterRegistry,
+                           MetricsHistoryService metricsHistoryService,
+                           @Value("${kafka.statistics.topic-descriptions-full-refresh-millis:300000}")
+                           long topicDescriptionsFullRefreshMillis,
+                           @Value("${kafka.statistics.offset-rates-ewma-window-millis:60000}")
+                           long offsetRatesEwmaWindowMillis,
+                           @Value("${kafka.statistics.produce-rates-refresh-millis:120000}")
+                           long produceRatesRefreshMillis) {
+    this.metricsCollector = metricsCollector;
+    this.adminClientService = adminClientService;
+    this.featureService = featureService;
+    this.cache = cache;
+    this.meterRegistry = meterRegistry;
+    this.metricsHistoryService = metricsHistoryService;
+    this.topicDescriptionsFullRefreshPeriod = Duration.ofMillis(topicDescriptionsFullRefreshMillis);
+    this.offsetRatesEwmaWindow = Duration.ofMillis(offsetRatesEwmaWindowMillis);
+    this.produceRatesRefreshPeriod = Duration.ofMillis(produceRatesRefreshMillis);
+  }
+
+  /**
+   * Full refresh of all sections: all topics are described with their configs (incremental topics refresh state
+   * is reset), consumer groups are loaded after topics. Failure of consumer groups loading doesn't fail refresh,
+   * other failures set cluster offline and are propagated.
+   */
   public Mono<Statistics> updateCache(KafkaCluster c) {
-    return getStatistics(c).doOnSuccess(m -> cache.replace(c, m));
-  }
-
-  private Mono<Statistics> getStatistics(KafkaCluster cluster) {
-    return adminClientService.get(cluster).flatMap(ac ->
-            ac.describeCluster().flatMap(description ->
-                Mono.zip(
-                    List.of(
-                        metricsCollector.getBrokerMetrics(cluster, description.getNodes()),
-                        getLogDirInfo(description, ac),
-                        featureService.getAvailableFeatures(cluster, description),
-                        loadTopicConfigs(cluster),
-                        describeTopics(cluster)),
-                    results ->
-                        Statistics.builder()
-                            .status(ServerStatusDTO.ONLINE)
-                            .clusterDescription(description)
-                            .version(ac.getVersion())
-                            .metrics((Metrics) results[0])
-                            .logDirInfo((InternalLogDirStats) results[1])
-                            .features((List<ClusterFeature>) results[2])
-                            .topicConfigs((Map<String, List<ConfigEntry>>) results[3])
-                            .topicDescriptions((Map<String, TopicDescription>) results[4])
-                            .build()
-                )))
-        .doOnError(e ->
-            log.error("Failed to collect cluster {} info", cluster.getName(), e))
-        .onErrorResume(
-            e -> Mono.just(Statistics.empty().toBuilder().lastKafkaException(e).build()));
-  }
-
-  private Mono<InternalLogDirStats> getLogDirInfo(ClusterDescription desc, ReactiveAdminClient ac) {
+    var topicsState = topicsRefreshState(c);
+    topicsState.reset();
+    return adminClientService.get(c)
+        .flatMap(ac -> timed(c, StatisticsSection.CLUSTER, ac.describeCluster())
+            .flatMap(description ->
+                Mono.when(
+                        refreshFeatures(c, description),
+                        refreshMetrics(c, description),
+                        refreshLogDirs(c, description, ac),
+                        refreshTopics(c, ac, topicsState))
+                    .then(Mono.fromRunnable(() -> onClusterDescribed(c, ac, description)))
+                    .then(refreshConsumerGroups(c, ac)
+                        .onErrorResume(e -> {
+                          log.warn("Failed to load cluster {} consumer groups", c.getName(), e);
+                          return Mono.empty();
+                        }))))
+        // cluster is set offline, error is propagated so caller (scheduler) can back off
+        .doOnError(e -> onClusterFailure(c, e))
+        .then(Mono.fromSupplier(() -> cache.get(c)));
+  }
+
+  /**
+   * Refreshes single section. Until cluster is online only {@link StatisticsSection#CLUSTER} section refresh
+   * takes effect (it does full refresh), other sections are skipped. Failure of {@link StatisticsSection#CLUSTER}
+   * section refresh sets cluster offline (and is propagated), failures of other sections are propagated leaving
+   * stale data in cache.
+   */
+  public Mono<Void> refresh(KafkaCluster c, StatisticsSection section) {
+    var stats = cache.get(c);
+    if (section == StatisticsSection.CLUSTER) {
+      return stats.getStatus() != ServerStatusDTO.ONLINE
+          ? updateCache(c).then()
+          : adminClientService.get(c)
+              .flatMap(ac -> timed(c, section, ac.describeCluster())
+                  .doOnNext(description -> onClusterDescribed(c, ac, description)))
+              .doOnError(e -> onClusterFailure(c, e))
+              .then();
+    }
+    if (stats.getStatus() != ServerStatusDTO.ONLINE) {
+      return Mono.empty();
+    }
+    var description = stats.getClusterDescription();
+    switch (section) {
+      case FEATURES:
+        return refreshFeatures(c, description);
+      case METRICS:
+        return refreshMetrics(c, description);
+      case LOG_DIRS:
+        return adminClientService.get(c).flatMap(ac -> refreshLogDirs(c, description, ac));
+      case TOPIC_DESCRIPTIONS:
+        return adminClientService.get(c).flatMap(ac -> refreshTopics(c, ac, topicsRefreshState(c)));
+      case TOPIC_CONFIGS:
+        return adminClientService.get(c).flatMap(ac -> refreshTopicConfigs(c, ac));
+      case CONSUMER_GROUPS:
+        return adminClientService.get(c).flatMap(ac -> refreshConsumerGroups(c, ac));
+      default:
+        return Mono.error(new IllegalStateException("Unknown statistics section " + section));
+    }
+  }
+
+  private TopicsRefreshState topicsRefreshState(KafkaCluster c) {
+    return topicsRefreshStates.computeIfAbsent(
+        c.getName(), n -> new TopicsRefreshState(topicDescriptionsFullRefreshPeriod));
+  }
+
+  private void onClusterDescribed(KafkaCluster c, ReactiveAdminClient ac, ClusterDescription description) {
+    cache.update(c, s -> s.toBuilder()
+        .status(ServerStatusDTO.ONLINE)
+        .lastKafkaException(null)
+        .version(ac.getVersion())
+        .clusterDescription(description)
+        .build());
+  }
+
+  private void onClusterFailure(KafkaCluster c, Throwable e) {
+    log.error("Failed to collect cluster {} info", c.getName(), e);
+    topicsRefreshState(c).reset();
+    cache.replace(c, Statistics.empty().toBuilder().lastKafkaException(e).build());
+  }
+
+  private Mono<Void> refreshFeatures(KafkaCluster c, ClusterDescription description) {
+    return timed(c, StatisticsSection.FEATURES, featureService.getAvailableFeatures(c, description))
+        .doOnNext(features -> cache.update(c, s -> s.toBuilder().features(features).build()))
+        .then();
+  }
+
+  private Mono<Void> refreshMetrics(KafkaCluster c, ClusterDescription description) {
+    return timed(c, StatisticsSection.METRICS, metricsCollector.getBrokerMetrics(c, description.getNodes()))
+        .doOnNext(metrics -> {
+          cache.update(c, s -> s.toBuilder().metrics(metrics).build());
+          metricsHistoryService.record(c, metrics, Instant.now());
+        })
+        .then();
+  }
+
+  private Mono<Void> refreshLogDirs(KafkaCluster c, ClusterDescription desc, ReactiveAdminClient ac) {
     var brokerIds = desc.getNodes().stream().map(Node::id).collect(Collectors.toSet());
-    return ac.describeLogDirs(brokerIds).map(InternalLogDirStats::new);
+    return timed(c, StatisticsSection.LOG_DIRS, ac.describeLogDirs(brokerIds).map(InternalLogDirStats::new))
+        .doOnNext(logDirs -> cache.update(c, s -> s.toBuilder().logDirInfo(logDirs).build()))
+        .then();
+  }
+
+  private Mono<Void> refreshTopics(KafkaCluster c, ReactiveAdminClient ac, TopicsRefreshState state) {
+    return Mono.defer(() -> {
+      // taking snapshot before listing, so topics created via UI in between won't be treated as deleted
+      Set<String> cachedTopics = Set.copyOf(cache.get(c).getTopicDescriptions().keySet());
+      return ac.listTopics(true)
+          .flatMap(listedTopics -> {
+            var plan = state.plan(cachedTopics, listedTopics, Instant.now());
+            return Mono.zip(
+                    describeTopics(ac, plan.getToDescribe()),
+                    loadTopicConfigs(ac, plan.getConfigsToLoad()))
+                .doOnNext(t -> cache.applyTopicsDelta(c, t.getT1(), t.getT2(), plan.getDeleted()));
+          })
+          .as(mono -> timed(c, StatisticsSection.TOPIC_DESCRIPTIONS, mono))
+          .then();
+    });
+  }
+
+  private Mono<Void> refreshTopicConfigs(KafkaCluster c, ReactiveAdminClient ac) {
+    return Mono.defer(() -> {
+      Set<String> cachedTopics = Set.copyOf(cache.get(c).getTopicDescriptions().keySet());
+      return timed(c, StatisticsSection.TOPIC_CONFIGS, loadTopicConfigs(ac, cachedTopics))
+          .doOnNext(configs -> cache.updateTopicConfigs(c, configs))
+          .then();
+    });
+  }
+
+  private record LoadedConsumerGroups(ConsumerGroupsSnapshot snapshot,
+                                      @Nullable Map<TopicPartition, Long> produceEndOffsets) {
+  }
+
+  private Mono<Void> refreshConsumerGroups(KafkaCluster c, ReactiveAdminClient ac) {
+    return Mono.defer(() -> {
+      var stats = cache.get(c);
+      var cached = Optional.ofNullable(stats.getConsumerGroups()).orElseGet(ConsumerGroupsSnapshot::empty);
+      boolean loadAllEndOffsets = stats.getOffsetRates() == null
+          || System.currentTimeMillis() - stats.getOffsetRates().getProduceTimestamp()
+              >= produceRatesRefreshPeriod.toMillis();
+      return ac.listConsumerGroups()
+          .flatMap(listings -> {
+            var groups = listings.stream().map(ConsumerGroupListing::groupId).toList();
+            var toDescribe = cached.outdatedDescriptions(listings);
+            return Mono.zip(
+                    toDescribe.isEmpty() ? Mono.just(Map.<String, ConsumerGroupDescription>of())
+                        : ac.describeConsumerGroups(toDescribe),
+                    ac.listConsumerGroupOffsets(groups, null))
+                .flatMap(t -> loadEndOffsets(c, ac, t.getT2().columnKeySet(), loadAllEndOffsets)
+                    .map(endOffsets -> new LoadedConsumerGroups(
+                        new ConsumerGroupsSnapshot(cached.mergeDescriptions(groups, t.getT1()), t.getT2(), endOffsets),
+                        loadAllEndOffsets ? endOffsets : null)));
+          })
+          .as(mono -> timed(c, StatisticsSection.CONSUMER_GROUPS, mono))
+          .doOnNext(loaded -> {
+            // rates are calculated outside of cache lock, CONSUMER_GROUPS section refreshes are not concurrent
+            var prev = cache.get(c);
+            var rates = OffsetRates.calculate(
+                prev.getOffsetRates(), prev.getConsumerGroups(), loaded.snapshot(), loaded.produceEndOffsets(),
+                System.currentTimeMillis(), offsetRatesEwmaWindow);
+            cache.update(c, s -> s.toBuilder()
+                .consumerGroups(loaded.snapshot())
+                .offsetRates(rates)
+                .build());
+          })
+          .then();
+    });
+  }
+
+  /**
+   * Loads end offsets of partitions with committed offsets and, if allCachedPartitions is true, of all cached topics
+   * partitions (to calculate produce rates, see {@link OffsetRates}). Cached topics partitions are grouped by their
+   * cached leaders and loaded without describing topics, if loading fails for some leader (leaders changed since last
+   * topics refresh) only its partitions are re-loaded with leaders check. Uncached topics are described.
+   */
+  private Mono<Map<TopicPartition, Long>> loadEndOffsets(KafkaCluster c,
+                                                         ReactiveAdminClient ac,
+                                                         Set<TopicPartition> committedPartitions,
+                                                         boolean allCachedPartitions) {
+    var cachedTopics = cache.get(c).getTopicDescriptions();
+    Map<Integer, Set<TopicPartition>> cachedByLeader = new HashMap<>();
+    cachedTopics.values().forEach(d -> d.partitions().stream()
+        .filter(p -> p.leader() != null)
+        .forEach(p -> {
+          var tp = new TopicPartition(d.name(), p.partition());
+          if (allCachedPartitions || committedPartitions.contains(tp)) {
+            cachedByLeader.computeIfAbsent(p.leader().id(), id -> new HashSet<>()).add(tp);
+          }
+        }));
+    Set<TopicPartition> uncachedPartitions = committedPartitions.stream()
+        .filter(tp -> !cachedTopics.containsKey(tp.topic()))
+        .collect(Collectors.toSet());
+    return Flux.fromIterable(cachedByLeader.values())
+        .flatMap(partitions -> ac.listOffsetsUnsafe(partitions, OffsetSpec.latest())
+            .onErrorResume(e -> ac.listOffsets(partitions, OffsetSpec.latest(), false)))
+        .concatWith(uncachedPartitions.isEmpty()
+            ? Mono.empty()
+            : ac.listOffsets(uncachedPartitions, OffsetSpec.latest(), false))
+        .<Map<TopicPartition, Long>>collect(HashMap::new, Map::putAll);
+  }
+
+  private Mono<Map<String, TopicDescription>> describeTopics(ReactiveAdminClient ac, Set<String> topics) {
+    return topics.isEmpty() ? Mono.just(Map.of()) : ac.describeTopics(topics);
   }
 
-  private Mono<Map<String, TopicDescription>> describeTopics(KafkaCluster c) {
-    return adminClientService.get(c).flatMap(ReactiveAdminClient::describeTopics);
+  private Mono<Map<String, List<ConfigEntry>>> loadTopicConfigs(ReactiveAdminClient ac, Set<String> topics) {
+    return topics.isEmpty() ? Mono.just(Map.of()) : ac.getTopicsConfig(topics, false);
   }
 
-  private Mono<Map<String, List<ConfigEntry>>> loadTopicConfigs(KafkaCluster c) {
-    return adminClientService.get(c).flatMap(ReactiveAdminClient::getTopicsConfig);
+  private <T> Mono<T> timed(KafkaCluster c, StatisticsSection section, Mono<T> mono) {
+    return Mono.defer(() -> {
+      var sample = Timer.start(meterRegistry);
+      return mono.doFinally(signal ->
+          sample.stop(
+              Timer.builder("statistics.refresh")
+                  .description("Time spent on cluster statistics section refresh")
+                  .tag("cluster", c.getName())
+                  .tag("section", section.name())
+                  .register(meterRegistry)));
+    });
   }
 
 }
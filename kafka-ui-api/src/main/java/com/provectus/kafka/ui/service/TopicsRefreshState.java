@@ -0,0 +1,88 @@
+package com.provectus.kafka.ui.service;
+
+import com.google.common.collect.Sets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/**
+ * Per-cluster state of incremental topics statistics refresh. Decides which topics should be (re)described
+ * and which topics' configs should be loaded on each refresh cycle:
+ * <ul>
+ *   <li>new topics (not present in cache) are always described and their configs are loaded</li>
+ *   <li>existing topics are re-described in rolling slices, so each topic is re-described at least once per
+ *   descriptionsFullRefreshPeriod (to catch partitions/leadership changes made outside UI)</li>
+ *   <li>on first cycle (or after reset) all topics are described and all configs are loaded</li>
+ * </ul>
+ * Configs of existing topics are reloaded separately, on their own cadence.
+ */
+class TopicsRefreshState {
+
+  @Value
+  static class Plan {
+    Set<String> toDescribe;
+    Set<String> configsToLoad;
+    Set<String> deleted;
+  }
+
+  private final Duration descriptionsFullRefreshPeriod;
+
+  @Nullable
+  private Instant lastCycle;
+  // last re-described topic name, next slice will start after it
+  @Nullable
+  private String rollingCursor;
+
+  TopicsRefreshState(Duration descriptionsFullRefreshPeriod) {
+    this.descriptionsFullRefreshPeriod = descriptionsFullRefreshPeriod;
+  }
+
+  synchronized Plan plan(Set<String> cachedTopics, Set<String> listedTopics, Instant now) {
+    Set<String> newTopics = Sets.difference(listedTopics, cachedTopics).immutableCopy();
+
+    Set<String> toDescribe;
+    Set<String> configsToLoad;
+    if (lastCycle == null) {
+      toDescribe = Set.copyOf(listedTopics);
+      configsToLoad = toDescribe;
+    } else {
+      toDescribe = new HashSet<>(newTopics);
+      toDescribe.addAll(nextRollingSlice(Sets.intersection(listedTopics, cachedTopics), now));
+      configsToLoad = newTopics;
+    }
+    lastCycle = now;
+    return new Plan(toDescribe, configsToLoad, Sets.difference(cachedTopics, listedTopics).immutableCopy());
+  }
+
+  private Set<String> nextRollingSlice(Set<String> existingTopics, Instant now) {
+    if (existingTopics.isEmpty()) {
+      return Set.of();
+    }
+    // slice size is proportional to time passed since last cycle, so full round takes descriptionsFullRefreshPeriod
+    double fraction = (double) Duration.between(lastCycle, now).toMillis()
+        / Math.max(1, descriptionsFullRefreshPeriod.toMillis());
+    int sliceSize = (int) Math.min(existingTopics.size(), Math.ceil(existingTopics.size() * fraction));
+
+    var sorted = new TreeSet<>(existingTopics);
+    var slice = new HashSet<String>(sliceSize);
+    var iterator = (rollingCursor == null ? sorted : sorted.tailSet(rollingCursor, false)).iterator();
+    while (slice.size() < sliceSize) {
+      if (!iterator.hasNext()) {
+        // wrapping around
+        iterator = sorted.iterator();
+      }
+      rollingCursor = iterator.next();
+      slice.add(rollingCursor);
+    }
+    return slice;
+  }
+
+  synchronized void reset() {
+    lastCycle = null;
+    rollingCursor = null;
+  }
+}
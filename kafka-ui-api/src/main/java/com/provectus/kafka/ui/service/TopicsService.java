@@ -17,22 +17,24 @@ import com.provectus.kafka.ui.model.InternalTopic;
 import com.provectus.kafka.ui.model.InternalTopicConfig;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.Metrics;
+import com.provectus.kafka.ui.model.OffsetRates;
 import com.provectus.kafka.ui.model.PartitionsIncreaseDTO;
 import com.provectus.kafka.ui.model.PartitionsIncreaseResponseDTO;
 import com.provectus.kafka.ui.model.ReplicationFactorChangeDTO;
 import com.provectus.kafka.ui.model.ReplicationFactorChangeResponseDTO;
-import com.provectus.kafka.ui.model.Statistics;
 import com.provectus.kafka.ui.model.TopicCreationDTO;
 import com.provectus.kafka.ui.model.TopicUpdateDTO;
+import com.provectus.kafka.ui.model.TopicsSnapshot;
 import java.time.Duration;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.NewPartitionReassignment;
@@ -80,7 +82,8 @@ public class TopicsService {
                         configs,
                         offsets,
                         metrics.getMetrics(),
-                        metrics.getLogDirInfo()
+                        metrics.getLogDirInfo(),
+                        metrics.getOffsetRates()
                     );
                   });
                 })).flatMap(Function.identity());
@@ -121,7 +124,8 @@ public class TopicsService {
                                          Map<String, List<ConfigEntry>> configs,
                                          InternalPartitionsOffsets partitionsOffsets,
                                          Metrics metrics,
-                                         InternalLogDirStats logDirInfo) {
+                                         InternalLogDirStats logDirInfo,
+                                         @Nullable OffsetRates offsetRates) {
     return orderedNames.stream()
         .filter(descriptions::containsKey)
         .map(t -> InternalTopic.from(
@@ -132,9 +136,21 @@ public class TopicsService {
             logDirInfo,
             clustersProperties.getInternalTopicPrefix()
         ))
+        .map(t -> offsetRates == null ? t : withMessagesRates(t, offsetRates))
         .collect(toList());
   }
 
+  private InternalTopic withMessagesRates(InternalTopic topic, OffsetRates offsetRates) {
+    Map<Integer, InternalPartition> partitions = new HashMap<>();
+    topic.getPartitions().forEach((idx, p) -> partitions.put(idx, p.toBuilder()
+        .messagesInPerSec(offsetRates.getPartitionProduceRate(topic.getName(), idx).orElse(null))
+        .build()));
+    return topic.toBuilder()
+        .partitions(partitions)
+        .messagesInPerSec(offsetRates.getTopicProduceRate(topic.getName()).orElse(null))
+        .build();
+  }
+
   private Mono<InternalPartitionsOffsets> getPartitionOffsets(Map<String, TopicDescription>
                                                                   descriptions,
                                                               ReactiveAdminClient ac) {
@@ -452,30 +468,10 @@ public class TopicsService {
     );
   }
 
-  public Mono<List<InternalTopic>> getTopicsForPagination(KafkaCluster cluster) {
-    Statistics stats = statisticsCache.get(cluster);
-    return filterExisting(cluster, stats.getTopicDescriptions().keySet())
-        .map(lst -> lst.stream()
-            .map(topicName ->
-                InternalTopic.from(
-                    stats.getTopicDescriptions().get(topicName),
-                    stats.getTopicConfigs().getOrDefault(topicName, List.of()),
-                    InternalPartitionsOffsets.empty(),
-                    stats.getMetrics(),
-                    stats.getLogDirInfo(),
-                    clustersProperties.getInternalTopicPrefix()
-                    ))
-            .collect(toList())
-        );
-  }
-
-  private Mono<List<String>> filterExisting(KafkaCluster cluster, Collection<String> topics) {
-    return adminClientService.get(cluster)
-        .flatMap(ac -> ac.listTopics(true))
-        .map(existing -> existing
-            .stream()
-            .filter(topics::contains)
-            .collect(toList()));
+  // topics deleted outside UI are removed from snapshot on next statistics refresh,
+  // until that they are filtered out on page loading (see loadTopics)
+  public Mono<TopicsSnapshot> getTopicsForPagination(KafkaCluster cluster) {
+    return Mono.fromSupplier(() -> statisticsCache.getTopicsSnapshot(cluster));
   }
 
 }
@@ -7,7 +7,7 @@ import com.provectus.kafka.ui.emitter.PollingThrottler;
 import com.provectus.kafka.ui.exception.TopicAnalysisException;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.TopicAnalysisDTO;
-import com.provectus.kafka.ui.service.ConsumerGroupService;
+import com.provectus.kafka.ui.service.KafkaConsumerPool;
 import com.provectus.kafka.ui.service.TopicsService;
 import java.io.Closeable;
 import java.time.Duration;
@@ -38,7 +38,7 @@ public class TopicAnalysisService {
   private final AnalysisTasksStore analysisTasksStore = new AnalysisTasksStore();
 
   private final TopicsService topicsService;
-  private final ConsumerGroupService consumerGroupService;
+  private final KafkaConsumerPool consumerPool;
 
   public Mono<Void> analyze(KafkaCluster cluster, String topicName) {
     return topicsService.getTopicDetails(cluster, topicName)
@@ -96,7 +96,7 @@ public class TopicAnalysisService {
       this.topicId = topicId;
       this.approxNumberOfMsgs = approxNumberOfMsgs;
       this.partitionsCnt = partitionsCnt;
-      this.consumer = consumerGroupService.createConsumer(
+      this.consumer = consumerPool.borrowConsumer(
           cluster,
           // to improve polling throughput
           Map.of(
@@ -0,0 +1,33 @@
+package com.provectus.kafka.ui.service.export;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Writes raw records as [int32 partition][int64 offset][int64 timestamp][int32 key length][key]
+ * [int32 value length][value], big-endian, length is -1 for null key/value.
+ */
+class BinaryRecordsEncoder implements RecordsEncoder {
+
+  @Override
+  public void encode(ConsumerRecord<Bytes, Bytes> rec, OutputStream out) throws IOException {
+    var dataOut = new DataOutputStream(out);
+    dataOut.writeInt(rec.partition());
+    dataOut.writeLong(rec.offset());
+    dataOut.writeLong(rec.timestamp());
+    writeBytes(dataOut, rec.key());
+    writeBytes(dataOut, rec.value());
+  }
+
+  private static void writeBytes(DataOutputStream out, Bytes bytes) throws IOException {
+    if (bytes == null) {
+      out.writeInt(-1);
+    } else {
+      out.writeInt(bytes.get().length);
+      out.write(bytes.get());
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.provectus.kafka.ui.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.provectus.kafka.ui.emitter.RangeRecordsReader;
+import com.provectus.kafka.ui.exception.TopicNotFoundException;
+import com.provectus.kafka.ui.exception.ValidationException;
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.MessagesExportCompressionDTO;
+import com.provectus.kafka.ui.model.MessagesExportFormatDTO;
+import com.provectus.kafka.ui.serde.api.Serde;
+import com.provectus.kafka.ui.service.AdminClientService;
+import com.provectus.kafka.ui.service.DeserializationService;
+import com.provectus.kafka.ui.service.KafkaConsumerPool;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Streams topic range as NDJSON or raw binary records. Records are polled only when response
+ * requests next chunk (each chunk is single poll's encoded records), so records are not buffered in memory
+ * beyond one poll.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessagesExportService {
+
+  private final AdminClientService adminClientService;
+  private final DeserializationService deserializationService;
+  private final KafkaConsumerPool consumerPool;
+  private final ObjectMapper objectMapper;
+
+  public Flux<DataBuffer> export(KafkaCluster cluster,
+                                 String topic,
+                                 ConsumerPosition position,
+                                 @Nullable Long untilTimestamp,
+                                 long limit,
+                                 MessagesExportFormatDTO format,
+                                 MessagesExportCompressionDTO compression,
+                                 @Nullable String keySerde,
+                                 @Nullable String valueSerde) {
+    return adminClientService.get(cluster)
+        .flatMap(client -> client.describeTopic(topic))
+        .switchIfEmpty(Mono.error(new TopicNotFoundException()))
+        .flatMapMany(td -> {
+          RecordsEncoder encoder = createEncoder(cluster, topic, format, keySerde, valueSerde);
+          return Flux.<byte[], ExportWriter>generate(
+                  () -> new ExportWriter(
+                      new RangeRecordsReader(
+                          consumerPool.borrowConsumer(cluster),
+                          position,
+                          untilTimestamp,
+                          limit,
+                          cluster.getPollingSettings()),
+                      encoder,
+                      compression),
+                  (writer, sink) -> {
+                    try {
+                      byte[] chunk = writer.nextChunk();
+                      if (chunk == null) {
+                        sink.complete();
+                      } else {
+                        sink.next(chunk);
+                      }
+                    } catch (IOException e) {
+                      sink.error(new UncheckedIOException(e));
+                    }
+                    return writer;
+                  },
+                  ExportWriter::close)
+              // consumer is created & polled on the same worker thread
+              .subscribeOn(Schedulers.boundedElastic());
+        })
+        .map(DefaultDataBufferFactory.sharedInstance::wrap);
+  }
+
+  private RecordsEncoder createEncoder(KafkaCluster cluster,
+                                       String topic,
+                                       MessagesExportFormatDTO format,
+                                       @Nullable String keySerde,
+                                       @Nullable String valueSerde) {
+    if (format == MessagesExportFormatDTO.BINARY) {
+      if (cluster.getMasking().isMaskingApplied(topic)) {
+        throw new ValidationException("Data masking is configured for topic, only NDJSON export format is allowed");
+      }
+      return new BinaryRecordsEncoder();
+    }
+    return new NdjsonRecordsEncoder(
+        objectMapper,
+        deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde),
+        cluster.getMasking().getMaskingFunction(topic, Serde.Target.KEY),
+        cluster.getMasking().getMaskingFunction(topic, Serde.Target.VALUE)
+    );
+  }
+
+  private static class ExportWriter implements Closeable {
+
+    private final RangeRecordsReader reader;
+    private final RecordsEncoder encoder;
+    // compressed data is accumulated here until it is taken as chunk
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final OutputStream out;
+    private boolean finished = false;
+
+    ExportWriter(RangeRecordsReader reader,
+                 RecordsEncoder encoder,
+                 MessagesExportCompressionDTO compression) throws IOException {
+      this.reader = reader;
+      this.encoder = encoder;
+      try {
+        this.out = compressingStream(compression, buffer);
+      } catch (IOException | RuntimeException | Error e) {
+        // writer won't be created, so generator's state cleanup won't close reader
+        reader.close();
+        throw e;
+      }
+    }
+
+    private static OutputStream compressingStream(MessagesExportCompressionDTO compression,
+                                                  OutputStream target) throws IOException {
+      switch (compression) {
+        case GZIP:
+          // sync flush is needed to emit compressed data after each batch
+          return new GZIPOutputStream(target, true);
+        case ZSTD:
+          return new ZstdOutputStream(target);
+        default:
+          return target;
+      }
+    }
+
+    /**
+     * Returns next chunk of encoded data, or null if range was fully exported.
+     */
+    @Nullable
+    byte[] nextChunk() throws IOException {
+      while (!finished) {
+        var batch = reader.nextBatch();
+        if (batch == null) {
+          // writing compression trailer
+          out.close();
+          finished = true;
+        } else {
+          for (var rec : batch) {
+            encoder.encode(rec, out);
+          }
+          out.flush();
+        }
+        if (buffer.size() > 0) {
+          byte[] chunk = buffer.toByteArray();
+          buffer.reset();
+          return chunk;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public void close() {
+      reader.close();
+    }
+  }
+}
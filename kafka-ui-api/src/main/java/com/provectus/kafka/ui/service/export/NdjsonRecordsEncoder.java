@@ -0,0 +1,31 @@
+package com.provectus.kafka.ui.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.UnaryOperator;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Writes deserialized (and masked) messages as JSON objects separated by new lines.
+ */
+@RequiredArgsConstructor
+class NdjsonRecordsEncoder implements RecordsEncoder {
+
+  private final ObjectMapper objectMapper;
+  private final ConsumerRecordDeserializer deserializer;
+  private final UnaryOperator<String> keyMasker;
+  private final UnaryOperator<String> valueMasker;
+
+  @Override
+  public void encode(ConsumerRecord<Bytes, Bytes> rec, OutputStream out) throws IOException {
+    var msg = deserializer.deserialize(rec);
+    msg.key(keyMasker.apply(msg.getKey()))
+        .content(valueMasker.apply(msg.getContent()));
+    out.write(objectMapper.writeValueAsBytes(msg));
+    out.write('\n');
+  }
+}
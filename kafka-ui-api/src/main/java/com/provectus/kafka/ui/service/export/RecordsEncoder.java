@@ -0,0 +1,12 @@
+package com.provectus.kafka.ui.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+
+interface RecordsEncoder {
+
+  void encode(ConsumerRecord<Bytes, Bytes> rec, OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,13 @@
+package com.provectus.kafka.ui.service.index;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import lombok.Value;
+
+@Value
+public class KeyIndexLookup {
+  // partition -> offsets of records with (probably, since key hashes can collide) requested key
+  Map<Integer, NavigableSet<Long>> offsets;
+  // partition -> offset until which partition was indexed (exclusive)
+  Map<Integer, Long> indexedUntilOffsets;
+}
@@ -0,0 +1,229 @@
+package com.provectus.kafka.ui.service.index;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Append-only on-disk index of single partition: fixed-size (key hash, offset, timestamp) entries
+ * stored in memory-mapped segment files of equal capacity.
+ * Watermark file keeps number of committed entries and offset until which partition is indexed. It is
+ * written after entries, so entries that were appended after last commit are ignored (and overwritten) on reopen.
+ * When segment is filled, its copy sorted by key hash is written ("sealed" segment), so lookup does binary search
+ * in every sealed segment and scans only last (not yet filled) segment.
+ * Single writer (indexing task) and multiple concurrent readers are supported.
+ * Mapped segments are never truncated or unmapped explicitly (they are released on GC), so concurrent
+ * readers can't observe unmapped memory.
+ */
+class PartitionKeyIndex {
+
+  static final int ENTRY_SIZE = 3 * Long.BYTES;
+
+  private static final String WATERMARK_FILE = "watermark";
+  private static final String SEGMENT_FILE_FORMAT = "segment-%06d.idx";
+  private static final String SORTED_SEGMENT_FILE_FORMAT = "segment-%06d.sorted";
+
+  private final Path dir;
+  private final int segmentEntries;
+  private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+  // sorted by key hash copies of filled segments
+  private final List<MappedByteBuffer> sortedSegments = new CopyOnWriteArrayList<>();
+  private final MappedByteBuffer watermark;
+
+  // appended, but not yet committed entries count (only accessed by writer)
+  private long appendedEntries;
+  private long uncommittedFrom;
+
+  private volatile long committedEntries;
+  private volatile long indexedUntilOffset;
+
+  PartitionKeyIndex(Path dir, int segmentEntries) {
+    this.dir = dir;
+    this.segmentEntries = segmentEntries;
+    try {
+      Files.createDirectories(dir);
+      this.watermark = map(dir.resolve(WATERMARK_FILE), 2 * Long.BYTES);
+      this.committedEntries = watermark.getLong(0);
+      this.indexedUntilOffset = watermark.getLong(Long.BYTES);
+      long existingSegments = (committedEntries + segmentEntries - 1) / segmentEntries;
+      for (int i = 0; i < existingSegments; i++) {
+        segments.add(mapSegment(i));
+      }
+      sealFilledSegments(committedEntries);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error opening key index at " + dir, e);
+    }
+    this.appendedEntries = committedEntries;
+    this.uncommittedFrom = committedEntries;
+  }
+
+  long getIndexedUntilOffset() {
+    return indexedUntilOffset;
+  }
+
+  long getCommittedEntries() {
+    return committedEntries;
+  }
+
+  void append(long keyHash, long offset, long timestamp) {
+    int segmentIdx = (int) (appendedEntries / segmentEntries);
+    if (segmentIdx == segments.size()) {
+      try {
+        segments.add(mapSegment(segmentIdx));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Error creating key index segment at " + dir, e);
+      }
+    }
+    MappedByteBuffer segment = segments.get(segmentIdx);
+    int pos = (int) (appendedEntries % segmentEntries) * ENTRY_SIZE;
+    segment.putLong(pos, keyHash);
+    segment.putLong(pos + Long.BYTES, offset);
+    segment.putLong(pos + 2 * Long.BYTES, timestamp);
+    appendedEntries++;
+  }
+
+  /**
+   * Flushes appended entries and makes them visible to readers.
+   */
+  void commit(long nextOffset) {
+    for (long from = uncommittedFrom; from < appendedEntries; ) {
+      int segmentIdx = (int) (from / segmentEntries);
+      long segmentEnd = Math.min(appendedEntries, (long) (segmentIdx + 1) * segmentEntries);
+      int pos = (int) (from % segmentEntries) * ENTRY_SIZE;
+      segments.get(segmentIdx).force(pos, (int) (segmentEnd - from) * ENTRY_SIZE);
+      from = segmentEnd;
+    }
+    writeWatermark(appendedEntries, nextOffset);
+    uncommittedFrom = appendedEntries;
+    try {
+      sealFilledSegments(appendedEntries);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error sealing key index segment at " + dir, e);
+    }
+  }
+
+  private void sealFilledSegments(long entries) throws IOException {
+    for (int idx = sortedSegments.size(); idx < entries / segmentEntries; idx++) {
+      Path sortedFile = dir.resolve(String.format(SORTED_SEGMENT_FILE_FORMAT, idx));
+      if (!Files.exists(sortedFile)) {
+        writeSortedSegment(segments.get(idx), sortedFile);
+      }
+      sortedSegments.add(map(sortedFile, (long) segmentEntries * ENTRY_SIZE));
+    }
+  }
+
+  private void writeSortedSegment(MappedByteBuffer segment, Path sortedFile) throws IOException {
+    Integer[] order = new Integer[segmentEntries];
+    Arrays.setAll(order, i -> i);
+    // stable sort - entries with same hash stay in offsets order
+    Arrays.sort(order, Comparator.comparingLong(i -> segment.getLong(i * ENTRY_SIZE)));
+    Path tmp = dir.resolve(sortedFile.getFileName() + ".tmp");
+    MappedByteBuffer sorted = map(tmp, (long) segmentEntries * ENTRY_SIZE);
+    for (int i = 0; i < segmentEntries; i++) {
+      int from = order[i] * ENTRY_SIZE;
+      for (int j = 0; j < ENTRY_SIZE; j += Long.BYTES) {
+        sorted.putLong(i * ENTRY_SIZE + j, segment.getLong(from + j));
+      }
+    }
+    sorted.force();
+    // sorted segment becomes visible on reopen only when it is completely written
+    Files.move(tmp, sortedFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Drops all entries (used when partition offsets were reset, e.g. topic was recreated).
+   * Segment files are kept and reused, since they can be mapped by concurrent readers.
+   */
+  void reset() {
+    sortedSegments.clear();
+    try {
+      for (int i = 0; i < segments.size(); i++) {
+        Files.deleteIfExists(dir.resolve(String.format(SORTED_SEGMENT_FILE_FORMAT, i)));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error resetting key index at " + dir, e);
+    }
+    appendedEntries = 0;
+    uncommittedFrom = 0;
+    writeWatermark(0, 0);
+  }
+
+  private void writeWatermark(long entries, long nextOffset) {
+    watermark.putLong(0, entries);
+    watermark.putLong(Long.BYTES, nextOffset);
+    watermark.force();
+    indexedUntilOffset = nextOffset;
+    committedEntries = entries;
+  }
+
+  /**
+   * Returns offsets of committed entries with given key hash. Since hashes can collide, caller should
+   * verify key of fetched record.
+   */
+  NavigableSet<Long> lookup(long keyHash) {
+    long entries = committedEntries;
+    var sorted = List.copyOf(sortedSegments);
+    var result = new TreeSet<Long>();
+    int filledSegments = (int) (entries / segmentEntries);
+    for (int idx = 0; idx < filledSegments; idx++) {
+      if (idx < sorted.size()) {
+        searchSorted(sorted.get(idx), keyHash, result);
+      } else {
+        scan(segments.get(idx), segmentEntries, keyHash, result);
+      }
+    }
+    if (entries % segmentEntries != 0) {
+      scan(segments.get(filledSegments), (int) (entries % segmentEntries), keyHash, result);
+    }
+    return result;
+  }
+
+  private void searchSorted(MappedByteBuffer segment, long keyHash, NavigableSet<Long> result) {
+    // lower bound of keyHash
+    int lo = 0;
+    int hi = segmentEntries;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (segment.getLong(mid * ENTRY_SIZE) < keyHash) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    for (int i = lo; i < segmentEntries && segment.getLong(i * ENTRY_SIZE) == keyHash; i++) {
+      result.add(segment.getLong(i * ENTRY_SIZE + Long.BYTES));
+    }
+  }
+
+  private static void scan(MappedByteBuffer segment, int entries, long keyHash, NavigableSet<Long> result) {
+    for (int i = 0; i < entries; i++) {
+      int pos = i * ENTRY_SIZE;
+      if (segment.getLong(pos) == keyHash) {
+        result.add(segment.getLong(pos + Long.BYTES));
+      }
+    }
+  }
+
+  private MappedByteBuffer mapSegment(int idx) throws IOException {
+    return map(dir.resolve(String.format(SEGMENT_FILE_FORMAT, idx)), (long) segmentEntries * ENTRY_SIZE);
+  }
+
+  private static MappedByteBuffer map(Path file, long size) throws IOException {
+    try (var channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // mapping stays valid after channel is closed
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+}
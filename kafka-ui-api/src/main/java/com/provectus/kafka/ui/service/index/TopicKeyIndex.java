@@ -0,0 +1,76 @@
+package com.provectus.kafka.ui.service.index;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Key index of all topic's partitions. Each partition is stored in separate sub-directory named by
+ * partition number.
+ */
+class TopicKeyIndex {
+
+  private static final HashFunction KEY_HASH = Hashing.murmur3_128();
+
+  private final Path dir;
+  private final int segmentEntries;
+  private final Map<Integer, PartitionKeyIndex> partitions = new ConcurrentHashMap<>();
+
+  TopicKeyIndex(Path dir, int segmentEntries) {
+    this.dir = dir;
+    this.segmentEntries = segmentEntries;
+    if (Files.isDirectory(dir)) {
+      try (Stream<Path> partitionDirs = Files.list(dir)) {
+        partitionDirs
+            .map(p -> p.getFileName().toString())
+            .filter(name -> name.matches("\\d+"))
+            .forEach(name -> partition(Integer.parseInt(name)));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Error opening key index at " + dir, e);
+      }
+    }
+  }
+
+  static boolean exists(Path dir) {
+    return Files.isDirectory(dir);
+  }
+
+  static long keyHash(byte[] key) {
+    return KEY_HASH.hashBytes(key).asLong();
+  }
+
+  PartitionKeyIndex partition(int partition) {
+    return partitions.computeIfAbsent(partition,
+        p -> new PartitionKeyIndex(dir.resolve(String.valueOf(p)), segmentEntries));
+  }
+
+  Map<Integer, Long> indexedUntilOffsets() {
+    var result = new HashMap<Integer, Long>();
+    partitions.forEach((p, idx) -> result.put(p, idx.getIndexedUntilOffset()));
+    return result;
+  }
+
+  long committedEntries() {
+    return partitions.values().stream().mapToLong(PartitionKeyIndex::getCommittedEntries).sum();
+  }
+
+  Map<Integer, NavigableSet<Long>> lookup(byte[] key) {
+    long hash = keyHash(key);
+    var result = new HashMap<Integer, NavigableSet<Long>>();
+    partitions.forEach((p, idx) -> {
+      var offsets = idx.lookup(hash);
+      if (!offsets.isEmpty()) {
+        result.put(p, offsets);
+      }
+    });
+    return result;
+  }
+}
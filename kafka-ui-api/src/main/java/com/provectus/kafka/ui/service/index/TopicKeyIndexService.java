@@ -0,0 +1,247 @@
+package com.provectus.kafka.ui.service.index;
+
+import com.google.common.base.Throwables;
+import com.provectus.kafka.ui.exception.IllegalEntityStateException;
+import com.provectus.kafka.ui.exception.ValidationException;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.TopicKeyIndexDTO;
+import com.provectus.kafka.ui.model.TopicKeyIndexPartitionDTO;
+import com.provectus.kafka.ui.service.ConsumerGroupService;
+import com.provectus.kafka.ui.service.TopicsService;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.utils.Bytes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Maintains on-disk key -> offsets indexes for topics. Indexing is started explicitly per topic and is
+ * running in background until stopped: it catches up from last indexed offsets (persisted in index's watermarks)
+ * and then tails topic. Indexes survive application restarts, but indexing tasks should be restarted manually.
+ * Topic names are used as directory names, so they are validated against Kafka topic naming rules on every call.
+ */
+@Slf4j
+@Service
+public class TopicKeyIndexService implements Closeable {
+
+  static final String DEFAULT_DIR = "/etc/kafkaui/key-index";
+
+  // same rules as Kafka's org.apache.kafka.common.internals.Topic.validate
+  private static final Pattern TOPIC_NAME_PATTERN = Pattern.compile("[a-zA-Z0-9._-]{1,249}");
+
+  private final ConsumerGroupService consumerGroupService;
+  private final TopicsService topicsService;
+  private final Path baseDir;
+  private final int segmentEntries;
+
+  private final Map<IndexId, TopicKeyIndex> indexes = new ConcurrentHashMap<>();
+  private final Map<IndexId, IndexingTask> tasks = new ConcurrentHashMap<>();
+
+  public TopicKeyIndexService(ConsumerGroupService consumerGroupService,
+                              TopicsService topicsService,
+                              @Value("${kafka.key-index.dir:#{null}}") @Nullable String dir,
+                              @Value("${kafka.key-index.segment-entries:131072}") int segmentEntries) {
+    this.consumerGroupService = consumerGroupService;
+    this.topicsService = topicsService;
+    this.baseDir = Path.of(dir != null ? dir : DEFAULT_DIR).toAbsolutePath().normalize();
+    this.segmentEntries = segmentEntries;
+  }
+
+  @lombok.Value
+  private static class IndexId {
+    String clusterName;
+    String topic;
+
+    IndexId(String clusterName, String topic) {
+      if (!TOPIC_NAME_PATTERN.matcher(topic).matches() || topic.equals(".") || topic.equals("..")) {
+        throw new ValidationException("Invalid topic name: " + topic);
+      }
+      this.clusterName = clusterName;
+      this.topic = topic;
+    }
+  }
+
+  public Mono<Void> startIndexing(KafkaCluster cluster, String topic) {
+    return Mono.fromCallable(() -> new IndexId(cluster.getName(), topic))
+        .then(topicsService.getTopicDetails(cluster, topic))
+        .doOnNext(t -> startTask(cluster, topic))
+        .then();
+  }
+
+  private synchronized void startTask(KafkaCluster cluster, String topic) {
+    var id = new IndexId(cluster.getName(), topic);
+    var existing = tasks.get(id);
+    if (existing != null && !existing.finished) {
+      throw new IllegalEntityStateException("Topic is already indexing");
+    }
+    var task = new IndexingTask(cluster, topic, getOrOpenIndex(id));
+    tasks.put(id, task);
+    Schedulers.boundedElastic().schedule(task);
+  }
+
+  public synchronized void stopIndexing(KafkaCluster cluster, String topic, boolean purge) {
+    var id = new IndexId(cluster.getName(), topic);
+    Optional.ofNullable(tasks.remove(id)).ifPresent(IndexingTask::close);
+    if (purge) {
+      indexes.remove(id);
+      deleteDir(indexDir(id));
+    }
+  }
+
+  public Optional<TopicKeyIndexDTO> getIndexState(KafkaCluster cluster, String topic) {
+    var id = new IndexId(cluster.getName(), topic);
+    var task = tasks.get(id);
+    return findIndex(id).map(index ->
+        new TopicKeyIndexDTO()
+            .running(task != null && !task.finished)
+            .error(task != null && task.error != null ? Throwables.getStackTraceAsString(task.error) : null)
+            .indexedKeys(index.committedEntries())
+            .partitions(
+                index.indexedUntilOffsets().entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(e -> new TopicKeyIndexPartitionDTO().partition(e.getKey()).indexedUntilOffset(e.getValue()))
+                    .collect(Collectors.toList())));
+  }
+
+  /**
+   * Returns offsets of records with given (serialized) key, or empty optional if topic was never indexed.
+   */
+  public Optional<KeyIndexLookup> lookup(KafkaCluster cluster, String topic, byte[] key) {
+    return findIndex(new IndexId(cluster.getName(), topic))
+        .map(index -> new KeyIndexLookup(index.lookup(key), index.indexedUntilOffsets()));
+  }
+
+  private Optional<TopicKeyIndex> findIndex(IndexId id) {
+    if (indexes.containsKey(id) || TopicKeyIndex.exists(indexDir(id))) {
+      return Optional.of(getOrOpenIndex(id));
+    }
+    return Optional.empty();
+  }
+
+  private TopicKeyIndex getOrOpenIndex(IndexId id) {
+    return indexes.computeIfAbsent(id, i -> new TopicKeyIndex(indexDir(i), segmentEntries));
+  }
+
+  private Path indexDir(IndexId id) {
+    // topic names are validated in IndexId, cluster names are not restricted
+    Path dir = baseDir
+        .resolve(URLEncoder.encode(id.getClusterName(), StandardCharsets.UTF_8))
+        .resolve(id.getTopic())
+        .normalize();
+    if (!dir.startsWith(baseDir) || dir.equals(baseDir)) {
+      throw new ValidationException("Invalid key index location for topic " + id.getTopic());
+    }
+    return dir;
+  }
+
+  private static void deleteDir(Path dir) {
+    if (!Files.exists(dir)) {
+      return;
+    }
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(p);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error deleting key index at " + dir, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    tasks.values().forEach(IndexingTask::close);
+  }
+
+  private class IndexingTask implements Runnable, Closeable {
+
+    private final KafkaCluster cluster;
+    private final String topic;
+    private final TopicKeyIndex index;
+
+    private volatile KafkaConsumer<Bytes, Bytes> consumer;
+    private volatile boolean stopped;
+    private volatile boolean finished;
+    private volatile Throwable error;
+
+    IndexingTask(KafkaCluster cluster, String topic, TopicKeyIndex index) {
+      this.cluster = cluster;
+      this.topic = topic;
+      this.index = index;
+    }
+
+    @Override
+    public void close() {
+      stopped = true;
+      Optional.ofNullable(consumer).ifPresent(KafkaConsumer::wakeup);
+    }
+
+    @Override
+    public void run() {
+      // long-living consumer, so it is not borrowed from pool
+      try (var kafkaConsumer = consumerGroupService.createConsumer(cluster)) {
+        consumer = kafkaConsumer;
+        if (stopped) {
+          return;
+        }
+        log.info("Starting topic {} key indexing", topic);
+        List<TopicPartition> partitions = kafkaConsumer.partitionsFor(topic).stream()
+            .map(p -> new TopicPartition(topic, p.partition()))
+            .collect(Collectors.toList());
+        var beginOffsets = kafkaConsumer.beginningOffsets(partitions);
+        var endOffsets = kafkaConsumer.endOffsets(partitions);
+        kafkaConsumer.assign(partitions);
+        for (TopicPartition tp : partitions) {
+          var partitionIndex = index.partition(tp.partition());
+          if (partitionIndex.getIndexedUntilOffset() > endOffsets.get(tp)) {
+            log.info("Partition {} was recreated, resetting its key index", tp);
+            partitionIndex.reset();
+          }
+          // incremental catch-up from watermark, records removed by retention are skipped
+          kafkaConsumer.seek(tp, Math.max(partitionIndex.getIndexedUntilOffset(), beginOffsets.get(tp)));
+        }
+        while (!stopped) {
+          var polled = kafkaConsumer.poll(cluster.getPollingSettings().getPollTimeout());
+          for (TopicPartition tp : polled.partitions()) {
+            var partitionIndex = index.partition(tp.partition());
+            long nextOffset = -1;
+            for (var r : polled.records(tp)) {
+              if (r.key() != null) {
+                partitionIndex.append(TopicKeyIndex.keyHash(r.key().get()), r.offset(), r.timestamp());
+              }
+              nextOffset = r.offset() + 1;
+            }
+            partitionIndex.commit(nextOffset);
+          }
+        }
+      } catch (WakeupException | InterruptException e) {
+        log.info("Topic {} key indexing stopped", topic);
+      } catch (Throwable th) {
+        log.error("Error indexing topic {} keys", topic, th);
+        error = th;
+      } finally {
+        finished = true;
+      }
+    }
+  }
+}
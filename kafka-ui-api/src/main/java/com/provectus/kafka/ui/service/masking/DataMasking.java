@@ -62,6 +62,11 @@ public class DataMasking {
     this.masks = masks;
   }
 
+  public boolean isMaskingApplied(String topic) {
+    return masks.stream()
+        .anyMatch(m -> m.shouldBeApplied(topic, Serde.Target.KEY) || m.shouldBeApplied(topic, Serde.Target.VALUE));
+  }
+
   public UnaryOperator<String> getMaskingFunction(String topic, Serde.Target target) {
     var targetMasks = masks.stream().filter(m -> m.shouldBeApplied(topic, target)).collect(toList());
     if (targetMasks.isEmpty()) {
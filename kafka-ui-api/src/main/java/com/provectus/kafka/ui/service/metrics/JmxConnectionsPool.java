@@ -0,0 +1,198 @@
+package com.provectus.kafka.ui.service.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import javax.management.InstanceNotFoundException;
+import javax.management.IntrospectionException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import javax.management.remote.JMXConnector;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps JMX connections to brokers open between metrics collection cycles (instead of connecting on each cycle).
+ * Connection is checked before use and re-created if it is broken; failed connection attempts are retried
+ * with exponential backoff, so unavailable broker is not hammered by connection attempts on every cycle.
+ * Calls to same endpoint are serialized, if endpoint is busy for longer than lock timeout (previous call hangs)
+ * call is skipped, so threads don't pile up on unresponsive broker.
+ */
+@Slf4j
+class JmxConnectionsPool implements Closeable {
+
+  interface Connector {
+    JMXConnector connect() throws Exception;
+  }
+
+  interface JmxCall<T> {
+    T apply(JmxConnection connection) throws Exception;
+  }
+
+  /**
+   * Pooled connection. Caches MBeans readable attributes, since they don't change during MBean lifetime.
+   */
+  static class JmxConnection {
+
+    private final JMXConnector connector;
+    private final MBeanServerConnection msc;
+    private final Map<ObjectName, MBeanAttributeInfo[]> attributes = new ConcurrentHashMap<>();
+
+    private JmxConnection(JMXConnector connector) throws IOException {
+      this.connector = connector;
+      this.msc = connector.getMBeanServerConnection();
+    }
+
+    MBeanServerConnection getMBeanServerConnection() {
+      return msc;
+    }
+
+    MBeanAttributeInfo[] getReadableAttributes(ObjectName name)
+        throws IOException, InstanceNotFoundException, IntrospectionException, ReflectionException {
+      var cached = attributes.get(name);
+      if (cached == null) {
+        var readable = Arrays.stream(msc.getMBeanInfo(name).getAttributes())
+            .filter(MBeanAttributeInfo::isReadable)
+            .toArray(MBeanAttributeInfo[]::new);
+        attributes.put(name, readable);
+        return readable;
+      }
+      return cached;
+    }
+
+    void onMBeanUnregistered(ObjectName name) {
+      attributes.remove(name);
+    }
+
+    private boolean isAlive() {
+      try {
+        connector.getConnectionId();
+        return true;
+      } catch (IOException e) {
+        return false;
+      }
+    }
+
+    private void close() {
+      try {
+        connector.close();
+      } catch (Exception e) {
+        log.debug("Error closing jmx connection", e);
+      }
+    }
+  }
+
+  private record Key(String cluster, String jmxUrl) {
+  }
+
+  private static class Entry {
+    final ReentrantLock lock = new ReentrantLock();
+    @Nullable
+    volatile JmxConnection connection;
+    int failedAttempts;
+    long nextAttemptAt;
+  }
+
+  private final Duration minReconnectBackoff;
+  private final Duration maxReconnectBackoff;
+  private final Duration lockTimeout;
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  JmxConnectionsPool(Duration minReconnectBackoff, Duration maxReconnectBackoff, Duration lockTimeout) {
+    this.minReconnectBackoff = minReconnectBackoff;
+    this.maxReconnectBackoff = maxReconnectBackoff;
+    this.lockTimeout = lockTimeout;
+  }
+
+  /**
+   * Executes call over pooled (or newly created) connection. Returns empty if connection can't be established
+   * (or reconnection backoff is not passed yet), call failed or endpoint is busy with another call for longer than
+   * lock timeout. Connection is closed and will be re-created on next call if call failed with IOException.
+   */
+  <T> Optional<T> withConnection(String cluster, String jmxUrl, Connector connector, JmxCall<T> call) {
+    var entry = entries.computeIfAbsent(new Key(cluster, jmxUrl), k -> new Entry());
+    // calls to same endpoint are serialized, since there is no need to scrape same broker concurrently
+    try {
+      if (!entry.lock.tryLock(lockTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("Jmx endpoint {} is busy with previous call for more than {}, skipping", jmxUrl, lockTimeout);
+        return Optional.empty();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    }
+    try {
+      var connection = entry.connection;
+      if (connection != null && !connection.isAlive()) {
+        log.debug("Jmx connection to {} is broken, reconnecting", jmxUrl);
+        closeConnection(entry);
+        connection = null;
+      }
+      if (connection == null) {
+        connection = connect(entry, jmxUrl, connector);
+        if (connection == null) {
+          return Optional.empty();
+        }
+      }
+      try {
+        return Optional.ofNullable(call.apply(connection));
+      } catch (IOException e) {
+        log.error("Error communicating with {}, connection will be re-created", jmxUrl, e);
+        closeConnection(entry);
+      } catch (Exception e) {
+        log.error("Error getting jmx metrics from {}", jmxUrl, e);
+      }
+      return Optional.empty();
+    } finally {
+      entry.lock.unlock();
+    }
+  }
+
+  @Nullable
+  private JmxConnection connect(Entry entry, String jmxUrl, Connector connector) {
+    long now = System.currentTimeMillis();
+    if (now < entry.nextAttemptAt) {
+      log.debug("Skipping connection to {} until reconnection backoff passes", jmxUrl);
+      return null;
+    }
+    try {
+      var connection = new JmxConnection(connector.connect());
+      entry.connection = connection;
+      entry.failedAttempts = 0;
+      return connection;
+    } catch (Exception e) {
+      entry.failedAttempts++;
+      entry.nextAttemptAt = now + reconnectBackoff(entry.failedAttempts).toMillis();
+      log.error("Error connecting to {} ({} failed attempts in a row)", jmxUrl, entry.failedAttempts, e);
+      return null;
+    }
+  }
+
+  private Duration reconnectBackoff(int failedAttempts) {
+    var backoff = minReconnectBackoff.multipliedBy(1L << Math.min(failedAttempts - 1, 20));
+    return backoff.compareTo(maxReconnectBackoff) > 0 ? maxReconnectBackoff : backoff;
+  }
+
+  private void closeConnection(Entry entry) {
+    var connection = entry.connection;
+    if (connection != null) {
+      entry.connection = null;
+      connection.close();
+    }
+  }
+
+  @Override
+  public void close() {
+    // not waiting for hanging calls: closing connection makes them fail
+    entries.values().forEach(this::closeConnection);
+    entries.clear();
+  }
+}
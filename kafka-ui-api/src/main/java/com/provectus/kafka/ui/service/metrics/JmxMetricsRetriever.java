@@ -2,18 +2,22 @@ package com.provectus.kafka.ui.service.metrics;
 
 import com.provectus.kafka.ui.model.KafkaCluster;
 import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
+import java.util.Set;
+import javax.management.InstanceNotFoundException;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
 import javax.management.remote.JMXConnector;
 import javax.management.remote.JMXConnectorFactory;
 import javax.management.remote.JMXServiceURL;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.common.Node;
@@ -29,17 +33,37 @@ class JmxMetricsRetriever implements MetricsRetriever, Closeable {
 
   private static final boolean SSL_JMX_SUPPORTED;
 
+  // max time to wait for single jmx (rmi) call response
+  private static final Duration JMX_RESPONSE_TIMEOUT = Duration.ofSeconds(20);
+  private static final String RMI_RESPONSE_TIMEOUT_PROPERTY = "sun.rmi.transport.tcp.responseTimeout";
+
   static {
     // see JmxSslSocketFactory doc for details
     SSL_JMX_SUPPORTED = JmxSslSocketFactory.initialized();
+    // rmi response timeout is the only call timeout rmi connector supports, it can only be set jvm-wide.
+    // Not overriding value set by user
+    if (System.getProperty(RMI_RESPONSE_TIMEOUT_PROPERTY) == null) {
+      System.setProperty(RMI_RESPONSE_TIMEOUT_PROPERTY, String.valueOf(JMX_RESPONSE_TIMEOUT.toMillis()));
+    }
   }
 
   private static final String JMX_URL = "service:jmx:rmi:///jndi/rmi://";
   private static final String JMX_SERVICE_TYPE = "jmxrmi";
-  private static final String CANONICAL_NAME_PATTERN = "kafka.server*:*";
+  private static final List<String> DEFAULT_OBJECT_NAMES = List.of("kafka.server*:*");
+
+  private final JmxConnectionsPool connectionsPool;
+
+  JmxMetricsRetriever() {
+    this(new JmxConnectionsPool(Duration.ofSeconds(10), Duration.ofMinutes(5), Duration.ofSeconds(5)));
+  }
+
+  JmxMetricsRetriever(JmxConnectionsPool connectionsPool) {
+    this.connectionsPool = connectionsPool;
+  }
 
   @Override
   public void close() {
+    connectionsPool.close();
     JmxSslSocketFactory.clearFactoriesCache();
   }
 
@@ -58,33 +82,28 @@ class JmxMetricsRetriever implements MetricsRetriever, Closeable {
     return cluster.getMetricsConfig().getKeystoreLocation() != null;
   }
 
-  @SneakyThrows
   private List<RawMetric> retrieveSync(KafkaCluster c, Node node) {
     String jmxUrl = JMX_URL + node.host() + ":" + c.getMetricsConfig().getPort() + "/" + JMX_SERVICE_TYPE;
     log.debug("Collection JMX metrics for {}", jmxUrl);
-    List<RawMetric> result = new ArrayList<>();
-    withJmxConnector(jmxUrl, c, jmxConnector -> getMetricsFromJmx(jmxConnector, result));
+    List<RawMetric> result = connectionsPool.withConnection(
+            c.getName(),
+            jmxUrl,
+            () -> connect(jmxUrl, c),
+            connection -> getMetricsFromJmx(connection, objectNames(c)))
+        .orElse(List.of());
     log.debug("{} metrics collected for {}", result.size(), jmxUrl);
     return result;
   }
 
-  private void withJmxConnector(String jmxUrl,
-                                KafkaCluster c,
-                                Consumer<JMXConnector> consumer) {
+  private List<String> objectNames(KafkaCluster c) {
+    var configured = c.getMetricsConfig().getJmxObjectNames();
+    return configured == null || configured.isEmpty() ? DEFAULT_OBJECT_NAMES : configured;
+  }
+
+  private JMXConnector connect(String jmxUrl, KafkaCluster c) throws IOException {
     var env = prepareJmxEnvAndSetThreadLocal(c);
     try {
-      JMXConnector connector = null;
-      try {
-        connector = JMXConnectorFactory.newJMXConnector(new JMXServiceURL(jmxUrl), env);
-        connector.connect(env);
-      } catch (Exception exception) {
-        log.error("Error connecting to {}", jmxUrl, exception);
-        return;
-      }
-      consumer.accept(connector);
-      connector.close();
-    } catch (Exception e) {
-      log.error("Error getting jmx metrics from {}", jmxUrl, e);
+      return JMXConnectorFactory.connect(new JMXServiceURL(jmxUrl), env);
     } finally {
       JmxSslSocketFactory.clearThreadLocalContext();
     }
@@ -114,24 +133,36 @@ class JmxMetricsRetriever implements MetricsRetriever, Closeable {
     return env;
   }
 
-  @SneakyThrows
-  private void getMetricsFromJmx(JMXConnector jmxConnector, List<RawMetric> sink) {
-    MBeanServerConnection msc = jmxConnector.getMBeanServerConnection();
-    var jmxMetrics = msc.queryNames(new ObjectName(CANONICAL_NAME_PATTERN), null);
-    for (ObjectName jmxMetric : jmxMetrics) {
-      sink.addAll(extractObjectMetrics(jmxMetric, msc));
+  private List<RawMetric> getMetricsFromJmx(JmxConnectionsPool.JmxConnection connection,
+                                            List<String> objectNamePatterns) throws Exception {
+    MBeanServerConnection msc = connection.getMBeanServerConnection();
+    Set<ObjectName> objectNames = new LinkedHashSet<>();
+    for (String pattern : objectNamePatterns) {
+      objectNames.addAll(msc.queryNames(new ObjectName(pattern), null));
     }
+    List<RawMetric> result = new ArrayList<>();
+    for (ObjectName objectName : objectNames) {
+      try {
+        result.addAll(extractObjectMetrics(objectName, connection));
+      } catch (InstanceNotFoundException e) {
+        // MBean was unregistered after query
+        connection.onMBeanUnregistered(objectName);
+      }
+    }
+    return result;
   }
 
-  @SneakyThrows
-  private List<RawMetric> extractObjectMetrics(ObjectName objectName, MBeanServerConnection msc) {
-    MBeanAttributeInfo[] attrNames = msc.getMBeanInfo(objectName).getAttributes();
-    Object[] attrValues = new Object[attrNames.length];
-    for (int i = 0; i < attrNames.length; i++) {
-      attrValues[i] = msc.getAttribute(objectName, attrNames[i].getName());
-    }
-    return JmxMetricsFormatter.constructMetricsList(objectName, attrNames, attrValues);
+  private List<RawMetric> extractObjectMetrics(ObjectName objectName, JmxConnectionsPool.JmxConnection connection)
+      throws Exception {
+    MBeanAttributeInfo[] attrs = connection.getReadableAttributes(objectName);
+    String[] attrNames = Arrays.stream(attrs).map(MBeanAttributeInfo::getName).toArray(String[]::new);
+    // reading all attributes in one call, attributes that can't be read are not included into result
+    Map<String, Object> values = new HashMap<>();
+    connection.getMBeanServerConnection().getAttributes(objectName, attrNames)
+        .asList()
+        .forEach(attr -> values.put(attr.getName(), attr.getValue()));
+    Object[] attrValues = Arrays.stream(attrNames).map(values::get).toArray();
+    return JmxMetricsFormatter.constructMetricsList(objectName, attrs, attrValues);
   }
 
 }
-
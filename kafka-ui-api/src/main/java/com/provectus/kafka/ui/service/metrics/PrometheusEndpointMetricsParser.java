@@ -1,46 +1,225 @@
 package com.provectus.kafka.ui.service.metrics;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.math.NumberUtils;
+import javax.annotation.Nullable;
 
-@Slf4j
+/**
+ * Parses samples of prometheus text exposition format (including OpenMetrics text format) line by line. For example,
+ * line:
+ * kafka_server_BrokerTopicMetrics_FiveMinuteRate{name="BytesInPerSec",topic="__consumer_offsets",} 16.94886650744339
+ * will produce:
+ * name=kafka_server_BrokerTopicMetrics_FiveMinuteRate
+ * value=16.94886650744339
+ * labels={name="BytesInPerSec", topic="__consumer_offsets"}
+ *
+ * <p>Line is tokenized without regex and without creating intermediate strings for skipped parts: comments,
+ * metrics not matching configured name prefixes (checked before labels parsing), samples with NaN/Inf values
+ * (they can't be represented as {@link RawMetric}) and malformed lines are skipped. Timestamps and exemplars
+ * are ignored.
+ */
 class PrometheusEndpointMetricsParser {
 
-  /**
-   * Matches openmetrics format. For example, string:
-   * kafka_server_BrokerTopicMetrics_FiveMinuteRate{name="BytesInPerSec",topic="__consumer_offsets",} 16.94886650744339
-   * will produce:
-   * name=kafka_server_BrokerTopicMetrics_FiveMinuteRate
-   * value=16.94886650744339
-   * labels={name="BytesInPerSec", topic="__consumer_offsets"}",
-   */
-  private static final Pattern PATTERN = Pattern.compile(
-      "(?<metricName>^\\w+)([ \t]*\\{*(?<properties>.*)}*)[ \\t]+(?<value>[\\d]+\\.?[\\d]+)?");
+  private static final PrometheusEndpointMetricsParser ALL_METRICS = new PrometheusEndpointMetricsParser(null);
+
+  // empty - all metrics are parsed
+  private final List<String> namePrefixes;
+
+  PrometheusEndpointMetricsParser(@Nullable List<String> namePrefixes) {
+    this.namePrefixes = namePrefixes == null ? List.of() : namePrefixes;
+  }
 
   static Optional<RawMetric> parse(String s) {
-    Matcher matcher = PATTERN.matcher(s);
-    if (matcher.matches()) {
-      String value = matcher.group("value");
-      String metricName = matcher.group("metricName");
-      if (metricName == null || !NumberUtils.isCreatable(value)) {
-        return Optional.empty();
-      }
-      var labels = Arrays.stream(matcher.group("properties").split(","))
-          .filter(str -> !"".equals(str))
-          .map(str -> str.split("="))
-          .filter(spit -> spit.length == 2)
-          .collect(Collectors.toUnmodifiableMap(
-              str -> str[0].trim(),
-              str -> str[1].trim().replace("\"", "")));
-
-      return Optional.of(RawMetric.create(metricName, labels, new BigDecimal(value)));
-    }
-    return Optional.empty();
+    return ALL_METRICS.parseLine(s);
+  }
+
+  Optional<RawMetric> parseLine(String line) {
+    return Optional.ofNullable(new LineParser(line).parse());
+  }
+
+  private boolean nameAllowed(String line, int nameStart) {
+    if (namePrefixes.isEmpty()) {
+      return true;
+    }
+    for (String prefix : namePrefixes) {
+      if (line.startsWith(prefix, nameStart)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private class LineParser {
+
+    private final String line;
+    private int pos;
+
+    LineParser(String line) {
+      this.line = line;
+    }
+
+    @Nullable
+    RawMetric parse() {
+      skipWhitespaces();
+      if (end() || current() == '#') {
+        return null;
+      }
+      int nameStart = pos;
+      while (!end() && isNameChar(current(), pos == nameStart, true)) {
+        pos++;
+      }
+      if (pos == nameStart || !nameAllowed(line, nameStart)) {
+        return null;
+      }
+      String name = line.substring(nameStart, pos);
+      skipWhitespaces();
+      Map<String, String> labels = Map.of();
+      if (!end() && current() == '{') {
+        labels = parseLabels();
+        if (labels == null) {
+          return null;
+        }
+        skipWhitespaces();
+      }
+      BigDecimal value = parseValue();
+      return value == null ? null : RawMetric.create(name, labels, value);
+    }
+
+    @Nullable
+    private Map<String, String> parseLabels() {
+      pos++; // '{'
+      Map<String, String> labels = new HashMap<>();
+      while (true) {
+        skipWhitespaces();
+        if (end()) {
+          return null;
+        }
+        if (current() == '}') {
+          pos++;
+          return Map.copyOf(labels);
+        }
+        int labelStart = pos;
+        while (!end() && isNameChar(current(), pos == labelStart, false)) {
+          pos++;
+        }
+        if (pos == labelStart) {
+          return null;
+        }
+        final String labelName = line.substring(labelStart, pos);
+        skipWhitespaces();
+        if (!consume('=')) {
+          return null;
+        }
+        skipWhitespaces();
+        String labelValue = parseQuoted();
+        if (labelValue == null) {
+          return null;
+        }
+        labels.put(labelName, labelValue);
+        skipWhitespaces();
+        if (!end() && current() == ',') {
+          pos++;
+        } else if (end() || current() != '}') {
+          return null;
+        }
+      }
+    }
+
+    // quoted label value with \\, \" and \n escapes
+    @Nullable
+    private String parseQuoted() {
+      if (!consume('"')) {
+        return null;
+      }
+      int start = pos;
+      StringBuilder unescaped = null;
+      while (!end()) {
+        char c = current();
+        if (c == '"') {
+          String value = unescaped == null ? line.substring(start, pos) : unescaped.toString();
+          pos++;
+          return value;
+        }
+        if (c == '\\') {
+          if (pos + 1 == line.length()) {
+            return null;
+          }
+          if (unescaped == null) {
+            unescaped = new StringBuilder(line.length() - start).append(line, start, pos);
+          }
+          char escaped = line.charAt(pos + 1);
+          unescaped.append(escaped == 'n' ? '\n' : escaped);
+          pos += 2;
+        } else {
+          if (unescaped != null) {
+            unescaped.append(c);
+          }
+          pos++;
+        }
+      }
+      return null;
+    }
+
+    // value, followed by optional timestamp and exemplar (ignored)
+    @Nullable
+    private BigDecimal parseValue() {
+      int start = pos;
+      while (!end() && !isWhitespace(current())) {
+        pos++;
+      }
+      if (pos == start || isNonFinite(start, pos)) {
+        return null;
+      }
+      try {
+        return new BigDecimal(line.substring(start, pos));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    private boolean isNonFinite(int start, int end) {
+      int from = line.charAt(start) == '+' || line.charAt(start) == '-' ? start + 1 : start;
+      int len = end - from;
+      return (len == 3 && (line.regionMatches(true, from, "NaN", 0, 3) || line.regionMatches(true, from, "Inf", 0, 3)))
+          || (len == 8 && line.regionMatches(true, from, "Infinity", 0, 8));
+    }
+
+    private boolean consume(char c) {
+      if (!end() && current() == c) {
+        pos++;
+        return true;
+      }
+      return false;
+    }
+
+    private void skipWhitespaces() {
+      while (!end() && isWhitespace(current())) {
+        pos++;
+      }
+    }
+
+    private boolean end() {
+      return pos >= line.length();
+    }
+
+    private char current() {
+      return line.charAt(pos);
+    }
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\r';
+  }
+
+  // metric names: [a-zA-Z_:][a-zA-Z0-9_:]*, label names: [a-zA-Z_][a-zA-Z0-9_]*
+  private static boolean isNameChar(char c, boolean first, boolean colonAllowed) {
+    return (c >= 'a' && c <= 'z')
+        || (c >= 'A' && c <= 'Z')
+        || c == '_'
+        || (colonAllowed && c == ':')
+        || (!first && c >= '0' && c <= '9');
   }
 }
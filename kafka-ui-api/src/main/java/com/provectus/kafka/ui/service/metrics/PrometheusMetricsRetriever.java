@@ -1,17 +1,17 @@
 package com.provectus.kafka.ui.service.metrics;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Strings;
 import com.provectus.kafka.ui.config.ClustersProperties;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.MetricsConfig;
 import com.provectus.kafka.ui.util.WebClientConfigurator;
-import java.util.Arrays;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.Node;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
-import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
@@ -23,6 +23,8 @@ class PrometheusMetricsRetriever implements MetricsRetriever {
 
   private static final String METRICS_ENDPOINT_PATH = "/metrics";
   private static final int DEFAULT_EXPORTER_PORT = 11001;
+  private static final StringDecoder LINES_DECODER = StringDecoder.allMimeTypes();
+  private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
 
   @Override
   public Flux<RawMetric> retrieve(KafkaCluster c, Node node) {
@@ -30,7 +32,6 @@ class PrometheusMetricsRetriever implements MetricsRetriever {
 
     MetricsConfig metricsConfig = c.getMetricsConfig();
     var webClient = new WebClientConfigurator()
-        .configureBufferSize(DataSize.ofMegabytes(20))
         .configureBasicAuth(metricsConfig.getUsername(), metricsConfig.getPassword())
         .configureSsl(
             c.getOriginalProperties().getSsl(),
@@ -53,18 +54,17 @@ class PrometheusMetricsRetriever implements MetricsRetriever {
             .port(port)
             .path(METRICS_ENDPOINT_PATH).build().toUri());
 
+    var parser = new PrometheusEndpointMetricsParser(metricsConfig.getPrometheusMetricNamePrefixes());
     WebClient.ResponseSpec responseSpec = request.retrieve();
-    return responseSpec.bodyToMono(String.class)
+    // body is decoded and parsed line by line, without buffering it whole
+    return LINES_DECODER.decode(responseSpec.bodyToFlux(DataBuffer.class), STRING_TYPE, null, null)
+        .map(parser::parseLine)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        // metrics are emitted only if whole body was processed successfully
+        .collectList()
         .doOnError(e -> log.error("Error while getting metrics from {}", host, e))
         .onErrorResume(th -> Mono.empty())
-        .flatMapMany(body ->
-            Flux.fromStream(
-                Arrays.stream(body.split("\\n"))
-                    .filter(str -> !Strings.isNullOrEmpty(str) && !str.startsWith("#")) // skipping comments strings
-                    .map(PrometheusEndpointMetricsParser::parse)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-            )
-        );
+        .flatMapIterable(metrics -> metrics);
   }
 }
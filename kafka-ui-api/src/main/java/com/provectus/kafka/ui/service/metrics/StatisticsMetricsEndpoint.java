@@ -0,0 +1,101 @@
+package com.provectus.kafka.ui.service.metrics;
+
+import com.provectus.kafka.ui.config.auth.AuthenticatedUser;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.rbac.AccessContext;
+import com.provectus.kafka.ui.model.rbac.permission.ConsumerGroupAction;
+import com.provectus.kafka.ui.model.rbac.permission.TopicAction;
+import com.provectus.kafka.ui.service.ClustersStorage;
+import com.provectus.kafka.ui.service.StatisticsCache;
+import com.provectus.kafka.ui.service.rbac.AccessControlService;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Actuator endpoint (/actuator/kafkastatistics) exposing cached clusters statistics (topics partitions,
+ * under-replicated partitions, log dirs sizes, consumer groups lags) in OpenMetrics format, so it can be scraped
+ * by Prometheus without additional requests to Kafka.
+ * If RBAC is enabled, only clusters, topics and consumer groups that requesting user can view are exposed.
+ */
+@Component
+@WebEndpoint(id = "kafkastatistics")
+public class StatisticsMetricsEndpoint {
+
+  static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+  private final ClustersStorage clustersStorage;
+  private final StatisticsCache statisticsCache;
+  private final AccessControlService accessControlService;
+  private final StatisticsOpenMetricsWriter writer;
+
+  // size of previous scrape, used to avoid buffer resizing
+  private volatile int lastScrapeSize = 16 * 1024;
+
+  public StatisticsMetricsEndpoint(ClustersStorage clustersStorage,
+                                   StatisticsCache statisticsCache,
+                                   AccessControlService accessControlService,
+                                   @Value("${kafka.statistics-export.max-series:100000}") int maxSeries,
+                                   @Value("${kafka.statistics-export.topics-pattern:#{null}}")
+                                   @Nullable String topicsPattern,
+                                   @Value("${kafka.statistics-export.consumer-groups-pattern:#{null}}")
+                                   @Nullable String groupsPattern) {
+    this.clustersStorage = clustersStorage;
+    this.statisticsCache = statisticsCache;
+    this.accessControlService = accessControlService;
+    this.writer = new StatisticsOpenMetricsWriter(
+        maxSeries,
+        topicsPattern == null ? null : Pattern.compile(topicsPattern),
+        groupsPattern == null ? null : Pattern.compile(groupsPattern)
+    );
+  }
+
+  @ReadOperation(produces = CONTENT_TYPE)
+  public Mono<String> scrape() {
+    if (!accessControlService.isRbacEnabled()) {
+      return Mono.fromSupplier(() -> scrape(null));
+    }
+    return accessControlService.getUser()
+        .switchIfEmpty(Mono.error(() -> new AccessDeniedException("Access denied")))
+        .map(this::scrape);
+  }
+
+  private String scrape(@Nullable AuthenticatedUser user) {
+    var clusters = clustersStorage.getKafkaClusters().stream()
+        .filter(c -> user == null
+            || accessControlService.isClusterAccessible(AccessContext.builder().cluster(c.getName()).build(), user))
+        .map(c -> user == null
+            ? new StatisticsOpenMetricsWriter.ClusterState(
+                c.getName(), statisticsCache.get(c), statisticsCache.getTopicsSnapshot(c))
+            : new StatisticsOpenMetricsWriter.ClusterState(
+                c.getName(), statisticsCache.get(c), statisticsCache.getTopicsSnapshot(c),
+                topic -> isTopicAccessible(c, topic, user),
+                group -> isConsumerGroupAccessible(c, group, user)))
+        .toList();
+    var out = new StringBuilder(lastScrapeSize + lastScrapeSize / 8);
+    writer.write(out, clusters);
+    lastScrapeSize = out.length();
+    return out.toString();
+  }
+
+  private boolean isTopicAccessible(KafkaCluster cluster, String topic, AuthenticatedUser user) {
+    return accessControlService.isTopicAccessible(
+        AccessContext.builder().cluster(cluster.getName()).topic(topic).topicActions(TopicAction.VIEW).build(),
+        user);
+  }
+
+  private boolean isConsumerGroupAccessible(KafkaCluster cluster, String group, AuthenticatedUser user) {
+    return accessControlService.isConsumerGroupAccessible(
+        AccessContext.builder()
+            .cluster(cluster.getName())
+            .consumerGroup(group)
+            .consumerGroupActions(ConsumerGroupAction.VIEW)
+            .build(),
+        user);
+  }
+}
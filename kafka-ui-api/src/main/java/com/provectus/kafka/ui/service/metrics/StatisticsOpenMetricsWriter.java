@@ -0,0 +1,216 @@
+package com.provectus.kafka.ui.service.metrics;
+
+import com.provectus.kafka.ui.model.ServerStatusDTO;
+import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.TopicsSnapshot;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Renders cached {@link Statistics} of clusters in OpenMetrics text format. Samples are written directly from cached
+ * structures (topics are taken from {@link TopicsSnapshot} columns), nothing is requested from Kafka. Topics and
+ * consumer groups can be filtered by regex and by per-cluster access predicates, total number of samples is
+ * limited - samples exceeding the limit are dropped and counted in kafka_ui_exporter_dropped_series gauge.
+ */
+class StatisticsOpenMetricsWriter {
+
+  record ClusterState(String name,
+                      Statistics statistics,
+                      TopicsSnapshot topics,
+                      Predicate<String> topicAccess,
+                      Predicate<String> groupAccess) {
+
+    ClusterState(String name, Statistics statistics, TopicsSnapshot topics) {
+      this(name, statistics, topics, t -> true, g -> true);
+    }
+  }
+
+  private interface TopicValue {
+    long get(TopicsSnapshot snapshot, int idx);
+  }
+
+  private final int maxSeries;
+  @Nullable
+  private final Pattern topicsPattern;
+  @Nullable
+  private final Pattern groupsPattern;
+
+  StatisticsOpenMetricsWriter(int maxSeries, @Nullable Pattern topicsPattern, @Nullable Pattern groupsPattern) {
+    this.maxSeries = maxSeries;
+    this.topicsPattern = topicsPattern;
+    this.groupsPattern = groupsPattern;
+  }
+
+  void write(StringBuilder out, List<ClusterState> clusters) {
+    new Render(out, clusters).render();
+  }
+
+  private class Render {
+
+    private final StringBuilder out;
+    private final List<ClusterState> clusters;
+    private final Map<String, BitSet> allowedTopics = new HashMap<>();
+    private String currentFamily;
+    private int written;
+    private int dropped;
+
+    Render(StringBuilder out, List<ClusterState> clusters) {
+      this.out = out;
+      this.clusters = clusters;
+      clusters.forEach(c -> {
+        var allowed = new BitSet(c.topics().size());
+        for (int i = 0; i < c.topics().size(); i++) {
+          allowed.set(i, topicAllowed(c, c.topics().getName(i)));
+        }
+        allowedTopics.put(c.name(), allowed);
+      });
+    }
+
+    void render() {
+      family("kafka_ui_cluster_online", "1 if cluster is online", c ->
+          sample(c, c.statistics().getStatus() == ServerStatusDTO.ONLINE ? 1 : 0));
+
+      family("kafka_ui_cluster_brokers", "Number of brokers", c ->
+          sample(c, c.statistics().getClusterDescription().getNodes().size()));
+
+      family("kafka_ui_broker_log_size_bytes", "Size of broker's log dirs", c ->
+          c.statistics().getLogDirInfo().getBrokerStats().forEach((broker, stats) ->
+              sample(c, "broker", String.valueOf(broker), stats.getSegmentSize())));
+
+      topicsFamily("kafka_ui_topic_partitions", "Number of topic partitions",
+          TopicsSnapshot::getPartitionCount);
+
+      topicsFamily("kafka_ui_topic_under_replicated_partitions", "Number of topic under-replicated partitions",
+          TopicsSnapshot::getUnderReplicatedPartitions);
+
+      topicsFamily("kafka_ui_topic_size_bytes", "Size of topic's partitions replicas in log dirs",
+          TopicsSnapshot::getSegmentSize);
+
+      family("kafka_ui_consumer_group_members", "Number of consumer group members", c -> {
+        var groups = c.statistics().getConsumerGroups();
+        if (groups != null) {
+          groups.getDescriptions().stream()
+              .filter(g -> groupAllowed(c, g.groupId()))
+              .forEach(g -> sample(c, "group", g.groupId(), g.members().size()));
+        }
+      });
+
+      family("kafka_ui_consumer_group_lag", "Consumer group lag by topic (partitions with committed offsets)",
+          this::writeLags);
+
+      writeHeader("kafka_ui_exporter_dropped_series", "Number of samples dropped because of series limit");
+      out.append("kafka_ui_exporter_dropped_series ").append(dropped).append('\n');
+      out.append("# EOF\n");
+    }
+
+    private void writeLags(ClusterState c) {
+      var groups = c.statistics().getConsumerGroups();
+      if (groups == null) {
+        return;
+      }
+      var endOffsets = groups.getEndOffsets();
+      // seeded from precomputed snapshot topics filter, committed offsets can also reference not cached topics
+      Map<String, Boolean> topicsAllowed = new HashMap<>();
+      var allowed = allowedTopics.get(c.name());
+      for (int i = 0; i < c.topics().size(); i++) {
+        topicsAllowed.put(c.topics().getName(i), allowed.get(i));
+      }
+      groups.getCommittedOffsets().rowMap().forEach((group, offsets) -> {
+        if (!groupAllowed(c, group)) {
+          return;
+        }
+        Map<String, Long> topicLags = new HashMap<>();
+        offsets.forEach((TopicPartition tp, Long committed) -> {
+          Long endOffset = endOffsets.get(tp);
+          if (endOffset != null && topicsAllowed.computeIfAbsent(tp.topic(), t -> topicAllowed(c, t))) {
+            topicLags.merge(tp.topic(), Math.max(0, endOffset - committed), Long::sum);
+          }
+        });
+        topicLags.forEach((topic, lag) -> {
+          if (canWrite()) {
+            startSample(c).append(",group=");
+            appendLabelValue(group).append(",topic=");
+            appendLabelValue(topic).append("} ").append(lag).append('\n');
+          }
+        });
+      });
+    }
+
+    private void topicsFamily(String name, String help, TopicValue value) {
+      family(name, help, c -> {
+        var topics = c.topics();
+        var allowed = allowedTopics.get(c.name());
+        for (int i = allowed.nextSetBit(0); i >= 0; i = allowed.nextSetBit(i + 1)) {
+          sample(c, "topic", topics.getName(i), value.get(topics, i));
+        }
+      });
+    }
+
+    private void family(String name, String help, Consumer<ClusterState> samplesWriter) {
+      writeHeader(name, help);
+      currentFamily = name;
+      clusters.forEach(samplesWriter);
+    }
+
+    private void writeHeader(String name, String help) {
+      out.append("# TYPE ").append(name).append(" gauge\n");
+      out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private void sample(ClusterState c, long value) {
+      if (canWrite()) {
+        startSample(c).append("} ").append(value).append('\n');
+      }
+    }
+
+    private void sample(ClusterState c, String label, String labelValue, long value) {
+      if (canWrite()) {
+        startSample(c).append(',').append(label).append('=');
+        appendLabelValue(labelValue).append("} ").append(value).append('\n');
+      }
+    }
+
+    private boolean canWrite() {
+      if (written >= maxSeries) {
+        dropped++;
+        return false;
+      }
+      written++;
+      return true;
+    }
+
+    private StringBuilder startSample(ClusterState c) {
+      out.append(currentFamily).append("{cluster=");
+      return appendLabelValue(c.name());
+    }
+
+    private StringBuilder appendLabelValue(String value) {
+      out.append('"');
+      for (int i = 0; i < value.length(); i++) {
+        char ch = value.charAt(i);
+        switch (ch) {
+          case '\\' -> out.append("\\\\");
+          case '"' -> out.append("\\\"");
+          case '\n' -> out.append("\\n");
+          default -> out.append(ch);
+        }
+      }
+      return out.append('"');
+    }
+  }
+
+  private boolean topicAllowed(ClusterState c, String topic) {
+    return (topicsPattern == null || topicsPattern.matcher(topic).matches()) && c.topicAccess().test(topic);
+  }
+
+  private boolean groupAllowed(ClusterState c, String group) {
+    return (groupsPattern == null || groupsPattern.matcher(group).matches()) && c.groupAccess().test(group);
+  }
+}
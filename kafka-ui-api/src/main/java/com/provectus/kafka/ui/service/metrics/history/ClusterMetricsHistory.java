@@ -0,0 +1,113 @@
+package com.provectus.kafka.ui.service.metrics.history;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Metrics history of one cluster: time series by (entity, metric) key. Number of series is limited (limit can be
+ * adjusted at runtime), points of series that can't be added are dropped. Series without points left after eviction
+ * are removed.
+ */
+@Slf4j
+class ClusterMetricsHistory {
+
+  private static final int FORMAT_VERSION = 1;
+
+  record SeriesKey(String entityType, String entityId, String metric) {
+  }
+
+  private final List<TimeSeries.TierSpec> tiers;
+  private final Map<SeriesKey, TimeSeries> series = new ConcurrentHashMap<>();
+  // series are counted separately, since map's size() is not consistent with concurrent insertions
+  private final AtomicInteger seriesCount = new AtomicInteger();
+  private volatile int maxSeries;
+  private volatile boolean limitReachedLogged;
+
+  ClusterMetricsHistory(List<TimeSeries.TierSpec> tiers, int maxSeries) {
+    this.tiers = tiers;
+    this.maxSeries = maxSeries;
+  }
+
+  void setMaxSeries(int maxSeries) {
+    if (maxSeries > this.maxSeries) {
+      limitReachedLogged = false;
+    }
+    this.maxSeries = maxSeries;
+  }
+
+  void record(SeriesKey key, long timestamp, double value) {
+    var ts = series.get(key);
+    if (ts == null) {
+      // slot is reserved atomically with series creation, so limit can't be exceeded by concurrent records
+      ts = series.computeIfAbsent(key, k -> tryReserveSlot() ? new TimeSeries(tiers) : null);
+      if (ts == null) {
+        if (!limitReachedLogged) {
+          log.warn("Metrics history series limit ({}) reached, new series won't be recorded", maxSeries);
+          limitReachedLogged = true;
+        }
+        return;
+      }
+    }
+    ts.add(timestamp, value);
+  }
+
+  private boolean tryReserveSlot() {
+    if (seriesCount.incrementAndGet() > maxSeries) {
+      seriesCount.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  void evict(long now) {
+    series.forEach((key, ts) -> {
+      if (ts.evict(now) && series.remove(key, ts)) {
+        seriesCount.decrementAndGet();
+      }
+    });
+  }
+
+  Optional<TimeSeries.QueryResult> query(SeriesKey key, long from, long to, long now) {
+    return Optional.ofNullable(series.get(key)).map(ts -> ts.query(from, to, now));
+  }
+
+  int seriesCount() {
+    return seriesCount.get();
+  }
+
+  void writeTo(DataOutput out) throws IOException {
+    var snapshot = Map.copyOf(series);
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(snapshot.size());
+    for (var entry : snapshot.entrySet()) {
+      out.writeUTF(entry.getKey().entityType());
+      out.writeUTF(entry.getKey().entityId());
+      out.writeUTF(entry.getKey().metric());
+      entry.getValue().writeTo(out);
+    }
+  }
+
+  static ClusterMetricsHistory readFrom(DataInput in, List<TimeSeries.TierSpec> tiers, int maxSeries)
+      throws IOException {
+    if (in.readInt() != FORMAT_VERSION) {
+      throw new IOException("Unsupported metrics history format version");
+    }
+    var history = new ClusterMetricsHistory(tiers, maxSeries);
+    int count = in.readInt();
+    for (int i = 0; i < count; i++) {
+      var key = new SeriesKey(in.readUTF(), in.readUTF(), in.readUTF());
+      var ts = TimeSeries.readFrom(in, tiers);
+      if (history.tryReserveSlot()) {
+        history.series.put(key, ts);
+      }
+    }
+    return history;
+  }
+}
@@ -0,0 +1,233 @@
+package com.provectus.kafka.ui.service.metrics.history;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Append-only chunk of (timestamp, value) points compressed as described in Facebook's Gorilla paper: timestamps are
+ * stored as delta-of-delta, values as XOR with previous value (only meaningful bits are written). Points of regularly
+ * scraped series take several bytes instead of 16. Timestamps should be strictly increasing.
+ * Not thread-safe.
+ */
+class GorillaChunk {
+
+  interface PointConsumer {
+    void accept(long timestamp, double value);
+  }
+
+  private final int maxPoints;
+  private long[] words;
+  private int bitsWritten;
+  private int count;
+  private long firstTimestamp;
+  private long lastTimestamp;
+
+  // encoder state
+  private long lastDelta;
+  private long lastValueBits;
+  private int lastLeading = -1; // -1 - there is no previous meaningful bits window
+  private int lastTrailing;
+
+  GorillaChunk(int maxPoints) {
+    this.maxPoints = maxPoints;
+    this.words = new long[4];
+  }
+
+  int size() {
+    return count;
+  }
+
+  boolean isFull() {
+    return count >= maxPoints;
+  }
+
+  long getFirstTimestamp() {
+    return firstTimestamp;
+  }
+
+  long getLastTimestamp() {
+    return lastTimestamp;
+  }
+
+  void append(long timestamp, double value) {
+    if (isFull()) {
+      throw new IllegalStateException("Chunk is full");
+    }
+    long valueBits = Double.doubleToRawLongBits(value);
+    if (count == 0) {
+      write(timestamp, 64);
+      write(valueBits, 64);
+      firstTimestamp = timestamp;
+    } else {
+      if (timestamp <= lastTimestamp) {
+        throw new IllegalArgumentException("Timestamps should be increasing");
+      }
+      long delta = timestamp - lastTimestamp;
+      writeDeltaOfDelta(delta - lastDelta);
+      writeValueXor(valueBits ^ lastValueBits);
+      lastDelta = delta;
+    }
+    lastTimestamp = timestamp;
+    lastValueBits = valueBits;
+    count++;
+    if (isFull()) {
+      words = Arrays.copyOf(words, (bitsWritten + 63) >>> 6);
+    }
+  }
+
+  private void writeDeltaOfDelta(long dod) {
+    if (dod == 0) {
+      write(0b0, 1);
+    } else if (fits(dod, 14)) {
+      write(0b10, 2);
+      write(dod, 14);
+    } else if (fits(dod, 20)) {
+      write(0b110, 3);
+      write(dod, 20);
+    } else if (fits(dod, 32)) {
+      write(0b1110, 4);
+      write(dod, 32);
+    } else {
+      write(0b1111, 4);
+      write(dod, 64);
+    }
+  }
+
+  private void writeValueXor(long xor) {
+    if (xor == 0) {
+      write(0b0, 1);
+      return;
+    }
+    int leading = Long.numberOfLeadingZeros(xor);
+    int trailing = Long.numberOfTrailingZeros(xor);
+    if (lastLeading >= 0 && leading >= lastLeading && trailing >= lastTrailing) {
+      // meaningful bits fit into previous window
+      write(0b10, 2);
+      write(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+    } else {
+      int significant = 64 - leading - trailing;
+      write(0b11, 2);
+      write(leading, 6);
+      write(significant - 1, 6);
+      write(xor >>> trailing, significant);
+      lastLeading = leading;
+      lastTrailing = trailing;
+    }
+  }
+
+  void forEach(PointConsumer consumer) {
+    if (count == 0) {
+      return;
+    }
+    var reader = new Reader();
+    long timestamp = reader.read(64);
+    long valueBits = reader.read(64);
+    consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+    long delta = 0;
+    int leading = 0;
+    int trailing = 0;
+    for (int i = 1; i < count; i++) {
+      delta += reader.readDeltaOfDelta();
+      timestamp += delta;
+      if (reader.read(1) == 1) {
+        if (reader.read(1) == 1) {
+          leading = (int) reader.read(6);
+          trailing = 64 - leading - ((int) reader.read(6) + 1);
+        }
+        valueBits ^= reader.read(64 - leading - trailing) << trailing;
+      }
+      consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+    }
+  }
+
+  /**
+   * Writes chunk's points. Chunk read by {@link #readFrom(DataInput)} is full (can't be appended).
+   */
+  void writeTo(DataOutput out) throws IOException {
+    out.writeInt(count);
+    out.writeLong(firstTimestamp);
+    out.writeLong(lastTimestamp);
+    out.writeInt(bitsWritten);
+    int wordsUsed = (bitsWritten + 63) >>> 6;
+    for (int i = 0; i < wordsUsed; i++) {
+      out.writeLong(words[i]);
+    }
+  }
+
+  static GorillaChunk readFrom(DataInput in) throws IOException {
+    int count = in.readInt();
+    var chunk = new GorillaChunk(count);
+    chunk.count = count;
+    chunk.firstTimestamp = in.readLong();
+    chunk.lastTimestamp = in.readLong();
+    chunk.bitsWritten = in.readInt();
+    chunk.words = new long[(chunk.bitsWritten + 63) >>> 6];
+    for (int i = 0; i < chunk.words.length; i++) {
+      chunk.words[i] = in.readLong();
+    }
+    return chunk;
+  }
+
+  private void write(long value, int bits) {
+    if (bitsWritten + bits > (long) words.length * 64) {
+      words = Arrays.copyOf(words, words.length * 2);
+    }
+    int wordIdx = bitsWritten >>> 6;
+    int free = 64 - (bitsWritten & 63);
+    long masked = value & mask(bits);
+    if (bits <= free) {
+      words[wordIdx] |= masked << (free - bits);
+    } else {
+      int rest = bits - free;
+      words[wordIdx] |= masked >>> rest;
+      words[wordIdx + 1] |= masked << (64 - rest);
+    }
+    bitsWritten += bits;
+  }
+
+  private static boolean fits(long value, int bits) {
+    long bound = 1L << (bits - 1);
+    return value >= -bound && value < bound;
+  }
+
+  private static long mask(int bits) {
+    return bits == 64 ? -1L : (1L << bits) - 1;
+  }
+
+  private class Reader {
+    private int pos;
+
+    long read(int bits) {
+      int wordIdx = pos >>> 6;
+      int available = 64 - (pos & 63);
+      long result;
+      if (bits <= available) {
+        result = (words[wordIdx] >>> (available - bits)) & mask(bits);
+      } else {
+        int rest = bits - available;
+        result = ((words[wordIdx] & mask(available)) << rest) | (words[wordIdx + 1] >>> (64 - rest));
+      }
+      pos += bits;
+      return result;
+    }
+
+    long readDeltaOfDelta() {
+      if (read(1) == 0) {
+        return 0;
+      }
+      if (read(1) == 0) {
+        return signed(read(14), 14);
+      }
+      if (read(1) == 0) {
+        return signed(read(20), 20);
+      }
+      return read(1) == 0 ? signed(read(32), 32) : read(64);
+    }
+
+    private long signed(long value, int bits) {
+      return (value << (64 - bits)) >> (64 - bits);
+    }
+  }
+}
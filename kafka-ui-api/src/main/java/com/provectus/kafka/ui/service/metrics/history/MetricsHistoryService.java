@@ -0,0 +1,193 @@
+package com.provectus.kafka.ui.service.metrics.history;
+
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.Metrics;
+import com.provectus.kafka.ui.model.MetricsHistoryDTO;
+import com.provectus.kafka.ui.model.MetricsHistoryMetricDTO;
+import com.provectus.kafka.ui.model.MetricsHistoryPointDTO;
+import com.provectus.kafka.ui.service.metrics.history.ClusterMetricsHistory.SeriesKey;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Embedded, bounded-memory history of broker and topic throughput metrics, recorded on each metrics refresh.
+ * Raw points are kept for an hour, 1-minute averages for a day and 15-minute averages for a week (see
+ * {@link TimeSeries}). If kafka.metrics-history.dir is set, history is periodically saved to (and loaded on startup
+ * from) a file per cluster. If kafka.metrics-history.max-series-per-cluster is not set, series limit is adjusted on
+ * each record to twice the number of currently reported series (to keep history of deleted/renamed topics until it
+ * is evicted), but not less than {@link #MIN_AUTO_MAX_SERIES}.
+ */
+@Slf4j
+@Service
+public class MetricsHistoryService {
+
+  static final List<TimeSeries.TierSpec> TIERS = List.of(
+      TimeSeries.TierSpec.raw(Duration.ofHours(1)),
+      new TimeSeries.TierSpec(Duration.ofMinutes(1), Duration.ofDays(1)),
+      new TimeSeries.TierSpec(Duration.ofMinutes(15), Duration.ofDays(7))
+  );
+
+  static final int MIN_AUTO_MAX_SERIES = 20_000;
+
+  private static final String BROKER = "broker";
+  private static final String TOPIC = "topic";
+  private static final Duration DEFAULT_QUERY_RANGE = Duration.ofHours(1);
+  private static final Duration PERSIST_INTERVAL = Duration.ofMinutes(5);
+
+  private final boolean enabled;
+  @Nullable
+  private final Integer maxSeries;
+  @Nullable
+  private final Path dir;
+  private final Map<String, ClusterMetricsHistory> histories = new ConcurrentHashMap<>();
+  private Disposable persistTask;
+
+  public MetricsHistoryService(@Value("${kafka.metrics-history.enabled:true}") boolean enabled,
+                               @Value("${kafka.metrics-history.max-series-per-cluster:#{null}}")
+                               @Nullable Integer maxSeries,
+                               @Value("${kafka.metrics-history.dir:#{null}}") @Nullable String dir) {
+    this.enabled = enabled;
+    this.maxSeries = maxSeries;
+    this.dir = dir != null ? Path.of(dir) : null;
+  }
+
+  @PostConstruct
+  public void start() {
+    if (enabled && dir != null) {
+      persistTask = Schedulers.boundedElastic().schedulePeriodically(
+          this::persist, PERSIST_INTERVAL.toMillis(), PERSIST_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (persistTask != null) {
+      persistTask.dispose();
+      persist();
+    }
+  }
+
+  public void record(KafkaCluster cluster, Metrics metrics, Instant time) {
+    if (!enabled) {
+      return;
+    }
+    var history = history(cluster);
+    if (maxSeries == null) {
+      int reported = metrics.getBrokerBytesInPerSec().size() + metrics.getBrokerBytesOutPerSec().size()
+          + metrics.getTopicBytesInPerSec().size() + metrics.getTopicBytesOutPerSec().size();
+      history.setMaxSeries(Math.max(MIN_AUTO_MAX_SERIES, 2 * reported));
+    }
+    long ts = time.toEpochMilli();
+    record(history, BROKER, metrics.getBrokerBytesInPerSec(), MetricsHistoryMetricDTO.IN_PER_SEC, ts);
+    record(history, BROKER, metrics.getBrokerBytesOutPerSec(), MetricsHistoryMetricDTO.OUT_PER_SEC, ts);
+    record(history, TOPIC, metrics.getTopicBytesInPerSec(), MetricsHistoryMetricDTO.IN_PER_SEC, ts);
+    record(history, TOPIC, metrics.getTopicBytesOutPerSec(), MetricsHistoryMetricDTO.OUT_PER_SEC, ts);
+    history.evict(ts);
+  }
+
+  private void record(ClusterMetricsHistory history,
+                      String entityType,
+                      Map<?, BigDecimal> values,
+                      MetricsHistoryMetricDTO metric,
+                      long ts) {
+    values.forEach((entity, value) ->
+        history.record(new SeriesKey(entityType, String.valueOf(entity), metric.getValue()), ts, value.doubleValue()));
+  }
+
+  public MetricsHistoryDTO getBrokerHistory(KafkaCluster cluster,
+                                            int brokerId,
+                                            MetricsHistoryMetricDTO metric,
+                                            @Nullable Long from,
+                                            @Nullable Long to) {
+    return query(cluster, new SeriesKey(BROKER, String.valueOf(brokerId), metric.getValue()), metric, from, to);
+  }
+
+  public MetricsHistoryDTO getTopicHistory(KafkaCluster cluster,
+                                           String topic,
+                                           MetricsHistoryMetricDTO metric,
+                                           @Nullable Long from,
+                                           @Nullable Long to) {
+    return query(cluster, new SeriesKey(TOPIC, topic, metric.getValue()), metric, from, to);
+  }
+
+  private MetricsHistoryDTO query(KafkaCluster cluster,
+                                  SeriesKey key,
+                                  MetricsHistoryMetricDTO metric,
+                                  @Nullable Long from,
+                                  @Nullable Long to) {
+    long now = System.currentTimeMillis();
+    long toTs = to != null ? to : now;
+    long fromTs = from != null ? from : toTs - DEFAULT_QUERY_RANGE.toMillis();
+    var dto = new MetricsHistoryDTO().metric(metric).points(List.of());
+    if (!enabled) {
+      return dto;
+    }
+    history(cluster).query(key, fromTs, toTs, now).ifPresent(result ->
+        dto.resolutionMs(result.resolution().toMillis())
+            .points(result.points().stream()
+                .map(p -> new MetricsHistoryPointDTO().timestamp(p.timestamp()).value(p.value()))
+                .toList()));
+    return dto;
+  }
+
+  private ClusterMetricsHistory history(KafkaCluster cluster) {
+    return histories.computeIfAbsent(cluster.getName(), this::load);
+  }
+
+  private ClusterMetricsHistory load(String clusterName) {
+    if (dir != null) {
+      var file = historyFile(clusterName);
+      if (Files.exists(file)) {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+          // with auto limit all saved series are loaded, limit is adjusted on first record
+          return ClusterMetricsHistory.readFrom(in, TIERS, maxSeries != null ? maxSeries : Integer.MAX_VALUE);
+        } catch (Exception e) {
+          log.warn("Error loading metrics history from {}, starting with empty history", file, e);
+        }
+      }
+    }
+    return new ClusterMetricsHistory(TIERS, maxSeries != null ? maxSeries : MIN_AUTO_MAX_SERIES);
+  }
+
+  private void persist() {
+    histories.forEach((clusterName, history) -> {
+      var file = historyFile(clusterName);
+      var tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+      try {
+        Files.createDirectories(file.getParent());
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+          history.writeTo(out);
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (Exception e) {
+        log.error("Error saving metrics history to {}", file, e);
+      }
+    });
+  }
+
+  private Path historyFile(String clusterName) {
+    return dir.resolve(URLEncoder.encode(clusterName, StandardCharsets.UTF_8) + ".metrics-history");
+  }
+}
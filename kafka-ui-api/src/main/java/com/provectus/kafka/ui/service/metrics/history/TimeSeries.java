@@ -0,0 +1,169 @@
+package com.provectus.kafka.ui.service.metrics.history;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * History of single metric. Kept in several tiers: first tier stores raw points, following tiers store points
+ * averaged over tier's resolution. Each tier keeps points for its retention period as list of compressed
+ * {@link GorillaChunk}s, so memory used by series is bounded.
+ */
+class TimeSeries {
+
+  static final int CHUNK_POINTS = 120;
+
+  record TierSpec(Duration resolution, Duration retention) {
+
+    static TierSpec raw(Duration retention) {
+      return new TierSpec(Duration.ZERO, retention);
+    }
+
+    boolean isRaw() {
+      return resolution.isZero();
+    }
+  }
+
+  record Point(long timestamp, double value) {
+  }
+
+  record QueryResult(Duration resolution, List<Point> points) {
+  }
+
+  private static class Tier {
+    final TierSpec spec;
+    final Deque<GorillaChunk> chunks = new ArrayDeque<>();
+    // current downsampling bucket
+    long bucketStart = -1;
+    double bucketSum;
+    int bucketCount;
+
+    Tier(TierSpec spec) {
+      this.spec = spec;
+    }
+
+    void add(long timestamp, double value) {
+      if (spec.isRaw()) {
+        append(timestamp, value);
+        return;
+      }
+      long resolution = spec.resolution().toMillis();
+      long bucket = timestamp - Math.floorMod(timestamp, resolution);
+      if (bucket != bucketStart) {
+        if (bucketCount > 0) {
+          append(bucketStart, bucketSum / bucketCount);
+        }
+        bucketStart = bucket;
+        bucketSum = 0;
+        bucketCount = 0;
+      }
+      bucketSum += value;
+      bucketCount++;
+    }
+
+    void append(long timestamp, double value) {
+      var last = chunks.peekLast();
+      if (last != null && timestamp <= last.getLastTimestamp()) {
+        return; // clock went back, skipping point
+      }
+      if (last == null || last.isFull()) {
+        last = new GorillaChunk(CHUNK_POINTS);
+        chunks.addLast(last);
+      }
+      last.append(timestamp, value);
+    }
+
+    void evict(long now) {
+      long oldest = now - spec.retention().toMillis();
+      while (!chunks.isEmpty() && chunks.peekFirst().getLastTimestamp() < oldest) {
+        chunks.pollFirst();
+      }
+      if (bucketCount > 0 && bucketStart + spec.resolution().toMillis() <= oldest) {
+        bucketCount = 0; // series is not updated anymore, pending bucket won't be flushed
+      }
+    }
+
+    List<Point> query(long from, long to) {
+      List<Point> result = new ArrayList<>();
+      for (GorillaChunk chunk : chunks) {
+        if (chunk.getLastTimestamp() >= from && chunk.getFirstTimestamp() <= to) {
+          chunk.forEach((ts, value) -> {
+            if (ts >= from && ts <= to) {
+              result.add(new Point(ts, value));
+            }
+          });
+        }
+      }
+      return result;
+    }
+  }
+
+  private final List<Tier> tiers;
+
+  TimeSeries(List<TierSpec> tierSpecs) {
+    this.tiers = tierSpecs.stream().map(Tier::new).toList();
+  }
+
+  synchronized void add(long timestamp, double value) {
+    for (Tier tier : tiers) {
+      tier.add(timestamp, value);
+    }
+  }
+
+  /**
+   * Removes points that are out of tiers retention. Returns true if series has no points left.
+   */
+  synchronized boolean evict(long now) {
+    boolean empty = true;
+    for (Tier tier : tiers) {
+      tier.evict(now);
+      empty &= tier.chunks.isEmpty() && tier.bucketCount == 0;
+    }
+    return empty;
+  }
+
+  /**
+   * Returns points from the finest tier that covers requested range (or from the coarsest tier, if none covers it).
+   */
+  synchronized QueryResult query(long from, long to, long now) {
+    Tier selected = tiers.get(tiers.size() - 1);
+    for (Tier tier : tiers) {
+      if (from >= now - tier.spec.retention().toMillis()) {
+        selected = tier;
+        break;
+      }
+    }
+    return new QueryResult(selected.spec.resolution(), selected.query(from, to));
+  }
+
+  // pending downsampling buckets are not persisted
+  synchronized void writeTo(DataOutput out) throws IOException {
+    out.writeInt(tiers.size());
+    for (Tier tier : tiers) {
+      out.writeInt(tier.chunks.size());
+      for (GorillaChunk chunk : tier.chunks) {
+        chunk.writeTo(out);
+      }
+    }
+  }
+
+  static TimeSeries readFrom(DataInput in, List<TierSpec> tierSpecs) throws IOException {
+    int tiersCount = in.readInt();
+    if (tiersCount != tierSpecs.size()) {
+      throw new IOException("Persisted series tiers count doesn't match configured tiers");
+    }
+    var series = new TimeSeries(tierSpecs);
+    for (Tier tier : series.tiers) {
+      int chunks = in.readInt();
+      for (int i = 0; i < chunks; i++) {
+        tier.chunks.addLast(GorillaChunk.readFrom(in));
+      }
+    }
+    return series;
+  }
+}
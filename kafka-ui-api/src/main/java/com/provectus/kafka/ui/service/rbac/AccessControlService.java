@@ -129,7 +129,7 @@ public class AccessControlService {
     return isAccessible(APPLICATIONCONFIG, null, user, context, requiredActions);
   }
 
-  private boolean isClusterAccessible(AccessContext context, AuthenticatedUser user) {
+  public boolean isClusterAccessible(AccessContext context, AuthenticatedUser user) {
     if (!rbacEnabled) {
       return true;
     }
@@ -206,7 +206,7 @@ public class AccessControlService {
     return getUser().map(u -> isTopicAccessible(accessContext, u));
   }
 
-  private boolean isConsumerGroupAccessible(AccessContext context, AuthenticatedUser user) {
+  public boolean isConsumerGroupAccessible(AccessContext context, AuthenticatedUser user) {
     if (!rbacEnabled) {
       return true;
     }
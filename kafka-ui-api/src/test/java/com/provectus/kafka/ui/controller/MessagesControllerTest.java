@@ -44,7 +44,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -53,7 +54,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, null, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(20, limitCaptor.getValue(), 0);
 
@@ -65,7 +66,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -76,7 +78,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, 53, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(53, limitCaptor.getValue(), 0);
 
@@ -88,7 +90,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -99,7 +102,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, 100, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(100, limitCaptor.getValue(), 0);
 
@@ -111,7 +114,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -122,7 +126,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, 200, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(100, limitCaptor.getValue(), 0);
 
@@ -134,7 +138,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -145,7 +150,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, 0, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(0, limitCaptor.getValue(), 0);
 
@@ -157,7 +162,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -168,7 +174,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, null, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(20, limitCaptor.getValue(), 0);
 
@@ -180,7 +186,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -191,7 +198,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, 53, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(53, limitCaptor.getValue(), 0);
 
@@ -203,7 +210,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -214,7 +222,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, 200, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(200, limitCaptor.getValue(), 0);
 
@@ -226,7 +234,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -237,7 +246,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, 300, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(200, limitCaptor.getValue(), 0);
 
@@ -249,7 +258,8 @@ class MessagesControllerTest {
     final String testTopic = TOPICS_PREFIX + UUID.randomUUID();
 
     Mockito.when(messagesService.loadMessages(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-            Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any()))
+            Mockito.any(), Mockito.any(), limitCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(),
+            Mockito.anyBoolean(), Mockito.any()))
         .thenReturn(Flux.just(new TopicMessageEventDTO()));
 
     Mockito.when(accessControlService.validateAccess(Mockito.any()))
@@ -260,7 +270,7 @@ class MessagesControllerTest {
     Mockito.doReturn(null).when(messagesController).getCluster(Mockito.any());
 
     messagesController.getTopicMessages("LOCAL", testTopic, null, null, 0, null, null, null, null,
-        null, null);
+        null, null, null, null, null, null);
 
     Assert.assertEquals(0, limitCaptor.getValue(), 0);
 
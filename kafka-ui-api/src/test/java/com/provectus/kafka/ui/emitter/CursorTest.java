@@ -0,0 +1,104 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.model.SeekDirectionDTO;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class CursorTest {
+
+  private static final String TOPIC = "test";
+  private static final TopicPartition TP0 = new TopicPartition(TOPIC, 0);
+  private static final TopicPartition TP1 = new TopicPartition(TOPIC, 1);
+
+  private final Map<TopicPartition, Long> beginOffsets = Map.of(TP0, 0L, TP1, 10L);
+  private final Map<TopicPartition, Long> endOffsets = Map.of(TP0, 5L, TP1, 20L);
+
+  @Test
+  void forwardTrackingPointsToNextOffsetAfterExaminedMessages() {
+    var tracking = new Cursor.Tracking(TOPIC, SeekDirectionDTO.FORWARD);
+    tracking.initOffsets(seekOperations(Map.of(TP0, 0L, TP1, 10L)));
+
+    tracking.trackExamined(msg(0, 0));
+    tracking.trackExamined(msg(1, 10));
+    tracking.trackExamined(msg(1, 11));
+    tracking.trackExamined(msg(1, 12));
+    tracking.untrackLast();
+
+    var position = tracking.nextPosition();
+    assertThat(position).isNotNull();
+    assertThat(position.getSeekType()).isEqualTo(SeekTypeDTO.OFFSET);
+    assertThat(position.getSeekTo()).containsExactlyInAnyOrderEntriesOf(Map.of(TP0, 1L, TP1, 12L));
+  }
+
+  @Test
+  void backwardTrackingPointsToLastExaminedOffsets() {
+    var tracking = new Cursor.Tracking(TOPIC, SeekDirectionDTO.BACKWARD);
+    tracking.initOffsets(seekOperations(Map.of(TP0, 5L, TP1, 20L)));
+
+    tracking.trackExamined(msg(0, 4));
+    tracking.trackExamined(msg(1, 19));
+
+    var position = tracking.nextPosition();
+    assertThat(position).isNotNull();
+    assertThat(position.getSeekTo()).containsExactlyInAnyOrderEntriesOf(Map.of(TP0, 4L, TP1, 19L));
+  }
+
+  @Test
+  void forwardPositionKeepsPartitionsPolledTillEnd() {
+    var tracking = new Cursor.Tracking(TOPIC, SeekDirectionDTO.FORWARD);
+    tracking.initOffsets(seekOperations(Map.of(TP0, 3L, TP1, 19L)));
+
+    tracking.trackExamined(msg(0, 3));
+    tracking.trackExamined(msg(0, 4));
+    // partition 0 is polled till end, but still included into position
+    assertThat(tracking.nextPosition().getSeekTo()).containsExactlyInAnyOrderEntriesOf(Map.of(TP0, 5L, TP1, 19L));
+
+    tracking.trackExamined(msg(1, 19));
+    assertThat(tracking.nextPosition()).isNull();
+  }
+
+  @Test
+  void nextPositionCarriesKnownOffsets() {
+    var tracking = new Cursor.Tracking(TOPIC, SeekDirectionDTO.FORWARD);
+    tracking.initOffsets(seekOperations(Map.of(TP0, 0L, TP1, 10L)));
+    tracking.trackExamined(msg(1, 10));
+
+    var position = tracking.nextPosition();
+    assertThat(position.hasKnownOffsets()).isTrue();
+    assertThat(position.getKnownBeginOffsets()).isEqualTo(beginOffsets);
+    assertThat(position.getKnownEndOffsets()).isEqualTo(endOffsets);
+  }
+
+  @Test
+  void backwardExhaustedPartitionsAreExcludedFromNextPosition() {
+    var tracking = new Cursor.Tracking(TOPIC, SeekDirectionDTO.BACKWARD);
+    tracking.initOffsets(seekOperations(Map.of(TP0, 1L, TP1, 12L)));
+
+    tracking.trackExamined(msg(0, 0));
+    assertThat(tracking.nextPosition().getSeekTo()).containsExactlyEntriesOf(Map.of(TP1, 12L));
+
+    tracking.trackExamined(msg(1, 11));
+    tracking.trackExamined(msg(1, 10));
+    assertThat(tracking.nextPosition()).isNull();
+  }
+
+  private SeekOperations seekOperations(Map<TopicPartition, Long> offsetsForSeek) {
+    var consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    return new SeekOperations(consumer, new OffsetsInfo(consumer, beginOffsets, endOffsets), offsetsForSeek,
+        TimestampSeek.forConsumer(consumer));
+  }
+
+  private static TopicMessageEventDTO msg(int partition, long offset) {
+    return new TopicMessageEventDTO()
+        .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .message(new TopicMessageDTO().partition(partition).offset(offset));
+  }
+}
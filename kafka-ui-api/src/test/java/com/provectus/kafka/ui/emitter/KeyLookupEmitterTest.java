@@ -0,0 +1,167 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.serde.api.Serde;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import com.provectus.kafka.ui.serdes.PropertyResolverImpl;
+import com.provectus.kafka.ui.serdes.builtin.StringSerde;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class KeyLookupEmitterTest {
+
+  private static final String TOPIC = "test";
+  private static final TopicPartition TP0 = new TopicPartition(TOPIC, 0);
+  private static final TopicPartition TP1 = new TopicPartition(TOPIC, 1);
+  private static final String KEY = "k";
+
+  private LogConsumer consumer;
+
+  @BeforeEach
+  void initLog() {
+    consumer = new LogConsumer();
+    // offset 9 was removed by compaction
+    for (long offset = 0; offset < 20; offset++) {
+      if (offset != 9) {
+        consumer.append(TP0, offset, offset == 2 || offset == 12 || offset == 17 ? KEY : "other");
+      }
+    }
+    for (long offset = 0; offset < 5; offset++) {
+      consumer.append(TP1, offset, offset == 3 ? KEY : "other");
+    }
+    consumer.updateBeginningOffsets(Map.of(TP0, 0L, TP1, 0L));
+    consumer.updateEndOffsets(Map.of(TP0, 20L, TP1, 5L));
+  }
+
+  @Test
+  void fetchesIndexedOffsetsAndScansNotIndexedPart() {
+    var emitter = new KeyLookupEmitter(
+        () -> consumer,
+        TOPIC,
+        Bytes.wrap(KEY.getBytes(StandardCharsets.UTF_8)),
+        Map.of(
+            // 5 - hash collision, 9 - compacted record
+            0, new TreeSet<>(List.of(2L, 5L, 9L, 12L)),
+            1, new TreeSet<>(List.of(3L))
+        ),
+        Map.of(0, 15L, 1, 5L),
+        createRecordsDeserializer(),
+        PollingSettings.createDefault()
+    );
+
+    var messages = Flux.create(emitter)
+        .filter(e -> e.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .map(TopicMessageEventDTO::getMessage)
+        .collectList()
+        .block();
+
+    assertThat(messages)
+        .extracting(TopicMessageDTO::getPartition, TopicMessageDTO::getOffset)
+        .containsExactlyInAnyOrder(
+            tuple(0, 2L),
+            tuple(0, 12L),
+            tuple(0, 17L),
+            tuple(1, 3L));
+    assertThat(messages).allMatch(m -> KEY.equals(m.getKey()));
+
+    // gaps between indexed offsets are skipped by seeking, not-indexed part (15-19) is fully scanned
+    assertThat(consumer.polledOffsets.get(TP0))
+        .doesNotContain(0L, 1L, 4L, 7L, 8L, 14L)
+        .contains(15L, 16L, 17L, 18L, 19L);
+    assertThat(consumer.polledOffsets.get(TP1)).containsExactly(3L, 4L);
+  }
+
+  @Test
+  void emitsNothingWhenKeyIsNotIndexedAndPartitionsAreFullyIndexed() {
+    var emitter = new KeyLookupEmitter(
+        () -> consumer,
+        TOPIC,
+        Bytes.wrap(KEY.getBytes(StandardCharsets.UTF_8)),
+        Map.of(),
+        Map.of(0, 20L, 1, 5L),
+        createRecordsDeserializer(),
+        PollingSettings.createDefault()
+    );
+
+    var events = Flux.create(emitter).collectList().block();
+
+    assertThat(events).noneMatch(e -> e.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE);
+    assertThat(events).anyMatch(e -> e.getType() == TopicMessageEventDTO.TypeEnum.DONE);
+    assertThat(consumer.polledOffsets).isEmpty();
+  }
+
+  /**
+   * MockConsumer that serves records from partitions' logs starting from current positions in small batches,
+   * like real consumer does (MockConsumer itself returns all added records at once).
+   */
+  private static class LogConsumer extends MockConsumer<Bytes, Bytes> {
+
+    private static final int BATCH_SIZE = 2;
+
+    private final Map<TopicPartition, NavigableMap<Long, ConsumerRecord<Bytes, Bytes>>> log = new TreeMap<>(
+        (a, b) -> Integer.compare(a.partition(), b.partition()));
+    private final Map<TopicPartition, List<Long>> polledOffsets = new TreeMap<>(
+        (a, b) -> Integer.compare(a.partition(), b.partition()));
+
+    LogConsumer() {
+      super(OffsetResetStrategy.EARLIEST);
+    }
+
+    void append(TopicPartition tp, long offset, String key) {
+      log.computeIfAbsent(tp, p -> new TreeMap<>()).put(offset, new ConsumerRecord<>(
+          tp.topic(), tp.partition(), offset,
+          Bytes.wrap(key.getBytes(StandardCharsets.UTF_8)), Bytes.wrap("value".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Override
+    public synchronized ConsumerRecords<Bytes, Bytes> poll(Duration timeout) {
+      Set<TopicPartition> assigned = assignment();
+      for (TopicPartition tp : assigned) {
+        log.getOrDefault(tp, new TreeMap<>())
+            .tailMap(position(tp), true)
+            .values().stream()
+            .limit(BATCH_SIZE)
+            .forEach(this::addRecord);
+      }
+      var records = super.poll(timeout);
+      records.forEach(r -> polledOffsets
+          .computeIfAbsent(new TopicPartition(r.topic(), r.partition()), tp -> new ArrayList<>())
+          .add(r.offset()));
+      return records;
+    }
+  }
+
+  private static ConsumerRecordDeserializer createRecordsDeserializer() {
+    Serde s = new StringSerde();
+    s.configure(PropertyResolverImpl.empty(), PropertyResolverImpl.empty(), PropertyResolverImpl.empty());
+    return new ConsumerRecordDeserializer(
+        StringSerde.name(),
+        s.deserializer(null, Serde.Target.KEY),
+        StringSerde.name(),
+        s.deserializer(null, Serde.Target.VALUE),
+        StringSerde.name(),
+        s.deserializer(null, Serde.Target.KEY),
+        s.deserializer(null, Serde.Target.VALUE)
+    );
+  }
+}
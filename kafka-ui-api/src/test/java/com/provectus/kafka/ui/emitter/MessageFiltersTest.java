@@ -1,6 +1,7 @@
 package com.provectus.kafka.ui.emitter;
 
 import static com.provectus.kafka.ui.emitter.MessageFilters.containsStringFilter;
+import static com.provectus.kafka.ui.emitter.MessageFilters.expressionFilter;
 import static com.provectus.kafka.ui.emitter.MessageFilters.groovyScriptFilter;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -179,6 +180,113 @@ class MessageFiltersTest {
     }
   }
 
+  @Nested
+  class ExpressionFilter {
+
+    @Test
+    void throwsExceptionOnInvalidSyntax() {
+      assertThrows(ValidationException.class, () -> expressionFilter("partition == "));
+      assertThrows(ValidationException.class, () -> expressionFilter("unknownField == 1"));
+      assertThrows(ValidationException.class, () -> expressionFilter("keyAsText.unknownFunc('a')"));
+      assertThrows(ValidationException.class, () -> expressionFilter("(partition == 1"));
+      assertThrows(ValidationException.class, () -> expressionFilter("valueAsText.matches('[')"));
+    }
+
+    @Test
+    void throwsExceptionIfResultIsNotBoolean() {
+      var f = expressionFilter("partition");
+      assertThrows(ValidationException.class, () -> f.test(msg()));
+    }
+
+    @Test
+    void canCheckPartitionAndOffset() {
+      var f = expressionFilter("partition == 1 && offset >= 100");
+      assertTrue(f.test(msg().partition(1).offset(100L)));
+      assertFalse(f.test(msg().partition(1).offset(99L)));
+      assertFalse(f.test(msg().partition(0).offset(100L)));
+    }
+
+    @Test
+    void canCheckHeaders() {
+      var f = expressionFilter("headers['k1'] == 'v1' && headers.k2 in ['v2', 'v3']");
+      assertTrue(f.test(msg().headers(Map.of("k1", "v1", "k2", "v2"))));
+      assertFalse(f.test(msg().headers(Map.of("k1", "unexpected", "k2", "v2"))));
+      assertFalse(f.test(msg().headers(Map.of("k1", "v1"))));
+    }
+
+    @Test
+    void canCheckTimestampMs() {
+      var ts = OffsetDateTime.now();
+      var f = expressionFilter("timestampMs == " + ts.toInstant().toEpochMilli());
+      assertTrue(f.test(msg().timestamp(ts)));
+      assertFalse(f.test(msg().timestamp(ts.plus(1L, ChronoUnit.SECONDS))));
+    }
+
+    @Test
+    void canApplyStringFunctions() {
+      var f = expressionFilter("keyAsText.startsWith('ab') && valueAsText.contains(\"some\")"
+          + " && !valueAsText.endsWith('x') && valueAsText.matches('t[e]xt$')");
+      assertTrue(f.test(msg().key("abc").content("some text")));
+      assertFalse(f.test(msg().key("cab").content("some text")));
+      assertFalse(f.test(msg().key("abc").content("some textx")));
+    }
+
+    @Test
+    void canCheckJsonFieldsOfKeyAndValue() {
+      var f = expressionFilter("key.id == 5 && value.name.first == 'user1' && value.items[1].price > 9.5");
+      String value = "{ \"name\" : { \"first\" : \"user1\" }, \"items\": [{\"price\": 1}, {\"price\": 10}] }";
+      assertTrue(f.test(msg().key("{\"id\": 5}").content(value)));
+      assertFalse(f.test(msg().key("{\"id\": 6}").content(value)));
+      assertFalse(f.test(msg().key("{\"id\": 5}").content(value.replace("10", "9"))));
+    }
+
+    @Test
+    void keyAndValueAreNullIfTheyCantBeParsedToJson() {
+      var f = expressionFilter("key == null && value != null");
+      assertTrue(f.test(msg().key("not json").content("{ \"k\" : \"v\" }")));
+      assertFalse(f.test(msg().key("{ \"k\" : \"v\" }").content("{ \"k\" : \"v\" }")));
+      assertFalse(f.test(msg().key("not json").content("not json")));
+    }
+
+    @Test
+    void valueIsNotParsedIfNotReferenced() {
+      var f = expressionFilter("partition == 1 || value.some == 1");
+      var msg = org.mockito.Mockito.spy(msg().content("{}"));
+      assertTrue(f.test(msg));
+      org.mockito.Mockito.verify(msg, org.mockito.Mockito.never()).getContent();
+    }
+
+    @Test
+    void operatorsPrecedence() {
+      var f = expressionFilter("partition == 0 || partition == 1 && offset == 5");
+      assertTrue(f.test(msg().partition(0).offset(1L)));
+      assertTrue(f.test(msg().partition(1).offset(5L)));
+      assertFalse(f.test(msg().partition(1).offset(1L)));
+
+      f = expressionFilter("(partition == 0 || partition == 1) && offset == 5");
+      assertFalse(f.test(msg().partition(0).offset(1L)));
+    }
+
+    @Test
+    void filterGivesSameResultsOnRepeatedEvaluationOfLargeBatch() {
+      var f = expressionFilter("value.name.first == 'user1' && keyAsText.startsWith('a') ");
+
+      List<TopicMessageDTO> toFilter = new ArrayList<>();
+      for (int i = 0; i < 50_000; i++) {
+        String name = i % 2 == 0 ? "user1" : RandomStringUtils.randomAlphabetic(10);
+        String key = (i % 3 == 0 ? "a" : "b") + RandomStringUtils.randomAlphabetic(30);
+        String jsonContent = String.format(
+            "{ \"name\" : {  \"randomStr\": \"%s\", \"first\" : \"%s\"} }",
+            RandomStringUtils.randomAlphabetic(30), name);
+        toFilter.add(msg().content(jsonContent).key(key));
+      }
+      // messages with i % 6 == 0 match both conditions
+      long expected = (50_000 + 5) / 6;
+      assertThat(toFilter.stream().filter(f).count()).isEqualTo(expected);
+      assertThat(toFilter.stream().filter(f).count()).isEqualTo(expected);
+    }
+  }
+
   private TopicMessageDTO msg() {
     return new TopicMessageDTO()
         .timestamp(OffsetDateTime.now())
@@ -0,0 +1,90 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RangeRecordsReaderTest {
+
+  final String topic = "test";
+  final TopicPartition tp0 = new TopicPartition(topic, 0); //offsets: start 0, end 10
+  final TopicPartition tp1 = new TopicPartition(topic, 1); //offsets: start 5, end 10
+
+  MockConsumer<Bytes, Bytes> consumer;
+
+  @BeforeEach
+  void initMockConsumer() {
+    consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    consumer.updatePartitions(
+        topic,
+        Stream.of(tp0, tp1)
+            .map(tp -> new PartitionInfo(topic, tp.partition(), null, null, null, null))
+            .collect(Collectors.toList()));
+    consumer.updateBeginningOffsets(Map.of(tp0, 0L, tp1, 5L));
+    consumer.updateEndOffsets(Map.of(tp0, 10L, tp1, 10L));
+  }
+
+  private void addRecords(TopicPartition tp, long from, long to) {
+    for (long offset = from; offset < to; offset++) {
+      consumer.addRecord(new ConsumerRecord<>(topic, tp.partition(), offset, null, null));
+    }
+  }
+
+  private List<ConsumerRecord<Bytes, Bytes>> readAll(RangeRecordsReader reader) {
+    var result = new ArrayList<ConsumerRecord<Bytes, Bytes>>();
+    List<ConsumerRecord<Bytes, Bytes>> batch;
+    while ((batch = reader.nextBatch()) != null) {
+      result.addAll(batch);
+    }
+    return result;
+  }
+
+  @Test
+  void readsRangeFromPositionTillEndOffsets() {
+    final var reader = new RangeRecordsReader(
+        consumer,
+        new ConsumerPosition(SeekTypeDTO.OFFSET, topic, Map.of(tp0, 3L, tp1, 5L)),
+        null,
+        Long.MAX_VALUE,
+        PollingSettings.createDefault()
+    );
+    addRecords(tp0, 3, 10);
+    addRecords(tp1, 5, 10);
+    // record that was added after reader creation should not be read
+    addRecords(tp0, 10, 11);
+
+    var records = readAll(reader);
+    assertThat(records).hasSize(7 + 5);
+    assertThat(records).allMatch(r -> r.offset() < 10);
+    assertThat(consumer.paused()).containsExactlyInAnyOrder(tp0, tp1);
+  }
+
+  @Test
+  void stopsWhenLimitReached() {
+    var reader = new RangeRecordsReader(
+        consumer,
+        new ConsumerPosition(SeekTypeDTO.BEGINNING, topic, null),
+        null,
+        4,
+        PollingSettings.createDefault()
+    );
+    addRecords(tp0, 0, 10);
+    addRecords(tp1, 5, 10);
+
+    assertThat(readAll(reader)).hasSize(4);
+  }
+}
@@ -0,0 +1,68 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.provectus.kafka.ui.exception.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.jupiter.api.Test;
+
+class RecordFilterTest {
+
+  @Test
+  void canFilterByPartitionOffsetAndTimestampRanges() {
+    var filter = RecordFilter.create("partition in [0, 2] && offset >= 10 && offset < 20 && timestampMs > 1000");
+    assertThat(filter.test(record(0, 10, 1001, "k", "v"))).isTrue();
+    assertThat(filter.test(record(2, 19, 2000, "k", "v"))).isTrue();
+    assertThat(filter.test(record(1, 10, 1001, "k", "v"))).isFalse();
+    assertThat(filter.test(record(0, 20, 1001, "k", "v"))).isFalse();
+    assertThat(filter.test(record(0, 10, 1000, "k", "v"))).isFalse();
+  }
+
+  @Test
+  void canFilterByRawKeyAndValueText() {
+    var filter = RecordFilter.create(
+        "keyAsText.startsWith('user-') && valueAsText.matches('\"status\":\\\\s*\"FAILED\"')");
+    assertThat(filter.test(record(0, 0, 0, "user-1", "{\"status\": \"FAILED\"}"))).isTrue();
+    assertThat(filter.test(record(0, 0, 0, "user-1", "{\"status\": \"OK\"}"))).isFalse();
+    assertThat(filter.test(record(0, 0, 0, "admin", "{\"status\": \"FAILED\"}"))).isFalse();
+    assertThat(filter.test(record(0, 0, 0, null, null))).isFalse();
+  }
+
+  @Test
+  void canFilterByJsonFieldsOfRawValue() {
+    var filter = RecordFilter.create("value.status == 'FAILED'");
+    assertThat(filter.test(record(0, 0, 0, "k", "{\"status\": \"FAILED\"}"))).isTrue();
+    assertThat(filter.test(record(0, 0, 0, "k", "not json"))).isFalse();
+  }
+
+  @Test
+  void canFilterByHeaders() {
+    var filter = RecordFilter.create("headers.type == 'order' && headers.missing == null");
+    var rec = record(0, 0, 0, "k", "v");
+    rec.headers().add("type", "order".getBytes(StandardCharsets.UTF_8));
+    assertThat(filter.test(rec)).isTrue();
+    assertThat(filter.test(record(0, 0, 0, "k", "v"))).isFalse();
+  }
+
+  @Test
+  void throwsValidationExceptionOnInvalidExpression() {
+    assertThrows(ValidationException.class, () -> RecordFilter.create("offset >"));
+  }
+
+  private static ConsumerRecord<Bytes, Bytes> record(int partition, long offset, long timestamp,
+                                                     String key, String value) {
+    return new ConsumerRecord<>(
+        "topic", partition, offset, timestamp, TimestampType.CREATE_TIME, -1, -1,
+        key == null ? null : new Bytes(key.getBytes(StandardCharsets.UTF_8)),
+        value == null ? null : new Bytes(value.getBytes(StandardCharsets.UTF_8)),
+        new RecordHeaders(),
+        Optional.empty()
+    );
+  }
+}
@@ -2,11 +2,14 @@ package com.provectus.kafka.ui.emitter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.SeekTypeDTO;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
 import org.apache.kafka.clients.consumer.OffsetResetStrategy;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
@@ -46,7 +49,8 @@ class SeekOperationsTest {
           consumer,
           new OffsetsInfo(consumer, topic),
           SeekTypeDTO.LATEST,
-          null
+          null,
+          TimestampSeek.forConsumer(consumer)
       );
       assertThat(offsets).containsExactlyInAnyOrderEntriesOf(Map.of(tp2, 20L, tp3, 30L));
     }
@@ -57,7 +61,8 @@ class SeekOperationsTest {
           consumer,
           new OffsetsInfo(consumer, topic),
           SeekTypeDTO.BEGINNING,
-          null
+          null,
+          TimestampSeek.forConsumer(consumer)
       );
       assertThat(offsets).containsExactlyInAnyOrderEntriesOf(Map.of(tp2, 0L, tp3, 25L));
     }
@@ -68,7 +73,8 @@ class SeekOperationsTest {
           consumer,
           new OffsetsInfo(consumer, topic),
           SeekTypeDTO.OFFSET,
-          Map.of(tp1, 10L, tp2, 10L, tp3, 26L)
+          Map.of(tp1, 10L, tp2, 10L, tp3, 26L),
+          TimestampSeek.forConsumer(consumer)
       );
       assertThat(offsets).containsExactlyInAnyOrderEntriesOf(Map.of(tp2, 10L, tp3, 26L));
     }
@@ -79,10 +85,70 @@ class SeekOperationsTest {
           consumer,
           new OffsetsInfo(consumer, topic),
           SeekTypeDTO.OFFSET,
-          Map.of(tp1, 10L, tp2, 21L, tp3, 24L)
+          Map.of(tp1, 10L, tp2, 21L, tp3, 24L),
+          TimestampSeek.forConsumer(consumer)
       );
       assertThat(offsets).containsExactlyInAnyOrderEntriesOf(Map.of(tp2, 20L, tp3, 25L));
     }
   }
 
+  @Test
+  void probesOfAllTimestampSeeksAreReported() {
+    // broker claims that all records are older than target
+    var brokerConsumer = new MockConsumer<Bytes, Bytes>(OffsetResetStrategy.EARLIEST) {
+      @Override
+      public synchronized Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes(
+          Map<TopicPartition, Long> timestampsToSearch) {
+        return Map.of();
+      }
+    };
+    var probed = new ArrayList<Map<TopicPartition, Long>>();
+    var timestampSeek = new TimestampSeek((offsets, endOffsets) -> {
+      probed.add(offsets);
+      return Map.of();
+    });
+    var seekOperations = new SeekOperations(
+        brokerConsumer,
+        new OffsetsInfo(brokerConsumer, Map.of(tp2, 0L, tp3, 25L), Map.of(tp2, 20L, tp3, 30L)),
+        Map.of(tp2, 0L, tp3, 25L),
+        timestampSeek
+    );
+    seekOperations.firstOffsetsForTimestamp(System.currentTimeMillis());
+    assertThat(probed).isNotEmpty();
+    assertThat(seekOperations.getTimestampSeekProbes()).isEqualTo(timestampSeek.getProbes()).isPositive();
+  }
+
+  @Nested
+  class KnownOffsets {
+
+    @Test
+    void seekOperationsAreCreatedWithoutOffsetsLookup() {
+      // consumer without partitions & offsets info fails on any offsets lookup
+      var emptyConsumer = new MockConsumer<Bytes, Bytes>(OffsetResetStrategy.NONE);
+      var seekOperations = SeekOperations.create(
+          emptyConsumer,
+          new ConsumerPosition(SeekTypeDTO.OFFSET, topic,
+              Map.of(tp2, 5L, tp3, 31L),
+              Map.of(tp2, 0L, tp3, 25L),
+              Map.of(tp2, 20L, tp3, 30L))
+      );
+      assertThat(seekOperations.getOffsetsForSeek()).containsExactlyInAnyOrderEntriesOf(Map.of(tp2, 5L, tp3, 30L));
+    }
+
+    @Test
+    void outdatedOffsetsAreRefreshedWhenPollingIsOutOfRange() {
+      // offsets [20, 25) were removed by retention after position was created
+      var seekOperations = SeekOperations.create(
+          consumer,
+          new ConsumerPosition(SeekTypeDTO.OFFSET, topic, Map.of(tp3, 22L), Map.of(tp3, 20L), Map.of(tp3, 30L))
+      );
+      seekOperations.assignAndSeekNonEmptyPartitions();
+      assertThat(consumer.position(tp3)).isEqualTo(22L);
+
+      seekOperations.onOffsetsOutOfRange(Map.of(tp3, 22L));
+      assertThat(consumer.position(tp3)).isEqualTo(25L);
+      assertThat(seekOperations.getBeginOffsets()).containsEntry(tp3, 25L);
+    }
+  }
+
 }
\ No newline at end of file
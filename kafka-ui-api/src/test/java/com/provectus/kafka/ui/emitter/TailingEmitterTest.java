@@ -114,10 +114,13 @@ class TailingEmitterTest extends AbstractIntegrationTest {
             new ConsumerPosition(SeekTypeDTO.LATEST, topic, null),
             query,
             MessageFilterTypeDTO.STRING_CONTAINS,
+            null,
             0,
             SeekDirectionDTO.TAILING,
             "String",
-            "String");
+            "String",
+            false,
+            null);
   }
 
   private List<TopicMessageEventDTO> startTailing(String filterQuery) {
@@ -0,0 +1,82 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.jupiter.api.Test;
+
+class TimestampMergeBufferTest {
+
+  static final String TOPIC = "test";
+  static final TopicPartition TP0 = new TopicPartition(TOPIC, 0);
+  static final TopicPartition TP1 = new TopicPartition(TOPIC, 1);
+
+  @Test
+  void releasesRecordsInTimestampOrderOnlyWhenAllAwaitedPartitionsHaveData() {
+    var buffer = new TimestampMergeBuffer(100);
+    buffer.add(records(Map.of(TP0, List.of(rec(TP0, 0, 10), rec(TP0, 1, 30)))));
+
+    // tp1 can still produce records with lower timestamps
+    assertThat(buffer.drain(Set.of(TP0, TP1))).isEmpty();
+
+    buffer.add(records(Map.of(TP1, List.of(rec(TP1, 0, 20)))));
+    assertThat(buffer.drain(Set.of(TP0, TP1)))
+        .extracting(ConsumerRecord::timestamp)
+        .containsExactly(10L, 20L);
+
+    // tp1 fully polled
+    assertThat(buffer.drain(Set.of(TP0)))
+        .extracting(ConsumerRecord::timestamp)
+        .containsExactly(30L);
+
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+
+  @Test
+  void drainAllReleasesAllBufferedRecordsInTimestampOrder() {
+    var buffer = new TimestampMergeBuffer(100);
+    buffer.add(records(Map.of(
+        TP0, List.of(rec(TP0, 0, 5), rec(TP0, 1, 15), rec(TP0, 2, 25)),
+        TP1, List.of(rec(TP1, 0, 1), rec(TP1, 1, 20))
+    )));
+
+    assertThat(buffer.drainAll())
+        .extracting(ConsumerRecord::timestamp)
+        .containsExactly(1L, 5L, 15L, 20L, 25L);
+  }
+
+  @Test
+  void returnsPartitionsWithFullBuffers() {
+    var buffer = new TimestampMergeBuffer(2);
+    buffer.add(records(Map.of(
+        TP0, List.of(rec(TP0, 0, 5), rec(TP0, 1, 15)),
+        TP1, List.of(rec(TP1, 0, 1))
+    )));
+    assertThat(buffer.fullPartitions()).containsExactly(TP0);
+
+    buffer.add(records(Map.of(TP1, List.of(rec(TP1, 1, 10)))));
+    assertThat(buffer.drain(Set.of(TP0, TP1)))
+        .extracting(ConsumerRecord::timestamp)
+        .containsExactly(1L, 5L, 10L);
+    assertThat(buffer.fullPartitions()).isEmpty();
+  }
+
+  private static ConsumerRecords<Bytes, Bytes> records(Map<TopicPartition, List<ConsumerRecord<Bytes, Bytes>>> recs) {
+    return new ConsumerRecords<>(recs);
+  }
+
+  private static ConsumerRecord<Bytes, Bytes> rec(TopicPartition tp, long offset, long timestamp) {
+    return new ConsumerRecord<>(
+        tp.topic(), tp.partition(), offset, timestamp, TimestampType.CREATE_TIME,
+        0, 0, null, null, new RecordHeaders(), Optional.empty());
+  }
+}
@@ -0,0 +1,132 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class TimestampSeekTest {
+
+  final TopicPartition tp0 = new TopicPartition("test", 0);
+  final TopicPartition tp1 = new TopicPartition("test", 1);
+
+  // partition -> (offset -> timestamp)
+  final Map<TopicPartition, TreeMap<Long, Long>> records = Map.of(tp0, new TreeMap<>(), tp1, new TreeMap<>());
+
+  // number of partitions sampled by each prober call
+  final List<Integer> probeBatches = new ArrayList<>();
+
+  final TimestampSeek.Prober prober = (offsets, endOffsets) -> {
+    probeBatches.add(offsets.size());
+    var result = new HashMap<TopicPartition, OffsetAndTimestamp>();
+    offsets.forEach((tp, offset) -> {
+      var e = records.get(tp).ceilingEntry(offset);
+      if (e != null && e.getKey() < endOffsets.get(tp)) {
+        result.put(tp, new OffsetAndTimestamp(e.getKey(), e.getValue()));
+      }
+    });
+    return result;
+  };
+
+  final TimestampSeek timestampSeek = new TimestampSeek(prober);
+
+  void fillRecords(TopicPartition tp, long from, long to) {
+    for (long offset = from; offset < to; offset++) {
+      records.get(tp).put(offset, offset * 10);
+    }
+  }
+
+  Map<TopicPartition, Long> seek(TimestampSeek seek, long timestamp, Map<TopicPartition, Long> brokerOffsets) {
+    var timestamps = new HashMap<TopicPartition, Long>();
+    var begin = new HashMap<TopicPartition, Long>();
+    var end = new HashMap<TopicPartition, Long>();
+    var broker = new HashMap<TopicPartition, OffsetAndTimestamp>();
+    records.forEach((tp, recs) -> {
+      timestamps.put(tp, timestamp);
+      begin.put(tp, recs.isEmpty() ? 0 : recs.firstKey());
+      end.put(tp, recs.isEmpty() ? 0 : recs.lastKey() + 1);
+    });
+    brokerOffsets.forEach((tp, offset) -> broker.put(tp, new OffsetAndTimestamp(offset, timestamp)));
+    return seek.offsetsForTimestamps(timestamps, begin, end, broker);
+  }
+
+  @Test
+  void brokerOffsetIsVerifiedWithSingleProbe() {
+    fillRecords(tp0, 0, 1000);
+    fillRecords(tp1, 100, 1000);
+    // tp1 offset is below begin offset (removed by retention), nothing to verify
+    assertThat(seek(timestampSeek, 5000, Map.of(tp0, 500L, tp1, 50L)))
+        .containsExactlyInAnyOrderEntriesOf(Map.of(tp0, 500L, tp1, 100L));
+    assertThat(timestampSeek.getProbes()).isEqualTo(1);
+  }
+
+  @Test
+  void inaccurateBrokerOffsetIsSearched() {
+    fillRecords(tp0, 0, 1000);
+    // record before broker's answer (799) is already newer than target
+    assertThat(seek(timestampSeek, 5000, Map.of(tp0, 800L))).containsExactlyEntriesOf(Map.of(tp0, 500L));
+    assertThat(timestampSeek.getProbes()).isLessThanOrEqualTo(1 + TimestampSeek.MAX_SEARCH_ROUNDS);
+  }
+
+  @Test
+  void offsetIsFoundWhenBrokerReturnedNothing() {
+    fillRecords(tp0, 0, 1000);
+    fillRecords(tp1, 0, 1000);
+    assertThat(seek(timestampSeek, 9985, Map.of()))
+        .containsExactlyInAnyOrderEntriesOf(Map.of(tp0, 999L, tp1, 999L));
+    // partitions are probed together
+    assertThat(probeBatches).allMatch(size -> size == 2);
+    assertThat(probeBatches.size()).isLessThanOrEqualTo(1 + TimestampSeek.MAX_SEARCH_ROUNDS);
+  }
+
+  @Test
+  void brokerOffsetBeyondEndOffsetIsSearched() {
+    fillRecords(tp0, 0, 1000);
+    assertThat(seek(timestampSeek, 5000, Map.of(tp0, 1000L))).containsExactlyEntriesOf(Map.of(tp0, 500L));
+  }
+
+  @Test
+  void partitionsWithAllRecordsOlderThanTimestampAreSkipped() {
+    fillRecords(tp0, 0, 1000);
+    assertThat(seek(timestampSeek, 100_000, Map.of())).isEmpty();
+    // only last record checked
+    assertThat(timestampSeek.getProbes()).isEqualTo(1);
+  }
+
+  @Test
+  void gapsInOffsetsAreHandled() {
+    // compacted partition: only even offsets exist
+    for (long offset = 0; offset < 1000; offset += 2) {
+      records.get(tp0).put(offset, offset * 10);
+    }
+    Long offset = seek(timestampSeek, 5010, Map.of()).get(tp0);
+    assertThat(records.get(tp0).ceilingKey(offset)).isEqualTo(502);
+    assertThat(offset).isGreaterThan(500);
+  }
+
+  @Test
+  void searchIsLimitedByTime() {
+    fillRecords(tp0, 0, 1000);
+    long[] now = {0};
+    var limited = new TimestampSeek(
+        (offsets, endOffsets) -> {
+          now[0] += Duration.ofSeconds(1).toNanos();
+          return prober.firstRecordsFrom(offsets, endOffsets);
+        },
+        Duration.ofSeconds(3),
+        () -> now[0]);
+
+    Long offset = seek(limited, 5000, Map.of()).get(tp0);
+    // upper bound of not finished search returned (offset of matching record), not partition's begin offset
+    assertThat(offset).isBetween(500L, 999L);
+    assertThat(records.get(tp0).get(offset)).isGreaterThanOrEqualTo(5000);
+    assertThat(limited.getProbes()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,106 @@
+package com.provectus.kafka.ui.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableTable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.MemberAssignment;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class ConsumerGroupsSnapshotTest {
+
+  private static final TopicPartition ORDERS_0 = new TopicPartition("orders", 0);
+  private static final TopicPartition ORDERS_1 = new TopicPartition("orders", 1);
+  private static final TopicPartition PAYMENTS_0 = new TopicPartition("payments", 0);
+
+  private final ConsumerGroupsSnapshot snapshot = new ConsumerGroupsSnapshot(
+      Map.of(
+          "committed", group("committed", ConsumerGroupState.EMPTY),
+          "active", group("active", ConsumerGroupState.STABLE, PAYMENTS_0),
+          "other", group("other", ConsumerGroupState.EMPTY)
+      ),
+      ImmutableTable.<String, TopicPartition, Long>builder()
+          .put("committed", ORDERS_0, 10L)
+          .put("committed", ORDERS_1, 5L)
+          .put("committed", PAYMENTS_0, 1L)
+          .put("other", PAYMENTS_0, 3L)
+          .build(),
+      Map.of(ORDERS_0, 15L, ORDERS_1, 5L, PAYMENTS_0, 3L)
+  );
+
+  @Test
+  void topicGroupsIncludeGroupsWithCommittedOffsetsOrActiveMembers() {
+    var ordersGroups = snapshot.getTopicGroups("orders");
+    assertThat(ordersGroups)
+        .singleElement()
+        .satisfies(g -> {
+          assertThat(g.getGroupId()).isEqualTo("committed");
+          assertThat(g.getMessagesBehind()).isEqualTo(5L);
+          assertThat(g.getMembers()).isZero();
+        });
+
+    var paymentsGroups = snapshot.getTopicGroups("payments");
+    assertThat(paymentsGroups)
+        .extracting(InternalTopicConsumerGroup::getGroupId)
+        .containsExactly("active", "committed", "other");
+    assertThat(paymentsGroups.get(0).getMessagesBehind()).isNull();
+    assertThat(paymentsGroups.get(0).getMembers()).isEqualTo(1);
+    assertThat(paymentsGroups.get(1).getMessagesBehind()).isEqualTo(2L);
+
+    assertThat(snapshot.getTopicGroups("unknown")).isEmpty();
+  }
+
+  @Test
+  void groupContainsEndOffsetsOfItsPartitions() {
+    assertThat(snapshot.getGroup("other"))
+        .hasValueSatisfying(g -> {
+          assertThat(g.getOffsets()).isEqualTo(Map.of(PAYMENTS_0, 3L));
+          assertThat(g.getEndOffsets()).isEqualTo(Map.of(PAYMENTS_0, 3L));
+        });
+    assertThat(snapshot.getGroup("unknown")).isEmpty();
+  }
+
+  @Test
+  void onlyDescriptionsThatCanBeChangedAreOutdated() {
+    var outdated = snapshot.outdatedDescriptions(List.of(
+        listing("committed", ConsumerGroupState.EMPTY),
+        listing("active", ConsumerGroupState.STABLE),
+        listing("other", ConsumerGroupState.PREPARING_REBALANCE),
+        listing("new", ConsumerGroupState.EMPTY)
+    ));
+    assertThat(outdated).containsExactlyInAnyOrder("active", "other", "new");
+
+    var updated = group("other", ConsumerGroupState.PREPARING_REBALANCE);
+    var merged = snapshot.mergeDescriptions(List.of("committed", "other", "new"), Map.of("other", updated));
+    assertThat(merged).containsOnlyKeys("committed", "other");
+    assertThat(merged.get("other")).isSameAs(updated);
+  }
+
+  @Test
+  void deletedGroupIsRemovedFromIndex() {
+    var withoutGroup = snapshot.withoutGroup("committed");
+    assertThat(withoutGroup.getTopicGroups("orders")).isEmpty();
+    assertThat(withoutGroup.getTopicGroups("payments"))
+        .extracting(InternalTopicConsumerGroup::getGroupId)
+        .containsExactly("active", "other");
+  }
+
+  private static ConsumerGroupDescription group(String id, ConsumerGroupState state, TopicPartition... assignment) {
+    var members = assignment.length == 0
+        ? List.<MemberDescription>of()
+        : List.of(new MemberDescription(id + "-member", "client", "host", new MemberAssignment(Set.of(assignment))));
+    return new ConsumerGroupDescription(id, false, members, "range", state, null);
+  }
+
+  private static ConsumerGroupListing listing(String id, ConsumerGroupState state) {
+    return new ConsumerGroupListing(id, false, Optional.of(state));
+  }
+}
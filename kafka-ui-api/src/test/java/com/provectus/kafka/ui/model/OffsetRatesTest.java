@@ -0,0 +1,124 @@
+package com.provectus.kafka.ui.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.google.common.collect.ImmutableTable;
+import java.time.Duration;
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class OffsetRatesTest {
+
+  private static final TopicPartition ORDERS_0 = new TopicPartition("orders", 0);
+  private static final TopicPartition ORDERS_2 = new TopicPartition("orders", 2);
+  private static final TopicPartition PAYMENTS_0 = new TopicPartition("payments", 0);
+
+  private static final Duration WINDOW = Duration.ofSeconds(60);
+
+  @Test
+  void calculatesProduceAndConsumptionRatesFromTwoSnapshots() {
+    var first = snapshot(Map.of(ORDERS_0, 100L, ORDERS_2, 50L, PAYMENTS_0, 10L), 80L, 5L);
+    var second = snapshot(Map.of(ORDERS_0, 400L, ORDERS_2, 50L, PAYMENTS_0, 10L), 180L, 5L);
+
+    var initial = OffsetRates.calculate(null, null, first, 0, WINDOW);
+    assertThat(initial.getTopicProduceRate("orders")).isEmpty();
+
+    var rates = OffsetRates.calculate(initial, first, second, 10_000, WINDOW);
+
+    assertThat(rates.getPartitionProduceRate("orders", 0)).contains(30.0);
+    assertThat(rates.getPartitionProduceRate("orders", 1)).isEmpty();
+    assertThat(rates.getPartitionProduceRate("orders", 2)).contains(0.0);
+    assertThat(rates.getTopicProduceRate("orders")).contains(30.0);
+    assertThat(rates.getTopicProduceRate("unknown")).isEmpty();
+
+    var ordersRate = rates.getConsumptionRate("group", "orders").orElseThrow();
+    assertThat(ordersRate.getMessagesPerSec()).isEqualTo(10.0);
+    // lag grew from 20 to 220
+    assertThat(ordersRate.getLagChangePerSec()).isEqualTo(20.0);
+    assertThat(ordersRate.timeToCatchUp(220)).isEmpty();
+
+    var groupRate = rates.getConsumptionRate("group").orElseThrow();
+    assertThat(groupRate.getMessagesPerSec()).isEqualTo(10.0);
+    assertThat(groupRate.getLagChangePerSec()).isEqualTo(20.0);
+    assertThat(rates.getConsumptionRate("unknown")).isEmpty();
+  }
+
+  @Test
+  void smoothesRatesWithEwma() {
+    var s1 = snapshot(Map.of(ORDERS_0, 0L), 0L, 0L);
+    var s2 = snapshot(Map.of(ORDERS_0, 600L), 0L, 0L);
+    var s3 = snapshot(Map.of(ORDERS_0, 600L), 600L, 0L);
+
+    var rates = OffsetRates.calculate(null, null, s1, 0, WINDOW);
+    rates = OffsetRates.calculate(rates, s1, s2, 60_000, WINDOW);
+    assertThat(rates.getPartitionProduceRate("orders", 0)).contains(10.0);
+
+    rates = OffsetRates.calculate(rates, s2, s3, 120_000, WINDOW);
+    double alpha = 1 - Math.exp(-1);
+    assertThat(rates.getPartitionProduceRate("orders", 0).orElseThrow())
+        .isCloseTo(10 - alpha * 10, within(1e-9));
+
+    var consumption = rates.getConsumptionRate("group", "orders").orElseThrow();
+    assertThat(consumption.getMessagesPerSec()).isCloseTo(alpha * 10, within(1e-9));
+    assertThat(consumption.getLagChangePerSec()).isCloseTo(10 - alpha * 20, within(1e-9));
+  }
+
+  @Test
+  void keepsProduceRatesUntilProduceEndOffsetsAreLoaded() {
+    var s1 = snapshot(Map.of(ORDERS_0, 0L), 0L, 0L);
+    var s2 = snapshot(Map.of(ORDERS_0, 100L), 50L, 0L);
+    final var s3 = snapshot(Map.of(ORDERS_0, 300L), 100L, 0L);
+
+    var rates = OffsetRates.calculate(null, null, s1, Map.of(ORDERS_0, 0L, ORDERS_2, 0L), 0, WINDOW);
+    rates = OffsetRates.calculate(rates, s1, s2, null, 10_000, WINDOW);
+    assertThat(rates.getTopicProduceRate("orders")).isEmpty();
+    assertThat(rates.getConsumptionRate("group", "orders").orElseThrow().getMessagesPerSec()).isEqualTo(5.0);
+
+    // produce rates are calculated over time passed since previous produce end offsets load
+    rates = OffsetRates.calculate(rates, s2, s3, Map.of(ORDERS_0, 300L, ORDERS_2, 40L), 20_000, WINDOW);
+    assertThat(rates.getPartitionProduceRate("orders", 0)).contains(15.0);
+    assertThat(rates.getPartitionProduceRate("orders", 2)).contains(2.0);
+    assertThat(rates.getProduceTimestamp()).isEqualTo(20_000);
+
+    var kept = OffsetRates.calculate(rates, s3, s3, null, 30_000, WINDOW);
+    assertThat(kept.getPartitionProduceRate("orders", 0)).contains(15.0);
+    assertThat(kept.getProduceTimestamp()).isEqualTo(20_000);
+  }
+
+  @Test
+  void estimatesTimeToCatchUp() {
+    var catchingUp = new OffsetRates.ConsumptionRate(20, -10);
+    assertThat(catchingUp.timeToCatchUp(0)).contains(Duration.ZERO);
+    assertThat(catchingUp.timeToCatchUp(100)).contains(Duration.ofSeconds(10));
+
+    var fallingBehind = new OffsetRates.ConsumptionRate(20, 5);
+    assertThat(fallingBehind.timeToCatchUp(100)).isEmpty();
+  }
+
+  @Test
+  void skipsPartitionsWithOffsetsGoneBack() {
+    var first = snapshot(Map.of(ORDERS_0, 1000L), 900L, 0L);
+    var second = snapshot(Map.of(ORDERS_0, 10L), 5L, 0L);
+
+    var initial = OffsetRates.calculate(null, null, first, 0, WINDOW);
+    var rates = OffsetRates.calculate(initial, first, second, 10_000, WINDOW);
+
+    assertThat(rates.getPartitionProduceRate("orders", 0)).isEmpty();
+    assertThat(rates.getConsumptionRate("group", "orders")).isEmpty();
+  }
+
+  private static ConsumerGroupsSnapshot snapshot(Map<TopicPartition, Long> endOffsets,
+                                                 long ordersCommitted,
+                                                 long paymentsCommitted) {
+    return new ConsumerGroupsSnapshot(
+        Map.of(),
+        ImmutableTable.<String, TopicPartition, Long>builder()
+            .put("group", ORDERS_0, ordersCommitted)
+            .put("group", PAYMENTS_0, paymentsCommitted)
+            .build(),
+        endOffsets
+    );
+  }
+}
@@ -0,0 +1,118 @@
+package com.provectus.kafka.ui.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.Test;
+
+class TopicsSnapshotTest {
+
+  private static final Node N1 = new Node(1, "n1", 9092);
+  private static final Node N2 = new Node(2, "n2", 9092);
+  private static final Node N3 = new Node(3, "n3", 9092);
+
+  @Test
+  void countersAreCalculatedSameWayAsForInternalTopic() {
+    var description = new TopicDescription("topic", false, List.of(
+        new TopicPartitionInfo(0, N1, List.of(N1, N2, N3), List.of(N1, N2, N3)),
+        new TopicPartitionInfo(1, N2, List.of(N2, N3, N1), List.of(N2)),
+        new TopicPartitionInfo(2, null, List.of(N3, N1, N2), List.of())
+    ));
+    var snapshot = TopicsSnapshot.create(statistics(description), null);
+    var internalTopic = InternalTopic.from(
+        description, List.of(), InternalPartitionsOffsets.empty(), Metrics.empty(), InternalLogDirStats.empty(), null);
+
+    assertThat(snapshot.size()).isEqualTo(1);
+    assertThat(snapshot.getName(0)).isEqualTo("topic");
+    assertThat(snapshot.isInternal(0)).isFalse();
+    assertThat(snapshot.getPartitionCount(0)).isEqualTo(internalTopic.getPartitionCount());
+    assertThat(snapshot.getReplicationFactor(0)).isEqualTo(internalTopic.getReplicationFactor());
+    assertThat(snapshot.getOutOfSyncReplicas(0))
+        .isEqualTo(internalTopic.getReplicas() - internalTopic.getInSyncReplicas())
+        .isEqualTo(5);
+    assertThat(snapshot.getUnderReplicatedPartitions(0)).isEqualTo(internalTopic.getUnderReplicatedPartitions());
+    assertThat(snapshot.getSegmentSize(0)).isZero();
+  }
+
+  @Test
+  void filtersByInternalPrefixAndSearch() {
+    var snapshot = TopicsSnapshot.create(
+        statistics(
+            new TopicDescription("orders", false, List.of()),
+            new TopicDescription("ORDERS-dlq", false, List.of()),
+            new TopicDescription("__consumer_offsets", true, List.of()),
+            new TopicDescription("sys.orders", false, List.of()),
+            new TopicDescription("payments", false, List.of())),
+        "sys.");
+
+    assertThat(snapshot.page(false, null, null, false, 0, 10).getTopics())
+        .containsExactly("ORDERS-dlq", "orders", "payments");
+    assertThat(snapshot.page(true, "order", TopicColumnsToSortDTO.NAME, true, 0, 10).getTopics())
+        .containsExactly("sys.orders", "orders", "ORDERS-dlq");
+    // short query, not supported by trigram index
+    assertThat(snapshot.page(false, "Ts", null, false, 0, 10).getTopics())
+        .containsExactly("payments");
+  }
+
+  @Test
+  void pagesAreSameAsWhenSortingAllTopics() {
+    var random = new Random(42);
+    var builder = new TopicsSnapshot.Builder(0);
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      String name = (i % 7 == 0 ? "_" : "") + "topic-" + random.nextInt(100) + "-" + Integer.toHexString(i);
+      boolean internal = name.startsWith("_");
+      int partitions = random.nextInt(5);
+      long size = random.nextInt(3) * 1000L;
+      double bytesIn = random.nextInt(4);
+      builder.add(name, internal, partitions, 1, partitions, partitions, 0, size, bytesIn, 0);
+      rows.add(new Object[] {name, internal, partitions, size, bytesIn});
+    }
+    var snapshot = builder.build();
+
+    Map<TopicColumnsToSortDTO, Comparator<Object[]>> columns = Map.of(
+        TopicColumnsToSortDTO.NAME, Comparator.comparing(r -> (String) r[0]),
+        TopicColumnsToSortDTO.TOTAL_PARTITIONS, Comparator.comparing(r -> (Integer) r[2]),
+        TopicColumnsToSortDTO.SIZE, Comparator.comparing(r -> (Long) r[3]),
+        TopicColumnsToSortDTO.BYTES_IN_PER_SEC, Comparator.comparing(r -> (Double) r[4])
+    );
+    Comparator<Object[]> byName = Comparator.comparing(r -> (String) r[0]);
+    for (var column : columns.entrySet()) {
+      for (String search : Arrays.asList(null, "1", "opic-1", "-2", "nothing")) {
+        for (boolean showInternal : List.of(true, false)) {
+          for (boolean desc : List.of(true, false)) {
+            var comparator = column.getValue().thenComparing(byName);
+            List<String> expected = rows.stream()
+                .filter(r -> showInternal || !((Boolean) r[1]))
+                .filter(r -> search == null || ((String) r[0]).contains(search))
+                .sorted(desc ? comparator.reversed() : comparator)
+                .map(r -> (String) r[0])
+                .collect(Collectors.toList());
+
+            var page = snapshot.page(showInternal, search, column.getKey(), desc, 20, 25);
+            assertThat(page.getTotalTopics()).isEqualTo(expected.size());
+            assertThat(page.getTopics())
+                .as("%s %s %s %s", column.getKey(), search, showInternal, desc)
+                .isEqualTo(expected.stream().skip(20).limit(25).collect(Collectors.toList()));
+          }
+        }
+      }
+    }
+  }
+
+  private static Statistics statistics(TopicDescription... descriptions) {
+    return Statistics.empty().toBuilder()
+        .topicDescriptions(Stream.of(descriptions).collect(Collectors.toMap(TopicDescription::name, d -> d)))
+        .build();
+  }
+}
@@ -0,0 +1,61 @@
+package com.provectus.kafka.ui.serdes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.serde.api.Serde;
+import com.provectus.kafka.ui.serdes.builtin.Base64Serde;
+import com.provectus.kafka.ui.serdes.builtin.StringSerde;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.jupiter.api.Test;
+
+class ConsumerRecordDeserializerTest {
+
+  private static final long MAX_DESERIALIZE_BYTES = 100;
+
+  @Test
+  void previewDeserializesWithConfiguredSerde() {
+    var deserializer = createDeserializer(Base64Serde.name(), new Base64Serde());
+
+    var msg = deserializer.deserializePreview(record("key", "v".repeat(50)), MAX_DESERIALIZE_BYTES);
+    assertThat(msg.getContent())
+        .isEqualTo(Base64.getEncoder().encodeToString("v".repeat(50).getBytes(StandardCharsets.UTF_8)));
+    assertThat(msg.getValueSerde()).isEqualTo(Base64Serde.name());
+    assertThat(msg.getContentTruncated()).isNotEqualTo(Boolean.TRUE);
+    assertThat(msg.getHeaders()).isNull();
+  }
+
+  @Test
+  void previewDoesNotDeserializeDataLargerThanLimit() {
+    var deserializer = createDeserializer(StringSerde.name(), new StringSerde());
+
+    var msg = deserializer.deserializePreview(record("key", "v".repeat(500)), MAX_DESERIALIZE_BYTES);
+    assertThat(msg.getKey()).isEqualTo("key");
+    assertThat(msg.getKeyTruncated()).isNotEqualTo(Boolean.TRUE);
+    assertThat(msg.getContent()).isNull();
+    assertThat(msg.getContentTruncated()).isTrue();
+    assertThat(msg.getValueSize()).isEqualTo(500);
+  }
+
+  private static ConsumerRecord<Bytes, Bytes> record(String key, String value) {
+    return new ConsumerRecord<>("test", 0, 0,
+        Bytes.wrap(key.getBytes(StandardCharsets.UTF_8)), Bytes.wrap(value.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static ConsumerRecordDeserializer createDeserializer(String serdeName, Serde serde) {
+    Serde fallback = new StringSerde();
+    fallback.configure(PropertyResolverImpl.empty(), PropertyResolverImpl.empty(), PropertyResolverImpl.empty());
+    serde.configure(PropertyResolverImpl.empty(), PropertyResolverImpl.empty(), PropertyResolverImpl.empty());
+    return new ConsumerRecordDeserializer(
+        serdeName,
+        serde.deserializer(null, Serde.Target.KEY),
+        serdeName,
+        serde.deserializer(null, Serde.Target.VALUE),
+        StringSerde.name(),
+        fallback.deserializer(null, Serde.Target.KEY),
+        fallback.deserializer(null, Serde.Target.VALUE)
+    );
+  }
+}
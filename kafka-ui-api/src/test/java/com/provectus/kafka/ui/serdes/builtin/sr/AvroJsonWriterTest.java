@@ -0,0 +1,107 @@
+package com.provectus.kafka.ui.serdes.builtin.sr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import lombok.SneakyThrows;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.Test;
+
+class AvroJsonWriterTest {
+
+  private static final Schema SCHEMA = new Schema.Parser().parse(
+      "{"
+          + "  \"type\": \"record\","
+          + "  \"name\": \"TestRecord\","
+          + "  \"namespace\": \"com.test\","
+          + "  \"fields\": ["
+          + "    { \"name\": \"f_null\", \"type\": \"null\" },"
+          + "    { \"name\": \"f_bool\", \"type\": \"boolean\" },"
+          + "    { \"name\": \"f_int\", \"type\": \"int\" },"
+          + "    { \"name\": \"f_long\", \"type\": \"long\" },"
+          + "    { \"name\": \"f_float\", \"type\": \"float\" },"
+          + "    { \"name\": \"f_double\", \"type\": \"double\" },"
+          + "    { \"name\": \"f_string\", \"type\": \"string\" },"
+          + "    { \"name\": \"f_bytes\", \"type\": \"bytes\" },"
+          + "    { \"name\": \"f_fixed\", \"type\": { \"type\": \"fixed\", \"name\": \"Fixed3\", \"size\": 3 } },"
+          + "    { \"name\": \"f_enum\", \"type\": { \"type\": \"enum\", \"name\": \"Color\", "
+          + "                                       \"symbols\": [\"RED\", \"GREEN\"] } },"
+          + "    { \"name\": \"f_array\", \"type\": { \"type\": \"array\", \"items\": \"int\" } },"
+          + "    { \"name\": \"f_map\", \"type\": { \"type\": \"map\", \"values\": \"string\" } },"
+          + "    { \"name\": \"f_opt_string\", \"type\": [\"null\", \"string\"] },"
+          + "    { \"name\": \"f_opt_null\", \"type\": [\"null\", \"string\"] },"
+          + "    { \"name\": \"f_union\", \"type\": [\"int\", \"Color\", \"TestRecord\"] },"
+          + "    { \"name\": \"f_self\", \"type\": [\"null\", \"TestRecord\"] }"
+          + "  ]"
+          + "}"
+  );
+
+  @Test
+  void outputIsSameAsAvroJsonEncoderProduces() {
+    var nested = record(null, 1);
+    var rec = record(nested, 2);
+    assertThat(writeDirectly(SCHEMA, rec)).isEqualTo(writeWithJsonEncoder(SCHEMA, rec));
+  }
+
+  @Test
+  void primitiveSchemasSupported() {
+    var stringSchema = Schema.create(Schema.Type.STRING);
+    assertThat(writeDirectly(stringSchema, "some \"quoted\" \n ünicode"))
+        .isEqualTo(writeWithJsonEncoder(stringSchema, "some \"quoted\" \n ünicode"));
+
+    var longSchema = Schema.create(Schema.Type.LONG);
+    assertThat(writeDirectly(longSchema, 123L)).isEqualTo("123");
+  }
+
+  private GenericData.Record record(GenericData.Record self, int seed) {
+    var rec = new GenericData.Record(SCHEMA);
+    var colorSchema = SCHEMA.getField("f_enum").schema();
+    rec.put("f_null", null);
+    rec.put("f_bool", true);
+    rec.put("f_int", -seed);
+    rec.put("f_long", Long.MAX_VALUE - seed);
+    rec.put("f_float", 1.5f * seed);
+    rec.put("f_double", 0.1 * seed);
+    rec.put("f_string", "str\t\"" + seed + "\" юникод");
+    rec.put("f_bytes", ByteBuffer.wrap(new byte[] {0, 1, (byte) 200, (byte) seed}));
+    rec.put("f_fixed", new GenericData.Fixed(SCHEMA.getField("f_fixed").schema(), new byte[] {1, 2, (byte) 255}));
+    rec.put("f_enum", new GenericData.EnumSymbol(colorSchema, "GREEN"));
+    rec.put("f_array", List.of(1, 2, seed));
+    rec.put("f_map", Map.of("k", "v" + seed));
+    rec.put("f_opt_string", "opt");
+    rec.put("f_opt_null", null);
+    rec.put("f_union", seed % 2 == 0 ? new GenericData.EnumSymbol(colorSchema, "RED") : seed);
+    rec.put("f_self", self);
+    return rec;
+  }
+
+  @SneakyThrows
+  private static String writeDirectly(Schema schema, Object value) {
+    var out = new ByteArrayOutputStream();
+    var encoder = EncoderFactory.get().binaryEncoder(out, null);
+    new GenericDatumWriter<>(schema).write(value, encoder);
+    encoder.flush();
+    // checking that offset & length are respected
+    byte[] binary = out.toByteArray();
+    byte[] prefixed = new byte[binary.length + 5];
+    System.arraycopy(binary, 0, prefixed, 5, binary.length);
+    return new AvroJsonWriter(schema).write(prefixed, 5, binary.length);
+  }
+
+  // the same way AvroSchemaUtils.toJson(..) does it
+  @SneakyThrows
+  private static String writeWithJsonEncoder(Schema schema, Object value) {
+    var out = new ByteArrayOutputStream();
+    var encoder = EncoderFactory.get().jsonEncoder(schema, out);
+    new GenericDatumWriter<>(schema).write(value, encoder);
+    encoder.flush();
+    return out.toString(StandardCharsets.UTF_8);
+  }
+}
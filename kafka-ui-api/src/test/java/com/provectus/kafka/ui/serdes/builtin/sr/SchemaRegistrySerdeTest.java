@@ -130,6 +130,38 @@ class SchemaRegistrySerdeTest {
         .contains(Map.entry("schemaId", schemaId));
   }
 
+  @Test
+  void deserializeReusesFormattedMessagesForIdenticalPayloads() throws RestClientException, IOException {
+    var cache = new FormattedMessagesCache(FormattedMessagesCache.DEFAULT_MAX_BYTES);
+    serde.configure(List.of("wontbeused"), registryClient, "%s-key", "%s-value", true, cache);
+
+    AvroSchema schema = new AvroSchema(
+        "{"
+            + "  \"type\": \"record\","
+            + "  \"name\": \"TestAvroRecord1\","
+            + "  \"fields\": [ { \"name\": \"field1\", \"type\": \"int\" } ]"
+            + "}"
+    );
+    String topic = "test";
+    int schemaId = registryClient.register(topic + "-value", schema);
+    var deserializer = serde.deserializer(topic, Serde.Target.VALUE);
+
+    for (int i = 0; i < 3; i++) {
+      String jsonValue = "{ \"field1\": 123 }";
+      var result = deserializer.deserialize(null, toBytesWithMagicByteAndSchemaId(schemaId, jsonValue, schema));
+      assertJsonsEqual(jsonValue, result.getResult());
+      assertThat(result.getAdditionalProperties())
+          .contains(Map.entry("type", "AVRO"))
+          .contains(Map.entry("schemaId", schemaId));
+    }
+    String otherJsonValue = "{ \"field1\": 456 }";
+    var otherResult = deserializer.deserialize(null, toBytesWithMagicByteAndSchemaId(schemaId, otherJsonValue, schema));
+    assertJsonsEqual(otherJsonValue, otherResult.getResult());
+
+    assertThat(cache.stats().hitCount()).isEqualTo(2);
+    assertThat(cache.stats().missCount()).isEqualTo(2);
+  }
+
   @Nested
   class SerdeWithDisabledSubjectExistenceCheck {
 
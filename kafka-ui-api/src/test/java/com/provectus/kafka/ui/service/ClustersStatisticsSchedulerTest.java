@@ -0,0 +1,133 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.ServerStatusDTO;
+import com.provectus.kafka.ui.model.StatisticsSection;
+import com.provectus.kafka.ui.service.metrics.MetricsCollector;
+import com.provectus.kafka.ui.service.metrics.history.MetricsHistoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.org.awaitility.Awaitility;
+import reactor.core.publisher.Mono;
+
+class ClustersStatisticsSchedulerTest {
+
+  private static final KafkaCluster CLUSTER = KafkaCluster.builder().name("test").build();
+
+  private final StatisticsService statisticsService = mock(StatisticsService.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ClustersStatisticsScheduler scheduler;
+
+  @AfterEach
+  void stopScheduler() {
+    scheduler.stop();
+  }
+
+  @Test
+  void overrunningRefreshIsSkippedInsteadOfQueued() {
+    var started = new AtomicInteger();
+    when(statisticsService.refresh(any(), any())).thenReturn(Mono.empty());
+    when(statisticsService.refresh(any(), eq(StatisticsSection.METRICS)))
+        .thenReturn(Mono.<Void>never().doOnSubscribe(s -> started.incrementAndGet()));
+
+    startScheduler(new ClustersProperties());
+
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> skipped(StatisticsSection.METRICS) >= 3);
+    assertThat(started).hasValue(1);
+    // other sections are not affected by slow one
+    assertThat(skipped(StatisticsSection.CLUSTER)).isZero();
+  }
+
+  @Test
+  void refreshIsTimedOutAndBackedOffOnFailures() {
+    var started = new AtomicInteger();
+    when(statisticsService.refresh(any(), any())).thenReturn(Mono.empty());
+    when(statisticsService.refresh(any(), eq(StatisticsSection.LOG_DIRS)))
+        .thenReturn(Mono.<Void>never().doOnSubscribe(s -> started.incrementAndGet()));
+
+    var schedule = new ClustersProperties.SectionSchedule();
+    schedule.setIntervalMillis(20L);
+    schedule.setJitter(0.0);
+    schedule.setTimeoutMillis(10L);
+    schedule.setMaxBackoffMillis(10_000L);
+    var props = new ClustersProperties();
+    props.getStatistics().getSections().put(StatisticsSection.LOG_DIRS, schedule);
+    startScheduler(props);
+
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> failed(StatisticsSection.LOG_DIRS) >= 3);
+    // without backoff there would be ~25 runs per second
+    Awaitility.await().pollDelay(Duration.ofMillis(500)).until(() -> true);
+    assertThat(started.get()).isLessThan(10);
+    assertThat(skipped(StatisticsSection.LOG_DIRS)).isZero();
+  }
+
+  @Test
+  void offlineClusterRefreshIsBackedOff() {
+    var callTimes = new CopyOnWriteArrayList<Long>();
+    var adminClientService = mock(AdminClientService.class);
+    when(adminClientService.get(any())).thenAnswer(inv -> {
+      callTimes.add(System.nanoTime());
+      return Mono.error(new IllegalStateException("cluster is unreachable"));
+    });
+    var clustersStorage = mock(ClustersStorage.class);
+    when(clustersStorage.getKafkaClusters()).thenReturn(List.of(CLUSTER));
+    var cache = new StatisticsCache(clustersStorage, new ClustersProperties());
+    final var realStatisticsService = new StatisticsService(
+        mock(MetricsCollector.class), adminClientService, mock(FeatureService.class), cache, meterRegistry,
+        mock(MetricsHistoryService.class), 300_000, 60_000, 120_000);
+
+    var schedule = new ClustersProperties.SectionSchedule();
+    schedule.setIntervalMillis(20L);
+    schedule.setJitter(0.0);
+    schedule.setMaxBackoffMillis(10_000L);
+    var props = new ClustersProperties();
+    props.getStatistics().getSections().put(StatisticsSection.CLUSTER, schedule);
+    scheduler = new ClustersStatisticsScheduler(clustersStorage, realStatisticsService, props, meterRegistry, 50);
+    scheduler.start();
+
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> callTimes.size() >= 5);
+    assertThat(failed(StatisticsSection.CLUSTER)).isGreaterThanOrEqualTo(4);
+    assertThat(cache.get(CLUSTER).getStatus()).isNotEqualTo(ServerStatusDTO.ONLINE);
+    assertThat(cache.get(CLUSTER).getLastKafkaException()).isNotNull();
+    // interval is doubled after each failure: 40, 80, 160, 320 ms
+    for (int i = 1; i < 4; i++) {
+      long gap = callTimes.get(i) - callTimes.get(i - 1);
+      long nextGap = callTimes.get(i + 1) - callTimes.get(i);
+      assertThat(nextGap).isGreaterThan(gap);
+    }
+    assertThat(callTimes.get(4) - callTimes.get(3)).isGreaterThanOrEqualTo(Duration.ofMillis(300).toNanos());
+  }
+
+  private void startScheduler(ClustersProperties props) {
+    var clustersStorage = mock(ClustersStorage.class);
+    when(clustersStorage.getKafkaClusters()).thenReturn(List.of(CLUSTER));
+    scheduler = new ClustersStatisticsScheduler(clustersStorage, statisticsService, props, meterRegistry, 50);
+    scheduler.start();
+  }
+
+  private double skipped(StatisticsSection section) {
+    return meterRegistry.counter("statistics.refresh.skipped", "cluster", "test", "section", section.name()).count();
+  }
+
+  private double failed(StatisticsSection section) {
+    return meterRegistry.counter("statistics.refresh.failed", "cluster", "test", "section", section.name()).count();
+  }
+}
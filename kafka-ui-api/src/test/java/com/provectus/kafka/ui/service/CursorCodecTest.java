@@ -0,0 +1,70 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.provectus.kafka.ui.emitter.Cursor;
+import com.provectus.kafka.ui.exception.ValidationException;
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.SeekDirectionDTO;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import java.util.Base64;
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class CursorCodecTest {
+
+  private static final KafkaCluster CLUSTER = KafkaCluster.builder().name("local").build();
+
+  private final Cursor cursor = new Cursor(
+      new ConsumerPosition(SeekTypeDTO.OFFSET, "topic",
+          Map.of(new TopicPartition("topic", 0), 10L, new TopicPartition("topic", 3), 25L),
+          Map.of(new TopicPartition("topic", 0), 0L, new TopicPartition("topic", 3), 5L),
+          Map.of(new TopicPartition("topic", 0), 100L, new TopicPartition("topic", 3), 200L)),
+      SeekDirectionDTO.BACKWARD,
+      "query",
+      MessageFilterTypeDTO.STRING_CONTAINS,
+      null,
+      50,
+      "String",
+      null,
+      false,
+      100
+  );
+
+  @Test
+  void tokenCanBeDecodedByInstanceWithSameSecret() {
+    String token = new CursorCodec("secret").encode(CLUSTER, cursor);
+    assertThat(new CursorCodec("secret").decode(CLUSTER, "topic", token)).isEqualTo(cursor);
+  }
+
+  @Test
+  void tokensWithWrongSignatureAreRejected() {
+    String token = new CursorCodec("secret").encode(CLUSTER, cursor);
+    assertThatThrownBy(() -> new CursorCodec("other").decode(CLUSTER, "topic", token))
+        .isInstanceOf(ValidationException.class);
+
+    var encoder = Base64.getUrlEncoder().withoutPadding();
+    String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    String tampered = encoder.encodeToString(payload.replace("10", "11").getBytes())
+        + token.substring(token.indexOf('.'));
+    assertThatThrownBy(() -> new CursorCodec("secret").decode(CLUSTER, "topic", tampered))
+        .isInstanceOf(ValidationException.class);
+
+    assertThatThrownBy(() -> new CursorCodec("secret").decode(CLUSTER, "topic", "not a token"))
+        .isInstanceOf(ValidationException.class);
+  }
+
+  @Test
+  void tokenIsOnlyValidForTopicItWasIssuedFor() {
+    var codec = new CursorCodec(null);
+    String token = codec.encode(CLUSTER, cursor);
+    assertThatThrownBy(() -> codec.decode(CLUSTER, "another", token))
+        .isInstanceOf(ValidationException.class);
+    assertThatThrownBy(() -> codec.decode(KafkaCluster.builder().name("another").build(), "topic", token))
+        .isInstanceOf(ValidationException.class);
+  }
+}
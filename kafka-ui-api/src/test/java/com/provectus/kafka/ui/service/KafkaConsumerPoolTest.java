@@ -0,0 +1,90 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.exception.ConsumerPoolExhaustedException;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class KafkaConsumerPoolTest {
+
+  // consumers do not connect to brokers until they are used, so there is no need for running kafka
+  private final KafkaCluster cluster = KafkaCluster.builder()
+      .name("test")
+      .bootstrapServers("localhost:9092")
+      .properties(new Properties())
+      .originalProperties(new ClustersProperties.Cluster())
+      .build();
+
+  private final KafkaConsumerPool pool =
+      new KafkaConsumerPool(new ConsumerGroupService(null, null, null), 2, 60_000, 200);
+
+  @AfterEach
+  void closePool() {
+    pool.close();
+  }
+
+  @Test
+  void returnedConsumerIsReusedWithResetAssignment() {
+    var consumer = pool.borrowConsumer(cluster);
+    consumer.assign(List.of(new TopicPartition("topic", 0)));
+    consumer.close();
+
+    var reused = pool.borrowConsumer(cluster);
+    assertThat(reused).isSameAs(consumer);
+    assertThat(reused.assignment()).isEmpty();
+    reused.close();
+  }
+
+  @Test
+  void consumerIsNotReusedAfterWakeup() {
+    var consumer = pool.borrowConsumer(cluster);
+    consumer.wakeup();
+    consumer.close();
+
+    var another = pool.borrowConsumer(cluster);
+    assertThat(another).isNotSameAs(consumer);
+    another.close();
+  }
+
+  @Test
+  void borrowingWaitsForReturnedConsumerWhenPoolExhausted() throws Exception {
+    var c1 = pool.borrowConsumer(cluster);
+    var c2 = pool.borrowConsumer(cluster);
+    assertThatThrownBy(() -> pool.borrowConsumer(cluster))
+        .isInstanceOf(ConsumerPoolExhaustedException.class);
+
+    var executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      executor.schedule(() -> c1.close(), 50, TimeUnit.MILLISECONDS);
+      var reused = pool.borrowConsumer(cluster);
+      assertThat(reused).isSameAs(c1);
+      reused.close();
+      c2.close();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void consumersCreatedWithOutdatedPropertiesAreNotReused() {
+    var consumer = pool.borrowConsumer(cluster);
+    consumer.close();
+
+    var props = new Properties();
+    props.put(ConsumerConfig.REQUEST_TIMEOUT_MS_CONFIG, "10000");
+    var reloaded = cluster.toBuilder().properties(props).build();
+    var another = pool.borrowConsumer(reloaded);
+    assertThat(another).isNotSameAs(consumer);
+    another.close();
+  }
+}
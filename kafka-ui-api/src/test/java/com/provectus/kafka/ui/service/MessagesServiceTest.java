@@ -1,7 +1,11 @@
 package com.provectus.kafka.ui.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.provectus.kafka.ui.AbstractIntegrationTest;
+import com.provectus.kafka.ui.exception.NotFoundException;
 import com.provectus.kafka.ui.exception.TopicNotFoundException;
+import com.provectus.kafka.ui.exception.ValidationException;
 import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.CreateTopicMessageDTO;
 import com.provectus.kafka.ui.model.KafkaCluster;
@@ -12,9 +16,14 @@ import com.provectus.kafka.ui.model.TopicMessageEventDTO;
 import com.provectus.kafka.ui.producer.KafkaTestProducer;
 import com.provectus.kafka.ui.serdes.builtin.StringSerde;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,7 +66,8 @@ class MessagesServiceTest extends AbstractIntegrationTest {
   @Test
   void loadMessagesReturnsExceptionWhenTopicNotFound() {
     StepVerifier.create(messagesService
-            .loadMessages(cluster, NON_EXISTING_TOPIC, null, null, null, 1, null, "String", "String"))
+            .loadMessages(cluster, NON_EXISTING_TOPIC, null, null, null, null, 1, null, "String", "String", false,
+                null))
         .expectError(TopicNotFoundException.class)
         .verify();
   }
@@ -76,10 +86,13 @@ class MessagesServiceTest extends AbstractIntegrationTest {
               new ConsumerPosition(SeekTypeDTO.BEGINNING, testTopic, null),
               null,
               null,
+              null,
               100,
               SeekDirectionDTO.FORWARD,
               StringSerde.name(),
-              StringSerde.name()
+              StringSerde.name(),
+              false,
+              null
           ).filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
           .map(TopicMessageEventDTO::getMessage);
 
@@ -107,10 +120,13 @@ class MessagesServiceTest extends AbstractIntegrationTest {
               new ConsumerPosition(SeekTypeDTO.BEGINNING, testTopic, null),
               null,
               null,
+              null,
               100,
               SeekDirectionDTO.FORWARD,
               StringSerde.name(),
-              StringSerde.name()
+              StringSerde.name(),
+              false,
+              null
           ).filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
           .map(TopicMessageEventDTO::getMessage);
 
@@ -124,6 +140,78 @@ class MessagesServiceTest extends AbstractIntegrationTest {
     }
   }
 
+  @Test
+  void loadMessageReturnsFullyDeserializedMessage() throws Exception {
+    String testTopic = TOPICS_PREFIX + UUID.randomUUID();
+    try (var producer = KafkaTestProducer.forKafka(kafka)) {
+      createTopic(new NewTopic(testTopic, 2, (short) 1));
+      String value = "v".repeat(1000);
+      RecordMetadata sent = producer.send(new ProducerRecord<>(testTopic, 1, "key", value)).get();
+
+      StepVerifier.create(messagesService.loadMessage(
+              cluster, testTopic, 1, sent.offset(), StringSerde.name(), StringSerde.name()))
+          .expectNextMatches(msg -> msg.getContent().equals(value)
+              && msg.getKey().equals("key")
+              && msg.getPartition() == 1
+              && msg.getOffset() == sent.offset())
+          .verifyComplete();
+
+      StepVerifier.create(messagesService.loadMessage(
+              cluster, testTopic, 0, sent.offset(), StringSerde.name(), StringSerde.name()))
+          .expectError(NotFoundException.class)
+          .verify();
+
+      StepVerifier.create(messagesService.loadMessage(
+              cluster, testTopic, 2, 0, StringSerde.name(), StringSerde.name()))
+          .expectError(ValidationException.class)
+          .verify();
+    } finally {
+      deleteTopic(testTopic);
+    }
+  }
+
+  @Test
+  void previewTruncatorTruncatesKeyAndContentAndDropsHeaders() {
+    var truncator = MessagesService.getPreviewTruncator(5);
+    var evt = truncator.apply(new TopicMessageEventDTO()
+        .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .message(new TopicMessageDTO()
+            .key("12345")
+            .content("{\"field\":\"value\"}")
+            .headers(Map.of("h", "v"))));
+    var msg = evt.getMessage();
+    assertThat(msg.getKey()).isEqualTo("12345");
+    assertThat(msg.getKeyTruncated()).isNull();
+    assertThat(msg.getContent()).isEqualTo("{\"fie");
+    assertThat(msg.getContentTruncated()).isTrue();
+    assertThat(msg.getHeaders()).isNull();
+
+    var phase = new TopicMessageEventDTO().type(TopicMessageEventDTO.TypeEnum.PHASE);
+    assertThat(truncator.apply(phase)).isSameAs(phase);
+    assertThat(MessagesService.getPreviewTruncator(null)).isSameAs(UnaryOperator.identity());
+  }
+
+  @Test
+  void sendMessagesBatchReturnsResultsInSendingOrder() {
+    String testTopic = TOPICS_PREFIX + UUID.randomUUID();
+    createTopic(new NewTopic(testTopic, 1, (short) 1));
+    try {
+      var msgs = Flux.range(0, 100)
+          .map(i -> new CreateTopicMessageDTO()
+              .partition(0)
+              .key("key" + i)
+              .keySerde(StringSerde.name())
+              .content("value" + i)
+              .valueSerde(StringSerde.name()));
+
+      StepVerifier.create(messagesService.sendMessages(cluster, testTopic, msgs).map(RecordMetadata::offset))
+          .expectNextSequence(LongStream.range(0, 100).boxed().toList())
+          .verifyComplete();
+    } finally {
+      deleteTopic(testTopic);
+    }
+  }
+
   @Test
   void sendAndLoad200Messages() throws Exception {
     String testTopic = TOPICS_PREFIX + UUID.randomUUID();
@@ -140,10 +228,13 @@ class MessagesServiceTest extends AbstractIntegrationTest {
               new ConsumerPosition(SeekTypeDTO.BEGINNING, testTopic, null),
               null,
               null,
+              null,
               200,
               SeekDirectionDTO.FORWARD,
               StringSerde.name(),
-              StringSerde.name()
+              StringSerde.name(),
+              false,
+              null
           ).filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
           .map(TopicMessageEventDTO::getMessage);
 
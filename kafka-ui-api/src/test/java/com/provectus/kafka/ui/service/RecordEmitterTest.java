@@ -10,6 +10,7 @@ import com.provectus.kafka.ui.AbstractIntegrationTest;
 import com.provectus.kafka.ui.emitter.BackwardRecordEmitter;
 import com.provectus.kafka.ui.emitter.ForwardRecordEmitter;
 import com.provectus.kafka.ui.emitter.PollingSettings;
+import com.provectus.kafka.ui.emitter.TimestampOrderedForwardEmitter;
 import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
 import com.provectus.kafka.ui.producer.KafkaTestProducer;
@@ -19,6 +20,7 @@ import com.provectus.kafka.ui.serdes.PropertyResolverImpl;
 import com.provectus.kafka.ui.serdes.builtin.StringSerde;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -242,6 +244,31 @@ class RecordEmitterTest extends AbstractIntegrationTest {
     expectEmitter(backwardEmitter, expectedValues);
   }
 
+  @Test
+  void timestampOrderedForwardEmitterMergesPartitionsByTimestamp() {
+    var emitter = new TimestampOrderedForwardEmitter(
+        this::createConsumer,
+        new ConsumerPosition(BEGINNING, TOPIC, null),
+        PARTITIONS * MSGS_PER_PARTITION,
+        RECORD_DESERIALIZER,
+        PollingSettings.createDefault()
+    );
+
+    var expectedValues = SENT_RECORDS.stream()
+        .sorted(Comparator.comparingLong(Record::getTimestamp)
+            .thenComparing(r -> r.getTp().partition())
+            .thenComparingLong(Record::getOffset))
+        .map(Record::getValue)
+        .collect(Collectors.toList());
+
+    expectEmitter(emitter,
+        expectedValues.size(),
+        e -> e.expectNextSequence(expectedValues),
+        v -> {
+        }
+    );
+  }
+
   @Test
   void backwardEmitterSeekToEnd() {
     final int numMessages = 100;
@@ -291,6 +318,101 @@ class RecordEmitterTest extends AbstractIntegrationTest {
     );
   }
 
+  @Test
+  void backwardEmitterReadsAllPartitionsInOffsetDescendingOrder() {
+    Map<TopicPartition, Long> targetOffsets = new HashMap<>();
+    for (int i = 0; i < PARTITIONS; i++) {
+      targetOffsets.put(new TopicPartition(TOPIC, i), (long) MSGS_PER_PARTITION);
+    }
+    // 6 messages per partition on each iteration, so whole topic is read in many iterations
+    var backwardEmitter = new BackwardRecordEmitter(
+        this::createConsumer,
+        new ConsumerPosition(OFFSET, TOPIC, targetOffsets),
+        30,
+        RECORD_DESERIALIZER,
+        PollingSettings.createDefault()
+    );
+
+    var values = collectValues(backwardEmitter);
+
+    assertThat(values).containsExactlyInAnyOrderElementsOf(
+        SENT_RECORDS.stream().map(Record::getValue).collect(Collectors.toList()));
+    assertOffsetDescendingWithinPartitions(values);
+  }
+
+  @Test
+  void backwardEmitterHandlesPartitionsReachingBeginAtDifferentIterations() {
+    Map<TopicPartition, Long> targetOffsets = new HashMap<>();
+    for (int i = 0; i < PARTITIONS; i++) {
+      // partition 0 has nothing to read, partition 4 - 80 records
+      targetOffsets.put(new TopicPartition(TOPIC, i), i * 20L);
+    }
+    var backwardEmitter = new BackwardRecordEmitter(
+        this::createConsumer,
+        new ConsumerPosition(OFFSET, TOPIC, targetOffsets),
+        50,
+        RECORD_DESERIALIZER,
+        PollingSettings.createDefault()
+    );
+
+    var values = collectValues(backwardEmitter);
+
+    assertThat(values).containsExactlyInAnyOrderElementsOf(
+        SENT_RECORDS.stream()
+            .filter(r -> r.getOffset() < targetOffsets.get(r.getTp()))
+            .map(Record::getValue)
+            .collect(Collectors.toList()));
+    assertOffsetDescendingWithinPartitions(values);
+  }
+
+  @Test
+  void backwardEmitterHandlesOffsetsBoundaries() {
+    var tp0 = new TopicPartition(TOPIC, 0);
+    var tp1 = new TopicPartition(TOPIC, 1);
+    var tp2 = new TopicPartition(TOPIC, 2);
+    // only specified partitions are read, offset beyond end offset is read from end,
+    // messages per page is not divisible by partitions count
+    var backwardEmitter = new BackwardRecordEmitter(
+        this::createConsumer,
+        new ConsumerPosition(OFFSET, TOPIC, Map.of(tp0, 1L, tp1, (long) MSGS_PER_PARTITION, tp2, 10_000L)),
+        7,
+        RECORD_DESERIALIZER,
+        PollingSettings.createDefault()
+    );
+
+    var values = collectValues(backwardEmitter);
+
+    assertThat(values).hasSize(1 + 2 * MSGS_PER_PARTITION);
+    assertThat(values).containsExactlyInAnyOrderElementsOf(
+        SENT_RECORDS.stream()
+            .filter(r -> r.getTp().equals(tp1) || r.getTp().equals(tp2)
+                || (r.getTp().equals(tp0) && r.getOffset() == 0))
+            .map(Record::getValue)
+            .collect(Collectors.toList()));
+    assertOffsetDescendingWithinPartitions(values);
+  }
+
+  private List<String> collectValues(Consumer<FluxSink<TopicMessageEventDTO>> emitter) {
+    return Flux.create(emitter)
+        .filter(m -> m.getType().equals(TopicMessageEventDTO.TypeEnum.MESSAGE))
+        .map(m -> m.getMessage().getContent())
+        .collectList()
+        .block();
+  }
+
+  // values are in "msg_<partition>_<index>" format, index grows with offset
+  private static void assertOffsetDescendingWithinPartitions(List<String> values) {
+    Map<String, Integer> lastIndexes = new HashMap<>();
+    for (String value : values) {
+      String[] parts = value.split("_");
+      int index = Integer.parseInt(parts[2]);
+      Integer prevIndex = lastIndexes.put(parts[1], index);
+      assertThat(prevIndex == null || prevIndex > index)
+          .as("%s emitted after index %s of same partition", value, prevIndex)
+          .isTrue();
+    }
+  }
+
   private void expectEmitter(Consumer<FluxSink<TopicMessageEventDTO>> emitter, List<String> expectedValues) {
     expectEmitter(emitter,
         expectedValues.size(),
@@ -507,10 +507,13 @@ public class SendAndReadTests extends AbstractIntegrationTest {
                 ),
                 null,
                 null,
+                null,
                 1,
                 SeekDirectionDTO.FORWARD,
                 msgToSend.getKeySerde().get(),
-                msgToSend.getValueSerde().get()
+                msgToSend.getValueSerde().get(),
+                false,
+                null
             ).filter(e -> e.getType().equals(TopicMessageEventDTO.TypeEnum.MESSAGE))
             .map(TopicMessageEventDTO::getMessage)
             .blockLast(Duration.ofSeconds(5000));
@@ -0,0 +1,84 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class SingleFlightTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger executions = new AtomicInteger();
+
+  @Test
+  void concurrentIdenticalCallsAreExecutedOnce() {
+    var singleFlight = new SingleFlight(Duration.ZERO, meterRegistry, "test");
+    Sinks.One<String> result = Sinks.one();
+
+    var call1 = singleFlight.execute("op", List.of(1), () -> countingCall(result.asMono()));
+    var call2 = singleFlight.execute("op", List.of(1), () -> countingCall(result.asMono()));
+    var otherArgsCall = singleFlight.execute("op", List.of(2), () -> countingCall(Mono.just("other")));
+
+    StepVerifier.create(Mono.zip(call1, call2, otherArgsCall))
+        .then(() -> result.tryEmitValue("result"))
+        .assertNext(t -> {
+          assertThat(t.getT1()).isEqualTo("result");
+          assertThat(t.getT2()).isEqualTo("result");
+          assertThat(t.getT3()).isEqualTo("other");
+        })
+        .verifyComplete();
+
+    assertThat(executions).hasValue(2);
+    assertThat(counter("executed")).isEqualTo(2);
+    assertThat(counter("coalesced")).isEqualTo(1);
+
+    // call is completed and no ttl set - next call should be executed
+    StepVerifier.create(singleFlight.execute("op", List.of(1), () -> countingCall(Mono.just("next"))))
+        .expectNext("next")
+        .verifyComplete();
+    assertThat(executions).hasValue(3);
+  }
+
+  @Test
+  void successfulResultIsReusedWithinTtl() {
+    var singleFlight = new SingleFlight(Duration.ofMinutes(1), meterRegistry, "test");
+
+    StepVerifier.create(singleFlight.execute("op", List.of(), () -> countingCall(Mono.just("first"))))
+        .expectNext("first")
+        .verifyComplete();
+    StepVerifier.create(singleFlight.execute("op", List.of(), () -> countingCall(Mono.just("second"))))
+        .expectNext("first")
+        .verifyComplete();
+
+    assertThat(executions).hasValue(1);
+    assertThat(counter("coalesced")).isEqualTo(1);
+  }
+
+  @Test
+  void errorsAreNotReused() {
+    var singleFlight = new SingleFlight(Duration.ofMinutes(1), meterRegistry, "test");
+
+    StepVerifier.create(singleFlight.execute("op", List.of(), () -> countingCall(Mono.error(new RuntimeException()))))
+        .verifyError(RuntimeException.class);
+    StepVerifier.create(singleFlight.execute("op", List.of(), () -> countingCall(Mono.just("ok"))))
+        .expectNext("ok")
+        .verifyComplete();
+
+    assertThat(executions).hasValue(2);
+  }
+
+  private <T> Mono<T> countingCall(Mono<T> call) {
+    return call.doOnSubscribe(s -> executions.incrementAndGet());
+  }
+
+  private double counter(String result) {
+    return meterRegistry.counter("kafka.admin.single.flight", "cluster", "test", "operation", "op", "result", result)
+        .count();
+  }
+}
@@ -0,0 +1,86 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TopicsRefreshStateTest {
+
+  private static final Instant START = Instant.parse("2023-01-01T00:00:00Z");
+
+  private final TopicsRefreshState state = new TopicsRefreshState(Duration.ofMinutes(5));
+
+  @Test
+  void firstCycleDescribesAndLoadsConfigsForAllTopics() {
+    var topics = topics(10);
+    var plan = state.plan(Set.of(), topics, START);
+    assertThat(plan.getToDescribe()).isEqualTo(topics);
+    assertThat(plan.getConfigsToLoad()).isEqualTo(topics);
+    assertThat(plan.getDeleted()).isEmpty();
+  }
+
+  @Test
+  void newTopicsAreDescribedAndDeletedAreReported() {
+    var topics = topics(10);
+    state.plan(Set.of(), topics, START);
+
+    var listed = new HashSet<>(topics);
+    listed.remove("t0");
+    listed.add("new");
+    var plan = state.plan(topics, listed, START.plusMillis(1));
+
+    assertThat(plan.getToDescribe()).contains("new").doesNotContain("t0");
+    assertThat(plan.getConfigsToLoad()).containsExactly("new");
+    assertThat(plan.getDeleted()).containsExactly("t0");
+  }
+
+  @Test
+  void existingTopicsAreRedescribedInRollingSlicesDuringFullRefreshPeriod() {
+    var topics = topics(100);
+    state.plan(Set.of(), topics, START);
+
+    var described = new HashSet<String>();
+    for (int i = 1; i <= 10; i++) {
+      // each 30s cycle covers 1/10 of full refresh period
+      var plan = state.plan(topics, topics, START.plusSeconds(30L * i));
+      assertThat(plan.getToDescribe()).hasSize(10);
+      described.addAll(plan.getToDescribe());
+    }
+    assertThat(described).isEqualTo(topics);
+
+    // next round starts from the beginning
+    var plan = state.plan(topics, topics, START.plusSeconds(330));
+    assertThat(plan.getToDescribe()).contains("t00", "t01");
+  }
+
+  @Test
+  void configsAreLoadedOnlyForNewTopicsAfterFirstCycle() {
+    var topics = topics(10);
+    state.plan(Set.of(), topics, START);
+
+    assertThat(state.plan(topics, topics, START.plusSeconds(300)).getConfigsToLoad()).isEmpty();
+  }
+
+  @Test
+  void resetLeadsToFullRefresh() {
+    var topics = topics(10);
+    state.plan(Set.of(), topics, START);
+    state.reset();
+
+    var plan = state.plan(topics, topics, START.plusSeconds(1));
+    assertThat(plan.getToDescribe()).isEqualTo(topics);
+    assertThat(plan.getConfigsToLoad()).isEqualTo(topics);
+  }
+
+  private static Set<String> topics(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> String.format(count > 10 ? "t%02d" : "t%d", i))
+        .collect(Collectors.toSet());
+  }
+}
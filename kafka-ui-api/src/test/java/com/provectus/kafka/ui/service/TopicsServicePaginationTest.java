@@ -17,10 +17,12 @@ import com.provectus.kafka.ui.model.Metrics;
 import com.provectus.kafka.ui.model.SortOrderDTO;
 import com.provectus.kafka.ui.model.TopicColumnsToSortDTO;
 import com.provectus.kafka.ui.model.TopicDTO;
+import com.provectus.kafka.ui.model.TopicsSnapshot;
 import com.provectus.kafka.ui.service.analyze.TopicAnalysisService;
+import com.provectus.kafka.ui.service.index.TopicKeyIndexService;
+import com.provectus.kafka.ui.service.metrics.history.MetricsHistoryService;
 import com.provectus.kafka.ui.service.rbac.AccessControlService;
 import com.provectus.kafka.ui.util.AccessControlServiceMock;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -46,14 +48,20 @@ class TopicsServicePaginationTest {
   private final AccessControlService accessControlService = new AccessControlServiceMock().getMock();
 
   private final TopicsController topicsController = new TopicsController(
-      topicsService, mock(TopicAnalysisService.class), clusterMapper, accessControlService);
+      topicsService, mock(TopicAnalysisService.class), mock(TopicKeyIndexService.class), clusterMapper,
+      accessControlService, mock(MetricsHistoryService.class));
 
   private void init(Map<String, InternalTopic> topicsInCache) {
 
     when(clustersStorage.getClusterByName(isA(String.class)))
         .thenReturn(Optional.of(buildKafkaCluster(LOCAL_KAFKA_CLUSTER_NAME)));
+    var snapshot = new TopicsSnapshot.Builder(topicsInCache.size());
+    topicsInCache.values().forEach(t ->
+        snapshot.add(t.getName(), t.isInternal(), t.getPartitionCount(), t.getReplicationFactor(),
+            t.getReplicas(), t.getInSyncReplicas(), t.getUnderReplicatedPartitions(), t.getSegmentSize(),
+            0, 0));
     when(topicsService.getTopicsForPagination(isA(KafkaCluster.class)))
-        .thenReturn(Mono.just(new ArrayList<>(topicsInCache.values())));
+        .thenReturn(Mono.just(snapshot.build()));
     when(topicsService.loadTopics(isA(KafkaCluster.class), anyList()))
         .thenAnswer(a -> {
           List<String> lst = a.getArgument(1);
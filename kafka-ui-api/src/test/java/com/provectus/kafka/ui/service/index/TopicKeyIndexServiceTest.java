@@ -0,0 +1,62 @@
+package com.provectus.kafka.ui.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.provectus.kafka.ui.exception.ValidationException;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.service.ConsumerGroupService;
+import com.provectus.kafka.ui.service.TopicsService;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TopicKeyIndexServiceTest {
+
+  private static final KafkaCluster CLUSTER = KafkaCluster.builder().name("local").build();
+
+  @TempDir
+  Path dir;
+
+  @ParameterizedTest
+  @ValueSource(strings = {"..", ".", "../other", "a/b", "%2F..", ""})
+  void invalidTopicNamesAreRejected(String topic) throws Exception {
+    var outside = Files.createDirectories(dir.resolve("outside"));
+    var service = createService(dir.resolve("index"));
+
+    assertThatThrownBy(() -> service.stopIndexing(CLUSTER, topic, true)).isInstanceOf(ValidationException.class);
+    assertThatThrownBy(() -> service.getIndexState(CLUSTER, topic)).isInstanceOf(ValidationException.class);
+    assertThatThrownBy(() -> service.lookup(CLUSTER, topic, bytes("key"))).isInstanceOf(ValidationException.class);
+    assertThat(outside).exists();
+  }
+
+  @Test
+  void clusterNameCanNotPointOutsideOfBaseDir() {
+    var service = createService(dir.resolve("index"));
+    var cluster = KafkaCluster.builder().name("..").build();
+
+    assertThatThrownBy(() -> service.getIndexState(cluster, "topic")).isInstanceOf(ValidationException.class);
+    assertThat(dir.resolve("topic")).doesNotExist();
+  }
+
+  @Test
+  void notIndexedTopicHasNoState() {
+    var service = createService(dir);
+    assertThat(service.getIndexState(CLUSTER, "my.topic-1")).isEmpty();
+    assertThat(service.lookup(CLUSTER, "my.topic-1", bytes("key"))).isEmpty();
+  }
+
+  private static TopicKeyIndexService createService(Path baseDir) {
+    return new TopicKeyIndexService(
+        mock(ConsumerGroupService.class), mock(TopicsService.class), baseDir.toString(), 4);
+  }
+
+  private static byte[] bytes(String str) {
+    return str.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,129 @@
+package com.provectus.kafka.ui.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TopicKeyIndexTest {
+
+  // small segments to check segments rolling
+  private static final int SEGMENT_ENTRIES = 4;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void returnsOffsetsOfCommittedEntriesForKey() {
+    var index = new TopicKeyIndex(dir, SEGMENT_ENTRIES);
+    var p0 = index.partition(0);
+    for (int i = 0; i < 10; i++) {
+      p0.append(hash("key" + (i % 3)), i, 1000 + i);
+    }
+    p0.commit(10);
+    index.partition(1).append(hash("key1"), 5, 1000);
+    index.partition(1).commit(6);
+
+    var offsets = index.lookup(bytes("key1"));
+    assertThat(offsets).hasSize(2);
+    assertThat(offsets.get(0)).containsExactly(1L, 4L, 7L);
+    assertThat(offsets.get(1)).containsExactly(5L);
+    assertThat(index.lookup(bytes("unknown"))).isEmpty();
+  }
+
+  @Test
+  void notCommittedEntriesAreNotVisible() {
+    var p0 = new TopicKeyIndex(dir, SEGMENT_ENTRIES).partition(0);
+    p0.append(hash("key"), 0, 1000);
+    p0.commit(1);
+    p0.append(hash("key"), 1, 1000);
+
+    assertThat(p0.lookup(hash("key"))).containsExactly(0L);
+    assertThat(p0.getIndexedUntilOffset()).isEqualTo(1);
+  }
+
+  @Test
+  void committedStateRestoredOnReopen() {
+    var index = new TopicKeyIndex(dir, SEGMENT_ENTRIES);
+    var p0 = index.partition(0);
+    for (int i = 0; i < 6; i++) {
+      p0.append(hash("key"), i * 2, 1000);
+    }
+    p0.commit(11);
+    // not committed - should be ignored after reopen
+    p0.append(hash("key"), 12, 1000);
+
+    var reopened = new TopicKeyIndex(dir, SEGMENT_ENTRIES);
+    assertThat(reopened.indexedUntilOffsets()).containsEntry(0, 11L);
+    assertThat(reopened.committedEntries()).isEqualTo(6);
+    assertThat(reopened.lookup(bytes("key")).get(0)).containsExactly(0L, 2L, 4L, 6L, 8L, 10L);
+
+    // appending continues from last committed entry
+    var reopenedP0 = reopened.partition(0);
+    reopenedP0.append(hash("key"), 14, 1000);
+    reopenedP0.commit(15);
+    assertThat(reopenedP0.lookup(hash("key"))).containsExactly(0L, 2L, 4L, 6L, 8L, 10L, 14L);
+  }
+
+  @Test
+  void filledSegmentsAreSearchedInSortedCopies() {
+    var p0 = new TopicKeyIndex(dir, SEGMENT_ENTRIES).partition(0);
+    for (int i = 0; i < 11; i++) {
+      p0.append(hash("key" + (i % 5)), i, 1000);
+    }
+    p0.commit(11);
+    assertThat(dir.resolve("0").resolve("segment-000000.sorted")).exists();
+    assertThat(dir.resolve("0").resolve("segment-000001.sorted")).exists();
+    // last segment is not filled yet
+    assertThat(dir.resolve("0").resolve("segment-000002.sorted")).doesNotExist();
+
+    for (int k = 0; k < 5; k++) {
+      var expected = new TreeSet<Long>();
+      for (long i = k; i < 11; i += 5) {
+        expected.add(i);
+      }
+      assertThat(p0.lookup(hash("key" + k))).isEqualTo(expected);
+      assertThat(new TopicKeyIndex(dir, SEGMENT_ENTRIES).partition(0).lookup(hash("key" + k))).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void resetDropsSortedSegments() {
+    var p0 = new TopicKeyIndex(dir, SEGMENT_ENTRIES).partition(0);
+    for (int i = 0; i < SEGMENT_ENTRIES; i++) {
+      p0.append(hash("old"), i, 1000);
+    }
+    p0.commit(SEGMENT_ENTRIES);
+    p0.reset();
+    for (int i = 0; i < SEGMENT_ENTRIES; i++) {
+      p0.append(hash("new"), i, 1000);
+    }
+    p0.commit(SEGMENT_ENTRIES);
+
+    assertThat(p0.lookup(hash("old"))).isEmpty();
+    assertThat(p0.lookup(hash("new"))).hasSize(SEGMENT_ENTRIES);
+    assertThat(new TopicKeyIndex(dir, SEGMENT_ENTRIES).partition(0).lookup(hash("old"))).isEmpty();
+  }
+
+  @Test
+  void resetDropsAllEntries() {
+    var p0 = new TopicKeyIndex(dir, SEGMENT_ENTRIES).partition(0);
+    p0.append(hash("key"), 0, 1000);
+    p0.commit(1);
+    p0.reset();
+
+    assertThat(p0.lookup(hash("key"))).isEmpty();
+    assertThat(p0.getIndexedUntilOffset()).isZero();
+  }
+
+  private static byte[] bytes(String key) {
+    return key.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static long hash(String key) {
+    return TopicKeyIndex.keyHash(bytes(key));
+  }
+}
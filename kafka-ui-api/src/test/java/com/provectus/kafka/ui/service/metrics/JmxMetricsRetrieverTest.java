@@ -0,0 +1,173 @@
+package com.provectus.kafka.ui.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.MetricsConfig;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+import org.apache.kafka.common.Node;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JmxMetricsRetrieverTest {
+
+  public interface TestMetricMBean {
+    long getCount();
+
+    double getFifteenMinuteRate();
+
+    String getRateUnit();
+  }
+
+  public static class TestMetric implements TestMetricMBean {
+    @Override
+    public long getCount() {
+      return 10;
+    }
+
+    @Override
+    public double getFifteenMinuteRate() {
+      return 1.5;
+    }
+
+    @Override
+    public String getRateUnit() {
+      return "SECONDS";
+    }
+  }
+
+  private static final ObjectName BYTES_IN = objectName("kafka.server:type=BrokerTopicMetrics,name=BytesInPerSec");
+  private static final ObjectName REQUESTS = objectName("kafka.network:type=RequestMetrics,name=RequestsPerSec");
+
+  private final MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+  private int port;
+  private Registry registry;
+  private JMXConnectorServer connectorServer;
+  private JmxConnectionsPool pool;
+  private JmxMetricsRetriever retriever;
+
+  @BeforeEach
+  void startJmxServer() throws Exception {
+    mbeanServer.registerMBean(new TestMetric(), BYTES_IN);
+    mbeanServer.registerMBean(new TestMetric(), REQUESTS);
+    try (var socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    registry = LocateRegistry.createRegistry(port);
+    connectorServer = JMXConnectorServerFactory.newJMXConnectorServer(
+        new JMXServiceURL("service:jmx:rmi:///jndi/rmi://localhost:" + port + "/jmxrmi"), null, mbeanServer);
+    connectorServer.start();
+    pool = new JmxConnectionsPool(Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMillis(200));
+    retriever = new JmxMetricsRetriever(pool);
+  }
+
+  @AfterEach
+  void stopJmxServer() throws Exception {
+    retriever.close();
+    connectorServer.stop();
+    UnicastRemoteObject.unexportObject(registry, true);
+    mbeanServer.unregisterMBean(BYTES_IN);
+    mbeanServer.unregisterMBean(REQUESTS);
+  }
+
+  @Test
+  void connectionIsReusedBetweenRetrievals() {
+    var cluster = cluster(null);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(retrieve(cluster))
+          .extracting(RawMetric::name)
+          .containsExactlyInAnyOrder(
+              "kafka_server_BrokerTopicMetrics_Count",
+              "kafka_server_BrokerTopicMetrics_FifteenMinuteRate");
+    }
+    assertThat(connectorServer.getConnectionIds()).hasSize(1);
+  }
+
+  @Test
+  void onlyAllowedMBeansAreCollected() {
+    var cluster = cluster(List.of("kafka.network:type=RequestMetrics,*", "kafka.server:name=BytesInPerSec,*"));
+
+    assertThat(retrieve(cluster))
+        .extracting(RawMetric::name)
+        .containsExactlyInAnyOrder(
+            "kafka_network_RequestMetrics_Count",
+            "kafka_network_RequestMetrics_FifteenMinuteRate",
+            "kafka_server_BrokerTopicMetrics_Count",
+            "kafka_server_BrokerTopicMetrics_FifteenMinuteRate");
+  }
+
+  @Test
+  void brokenConnectionIsRecreated() throws Exception {
+    var cluster = cluster(null);
+    assertThat(retrieve(cluster)).isNotEmpty();
+
+    connectorServer.stop();
+    connectorServer = JMXConnectorServerFactory.newJMXConnectorServer(
+        new JMXServiceURL("service:jmx:rmi:///jndi/rmi://localhost:" + port + "/jmxrmi"), null, mbeanServer);
+    connectorServer.start();
+
+    assertThat(retrieve(cluster)).isNotEmpty();
+  }
+
+  @Test
+  void callIsSkippedWhenEndpointIsBusy() throws Exception {
+    var cluster = cluster(null);
+    var callStarted = new CountDownLatch(1);
+    var releaseCall = new CountDownLatch(1);
+    final var hangingCall = CompletableFuture.supplyAsync(() -> pool.withConnection(
+        cluster.getName(),
+        jmxUrl(),
+        () -> JMXConnectorFactory.connect(new JMXServiceURL(jmxUrl())),
+        connection -> {
+          callStarted.countDown();
+          return releaseCall.await(10, TimeUnit.SECONDS);
+        }));
+    assertThat(callStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(retrieve(cluster)).isEmpty();
+
+    releaseCall.countDown();
+    assertThat(hangingCall.get(10, TimeUnit.SECONDS)).contains(true);
+    assertThat(retrieve(cluster)).isNotEmpty();
+  }
+
+  private String jmxUrl() {
+    return "service:jmx:rmi:///jndi/rmi://localhost:" + port + "/jmxrmi";
+  }
+
+  private List<RawMetric> retrieve(KafkaCluster cluster) {
+    return retriever.retrieve(cluster, new Node(1, "localhost", 9092)).collectList().block();
+  }
+
+  private KafkaCluster cluster(List<String> objectNames) {
+    return KafkaCluster.builder()
+        .name("test")
+        .metricsConfig(MetricsConfig.builder().port(port).jmxObjectNames(objectNames).build())
+        .build();
+  }
+
+  private static ObjectName objectName(String name) {
+    try {
+      return new ObjectName(name);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
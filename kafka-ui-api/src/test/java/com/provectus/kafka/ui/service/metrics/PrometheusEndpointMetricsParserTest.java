@@ -2,9 +2,13 @@ package com.provectus.kafka.ui.service.metrics;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class PrometheusEndpointMetricsParserTest {
 
@@ -27,4 +31,54 @@ class PrometheusEndpointMetricsParserTest {
     });
   }
 
-}
\ No newline at end of file
+  @Test
+  void parsesEscapedLabelValuesExponentsAndTimestamps() {
+    String metricsString =
+        "http_requests_total { path=\"/a,b=\\\"c\\\"\", \tdescr=\"line1\\nline2\\\\\" } 1.5e3 1395066363000";
+
+    assertThat(PrometheusEndpointMetricsParser.parse(metricsString)).hasValueSatisfying(metric -> {
+      assertThat(metric.name()).isEqualTo("http_requests_total");
+      assertThat(metric.value()).isEqualByComparingTo(new BigDecimal(1500));
+      assertThat(metric.labels()).isEqualTo(
+          Map.of(
+              "path", "/a,b=\"c\"",
+              "descr", "line1\nline2\\"
+          ));
+    });
+
+    assertThat(PrometheusEndpointMetricsParser.parse("process_start_time_seconds -1.2E-2"))
+        .hasValueSatisfying(metric -> {
+          assertThat(metric.labels()).isEmpty();
+          assertThat(metric.value()).isEqualByComparingTo("-0.012");
+        });
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "",
+      "# HELP metric help",
+      "# EOF",
+      "metric NaN",
+      "metric{le=\"+Inf\"} +Inf",
+      "metric -Inf 123",
+      "metric{label=\"unterminated} 1",
+      "metric{label=unquoted} 1",
+      "metric{label=\"a\" label2=\"b\"} 1",
+      "metric",
+      "metric abc",
+      "1metric 1"
+  })
+  void skipsCommentsNonFiniteValuesAndMalformedLines(String line) {
+    assertThat(PrometheusEndpointMetricsParser.parse(line)).isEmpty();
+  }
+
+  @Test
+  void skipsMetricsNotMatchingNamePrefixes() {
+    var parser = new PrometheusEndpointMetricsParser(List.of("kafka_server_", "kafka_network_"));
+
+    assertThat(parser.parseLine("kafka_server_BrokerTopicMetrics_Count{topic=\"t\"} 1")).isPresent();
+    assertThat(parser.parseLine("kafka_network_RequestMetrics_Count 1")).isPresent();
+    assertThat(parser.parseLine("jvm_memory_bytes_used{area=\"heap\"} 1")).isEmpty();
+  }
+
+}
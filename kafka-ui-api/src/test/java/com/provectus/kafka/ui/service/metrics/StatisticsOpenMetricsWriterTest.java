@@ -0,0 +1,121 @@
+package com.provectus.kafka.ui.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableTable;
+import com.provectus.kafka.ui.model.ConsumerGroupsSnapshot;
+import com.provectus.kafka.ui.model.ServerStatusDTO;
+import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.TopicsSnapshot;
+import com.provectus.kafka.ui.service.ReactiveAdminClient;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.Test;
+
+class StatisticsOpenMetricsWriterTest {
+
+  private static final Node BROKER_1 = new Node(1, "host1", 9092);
+  private static final Node BROKER_2 = new Node(2, "host2", 9092);
+
+  private final Statistics stats = Statistics.empty().toBuilder()
+      .status(ServerStatusDTO.ONLINE)
+      .clusterDescription(
+          new ReactiveAdminClient.ClusterDescription(BROKER_1, "id", List.of(BROKER_1, BROKER_2), Set.of()))
+      .topicDescriptions(Map.of(
+          "orders", topic("orders", partition(0, true), partition(1, false)),
+          "payments", topic("payments", partition(0, true))
+      ))
+      .consumerGroups(new ConsumerGroupsSnapshot(
+          Map.of(
+              "billing", group("billing"),
+              "audit\"1", group("audit\"1")
+          ),
+          ImmutableTable.<String, TopicPartition, Long>builder()
+              .put("billing", new TopicPartition("orders", 0), 10L)
+              .put("billing", new TopicPartition("orders", 1), 15L)
+              .put("billing", new TopicPartition("payments", 0), 7L)
+              .put("audit\"1", new TopicPartition("orders", 0), 100L)
+              .build(),
+          Map.of(
+              new TopicPartition("orders", 0), 100L,
+              new TopicPartition("orders", 1), 20L,
+              new TopicPartition("payments", 0), 7L
+          )
+      ))
+      .build();
+
+  @Test
+  void writesCachedStatistics() {
+    var out = render(new StatisticsOpenMetricsWriter(1000, null, null));
+
+    assertThat(out)
+        .contains("# TYPE kafka_ui_cluster_online gauge\n")
+        .contains("kafka_ui_cluster_online{cluster=\"local\"} 1\n")
+        .contains("kafka_ui_cluster_brokers{cluster=\"local\"} 2\n")
+        .contains("kafka_ui_topic_partitions{cluster=\"local\",topic=\"orders\"} 2\n")
+        .contains("kafka_ui_topic_partitions{cluster=\"local\",topic=\"payments\"} 1\n")
+        .contains("kafka_ui_topic_under_replicated_partitions{cluster=\"local\",topic=\"orders\"} 1\n")
+        .contains("kafka_ui_topic_under_replicated_partitions{cluster=\"local\",topic=\"payments\"} 0\n")
+        .contains("kafka_ui_consumer_group_members{cluster=\"local\",group=\"billing\"} 0\n")
+        .contains("kafka_ui_consumer_group_lag{cluster=\"local\",group=\"billing\",topic=\"orders\"} 95\n")
+        .contains("kafka_ui_consumer_group_lag{cluster=\"local\",group=\"billing\",topic=\"payments\"} 0\n")
+        .contains("kafka_ui_consumer_group_lag{cluster=\"local\",group=\"audit\\\"1\",topic=\"orders\"} 0\n")
+        .contains("kafka_ui_exporter_dropped_series 0\n")
+        .endsWith("# EOF\n");
+  }
+
+  @Test
+  void appliesFiltersAndSeriesLimit() {
+    var filtered = render(new StatisticsOpenMetricsWriter(1000, Pattern.compile("pay.*"), Pattern.compile("bill.*")));
+    assertThat(filtered)
+        .contains("kafka_ui_topic_partitions{cluster=\"local\",topic=\"payments\"} 1\n")
+        .doesNotContain("topic=\"orders\"")
+        .doesNotContain("audit");
+
+    var limited = render(new StatisticsOpenMetricsWriter(3, null, null));
+    assertThat(limited.lines().filter(l -> !l.startsWith("#") && !l.startsWith("kafka_ui_exporter"))).hasSize(3);
+    assertThat(limited).contains("kafka_ui_exporter_dropped_series 10\n");
+  }
+
+  @Test
+  void appliesAccessPredicates() {
+    var out = new StringBuilder();
+    new StatisticsOpenMetricsWriter(1000, null, null).write(out, List.of(
+        new StatisticsOpenMetricsWriter.ClusterState(
+            "local", stats, TopicsSnapshot.create(stats, null), t -> t.equals("payments"), g -> g.equals("billing"))));
+
+    assertThat(out.toString())
+        .contains("kafka_ui_topic_partitions{cluster=\"local\",topic=\"payments\"} 1\n")
+        .contains("kafka_ui_consumer_group_lag{cluster=\"local\",group=\"billing\",topic=\"payments\"} 0\n")
+        .doesNotContain("topic=\"orders\"")
+        .doesNotContain("audit");
+  }
+
+  private String render(StatisticsOpenMetricsWriter writer) {
+    var out = new StringBuilder();
+    writer.write(out, List.of(
+        new StatisticsOpenMetricsWriter.ClusterState("local", stats, TopicsSnapshot.create(stats, null))));
+    return out.toString();
+  }
+
+  private static TopicDescription topic(String name, TopicPartitionInfo... partitions) {
+    return new TopicDescription(name, false, List.of(partitions));
+  }
+
+  private static TopicPartitionInfo partition(int idx, boolean inSync) {
+    return new TopicPartitionInfo(
+        idx, BROKER_1, List.of(BROKER_1, BROKER_2), inSync ? List.of(BROKER_1, BROKER_2) : List.of(BROKER_1));
+  }
+
+  private static ConsumerGroupDescription group(String id) {
+    return new ConsumerGroupDescription(id, false, List.of(), "range", ConsumerGroupState.EMPTY, BROKER_1);
+  }
+}
@@ -0,0 +1,111 @@
+package com.provectus.kafka.ui.service.metrics.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.service.metrics.history.ClusterMetricsHistory.SeriesKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ClusterMetricsHistoryTest {
+
+  private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+  private static final long HOUR = Duration.ofHours(1).toMillis();
+
+  private static final SeriesKey KEY = new SeriesKey("broker", "1", "BYTES_IN_PER_SEC");
+
+  private final ClusterMetricsHistory history = new ClusterMetricsHistory(MetricsHistoryService.TIERS, 10);
+
+  @Test
+  void returnsRawPointsForRecentRangeAndAveragesForOlderRange() {
+    long start = 100 * HOUR;
+    // 2 points per minute during 3 hours
+    for (long ts = start; ts < start + 3 * HOUR; ts += 30_000) {
+      history.record(KEY, ts, ts % MINUTE == 0 ? 10 : 20);
+    }
+    long now = start + 3 * HOUR;
+    history.evict(now);
+
+    var recent = history.query(KEY, now - 10 * MINUTE, now, now).orElseThrow();
+    assertThat(recent.resolution()).isEqualTo(Duration.ZERO);
+    assertThat(recent.points()).hasSize(20);
+
+    var old = history.query(KEY, start, start + 10 * MINUTE - 1, now).orElseThrow();
+    assertThat(old.resolution()).isEqualTo(Duration.ofMinutes(1));
+    assertThat(old.points())
+        .hasSize(10)
+        .allMatch(p -> p.value() == 15.0)
+        .allMatch(p -> p.timestamp() % MINUTE == 0);
+  }
+
+  @Test
+  void evictsPointsOutOfRetentionAndEmptySeries() {
+    history.record(KEY, 0, 1);
+    history.record(KEY, MINUTE, 1);
+    history.record(KEY, 2 * MINUTE, 1);
+
+    history.evict(2 * HOUR);
+    assertThat(history.query(KEY, 0, 2 * HOUR, 2 * HOUR).orElseThrow().points())
+        .extracting(TimeSeries.Point::timestamp)
+        .containsExactly(0L, MINUTE);
+
+    history.evict(Duration.ofDays(30).toMillis());
+    assertThat(history.seriesCount()).isZero();
+    assertThat(history.query(KEY, 0, 2 * HOUR, 2 * HOUR)).isEmpty();
+  }
+
+  @Test
+  void limitsSeriesCount() {
+    var limited = new ClusterMetricsHistory(MetricsHistoryService.TIERS, 2);
+    for (int i = 0; i < 5; i++) {
+      limited.record(new SeriesKey("topic", "t" + i, "BYTES_IN_PER_SEC"), 1000, 1);
+    }
+    assertThat(limited.seriesCount()).isEqualTo(2);
+    assertThat(limited.query(new SeriesKey("topic", "t4", "BYTES_IN_PER_SEC"), 0, 2000, 2000)).isEmpty();
+  }
+
+  @Test
+  void seriesLimitIsNotExceededByConcurrentRecords() {
+    var limited = new ClusterMetricsHistory(MetricsHistoryService.TIERS, 100);
+    IntStream.range(0, 1000).parallel()
+        .forEach(i -> limited.record(new SeriesKey("topic", "t" + i, "BYTES_IN_PER_SEC"), 1000, 1));
+    assertThat(limited.seriesCount()).isEqualTo(100);
+
+    // evicted series free their slots
+    limited.evict(Duration.ofDays(30).toMillis());
+    assertThat(limited.seriesCount()).isZero();
+
+    limited.setMaxSeries(150);
+    for (int i = 0; i < 200; i++) {
+      limited.record(new SeriesKey("topic", "t" + i, "BYTES_IN_PER_SEC"), Duration.ofDays(30).toMillis(), 1);
+    }
+    assertThat(limited.seriesCount()).isEqualTo(150);
+  }
+
+  @Test
+  void restoresWrittenHistory() throws Exception {
+    var otherKey = new SeriesKey("topic", "test", "BYTES_OUT_PER_SEC");
+    for (int i = 0; i < 300; i++) {
+      history.record(KEY, i * 1000L, i);
+      history.record(otherKey, i * 1000L, -i);
+    }
+    var bytes = new ByteArrayOutputStream();
+    history.writeTo(new DataOutputStream(bytes));
+
+    var restored = ClusterMetricsHistory.readFrom(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), MetricsHistoryService.TIERS, 10);
+
+    for (SeriesKey key : List.of(KEY, otherKey)) {
+      assertThat(restored.query(key, 0, 300_000, 300_000).orElseThrow())
+          .isEqualTo(history.query(key, 0, 300_000, 300_000).orElseThrow());
+    }
+    // restored series can be appended
+    restored.record(KEY, 300_000, 300);
+    assertThat(restored.query(KEY, 0, 300_000, 300_000).orElseThrow().points()).hasSize(301);
+  }
+}
@@ -0,0 +1,87 @@
+package com.provectus.kafka.ui.service.metrics.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class GorillaChunkTest {
+
+  @Test
+  void decodesRegularlyScrapedPoints() {
+    var chunk = new GorillaChunk(120);
+    List<TimeSeries.Point> expected = new ArrayList<>();
+    long ts = 1_600_000_000_000L;
+    for (int i = 0; i < 120; i++) {
+      ts += 30_000;
+      double value = 1000 + (i % 7);
+      chunk.append(ts, value);
+      expected.add(new TimeSeries.Point(ts, value));
+    }
+    assertThat(chunk.isFull()).isTrue();
+    assertThat(points(chunk)).isEqualTo(expected);
+    assertThat(chunk.getFirstTimestamp()).isEqualTo(expected.get(0).timestamp());
+    assertThat(chunk.getLastTimestamp()).isEqualTo(ts);
+  }
+
+  @Test
+  void decodesIrregularTimestampsAndArbitraryValues() {
+    var random = new Random(42);
+    var chunk = new GorillaChunk(1000);
+    List<TimeSeries.Point> expected = new ArrayList<>();
+    double[] specialValues = {
+        0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE, -1.5};
+    long ts = 0;
+    for (int i = 0; i < 1000; i++) {
+      ts += switch (i % 4) {
+        case 0 -> 1;
+        case 1 -> 1 + random.nextInt(10_000);
+        case 2 -> 1 + random.nextInt(Integer.MAX_VALUE);
+        default -> 1 + (random.nextLong() >>> 24);
+      };
+      double value = i % 3 == 0 ? specialValues[random.nextInt(specialValues.length)] : random.nextDouble() * 1e6;
+      chunk.append(ts, value);
+      expected.add(new TimeSeries.Point(ts, value));
+    }
+    assertThat(points(chunk)).isEqualTo(expected);
+  }
+
+  @Test
+  void restoresWrittenChunk() throws Exception {
+    var chunk = new GorillaChunk(10);
+    for (int i = 1; i <= 5; i++) {
+      chunk.append(i * 1000L, i * 0.5);
+    }
+    var bytes = new ByteArrayOutputStream();
+    chunk.writeTo(new DataOutputStream(bytes));
+
+    var restored = GorillaChunk.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertThat(points(restored)).isEqualTo(points(chunk));
+    assertThat(restored.isFull()).isTrue();
+    assertThat(restored.getFirstTimestamp()).isEqualTo(1000L);
+    assertThat(restored.getLastTimestamp()).isEqualTo(5000L);
+  }
+
+  @Test
+  void rejectsNonIncreasingTimestampsAndAppendsToFullChunk() {
+    var chunk = new GorillaChunk(2);
+    chunk.append(10, 1);
+    assertThatThrownBy(() -> chunk.append(10, 2)).isInstanceOf(IllegalArgumentException.class);
+    chunk.append(11, 2);
+    assertThatThrownBy(() -> chunk.append(12, 3)).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static List<TimeSeries.Point> points(GorillaChunk chunk) {
+    List<TimeSeries.Point> points = new ArrayList<>();
+    chunk.forEach((ts, value) -> points.add(new TimeSeries.Point(ts, value)));
+    return points;
+  }
+}
@@ -0,0 +1,259 @@
+package com.provectus.kafka.ui.benchmarks;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Synthetic data for benchmarks. Generator is seeded, so same data is generated on each run
+ * and results of different runs (builds) are comparable.
+ */
+public class RecordsGenerator {
+
+  public static final String TOPIC = "benchmark-topic";
+
+  private static final String[] WORDS = {
+      "kafka", "topic", "broker", "consumer", "producer", "offset", "partition", "leader",
+      "replica", "segment", "schema", "юникод", "heartbeat", "status", "payload", "cluster"
+  };
+
+  private static final long START_TS = 1_672_531_200_000L; // 2023-01-01
+
+  private final Random random;
+
+  public RecordsGenerator(long seed) {
+    this.random = new Random(seed);
+  }
+
+  public RecordsGenerator() {
+    this(42);
+  }
+
+  public Random random() {
+    return random;
+  }
+
+  public String word() {
+    return WORDS[random.nextInt(WORDS.length)];
+  }
+
+  public String text(int words) {
+    var sb = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      sb.append(i > 0 ? " " : "").append(word());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Json object with given number of fields of different types, including nested object & array.
+   */
+  public String json(int fields) {
+    var sb = new StringBuilder("{");
+    for (int i = 0; i < fields; i++) {
+      sb.append(i > 0 ? "," : "").append("\"field").append(i).append("\":");
+      switch (i % 5) {
+        case 0:
+          sb.append('"').append(text(3)).append('"');
+          break;
+        case 1:
+          sb.append(random.nextInt(1_000_000));
+          break;
+        case 2:
+          sb.append(random.nextBoolean());
+          break;
+        case 3:
+          sb.append("{\"name\":\"").append(word()).append("\",\"value\":").append(random.nextDouble()).append('}');
+          break;
+        default:
+          sb.append('[').append(random.nextInt(100)).append(',').append(random.nextInt(100)).append(']');
+      }
+    }
+    return sb.append('}').toString();
+  }
+
+  public byte[] bytes(int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  public byte[] utf8(String str) {
+    return str.getBytes(StandardCharsets.UTF_8);
+  }
+
+  public byte[] uuidBytes() {
+    var uuid = new UUID(random.nextLong(), random.nextLong());
+    byte[] bytes = new byte[16];
+    for (int i = 0; i < 8; i++) {
+      bytes[i] = (byte) (uuid.getMostSignificantBits() >>> (8 * (7 - i)));
+      bytes[i + 8] = (byte) (uuid.getLeastSignificantBits() >>> (8 * (7 - i)));
+    }
+    return bytes;
+  }
+
+  /**
+   * Records from single partition with consecutive offsets and timestamps (1 record per second).
+   */
+  public List<ConsumerRecord<Bytes, Bytes>> records(int count,
+                                                    Function<RecordsGenerator, byte[]> keys,
+                                                    Function<RecordsGenerator, byte[]> values) {
+    List<ConsumerRecord<Bytes, Bytes>> records = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      byte[] key = keys.apply(this);
+      byte[] value = values.apply(this);
+      var headers = new RecordHeaders();
+      headers.add(new RecordHeader("type", utf8(word())));
+      headers.add(new RecordHeader("traceId", utf8(Long.toHexString(random.nextLong()))));
+      records.add(
+          new ConsumerRecord<>(
+              TOPIC,
+              0,
+              i,
+              START_TS + i * 1000L,
+              TimestampType.CREATE_TIME,
+              key == null ? -1 : key.length,
+              value == null ? -1 : value.length,
+              key == null ? null : Bytes.wrap(key),
+              value == null ? null : Bytes.wrap(value),
+              headers,
+              Optional.empty()
+          )
+      );
+    }
+    return records;
+  }
+
+  /**
+   * Deserialized messages with json content, as they are passed to messages filters.
+   */
+  public List<TopicMessageDTO> messages(int count, int jsonFields) {
+    List<TopicMessageDTO> messages = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      messages.add(
+          new TopicMessageDTO()
+              .partition(random.nextInt(10))
+              .offset((long) i)
+              .timestamp(OffsetDateTime.ofInstant(Instant.ofEpochMilli(START_TS + i * 1000L), ZoneOffset.UTC))
+              .key("key-" + random.nextInt(1000))
+              .content(json(jsonFields))
+              .headers(Map.of("type", word()))
+      );
+    }
+    return messages;
+  }
+
+  /**
+   * Record schema with given number of fields of different primitive, optional and nested types.
+   */
+  public static Schema wideAvroSchema(int fields) {
+    var builder = SchemaBuilder.record("WideRecord").namespace("com.provectus.benchmarks").fields();
+    var nested = SchemaBuilder.record("Nested").fields()
+        .requiredString("name")
+        .requiredDouble("value")
+        .endRecord();
+    for (int i = 0; i < fields; i++) {
+      String name = "field" + i;
+      switch (i % 5) {
+        case 0:
+          builder = builder.requiredString(name);
+          break;
+        case 1:
+          builder = builder.requiredLong(name);
+          break;
+        case 2:
+          builder = builder.optionalString(name);
+          break;
+        case 3:
+          builder = builder.name(name).type(nested).noDefault();
+          break;
+        default:
+          builder = builder.name(name).type().array().items().intType().noDefault();
+      }
+    }
+    return builder.endRecord();
+  }
+
+  /**
+   * Avro binary encoding of record, prefixed with magic byte and schema id (SchemaRegistry wire format).
+   */
+  public static byte[] schemaRegistryAvroPayload(int schemaId, GenericRecord rec) {
+    try {
+      var out = new ByteArrayOutputStream();
+      out.write(0);
+      out.write(ByteBuffer.allocate(Integer.BYTES).putInt(schemaId).array());
+      var encoder = EncoderFactory.get().binaryEncoder(out, null);
+      new GenericDatumWriter<GenericRecord>(rec.getSchema()).write(rec, encoder);
+      encoder.flush();
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Avro object container file with single record (format used by AvroEmbedded serde).
+   */
+  public static byte[] avroContainerPayload(GenericRecord rec) {
+    try (var writer = new DataFileWriter<GenericRecord>(new GenericDatumWriter<>(rec.getSchema()))) {
+      var out = new ByteArrayOutputStream();
+      writer.create(rec.getSchema(), out);
+      writer.append(rec);
+      writer.flush();
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public GenericRecord avroRecord(Schema schema) {
+    var rec = new GenericData.Record(schema);
+    for (Schema.Field field : schema.getFields()) {
+      switch (field.pos() % 5) {
+        case 0:
+          rec.put(field.pos(), text(3));
+          break;
+        case 1:
+          rec.put(field.pos(), random.nextLong());
+          break;
+        case 2:
+          rec.put(field.pos(), random.nextBoolean() ? word() : null);
+          break;
+        case 3:
+          var nested = new GenericData.Record(field.schema());
+          nested.put("name", word());
+          nested.put("value", random.nextDouble());
+          rec.put(field.pos(), nested);
+          break;
+        default:
+          rec.put(field.pos(), List.of(random.nextInt(100), random.nextInt(100)));
+      }
+    }
+    return rec;
+  }
+}
@@ -0,0 +1,66 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.benchmarks.RecordsGenerator;
+import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Messages filtering with each filter type. Queries check the same condition (json field value
+ * and header), except STRING_CONTAINS that can only check substring. Score is time per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MessageFiltersBenchmark {
+
+  private static final int MESSAGES = 1024;
+
+  @Param({"STRING_CONTAINS", "GROOVY_SCRIPT", "EXPRESSION"})
+  MessageFilterTypeDTO filterType;
+
+  @Param({"10", "50"})
+  int jsonFields;
+
+  private List<TopicMessageDTO> messages;
+  private Predicate<TopicMessageDTO> filter;
+
+  @Setup
+  public void setup() {
+    messages = new RecordsGenerator().messages(MESSAGES, jsonFields);
+    // groovy and expression syntaxes are the same for this query
+    String query = filterType == MessageFilterTypeDTO.STRING_CONTAINS
+        ? "heartbeat"
+        : "value.field1 > 500000 && headers.type == 'kafka'";
+    filter = MessageFilters.createMsgFilter(query, filterType);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public int filter() {
+    int matched = 0;
+    for (var msg : messages) {
+      if (filter.test(msg)) {
+        matched++;
+      }
+    }
+    return matched;
+  }
+}
@@ -0,0 +1,65 @@
+package com.provectus.kafka.ui.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.protocol.Errors;
+import org.apache.kafka.common.requests.DescribeLogDirsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Aggregation of log dirs description (as returned by describeLogDirs for all brokers) into
+ * per-partition, per-topic and per-broker stats. Each partition has replicas on 3 brokers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InternalLogDirStatsBenchmark {
+
+  private static final int BROKERS = 6;
+  private static final int REPLICATION_FACTOR = 3;
+  private static final int PARTITIONS_PER_TOPIC = 12;
+
+  @Param({"100", "2000"})
+  int topics;
+
+  private Map<Integer, Map<String, DescribeLogDirsResponse.LogDirInfo>> logDirs;
+
+  @Setup
+  @SuppressWarnings("deprecation")
+  public void setup() {
+    Map<Integer, Map<TopicPartition, DescribeLogDirsResponse.ReplicaInfo>> brokersReplicas = new HashMap<>();
+    for (int t = 0; t < topics; t++) {
+      for (int p = 0; p < PARTITIONS_PER_TOPIC; p++) {
+        var tp = new TopicPartition("topic-" + t, p);
+        for (int r = 0; r < REPLICATION_FACTOR; r++) {
+          int broker = (t + p + r) % BROKERS;
+          brokersReplicas.computeIfAbsent(broker, b -> new HashMap<>())
+              .put(tp, new DescribeLogDirsResponse.ReplicaInfo((t * 31L + p) * 1024, 0, false));
+        }
+      }
+    }
+    logDirs = new HashMap<>();
+    brokersReplicas.forEach((broker, replicas) ->
+        logDirs.put(broker, Map.of("/data", new DescribeLogDirsResponse.LogDirInfo(Errors.NONE, replicas))));
+  }
+
+  @Benchmark
+  public InternalLogDirStats create() {
+    return new InternalLogDirStats(logDirs);
+  }
+}
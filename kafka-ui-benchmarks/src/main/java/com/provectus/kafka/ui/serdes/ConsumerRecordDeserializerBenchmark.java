@@ -0,0 +1,188 @@
+package com.provectus.kafka.ui.serdes;
+
+import com.provectus.kafka.ui.benchmarks.RecordsGenerator;
+import com.provectus.kafka.ui.serde.api.Serde;
+import com.provectus.kafka.ui.serdes.builtin.AvroEmbeddedSerde;
+import com.provectus.kafka.ui.serdes.builtin.Base64Serde;
+import com.provectus.kafka.ui.serdes.builtin.Int32Serde;
+import com.provectus.kafka.ui.serdes.builtin.Int64Serde;
+import com.provectus.kafka.ui.serdes.builtin.ProtobufFileSerde;
+import com.provectus.kafka.ui.serdes.builtin.StringSerde;
+import com.provectus.kafka.ui.serdes.builtin.UInt32Serde;
+import com.provectus.kafka.ui.serdes.builtin.UInt64Serde;
+import com.provectus.kafka.ui.serdes.builtin.UuidBinarySerde;
+import com.provectus.kafka.ui.serdes.builtin.sr.SchemaRegistrySerdes;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Deserialization of records' values with each built-in serde (keys are deserialized with String serde).
+ * Score is time per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConsumerRecordDeserializerBenchmark {
+
+  private static final int RECORDS = 1024;
+  private static final int AVRO_FIELDS = 20;
+
+  private static final String PROTO_FILE = "syntax = \"proto3\";\n"
+      + "package benchmarks;\n"
+      + "message BenchmarkMessage {\n"
+      + "  message Nested {\n"
+      + "    string name = 1;\n"
+      + "    double value = 2;\n"
+      + "  }\n"
+      + "  string name = 1;\n"
+      + "  int64 id = 2;\n"
+      + "  bool active = 3;\n"
+      + "  repeated string tags = 4;\n"
+      + "  Nested nested = 5;\n"
+      + "}\n";
+
+  @Param({
+      "String", "Int32", "Int64", "UInt32", "UInt64", "UUIDBinary", "Base64",
+      "AvroEmbedded", "ProtobufFile", "SchemaRegistry", "SchemaRegistryCached"
+  })
+  String serde;
+
+  private List<ConsumerRecord<Bytes, Bytes>> records;
+  private ConsumerRecordDeserializer deserializer;
+
+  @Setup
+  public void setup() throws Exception {
+    var generator = new RecordsGenerator();
+    Serde valueSerde;
+    Function<RecordsGenerator, byte[]> values;
+    switch (serde) {
+      case "String":
+        valueSerde = configured(new StringSerde());
+        values = g -> g.utf8(g.json(10));
+        break;
+      case "Int32":
+        valueSerde = configured(new Int32Serde());
+        values = g -> ByteBuffer.allocate(Integer.BYTES).putInt(g.random().nextInt()).array();
+        break;
+      case "Int64":
+        valueSerde = configured(new Int64Serde());
+        values = g -> ByteBuffer.allocate(Long.BYTES).putLong(g.random().nextLong()).array();
+        break;
+      case "UInt32":
+        valueSerde = configured(new UInt32Serde());
+        values = g -> ByteBuffer.allocate(Integer.BYTES).putInt(g.random().nextInt()).array();
+        break;
+      case "UInt64":
+        valueSerde = configured(new UInt64Serde());
+        values = g -> ByteBuffer.allocate(Long.BYTES).putLong(g.random().nextLong()).array();
+        break;
+      case "UUIDBinary":
+        valueSerde = configured(new UuidBinarySerde());
+        values = RecordsGenerator::uuidBytes;
+        break;
+      case "Base64":
+        valueSerde = configured(new Base64Serde());
+        values = g -> g.bytes(64);
+        break;
+      case "AvroEmbedded": {
+        valueSerde = configured(new AvroEmbeddedSerde());
+        var schema = RecordsGenerator.wideAvroSchema(AVRO_FIELDS);
+        values = g -> RecordsGenerator.avroContainerPayload(g.avroRecord(schema));
+        break;
+      }
+      case "ProtobufFile": {
+        valueSerde = protobufFileSerde();
+        var serializer = valueSerde.serializer(RecordsGenerator.TOPIC, Serde.Target.VALUE);
+        values = g -> serializer.serialize(
+            String.format(
+                "{\"name\":\"%s\",\"id\":%d,\"active\":%b,\"tags\":[\"%s\",\"%s\"],"
+                    + "\"nested\":{\"name\":\"%s\",\"value\":%f}}",
+                g.text(3), g.random().nextLong(), g.random().nextBoolean(), g.word(), g.word(),
+                g.word(), g.random().nextDouble()));
+        break;
+      }
+      case "SchemaRegistry":
+      case "SchemaRegistryCached": {
+        var client = new MockSchemaRegistryClient();
+        var schema = RecordsGenerator.wideAvroSchema(AVRO_FIELDS);
+        int schemaId = client.register(RecordsGenerator.TOPIC + "-value", new AvroSchema(schema));
+        valueSerde = SchemaRegistrySerdes.create(client, serde.equals("SchemaRegistryCached"));
+        // 1/8 of unique payloads, to emulate topic with repeating messages
+        var uniquePayloads = generator.records(RECORDS / 8, g -> null,
+            g -> RecordsGenerator.schemaRegistryAvroPayload(schemaId, g.avroRecord(schema)));
+        values = g -> uniquePayloads.get(g.random().nextInt(uniquePayloads.size())).value().get();
+        break;
+      }
+      default:
+        throw new IllegalArgumentException("Unknown serde " + serde);
+    }
+    records = generator.records(RECORDS, g -> g.utf8("key-" + g.random().nextInt(1000)), values);
+
+    var keySerde = configured(new StringSerde());
+    var fallbackSerde = configured(new StringSerde());
+    deserializer = new ConsumerRecordDeserializer(
+        StringSerde.name(),
+        keySerde.deserializer(RecordsGenerator.TOPIC, Serde.Target.KEY),
+        serde,
+        valueSerde.deserializer(RecordsGenerator.TOPIC, Serde.Target.VALUE),
+        "Fallback",
+        fallbackSerde.deserializer(RecordsGenerator.TOPIC, Serde.Target.KEY),
+        fallbackSerde.deserializer(RecordsGenerator.TOPIC, Serde.Target.VALUE)
+    );
+  }
+
+  private static Serde configured(BuiltInSerde serde) {
+    serde.configure(PropertyResolverImpl.empty(), PropertyResolverImpl.empty(), PropertyResolverImpl.empty());
+    return serde;
+  }
+
+  private static Serde protobufFileSerde() throws Exception {
+    var dir = Files.createTempDirectory("kafka-ui-benchmarks");
+    dir.toFile().deleteOnExit();
+    var protoFile = Files.writeString(dir.resolve("benchmark.proto"), PROTO_FILE);
+    protoFile.toFile().deleteOnExit();
+
+    var env = new StandardEnvironment();
+    env.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+        "protobufFilesDir", dir.toString(),
+        "protobufMessageName", "benchmarks.BenchmarkMessage"
+    )));
+    var serde = new ProtobufFileSerde();
+    serde.configure(new PropertyResolverImpl(env), PropertyResolverImpl.empty(), PropertyResolverImpl.empty());
+    return serde;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void deserialize(Blackhole bh) {
+    for (var rec : records) {
+      bh.consume(deserializer.deserialize(rec));
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.provectus.kafka.ui.serdes.builtin.sr;
+
+import com.provectus.kafka.ui.benchmarks.RecordsGenerator;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchemaUtils;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares avro-to-json formatting via GenericRecord materialization (KafkaAvroDeserializer
+ * + AvroSchemaUtils.toJson, used before) with direct decoding by AvroJsonWriter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AvroMessageFormatterBenchmark {
+
+  @Param({"10", "100", "500"})
+  int fields;
+
+  private byte[] payload;
+  private KafkaAvroDeserializer avroDeserializer;
+  private MessageFormatter.AvroMessageFormatter directFormatter;
+
+  @Setup
+  public void setup() throws Exception {
+    var client = new MockSchemaRegistryClient();
+    var schema = RecordsGenerator.wideAvroSchema(fields);
+    int schemaId = client.register(RecordsGenerator.TOPIC + "-value", new AvroSchema(schema));
+    payload = RecordsGenerator.schemaRegistryAvroPayload(schemaId, new RecordsGenerator().avroRecord(schema));
+    avroDeserializer = new KafkaAvroDeserializer(client);
+    directFormatter = new MessageFormatter.AvroMessageFormatter(client);
+  }
+
+  @Benchmark
+  public String genericRecordToJson() throws Exception {
+    Object deserialized = avroDeserializer.deserialize(RecordsGenerator.TOPIC, payload);
+    return new String(AvroSchemaUtils.toJson(deserialized), StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public String directJsonWriter() {
+    return directFormatter.format(RecordsGenerator.TOPIC, payload);
+  }
+}
@@ -0,0 +1,26 @@
+package com.provectus.kafka.ui.serdes.builtin.sr;
+
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import java.util.List;
+
+/**
+ * Creates SchemaRegistry serdes with given (mock) registry client, so benchmarks don't need running registry.
+ */
+public final class SchemaRegistrySerdes {
+
+  private SchemaRegistrySerdes() {
+  }
+
+  public static SchemaRegistrySerde create(SchemaRegistryClient client, boolean formattedMessagesCacheEnabled) {
+    var serde = new SchemaRegistrySerde();
+    serde.configure(
+        List.of("http://unused"),
+        client,
+        "%s-key",
+        "%s-value",
+        false,
+        formattedMessagesCacheEnabled ? new FormattedMessagesCache(FormattedMessagesCache.DEFAULT_MAX_BYTES) : null
+    );
+    return serde;
+  }
+}
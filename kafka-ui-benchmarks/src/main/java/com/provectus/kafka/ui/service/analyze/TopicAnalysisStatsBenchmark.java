@@ -0,0 +1,58 @@
+package com.provectus.kafka.ui.service.analyze;
+
+import com.provectus.kafka.ui.benchmarks.RecordsGenerator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Applying records to topic analysis stats (sizes, uniqueness sketches, hourly counts).
+ * Score is time per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TopicAnalysisStatsBenchmark {
+
+  private static final int RECORDS = 4096;
+
+  @Param({"100", "10000"})
+  int valueSize;
+
+  private List<ConsumerRecord<Bytes, Bytes>> records;
+
+  @Setup
+  public void setup() {
+    records = new RecordsGenerator().records(
+        RECORDS,
+        g -> g.utf8("key-" + g.random().nextInt(1000)),
+        g -> g.random().nextInt(10) == 0 ? null : g.bytes(valueSize)
+    );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public TopicAnalysisStats apply() {
+    var stats = new TopicAnalysisStats();
+    for (var rec : records) {
+      stats.apply(rec);
+    }
+    return stats;
+  }
+}
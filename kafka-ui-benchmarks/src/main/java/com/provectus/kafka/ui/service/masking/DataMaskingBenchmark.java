@@ -0,0 +1,67 @@
+package com.provectus.kafka.ui.service.masking;
+
+import com.provectus.kafka.ui.benchmarks.RecordsGenerator;
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.serde.api.Serde;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Masking of json values with each masking policy, applied to all fields or to specific fields only.
+ * Score is time per value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DataMaskingBenchmark {
+
+  private static final int VALUES = 1024;
+
+  @Param({"REMOVE", "MASK", "REPLACE"})
+  ClustersProperties.Masking.Type policy;
+
+  @Param({"true", "false"})
+  boolean allFields;
+
+  private List<String> values;
+  private UnaryOperator<String> maskingFunction;
+
+  @Setup
+  public void setup() {
+    var generator = new RecordsGenerator();
+    values = generator.messages(VALUES, 20).stream().map(TopicMessageDTO::getContent).toList();
+
+    var masking = new ClustersProperties.Masking();
+    masking.setType(policy);
+    masking.setFields(allFields ? null : List.of("field0", "field3", "name"));
+    masking.setTopicValuesPattern(RecordsGenerator.TOPIC);
+    maskingFunction = DataMasking.create(List.of(masking))
+        .getMaskingFunction(RecordsGenerator.TOPIC, Serde.Target.VALUE);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUES)
+  public void mask(Blackhole bh) {
+    for (String value : values) {
+      bh.consume(maskingFunction.apply(value));
+    }
+  }
+}
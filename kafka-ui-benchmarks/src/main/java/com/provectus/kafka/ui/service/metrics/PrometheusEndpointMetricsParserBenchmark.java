@@ -0,0 +1,68 @@
+package com.provectus.kafka.ui.service.metrics;
+
+import com.provectus.kafka.ui.benchmarks.RecordsGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing of broker's prometheus endpoint response (jmx-exporter-like output with per-topic metrics).
+ * Score is time per whole response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PrometheusEndpointMetricsParserBenchmark {
+
+  private static final String[] RATES = {
+      "Count", "OneMinuteRate", "FiveMinuteRate", "FifteenMinuteRate", "MeanRate"
+  };
+  private static final String[] NAMES = {
+      "BytesInPerSec", "BytesOutPerSec", "MessagesInPerSec", "FailedFetchRequestsPerSec"
+  };
+
+  @Param({"10", "1000"})
+  int topics;
+
+  private List<String> lines;
+
+  @Setup
+  public void setup() {
+    var random = new RecordsGenerator().random();
+    lines = new ArrayList<>();
+    for (String rate : RATES) {
+      String metric = "kafka_server_BrokerTopicMetrics_" + rate;
+      lines.add("# HELP " + metric + " Attribute exposed for management");
+      lines.add("# TYPE " + metric + " untyped");
+      for (String name : NAMES) {
+        for (int t = 0; t < topics; t++) {
+          lines.add(String.format(Locale.ROOT, "%s{name=\"%s\",topic=\"topic-%d\",} %.6f",
+              metric, name, t, random.nextDouble() * 100_000));
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void parse(Blackhole bh) {
+    for (String line : lines) {
+      bh.consume(PrometheusEndpointMetricsParser.parse(line));
+    }
+  }
+}